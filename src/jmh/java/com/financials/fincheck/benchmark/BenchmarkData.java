@@ -0,0 +1,147 @@
+package com.financials.fincheck.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input fixtures shared by the benchmarks.
+ * <p>
+ * Every document type comes in three shapes: {@code VALID} passes every rule, {@code INVALID} breaks
+ * most rules at once, and {@code WORST_CASE} is valid but as large as real submissions get
+ * (thousands of deductions or expense items).
+ */
+final class BenchmarkData {
+
+    /**
+     * The input shape a benchmark runs against.
+     */
+    enum Scenario { VALID, INVALID, WORST_CASE }
+
+    static final int WORST_CASE_DEDUCTIONS = 2_000;
+    static final int WORST_CASE_ITEMS = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds an {@code ObjectMapper} configured like the one Spring Boot auto-configures for the application.
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static Invoice invoice(Scenario scenario) {
+        return switch (scenario) {
+            case VALID, WORST_CASE -> new Invoice("INV-2025-000001", 2500.0, "EUR");
+            case INVALID -> new Invoice(" ", -100.0, "ABC");
+        };
+    }
+
+    static Payslip payslip(Scenario scenario) {
+        return switch (scenario) {
+            case VALID -> new Payslip(
+                    "EMP001",
+                    "John Doe",
+                    "2025-05",
+                    LocalDate.of(2025, 5, 25),
+                    3000.0,
+                    Map.of("Tax", 500.0, "Pension", 200.0),
+                    2300.0,
+                    PaymentMethod.BANK_TRANSFER,
+                    "IE29AIBK93115212345678",
+                    new Employer("ValidCorp Ltd", "1234567A"),
+                    160
+            );
+            case INVALID -> new Payslip(
+                    "",
+                    "",
+                    "invalid-date",
+                    LocalDate.of(2099, 1, 1),
+                    -1000.0,
+                    Map.of("", -200.0),
+                    -500.0,
+                    null,
+                    "",
+                    null,
+                    -20
+            );
+            case WORST_CASE -> {
+                Map<String, Double> deductions = new LinkedHashMap<>();
+                for (int i = 0; i < WORST_CASE_DEDUCTIONS; i++) {
+                    deductions.put("Deduction-" + i, 1.25);
+                }
+                yield new Payslip(
+                        "EMP001",
+                        "John Doe",
+                        "2025-05",
+                        LocalDate.of(2025, 5, 25),
+                        10000.0,
+                        deductions,
+                        10000.0 - WORST_CASE_DEDUCTIONS * 1.25,
+                        PaymentMethod.BANK_TRANSFER,
+                        "IE29AIBK93115212345678",
+                        new Employer("ValidCorp Ltd", "1234567A"),
+                        160
+                );
+            }
+        };
+    }
+
+    static ExpenseReport expenseReport(Scenario scenario) {
+        return switch (scenario) {
+            case VALID -> new ExpenseReport(
+                    "ER2025-0001",
+                    "EMP12345",
+                    "Client meeting in Stockholm",
+                    Currency.getInstance("EUR"),
+                    LocalDate.of(2025, 6, 16),
+                    List.of(
+                            new ExpenseItem("Travel", 75.50, LocalDate.of(2025, 6, 14), "Train to meeting"),
+                            new ExpenseItem("Meals", 40.00, LocalDate.of(2025, 6, 14), "Lunch with client")
+                    )
+            );
+            case INVALID -> new ExpenseReport(
+                    "",
+                    "",
+                    "",
+                    null,
+                    LocalDate.of(2099, 1, 1),
+                    null
+            );
+            case WORST_CASE -> {
+                List<ExpenseItem> items = new ArrayList<>(WORST_CASE_ITEMS);
+                for (int i = 0; i < WORST_CASE_ITEMS; i++) {
+                    items.add(new ExpenseItem(i % 2 == 0 ? "Travel" : "Meals", 12.5 + i % 100,
+                            LocalDate.of(2025, 6, 1).plusDays(i % 14), "Item " + i));
+                }
+                yield new ExpenseReport(
+                        "ER2025-0002",
+                        "EMP12345",
+                        "Quarterly sales tour",
+                        Currency.getInstance("EUR"),
+                        LocalDate.of(2025, 6, 16),
+                        items
+                );
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.financials.fincheck.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.stream.DocumentFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding {@code Payslip} and {@code ExpenseReport} bodies sent as JSON, CBOR and Smile, and
+ * writing them in each format.
+ * <p>
+ * The payload size of every format is printed during setup, so one run shows both the parse time and the
+ * bytes saved. The {@code WORST_CASE} documents, with thousands of deductions or items that repeat the same
+ * property names, show the largest difference; Smile shares repeated names and short strings within a document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"VALID", "WORST_CASE"})
+    private BenchmarkData.Scenario scenario;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private DocumentFormat format;
+
+    private ObjectMapper mapper;
+    private ObjectReader payslipReader;
+    private ObjectReader expenseReportReader;
+    private Payslip payslip;
+    private ExpenseReport expenseReport;
+    private byte[] payslipBytes;
+    private byte[] expenseReportBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        mapper = format.mapper(objectMapper);
+        payslipReader = mapper.readerFor(Payslip.class);
+        expenseReportReader = mapper.readerFor(ExpenseReport.class);
+        payslip = BenchmarkData.payslip(scenario);
+        expenseReport = BenchmarkData.expenseReport(scenario);
+        payslipBytes = mapper.writeValueAsBytes(payslip);
+        expenseReportBytes = mapper.writeValueAsBytes(expenseReport);
+
+        int payslipJson = objectMapper.writeValueAsBytes(payslip).length;
+        int expenseReportJson = objectMapper.writeValueAsBytes(expenseReport).length;
+        System.out.printf("%n%s %s: payslip %d bytes (%.0f%% of JSON), expense report %d bytes (%.0f%% of JSON)%n",
+                format, scenario, payslipBytes.length, 100.0 * payslipBytes.length / payslipJson,
+                expenseReportBytes.length, 100.0 * expenseReportBytes.length / expenseReportJson);
+    }
+
+    @Benchmark
+    public Payslip readPayslip() throws IOException {
+        return payslipReader.readValue(payslipBytes);
+    }
+
+    @Benchmark
+    public ExpenseReport readExpenseReport() throws IOException {
+        return expenseReportReader.readValue(expenseReportBytes);
+    }
+
+    @Benchmark
+    public byte[] writePayslip() throws IOException {
+        return mapper.writeValueAsBytes(payslip);
+    }
+
+    @Benchmark
+    public byte[] writeExpenseReport() throws IOException {
+        return mapper.writeValueAsBytes(expenseReport);
+    }
+}
@@ -0,0 +1,223 @@
+package com.financials.fincheck.benchmark;
+
+import com.financials.fincheck.iban.IbanValidator;
+import com.financials.fincheck.metrics.RuleProbe;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.Deductions;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ValidationResult;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The hand-written if-chain validators the rule engine replaced, kept as the baseline for {@code RuleEngineBenchmark}.
+ * <p>
+ * The bodies are unchanged apart from duplicate detection, which the benchmarks do not enable.
+ */
+final class HandWrittenValidators {
+    private static final List<String> VALID_CURRENCIES = Arrays.asList("USD", "EUR", "GBP");
+    private static final ValidationMetrics METRICS = ValidationMetrics.disabled();
+
+    private HandWrittenValidators() {
+    }
+
+    static ValidationResult invoice(Invoice invoice) {
+        ValidationResult errors = ValidationResult.valid();
+        RuleProbe probe = METRICS.start(DocumentType.INVOICE);
+
+        if (invoice.getAmount() == null) {
+            errors = errors.with(ErrorCode.AMOUNT_MISSING);
+        } else if (invoice.getAmount() < 0) {
+            errors = errors.with(ErrorCode.AMOUNT_NEGATIVE);
+        }
+        probe.lap("amount", errors);
+
+        if (!VALID_CURRENCIES.contains(invoice.getCurrency())) {
+            errors = errors.with(ErrorCode.CURRENCY_INVALID, invoice.getCurrency());
+        }
+        probe.lap("currency", errors);
+
+        // Invoice number must be present and not just whitespace
+        if (invoice.getInvoiceNumber() == null || invoice.getInvoiceNumber().isBlank()) {
+            errors = errors.with(ErrorCode.INVOICE_NUMBER_EMPTY);
+        }
+        probe.lap("invoiceNumber", errors);
+
+        METRICS.finish(DocumentType.INVOICE, errors, probe);
+        return errors;
+    }
+
+    static ValidationResult payslip(Payslip payslip) {
+        ValidationResult errors = ValidationResult.valid();
+        RuleProbe probe = METRICS.start(DocumentType.PAYSLIP);
+
+        long grossSalary = payslip.getGrossSalaryMinor();
+        if (grossSalary == Money.ABSENT) {
+            errors = errors.with(ErrorCode.GROSS_SALARY_MISSING);
+        } else if (grossSalary == Money.INVALID) {
+            errors = errors.with(ErrorCode.GROSS_SALARY_NOT_REPRESENTABLE, payslip.getCurrency());
+        } else if (grossSalary <= 0) {
+            errors = errors.with(ErrorCode.GROSS_SALARY_NOT_POSITIVE);
+        }
+        probe.lap("grossSalary", errors);
+
+        long netSalary = payslip.getNetSalaryMinor();
+        if (netSalary == Money.ABSENT) {
+            errors = errors.with(ErrorCode.NET_SALARY_MISSING);
+        } else if (netSalary == Money.INVALID) {
+            errors = errors.with(ErrorCode.NET_SALARY_NOT_REPRESENTABLE, payslip.getCurrency());
+        } else if (netSalary <= 0) {
+            errors = errors.with(ErrorCode.NET_SALARY_NOT_POSITIVE);
+        }
+        probe.lap("netSalary", errors);
+
+        if (payslip.getEmployeeId() == null || payslip.getEmployeeId().isBlank()) {
+            errors = errors.with(ErrorCode.EMPLOYEE_ID_EMPTY);
+        }
+        probe.lap("employeeId", errors);
+
+        if (payslip.getEmployeeName() == null || payslip.getEmployeeName().isBlank()) {
+            errors = errors.with(ErrorCode.EMPLOYEE_NAME_EMPTY);
+        }
+        probe.lap("employeeName", errors);
+
+        String payPeriod = payslip.getPayPeriod();
+        if (payPeriod == null || payPeriod.isBlank()) {
+            errors = errors.with(ErrorCode.PAY_PERIOD_EMPTY);
+        } else {
+            try {
+                YearMonth.parse(payPeriod);
+            } catch (DateTimeParseException e) {
+                errors = errors.with(ErrorCode.PAY_PERIOD_FORMAT);
+            }
+        }
+        probe.lap("payPeriod", errors);
+
+        if (payslip.getPaymentDate() == null) {
+            errors = errors.with(ErrorCode.PAYMENT_DATE_MISSING);
+        } else if (payslip.getPaymentDate().isAfter(LocalDate.now())) {
+            errors = errors.with(ErrorCode.PAYMENT_DATE_IN_FUTURE);
+        }
+        probe.lap("paymentDate", errors);
+
+        Deductions deductions = payslip.getDeductionAmounts();
+        if (deductions == null || deductions.isEmpty()) {
+            errors = errors.with(ErrorCode.DEDUCTIONS_EMPTY);
+        } else {
+            boolean hasInvalidDeduction = false;
+            long sumDeductions = 0;
+
+            for (int i = 0; i < deductions.size(); i++) {
+                String name = deductions.name(i);
+                long amount = deductions.amount(i);
+
+                if (name == null || name.isBlank()) {
+                    errors = errors.with(ErrorCode.DEDUCTION_NAME_BLANK);
+                    hasInvalidDeduction = true;
+                }
+
+                if (amount == Money.INVALID) {
+                    errors = errors.with(ErrorCode.DEDUCTION_AMOUNT_NOT_REPRESENTABLE, name);
+                    hasInvalidDeduction = true;
+                } else if (amount == Money.ABSENT || amount < 0) {
+                    errors = errors.with(ErrorCode.DEDUCTION_AMOUNT_INVALID, name);
+                    hasInvalidDeduction = true;
+                } else {
+                    // Amounts are at most 10^18, so capping the sum rules out overflow while keeping it above any gross salary
+                    sumDeductions = Math.min(sumDeductions + amount, Long.MAX_VALUE / 2);
+                }
+            }
+
+            // Minor units make the check exact: no tolerance is needed
+            if (!hasInvalidDeduction && Money.isPresent(grossSalary) && Money.isPresent(netSalary)
+                    && grossSalary - sumDeductions != netSalary) {
+                errors = errors.with(ErrorCode.NET_SALARY_MISMATCH);
+            }
+        }
+        probe.lap("deductions", errors);
+
+        if (payslip.getPaymentMethod() == null) {
+            errors = errors.with(ErrorCode.PAYMENT_METHOD_MISSING);
+        }
+        probe.lap("paymentMethod", errors);
+
+        if (payslip.getPaymentMethod() == PaymentMethod.BANK_TRANSFER) {
+            String bankAccount = payslip.getBankAccount();
+
+            if (bankAccount == null || bankAccount.isBlank()) {
+                errors = errors.with(ErrorCode.BANK_ACCOUNT_MISSING);
+            } else {
+                IbanValidator.Result iban = IbanValidator.check(bankAccount);
+                if (iban == IbanValidator.Result.INVALID_CHECKSUM) {
+                    errors = errors.with(ErrorCode.BANK_ACCOUNT_CHECKSUM);
+                } else if (iban != IbanValidator.Result.VALID) {
+                    errors = errors.with(ErrorCode.BANK_ACCOUNT_FORMAT);
+                }
+            }
+        }
+        probe.lap("bankAccount", errors);
+
+        if (payslip.getEmployer() == null) {
+            errors = errors.with(ErrorCode.EMPLOYER_MISSING);
+        }
+        probe.lap("employer", errors);
+
+        if (payslip.getHoursWorked() < 0) {
+            errors = errors.with(ErrorCode.HOURS_WORKED_NEGATIVE);
+        }
+        probe.lap("hoursWorked", errors);
+
+        METRICS.finish(DocumentType.PAYSLIP, errors, probe);
+        return errors;
+    }
+
+    static ValidationResult expenseReport(ExpenseReport expenseReport) {
+        ValidationResult errors = ValidationResult.valid();
+        RuleProbe probe = METRICS.start(DocumentType.EXPENSE_REPORT);
+
+        if (expenseReport.getReportId() == null || expenseReport.getReportId().isBlank()) {
+            errors = errors.with(ErrorCode.REPORT_ID_EMPTY);
+        }
+        probe.lap("reportId", errors);
+
+        if (expenseReport.getEmployeeId() == null || expenseReport.getEmployeeId().isBlank()) {
+            errors = errors.with(ErrorCode.EMPLOYEE_ID_EMPTY);
+        }
+        probe.lap("employeeId", errors);
+
+        if (expenseReport.getBusinessPurpose() == null || expenseReport.getBusinessPurpose().isBlank()) {
+            errors = errors.with(ErrorCode.BUSINESS_PURPOSE_EMPTY);
+        }
+        probe.lap("businessPurpose", errors);
+
+        if (expenseReport.getCurrency() == null) {
+            errors = errors.with(ErrorCode.CURRENCY_MISSING);
+        }
+        probe.lap("currency", errors);
+
+        if (expenseReport.getSubmissionDate() == null) {
+            errors = errors.with(ErrorCode.SUBMISSION_DATE_MISSING);
+        } else if (expenseReport.getSubmissionDate().isAfter(LocalDate.now())) {
+            errors = errors.with(ErrorCode.SUBMISSION_DATE_IN_FUTURE);
+        }
+        probe.lap("submissionDate", errors);
+
+        if (expenseReport.getItems() == null) {
+            errors = errors.with(ErrorCode.ITEMS_MISSING);
+        }
+        probe.lap("items", errors);
+
+        METRICS.finish(DocumentType.EXPENSE_REPORT, errors, probe);
+        return errors;
+    }
+}
@@ -0,0 +1,115 @@
+package com.financials.fincheck.benchmark;
+
+import com.financials.fincheck.batch.InvoiceBatchValidator;
+import com.financials.fincheck.batch.InvoiceColumns;
+import com.financials.fincheck.batch.InvoiceErrorBitmaps;
+import com.financials.fincheck.batch.InvoiceKernel;
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating a batch of invoices one object at a time with {@link InvoiceValidator} against the
+ * columnar {@link InvoiceBatchValidator}, with the scalar and the Vector API kernel.
+ * <p>
+ * The {@code *Kernel} benchmarks check prepared columns only, and the {@code columns} benchmark only copies
+ * the batch into columns, showing how the columnar time splits between the two. The forked JVM is started
+ * with {@code --add-modules jdk.incubator.vector}; the {@code vector*} benchmarks fail if the platform still
+ * offers no vector kernel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class InvoiceBatchBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    /**
+     * The share of invoices breaking at least one rule, in percent.
+     */
+    @Param({"0", "10"})
+    private int invalidPercent;
+
+    private final InvoiceValidator invoiceValidator = new InvoiceValidator();
+    private final ValidationSettingsStore settings = ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS);
+    private final InvoiceKernel vectorKernel = InvoiceKernel.vector()
+            .orElseThrow(() -> new IllegalStateException("No vector kernel on this JVM"));
+    private final InvoiceBatchValidator scalarValidator = new InvoiceBatchValidator(Optional.empty(),
+            ValidationMetrics.disabled(), settings, InvoiceKernel.scalar());
+    private final InvoiceBatchValidator vectorValidator = new InvoiceBatchValidator(Optional.empty(),
+            ValidationMetrics.disabled(), settings, vectorKernel);
+    private final int[] acceptedCurrencies = ValidationSettings.DEFAULTS.invoiceCurrencies().packedCodes();
+
+    private List<Invoice> invoices;
+    private InvoiceColumns columns;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] currencies = {"EUR", "USD", "GBP"};
+        invoices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            invoices.add(random.nextInt(100) < invalidPercent
+                    ? BenchmarkData.invoice(BenchmarkData.Scenario.INVALID)
+                    : new Invoice("INV-" + i, random.nextDouble(10_000), currencies[random.nextInt(3)]));
+        }
+        columns = InvoiceColumns.of(invoices);
+    }
+
+    @Benchmark
+    public void objectByObject(Blackhole blackhole) {
+        for (Invoice invoice : invoices) {
+            blackhole.consume(invoiceValidator.validate(invoice));
+        }
+    }
+
+    @Benchmark
+    public List<ValidationResult> columnarScalar() {
+        return scalarValidator.validateAll(invoices);
+    }
+
+    @Benchmark
+    public List<ValidationResult> columnarVector() {
+        return vectorValidator.validateAll(invoices);
+    }
+
+    @Benchmark
+    public InvoiceColumns columns() {
+        return InvoiceColumns.of(invoices);
+    }
+
+    @Benchmark
+    public InvoiceErrorBitmaps scalarKernel() {
+        return InvoiceKernel.scalar().check(columns, acceptedCurrencies);
+    }
+
+    @Benchmark
+    public InvoiceErrorBitmaps vectorKernel() {
+        return vectorKernel.check(columns, acceptedCurrencies);
+    }
+}
@@ -0,0 +1,95 @@
+package com.financials.fincheck.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON binding path of {@code Payslip} and {@code ExpenseReport}, alone and followed by
+ * validation, as a request travels through a controller.
+ * <p>
+ * The {@code INVALID} expense report carries an unknown currency code, so it exercises the unregistered
+ * code path of {@code CurrencyDeserializer} and the validator's currency error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBindingBenchmark {
+
+    @Param({"VALID", "INVALID", "WORST_CASE"})
+    private BenchmarkData.Scenario scenario;
+
+    private final PayslipValidator payslipValidator = new PayslipValidator();
+    private final ExpenseReportValidator expenseReportValidator = new ExpenseReportValidator();
+
+    private ObjectReader payslipReader;
+    private ObjectReader expenseReportReader;
+    private byte[] payslipJson;
+    private byte[] expenseReportJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        payslipReader = objectMapper.readerFor(Payslip.class);
+        expenseReportReader = objectMapper.readerFor(ExpenseReport.class);
+        payslipJson = objectMapper.writeValueAsBytes(BenchmarkData.payslip(scenario));
+
+        String expenseReport = objectMapper.writeValueAsString(BenchmarkData.expenseReport(
+                scenario == BenchmarkData.Scenario.INVALID ? BenchmarkData.Scenario.VALID : scenario));
+        if (scenario == BenchmarkData.Scenario.INVALID) {
+            expenseReport = expenseReport.replace("\"EUR\"", "\"ZZZ\"");
+        }
+        expenseReportJson = expenseReport.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Payslip bindPayslip() throws IOException {
+        return payslipReader.readValue(payslipJson);
+    }
+
+    @Benchmark
+    public List<String> bindAndValidatePayslip() throws IOException {
+        return payslipValidator.validate(payslipReader.readValue(payslipJson));
+    }
+
+    @Benchmark
+    public Object bindExpenseReport() {
+        try {
+            return expenseReportReader.readValue(expenseReportJson);
+        } catch (IOException e) {
+            // The controller path turns this into a 400 response; the cost of getting here is what counts
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object bindAndValidateExpenseReport() {
+        try {
+            return expenseReportValidator.validate(expenseReportReader.readValue(expenseReportJson));
+        } catch (IOException e) {
+            return e;
+        }
+    }
+}
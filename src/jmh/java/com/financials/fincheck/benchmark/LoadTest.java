@@ -0,0 +1,306 @@
+package com.financials.fincheck.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financials.fincheck.FincheckApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing request execution on Tomcat's platform-thread pool with the {@code virtual-threads} profile.
+ * <p>
+ * For every mode the application is started in-process on a random port and driven by a fixed number
+ * of concurrent keep-alive clients. Each client uploads a payslip in two halves with a pause in between,
+ * like a payroll client on a slow link: the server thread reading the body blocks for the pause while
+ * the CPU stays idle, which is what saturates a bounded thread pool. Throughput and latency percentiles
+ * are reported for requests completed after the warmup.
+ * <p>
+ * Run through the {@code benchmark} profile; options are passed as {@code --name=value}:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.mainClass=com.financials.fincheck.benchmark.LoadTest \
+ *     -Dbenchmark.args="--concurrency=2000 --upload-pause-ms=50"
+ * </pre>
+ */
+public final class LoadTest {
+    private static final String PATH = "/payslips/validate";
+
+    private final int concurrency;
+    private final long uploadPauseMillis;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final byte[] head;
+    private final byte[] tail;
+
+    private LoadTest(Map<String, String> options, byte[] body) {
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        this.uploadPauseMillis = Long.parseLong(options.getOrDefault("upload-pause-ms", "50"));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration-seconds", "30")));
+
+        String headers = "POST " + PATH + " HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "\r\n";
+        byte[] headerBytes = headers.getBytes(StandardCharsets.US_ASCII);
+        int split = body.length / 2;
+        this.head = new byte[headerBytes.length + split];
+        System.arraycopy(headerBytes, 0, head, 0, headerBytes.length);
+        System.arraycopy(body, 0, head, headerBytes.length, split);
+        this.tail = Arrays.copyOfRange(body, split, body.length);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        byte[] body = objectMapper.writeValueAsBytes(BenchmarkData.payslip(BenchmarkData.Scenario.VALID));
+        LoadTest loadTest = new LoadTest(options, body);
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+            results.add(loadTest.run(Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT))));
+        }
+
+        System.out.printf("%n%-10s %12s %10s %8s %14s %9s %9s %9s%n",
+                "mode", "concurrency", "requests", "errors", "throughput/s", "p50 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            System.out.println(result);
+        }
+    }
+
+    /**
+     * Starts the application in the given mode, drives it for the warmup and measurement periods and stops it again.
+     */
+    private Result run(Mode mode) throws InterruptedException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(FincheckApplication.class)
+                .properties("server.port=0", "logging.level.root=warn");
+        if (mode == Mode.VIRTUAL) {
+            builder.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            long measureFrom = System.nanoTime() + warmupNanos;
+            long measureUntil = measureFrom + durationNanos;
+            System.out.printf("%s: %d clients against port %d%n", mode, concurrency, port);
+
+            Client[] clients = new Client[concurrency];
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < concurrency; i++) {
+                    Client client = new Client(port, measureFrom, measureUntil);
+                    clients[i] = client;
+                    executor.execute(client);
+                }
+            }
+            return Result.of(mode, concurrency, clients, durationNanos);
+        }
+    }
+
+    /**
+     * Request execution mode of the application under test.
+     */
+    private enum Mode { PLATFORM, VIRTUAL }
+
+    /**
+     * A client sending requests back to back on one connection, reconnecting when the server closes it.
+     */
+    private final class Client implements Runnable {
+        private final int port;
+        private final long measureFrom;
+        private final long measureUntil;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        Client(int port, long measureFrom, long measureUntil) {
+            this.port = port;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        @Override
+        public void run() {
+            Socket socket = null;
+            InputStream in = null;
+            while (System.nanoTime() < measureUntil) {
+                long start = System.nanoTime();
+                try {
+                    if (socket == null) {
+                        socket = new Socket("localhost", port);
+                        socket.setTcpNoDelay(true);
+                        in = new BufferedInputStream(socket.getInputStream());
+                    }
+                    OutputStream out = socket.getOutputStream();
+                    out.write(head);
+                    out.flush();
+                    Thread.sleep(uploadPauseMillis);
+                    out.write(tail);
+                    out.flush();
+
+                    Response response = Response.read(in);
+                    long end = System.nanoTime();
+                    if (start >= measureFrom && end <= measureUntil) {
+                        if (response.status == 200) {
+                            record(end - start);
+                        } else {
+                            errors++;
+                        }
+                    }
+                    if (response.close) {
+                        socket = close(socket);
+                    }
+                } catch (IOException e) {
+                    if (start >= measureFrom) {
+                        errors++;
+                    }
+                    socket = close(socket);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            close(socket);
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        private static Socket close(Socket socket) {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // The connection is being discarded anyway
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The parts of an HTTP/1.1 response the load test needs; the body is read and discarded.
+     */
+    private record Response(int status, boolean close) {
+
+        static Response read(InputStream in) throws IOException {
+            String statusLine = readLine(in);
+            int status = Integer.parseInt(statusLine.substring(9, 12));
+            long contentLength = -1;
+            boolean chunked = false;
+            boolean close = false;
+            for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+                String header = line.toLowerCase(Locale.ROOT);
+                if (header.startsWith("content-length:")) {
+                    contentLength = Long.parseLong(header.substring(15).trim());
+                } else if (header.startsWith("transfer-encoding:") && header.contains("chunked")) {
+                    chunked = true;
+                } else if (header.startsWith("connection:") && header.contains("close")) {
+                    close = true;
+                }
+            }
+
+            if (chunked) {
+                for (long size = Long.parseLong(readLine(in).trim(), 16); size > 0;
+                     size = Long.parseLong(readLine(in).trim(), 16)) {
+                    skip(in, size + 2);
+                }
+                readLine(in);
+            } else if (contentLength > 0) {
+                skip(in, contentLength);
+            }
+            return new Response(status, close);
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            for (int b = in.read(); b != '\n'; b = in.read()) {
+                if (b < 0) {
+                    throw new EOFException("Connection closed by server");
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+
+        private static void skip(InputStream in, long bytes) throws IOException {
+            for (long remaining = bytes; remaining > 0; remaining--) {
+                if (in.read() < 0) {
+                    throw new EOFException("Connection closed by server");
+                }
+            }
+        }
+    }
+
+    /**
+     * Throughput and latency of one mode, merged over all clients.
+     */
+    private record Result(Mode mode, int concurrency, int requests, int errors, double throughput,
+                          double p50Millis, double p99Millis, double maxMillis) {
+
+        static Result of(Mode mode, int concurrency, Client[] clients, long durationNanos) {
+            int requests = 0;
+            int errors = 0;
+            for (Client client : clients) {
+                requests += client.count;
+                errors += client.errors;
+            }
+            long[] latencies = new long[requests];
+            int offset = 0;
+            for (Client client : clients) {
+                System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+                offset += client.count;
+            }
+            Arrays.sort(latencies);
+
+            double seconds = durationNanos / 1e9;
+            return new Result(mode, concurrency, requests, errors, requests / seconds,
+                    percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                    percentileMillis(latencies, 1.0));
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %12d %10d %8d %14.1f %9.2f %9.2f %9.2f",
+                    mode, concurrency, requests, errors, throughput, p50Millis, p99Millis, maxMillis);
+        }
+    }
+}
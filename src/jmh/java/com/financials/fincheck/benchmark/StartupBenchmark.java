@@ -0,0 +1,183 @@
+package com.financials.fincheck.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures time to first successful validation of a cold application process, with and without the
+ * ahead-of-time artifacts built by the {@code aot-cache} profile.
+ * <p>
+ * Every run starts the extracted application in a fresh JVM on a free port and posts a valid invoice to
+ * {@code /invoices/validate} until it is answered with 200; the time from starting the process to that response
+ * is recorded and the process is stopped again. The modes are interleaved, so drift in machine load affects
+ * them alike:
+ * <ul>
+ *     <li>{@code JIT}: the extracted application as it is, without any ahead-of-time artifact.</li>
+ *     <li>{@code SPRING_AOT}: the bean definitions generated at build time ({@code -Dspring.aot.enabled=true}).</li>
+ *     <li>{@code AOT_CACHE}: those, plus the JVM cache of classes loaded and linked during the training run.</li>
+ * </ul>
+ * Build the artifacts first, then run through the {@code benchmark} profile; options are passed as
+ * {@code --name=value}:
+ * <pre>
+ * ./mvnw -Paot-cache package -DskipTests
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.mainClass=com.financials.fincheck.benchmark.StartupBenchmark \
+ *     -Dbenchmark.args="--runs=10"
+ * </pre>
+ */
+public final class StartupBenchmark {
+    private static final String PATH = "/invoices/validate";
+    private static final long POLL_MILLIS = 2;
+
+    private final Path directory;
+    private final Path jar;
+    private final int runs;
+    private final long timeoutNanos;
+    private final byte[] body;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(Map<String, String> options, byte[] body) throws IOException {
+        this.directory = Path.of(options.getOrDefault("directory", "target/aot-cache")).toAbsolutePath();
+        this.jar = findJar(directory);
+        this.runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        this.timeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("timeout-seconds", "60")));
+        this.body = body;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        byte[] body = BenchmarkData.objectMapper().writeValueAsBytes(BenchmarkData.invoice(BenchmarkData.Scenario.VALID));
+        StartupBenchmark benchmark = new StartupBenchmark(options, body);
+
+        List<Mode> modes = new ArrayList<>();
+        for (String mode : options.getOrDefault("modes", "jit,spring_aot,aot_cache").split(",")) {
+            modes.add(Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        Map<Mode, long[]> results = new EnumMap<>(Mode.class);
+        for (Mode mode : modes) {
+            results.put(mode, new long[benchmark.runs]);
+        }
+        for (int run = 0; run < benchmark.runs; run++) {
+            for (Mode mode : modes) {
+                long nanos = benchmark.run(mode);
+                results.get(mode)[run] = nanos;
+                System.out.printf("run %d, %s: %.0f ms%n", run + 1, mode, nanos / 1e6);
+            }
+        }
+
+        System.out.printf("%n%-11s %6s %9s %9s %9s%n", "mode", "runs", "min ms", "p50 ms", "max ms");
+        for (Map.Entry<Mode, long[]> result : results.entrySet()) {
+            long[] nanos = result.getValue();
+            Arrays.sort(nanos);
+            System.out.printf("%-11s %6d %9.0f %9.0f %9.0f%n", result.getKey(), nanos.length,
+                    nanos[0] / 1e6, nanos[nanos.length / 2] / 1e6, nanos[nanos.length - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Starts the application in the given mode and returns the nanoseconds until its first successful validation.
+     */
+    private long run(Mode mode) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of("--add-modules", "jdk.incubator.vector"));
+        command.addAll(mode.jvmArguments(directory));
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port, "--logging.level.root=warn"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            while (System.nanoTime() - start < timeoutNanos) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + ": the application exited with " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return System.nanoTime() - start;
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            throw new IllegalStateException(mode + ": no successful validation within the timeout");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Path findJar(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException(directory + " does not exist; build it with ./mvnw -Paot-cache package");
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application jar in " + directory));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * The ahead-of-time artifacts a process is started with.
+     */
+    private enum Mode {
+        JIT,
+        SPRING_AOT,
+        AOT_CACHE;
+
+        List<String> jvmArguments(Path directory) {
+            return switch (this) {
+                case JIT -> List.of();
+                case SPRING_AOT -> List.of("-Dspring.aot.enabled=true");
+                // AOTMode=on fails the run instead of silently starting without an unusable cache
+                case AOT_CACHE -> List.of("-Dspring.aot.enabled=true", "-XX:AOTMode=on",
+                        "-XX:AOTCache=" + directory.resolve("fincheck.aot"));
+            };
+        }
+    }
+}
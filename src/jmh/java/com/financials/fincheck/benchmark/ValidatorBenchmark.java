@@ -0,0 +1,69 @@
+package com.financials.fincheck.benchmark;
+
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the validators on already-bound documents, isolating rule execution from JSON binding.
+ * <p>
+ * Run with the GC profiler ({@code -prof gc}, the profile's default) to see the allocation rate per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @Param({"VALID", "INVALID", "WORST_CASE"})
+    private BenchmarkData.Scenario scenario;
+
+    private final InvoiceValidator invoiceValidator = new InvoiceValidator();
+    private final PayslipValidator payslipValidator = new PayslipValidator();
+    private final ExpenseReportValidator expenseReportValidator = new ExpenseReportValidator();
+
+    private Invoice invoice;
+    private Payslip payslip;
+    private ExpenseReport expenseReport;
+
+    @Setup
+    public void setUp() {
+        invoice = BenchmarkData.invoice(scenario);
+        payslip = BenchmarkData.payslip(scenario);
+        expenseReport = BenchmarkData.expenseReport(scenario);
+    }
+
+    @Benchmark
+    public List<String> invoice() {
+        return invoiceValidator.validate(invoice);
+    }
+
+    @Benchmark
+    public List<String> payslip() {
+        return payslipValidator.validate(payslip);
+    }
+
+    @Benchmark
+    public List<String> expenseReport() {
+        return expenseReportValidator.validate(expenseReport);
+    }
+}
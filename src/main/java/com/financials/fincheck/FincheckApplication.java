@@ -1,7 +1,14 @@
 package com.financials.fincheck;
 
+import com.financials.fincheck.cli.BulkValidationCommand;
+import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
 
 // TODO: Create integration test suite for ExpenseReportController
 // TODO: Focus on improving current tests/adding new ones (integration, etc). Decide upon test cases/suites, etc for FinCheck
@@ -9,11 +16,26 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Entry point of the FinCheck application.
  * The FinCheck application is designed as a backend microservice for validating
  * financial documents such as invoices and payslips.
+ * <p>
+ * Started with {@value BulkValidationCommand#NAME} as the first argument, it validates a file from the
+ * command line instead of serving HTTP requests (see {@link BulkValidationCommand}).
  */
 @SpringBootApplication
 public class FincheckApplication {
 
 	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals(BulkValidationCommand.NAME)) {
+			String[] commandArgs = Arrays.copyOfRange(args, 1, args.length);
+			ConfigurableApplicationContext context = new SpringApplicationBuilder(FincheckApplication.class)
+					.web(WebApplicationType.NONE)
+					.bannerMode(Banner.Mode.OFF)
+					.logStartupInfo(false)
+					// Keeps standard output for the report; overridable with --logging.level.root
+					.properties("logging.level.root=warn")
+					.run(commandArgs);
+			int exitCode = context.getBean(BulkValidationCommand.class).run(commandArgs);
+			System.exit(SpringApplication.exit(context, () -> exitCode));
+		}
 		SpringApplication.run(FincheckApplication.class, args);
 	}
 
@@ -0,0 +1,125 @@
+package com.financials.fincheck.batch;
+
+import com.financials.fincheck.dto.BatchItemResponse;
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ValidationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fans the validation of a batch of documents out across virtual threads.
+ * <p>
+ * The batch is cut into contiguous chunks. A fixed number of workers, given by the configured
+ * degree of parallelism, claim chunks until none are left and write each result into the slot
+ * matching the document's position, so results come back in input order without sorting. A {@code null}
+ * element of the batch is reported as {@link ErrorCode#DOCUMENT_NULL} without running the validator.
+ * <p>
+ * Configuration: {@code fincheck.batch.parallelism} (defaults to the number of available processors).
+ */
+@Component
+public class BatchValidator {
+    /**
+     * Batches smaller than this are validated on the calling thread; forking would cost more than it saves.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 256;
+
+    /**
+     * Smallest number of documents a worker claims at once, to keep contention on the chunk counter low.
+     */
+    static final int MIN_CHUNK_SIZE = 64;
+
+    private final int parallelism;
+
+    /**
+     * Constructor for injecting the configured degree of parallelism.
+     *
+     * @param parallelism The maximum number of documents validated concurrently; non-positive values
+     *                    select the number of available processors.
+     */
+    public BatchValidator(@Value("${fincheck.batch.parallelism:0}") int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Validates every document of a batch and returns one result per document, in input order.
+     *
+     * @param documents    The documents to validate.
+     * @param validator    The validation function, returning an empty list for valid documents.
+     * @param idExtractor  Extracts the business identifier each result is tagged with.
+     * @param validMessage The message reported for documents that pass validation.
+     * @param <T>          The document type.
+     * @return The validation results, where the result at position {@code i} belongs to document {@code i}.
+     */
+    public <T> List<BatchItemResponse> validateAll(List<T> documents,
+                                                   Function<T, List<String>> validator,
+                                                   Function<T, String> idExtractor,
+                                                   String validMessage) {
+        int size = documents.size();
+        BatchItemResponse[] results = new BatchItemResponse[size];
+        List<String> validMessages = List.of(validMessage);
+
+        if (size < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            validateRange(documents, 0, size, validator, idExtractor, validMessages, results);
+            return Arrays.asList(results);
+        }
+
+        int workers = Math.min(parallelism, size / MIN_CHUNK_SIZE);
+        // Several chunks per worker even out documents that are slower to validate than others
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (workers * 4));
+        AtomicInteger nextChunk = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    int from;
+                    while ((from = nextChunk.getAndAdd(chunkSize)) < size) {
+                        validateRange(documents, from, Math.min(from + chunkSize, size),
+                                validator, idExtractor, validMessages, results);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch validation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Batch validation failed", e.getCause());
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private static <T> void validateRange(List<T> documents, int from, int to,
+                                          Function<T, List<String>> validator,
+                                          Function<T, String> idExtractor,
+                                          List<String> validMessages,
+                                          BatchItemResponse[] results) {
+        for (int i = from; i < to; i++) {
+            T document = documents.get(i);
+            if (document == null) {
+                results[i] = new BatchItemResponse(i, null, false, ValidationResult.valid().with(ErrorCode.DOCUMENT_NULL));
+                continue;
+            }
+            List<String> errors = validator.apply(document);
+            results[i] = errors.isEmpty()
+                    ? new BatchItemResponse(i, idExtractor.apply(document), true, validMessages)
+                    : new BatchItemResponse(i, idExtractor.apply(document), false, errors);
+        }
+    }
+}
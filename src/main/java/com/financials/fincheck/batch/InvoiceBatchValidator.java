@@ -0,0 +1,142 @@
+package com.financials.fincheck.batch;
+
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.duplicate.DuplicateInvoiceDetector;
+import com.financials.fincheck.metrics.RuleProbe;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Validates large batches of invoices column by column.
+ * <p>
+ * The batch is copied into {@link InvoiceColumns} and the row-local rules run on whole columns through an
+ * {@link InvoiceKernel}, using the Vector API where available. The error bitmaps are then turned into the same
+ * results, in the same order, that {@link InvoiceValidator} returns for each invoice; rows without an error
+ * share the empty result. Invoices of issuers with their own accepted currencies are rechecked against those,
+ * and duplicate detection runs row by row in batch order, as it needs the detector's shared state. A {@code null}
+ * element of the batch is reported as {@link ErrorCode#DOCUMENT_NULL}.
+ * <p>
+ * Rule timings are not sampled on this path, but documents and failures are counted as usual.
+ */
+@Component
+public class InvoiceBatchValidator {
+    private static final Logger log = LoggerFactory.getLogger(InvoiceBatchValidator.class);
+
+    private final DuplicateInvoiceDetector duplicateDetector;
+    private final ValidationMetrics metrics;
+    private final ValidationSettingsStore settings;
+    private final InvoiceKernel kernel;
+
+    /**
+     * Creates a validator without duplicate detection or metrics, using the default settings.
+     */
+    public InvoiceBatchValidator() {
+        this(Optional.empty(), ValidationMetrics.disabled(), ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS),
+                InvoiceKernel.best());
+    }
+
+    /**
+     * Constructor for injecting the optional {@code DuplicateInvoiceDetector}, the {@code ValidationMetrics}
+     * and the {@code ValidationSettingsStore}; uses the fastest available kernel.
+     *
+     * @param duplicateDetector The detector remembering submitted invoice numbers, if enabled.
+     * @param metrics           The component publishing validation metrics.
+     * @param settings          The store holding the reloadable validation settings.
+     */
+    @Autowired
+    public InvoiceBatchValidator(Optional<DuplicateInvoiceDetector> duplicateDetector, ValidationMetrics metrics,
+                                 ValidationSettingsStore settings) {
+        this(duplicateDetector, metrics, settings, InvoiceKernel.best());
+        log.info("Validating invoice batches with the {} kernel",
+                kernel instanceof ScalarInvoiceKernel ? "scalar" : "vector");
+    }
+
+    /**
+     * Creates a validator with the given kernel.
+     *
+     * @param duplicateDetector The detector remembering submitted invoice numbers, if enabled.
+     * @param metrics           The component publishing validation metrics.
+     * @param settings          The store holding the reloadable validation settings.
+     * @param kernel            The kernel checking the columns.
+     */
+    public InvoiceBatchValidator(Optional<DuplicateInvoiceDetector> duplicateDetector, ValidationMetrics metrics,
+                                 ValidationSettingsStore settings, InvoiceKernel kernel) {
+        this.duplicateDetector = duplicateDetector.orElse(null);
+        this.metrics = metrics;
+        this.settings = settings;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Validates every invoice of a batch.
+     *
+     * @param invoices The invoices to validate; {@code null} elements are reported as {@link ErrorCode#DOCUMENT_NULL}.
+     * @return The validation errors, where the result at position {@code i} belongs to invoice {@code i}.
+     */
+    public List<ValidationResult> validateAll(List<Invoice> invoices) {
+        ValidationSettings snapshot = settings.current();
+        InvoiceColumns columns = InvoiceColumns.of(invoices);
+        InvoiceErrorBitmaps errors = kernel.check(columns, snapshot.invoiceCurrencies().packedCodes());
+        boolean issuerCurrencies = !snapshot.issuerInvoiceCurrencies().isEmpty();
+
+        List<ValidationResult> results = new ArrayList<>(invoices.size());
+        for (int row = 0; row < invoices.size(); row++) {
+            Invoice invoice = invoices.get(row);
+            ValidationResult result;
+            if (columns.isAbsent(row)) {
+                result = ValidationResult.valid().with(ErrorCode.DOCUMENT_NULL);
+                metrics.finish(DocumentType.INVOICE, result, RuleProbe.NOOP);
+                results.add(result);
+                continue;
+            }
+            if (!issuerCurrencies && (errors.anyError(row >>> 6) & (1L << row)) == 0) {
+                result = ValidationResult.valid();
+            } else {
+                result = rowErrors(errors, row, invoice, snapshot, issuerCurrencies);
+            }
+            if (duplicateDetector != null && result.isValid()
+                    && !duplicateDetector.recordIfAbsent(invoice.getIssuerId(), invoice.getInvoiceNumber())) {
+                result = result.with(ErrorCode.INVOICE_NUMBER_DUPLICATE, invoice.getInvoiceNumber());
+            }
+            metrics.finish(DocumentType.INVOICE, result, RuleProbe.NOOP);
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Builds the result of one row from the bitmaps, in the order {@link InvoiceValidator} checks the rules.
+     */
+    private static ValidationResult rowErrors(InvoiceErrorBitmaps errors, int row, Invoice invoice,
+                                              ValidationSettings snapshot, boolean issuerCurrencies) {
+        ValidationResult result = ValidationResult.valid();
+        if (InvoiceErrorBitmaps.isSet(errors.amountMissing(), row)) {
+            result = result.with(ErrorCode.AMOUNT_MISSING);
+        } else if (InvoiceErrorBitmaps.isSet(errors.amountNegative(), row)) {
+            result = result.with(ErrorCode.AMOUNT_NEGATIVE);
+        }
+        boolean currencyInvalid = issuerCurrencies
+                ? !snapshot.invoiceCurrencies(invoice.getIssuerId()).contains(invoice.getCurrencyCode())
+                : InvoiceErrorBitmaps.isSet(errors.currencyInvalid(), row);
+        if (currencyInvalid) {
+            result = result.with(ErrorCode.CURRENCY_INVALID, invoice.getCurrency());
+        }
+        if (InvoiceErrorBitmaps.isSet(errors.invoiceNumberBlank(), row)) {
+            result = result.with(ErrorCode.INVOICE_NUMBER_EMPTY);
+        }
+        return result;
+    }
+}
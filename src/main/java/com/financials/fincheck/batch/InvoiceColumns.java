@@ -0,0 +1,135 @@
+package com.financials.fincheck.batch;
+
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.rules.Checks;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A batch of invoices laid out column by column, for the rules a {@link InvoiceKernel} checks on whole lanes.
+ * <p>
+ * Row {@code i} is invoice {@code i} of the batch. Nullable values are split into a value column and a bit mask,
+ * where bit {@code i % 64} of word {@code i / 64} belongs to row {@code i}. The value columns are padded to a
+ * multiple of {@link #ROWS_PER_WORD} rows, so kernels can load full vectors up to the last word; padding rows
+ * hold an amount of 0 and no currency. A {@code null} element of the batch becomes an absent row, which holds the
+ * same values as a padding row and is marked as {@link #isAbsent(int) absent}.
+ */
+public final class InvoiceColumns {
+
+    /**
+     * The number of rows covered by one word of a bit mask.
+     */
+    public static final int ROWS_PER_WORD = Long.SIZE;
+
+    private final int size;
+    private final double[] amounts;
+    private final long[] amountPresent;
+    private final int[] currencies;
+    private final long[] invoiceNumberBlank;
+    private final long[] absent;
+
+    private InvoiceColumns(int size) {
+        int words = words(size);
+        this.size = size;
+        this.amounts = new double[words * ROWS_PER_WORD];
+        this.amountPresent = new long[words];
+        this.currencies = new int[words * ROWS_PER_WORD];
+        this.invoiceNumberBlank = new long[words];
+        this.absent = new long[words];
+    }
+
+    /**
+     * Copies the columns out of a batch of invoices.
+     *
+     * @param invoices The invoices; {@code null} elements become absent rows.
+     * @return The columns of the batch.
+     */
+    public static InvoiceColumns of(List<Invoice> invoices) {
+        InvoiceColumns columns = new InvoiceColumns(invoices.size());
+        Arrays.fill(columns.currencies, CurrencyRegistry.NOT_A_CODE);
+        for (int row = 0; row < columns.size; row++) {
+            Invoice invoice = invoices.get(row);
+            long bit = 1L << row;
+            if (invoice == null) {
+                columns.absent[row >>> 6] |= bit;
+                continue;
+            }
+            Double amount = invoice.getAmount();
+            if (amount != null) {
+                columns.amounts[row] = amount;
+                columns.amountPresent[row >>> 6] |= bit;
+            }
+            CurrencyCode currency = invoice.getCurrencyCode();
+            if (currency != null) {
+                columns.currencies[row] = currency.packed();
+            }
+            if (Checks.isBlank(invoice.getInvoiceNumber())) {
+                columns.invoiceNumberBlank[row >>> 6] |= bit;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * @param rows A number of rows.
+     * @return The number of bit mask words covering the rows.
+     */
+    public static int words(int rows) {
+        return (rows + ROWS_PER_WORD - 1) / ROWS_PER_WORD;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The amounts, with 0 where the amount is missing.
+     */
+    double[] amounts() {
+        return amounts;
+    }
+
+    /**
+     * @return The bit mask of rows with an amount.
+     */
+    long[] amountPresent() {
+        return amountPresent;
+    }
+
+    /**
+     * @return The currency codes packed by {@link CurrencyRegistry}, with {@link CurrencyRegistry#NOT_A_CODE}
+     *         where the currency is missing or not three letters.
+     */
+    int[] currencies() {
+        return currencies;
+    }
+
+    /**
+     * @return The bit mask of rows whose invoice number is missing or blank.
+     */
+    long[] invoiceNumberBlank() {
+        return invoiceNumberBlank;
+    }
+
+    /**
+     * @param row A row.
+     * @return {@code true} if the element of the batch at the row is {@code null}.
+     */
+    public boolean isAbsent(int row) {
+        return (absent[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * @return The mask of the rows in use in the last word, or -1 if it is full.
+     */
+    long lastWordMask() {
+        int used = size % ROWS_PER_WORD;
+        return used == 0 ? -1L : (1L << used) - 1;
+    }
+}
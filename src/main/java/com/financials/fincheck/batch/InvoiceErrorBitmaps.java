@@ -0,0 +1,36 @@
+package com.financials.fincheck.batch;
+
+/**
+ * The rule failures a {@link InvoiceKernel} found in a batch, as one bit mask per error.
+ * <p>
+ * Bit {@code i % 64} of word {@code i / 64} belongs to row {@code i}; bits beyond the last row are clear.
+ *
+ * @param amountMissing      Rows without an amount.
+ * @param amountNegative     Rows with a negative amount.
+ * @param currencyInvalid    Rows whose currency is missing or not accepted.
+ * @param invoiceNumberBlank Rows whose invoice number is missing or blank.
+ */
+public record InvoiceErrorBitmaps(long[] amountMissing, long[] amountNegative, long[] currencyInvalid,
+                                  long[] invoiceNumberBlank) {
+
+    static InvoiceErrorBitmaps forWords(int words) {
+        return new InvoiceErrorBitmaps(new long[words], new long[words], new long[words], new long[words]);
+    }
+
+    /**
+     * @param word The index of a word.
+     * @return The rows of the word with at least one error.
+     */
+    public long anyError(int word) {
+        return amountMissing[word] | amountNegative[word] | currencyInvalid[word] | invoiceNumberBlank[word];
+    }
+
+    /**
+     * @param bitmap A bitmap of this record.
+     * @param row    The row.
+     * @return {@code true} if the row's bit is set.
+     */
+    public static boolean isSet(long[] bitmap, int row) {
+        return (bitmap[row >>> 6] & (1L << row)) != 0;
+    }
+}
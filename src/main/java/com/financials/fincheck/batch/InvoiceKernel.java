@@ -0,0 +1,53 @@
+package com.financials.fincheck.batch;
+
+import java.util.Optional;
+
+/**
+ * Checks the invoice rules that need no lookups beyond the row itself on a whole {@link InvoiceColumns} batch:
+ * a missing or negative amount, a currency outside the accepted set and a blank invoice number.
+ * <p>
+ * Two implementations give identical results: one built on the incubating Vector API
+ * ({@code jdk.incubator.vector}), which compares a full vector of rows per instruction, and a scalar one.
+ * The vector kernel is only available when the JVM is started with {@code --add-modules jdk.incubator.vector}
+ * and the platform's preferred vector shape evenly divides a bit mask word.
+ */
+public interface InvoiceKernel {
+
+    /**
+     * Checks every row of a batch.
+     *
+     * @param columns            The batch.
+     * @param acceptedCurrencies The accepted currency codes, packed as by {@code CurrencyCode.packed()}.
+     * @return The rows failing each rule.
+     */
+    InvoiceErrorBitmaps check(InvoiceColumns columns, int[] acceptedCurrencies);
+
+    /**
+     * @return The kernel checking one row at a time.
+     */
+    static InvoiceKernel scalar() {
+        return ScalarInvoiceKernel.INSTANCE;
+    }
+
+    /**
+     * @return The kernel built on the Vector API, if the JVM and platform support it.
+     */
+    static Optional<InvoiceKernel> vector() {
+        // Resolving the kernel class links against jdk.incubator.vector, which is not in the boot layer by default
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return VectorInvoiceKernel.isSupported() ? Optional.of(new VectorInvoiceKernel()) : Optional.empty();
+        } catch (LinkageError | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return The vector kernel if available, otherwise the scalar one.
+     */
+    static InvoiceKernel best() {
+        return vector().orElseGet(InvoiceKernel::scalar);
+    }
+}
@@ -0,0 +1,57 @@
+package com.financials.fincheck.batch;
+
+import com.financials.fincheck.currency.CurrencyRegistry;
+
+/**
+ * The {@link InvoiceKernel} checking one row at a time, used where the Vector API is not available.
+ * <p>
+ * Accepted currencies are looked up in a bit set over all packed codes, so the cost per row does not depend
+ * on how many currencies are accepted.
+ */
+final class ScalarInvoiceKernel implements InvoiceKernel {
+    static final ScalarInvoiceKernel INSTANCE = new ScalarInvoiceKernel();
+
+    /**
+     * The number of three-letter codes {@link CurrencyRegistry#pack(char, char, char)} maps to.
+     */
+    private static final int PACKED_CODES = 26 * 26 * 26;
+
+    private ScalarInvoiceKernel() {
+    }
+
+    @Override
+    public InvoiceErrorBitmaps check(InvoiceColumns columns, int[] acceptedCurrencies) {
+        long[] accepted = new long[InvoiceColumns.words(PACKED_CODES)];
+        for (int code : acceptedCurrencies) {
+            accepted[code >>> 6] |= 1L << code;
+        }
+
+        int size = columns.size();
+        int words = InvoiceColumns.words(size);
+        InvoiceErrorBitmaps errors = InvoiceErrorBitmaps.forWords(words);
+        double[] amounts = columns.amounts();
+        int[] currencies = columns.currencies();
+        long[] amountPresent = columns.amountPresent();
+        for (int word = 0; word < words; word++) {
+            int base = word * InvoiceColumns.ROWS_PER_WORD;
+            int rows = Math.min(InvoiceColumns.ROWS_PER_WORD, size - base);
+            long negative = 0;
+            long currencyInvalid = 0;
+            for (int lane = 0; lane < rows; lane++) {
+                if (amounts[base + lane] < 0) {
+                    negative |= 1L << lane;
+                }
+                int currency = currencies[base + lane];
+                if (currency == CurrencyRegistry.NOT_A_CODE || (accepted[currency >>> 6] & (1L << currency)) == 0) {
+                    currencyInvalid |= 1L << lane;
+                }
+            }
+            long used = word == words - 1 ? columns.lastWordMask() : -1L;
+            errors.amountMissing()[word] = ~amountPresent[word] & used;
+            errors.amountNegative()[word] = negative & amountPresent[word];
+            errors.currencyInvalid()[word] = currencyInvalid;
+            errors.invoiceNumberBlank()[word] = columns.invoiceNumberBlank()[word];
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,83 @@
+package com.financials.fincheck.batch;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link InvoiceKernel} built on the Vector API.
+ * <p>
+ * Each bit mask word of 64 rows is checked a vector at a time: amounts are compared against zero, and packed
+ * currency codes against each accepted code, broadcast once per batch. The resulting lane masks are shifted
+ * into place in the word, so the error bitmaps are produced without a branch per row. Batches accepting more
+ * than {@link #MAX_VECTOR_CURRENCIES} currencies need one comparison per accepted code and vector, and are
+ * handed to the scalar kernel instead.
+ * <p>
+ * Only referenced through {@link InvoiceKernel#vector()}, which checks that {@code jdk.incubator.vector} is
+ * resolved before this class is loaded.
+ */
+final class VectorInvoiceKernel implements InvoiceKernel {
+    private static final VectorSpecies<Double> AMOUNTS = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> CURRENCIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Above this many accepted currencies, the scalar kernel's bit set lookup is faster.
+     */
+    static final int MAX_VECTOR_CURRENCIES = 16;
+
+    /**
+     * @return {@code true} if the preferred vectors split a bit mask word evenly.
+     */
+    static boolean isSupported() {
+        return AMOUNTS.length() > 1 && CURRENCIES.length() > 1
+                && InvoiceColumns.ROWS_PER_WORD % AMOUNTS.length() == 0
+                && InvoiceColumns.ROWS_PER_WORD % CURRENCIES.length() == 0;
+    }
+
+    @Override
+    public InvoiceErrorBitmaps check(InvoiceColumns columns, int[] acceptedCurrencies) {
+        if (acceptedCurrencies.length > MAX_VECTOR_CURRENCIES) {
+            return InvoiceKernel.scalar().check(columns, acceptedCurrencies);
+        }
+        IntVector[] accepted = new IntVector[acceptedCurrencies.length];
+        for (int i = 0; i < accepted.length; i++) {
+            accepted[i] = IntVector.broadcast(CURRENCIES, acceptedCurrencies[i]);
+        }
+
+        int words = InvoiceColumns.words(columns.size());
+        InvoiceErrorBitmaps errors = InvoiceErrorBitmaps.forWords(words);
+        double[] amounts = columns.amounts();
+        int[] currencies = columns.currencies();
+        long[] amountPresent = columns.amountPresent();
+        for (int word = 0; word < words; word++) {
+            int base = word * InvoiceColumns.ROWS_PER_WORD;
+
+            long negative = 0;
+            for (int lane = 0; lane < InvoiceColumns.ROWS_PER_WORD; lane += AMOUNTS.length()) {
+                negative |= DoubleVector.fromArray(AMOUNTS, amounts, base + lane)
+                        .compare(VectorOperators.LT, 0.0)
+                        .toLong() << lane;
+            }
+
+            long currencyAccepted = 0;
+            for (int lane = 0; lane < InvoiceColumns.ROWS_PER_WORD; lane += CURRENCIES.length()) {
+                IntVector codes = IntVector.fromArray(CURRENCIES, currencies, base + lane);
+                VectorMask<Integer> match = CURRENCIES.maskAll(false);
+                for (IntVector code : accepted) {
+                    match = match.or(codes.eq(code));
+                }
+                currencyAccepted |= match.toLong() << lane;
+            }
+
+            // Padding rows past the end have no amount and no currency, so only rows in use may be flagged
+            long used = word == words - 1 ? columns.lastWordMask() : -1L;
+            errors.amountMissing()[word] = ~amountPresent[word] & used;
+            errors.amountNegative()[word] = negative & amountPresent[word];
+            errors.currencyInvalid()[word] = ~currencyAccepted & used;
+            errors.invoiceNumberBlank()[word] = columns.invoiceNumberBlank()[word];
+        }
+        return errors;
+    }
+}
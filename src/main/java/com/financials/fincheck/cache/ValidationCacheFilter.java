@@ -0,0 +1,172 @@
+package com.financials.fincheck.cache;
+
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.currency.ExchangeRates;
+import com.financials.fincheck.util.XxHash64;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Answers repeated submissions of the same document from a cache of earlier validation responses.
+ * <p>
+ * The key is an XXH64 hash of the raw request bytes together with the endpoint, the content type, the
+ * accepted response types, the current day and the generations of the validation settings and exchange rates.
+ * A hit is written straight from the cache, before the body is deserialized or any rule runs. Including the day
+ * keeps rules that compare dates with {@code LocalDate.now()} correct: a cached answer is never reused after
+ * midnight. Including the generations does the same for reloads: once new settings or rates are published, no
+ * answer given under the earlier ones is reused, and the old entries age out. Every entry keeps the request body
+ * it answers, and a hit is only used if the bodies are equal byte for byte, so two documents whose hashes collide
+ * never share an answer, and the same document serialized differently (other field order or whitespace) is
+ * validated again.
+ * <p>
+ * Only the single-document endpoints are cached, and only 200 and 400 responses are stored. Requests
+ * without a declared length, or larger than the configured limit, bypass the cache. So do the endpoints whose
+ * validator records the documents it accepts (duplicate detection, reconciliation, payroll runs or spend limits),
+ * as every submission must reach those rules: a resubmitted invoice must be found to be a duplicate, and a
+ * payslip or report must be recorded however often it was answered before.
+ * <p>
+ * Configuration: {@code fincheck.cache.enabled}, {@code fincheck.cache.maximum-size},
+ * {@code fincheck.cache.ttl} and {@code fincheck.cache.max-body-size}. Hit and miss counts are
+ * published as the {@code cache.gets} metric of the {@code validation.results} cache.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "fincheck.cache.enabled", havingValue = "true")
+public class ValidationCacheFilter extends OncePerRequestFilter {
+    private final Set<String> cachedPaths;
+    private final Cache<CacheKey, CachedResponse> cache;
+    private final long maxBodySize;
+    private final ToLongFunction<byte[]> hash;
+    private final ValidationSettingsStore settingsStore;
+    private final ExchangeRates exchangeRates;
+
+    /**
+     * Constructor for injecting the validators with their settings and rates, the cache configuration and the
+     * registry hit/miss metrics are published to.
+     *
+     * @param invoiceValidator       The component validating invoices.
+     * @param payslipValidator       The component validating payslips.
+     * @param expenseReportValidator The component validating expense reports.
+     * @param settingsStore          The store of the validation settings the validators use.
+     * @param exchangeRates          The exchange rates the validators use.
+     * @param maximumSize            The maximum number of cached responses.
+     * @param ttl                    How long a cached response may be reused after it was stored.
+     * @param maxBodySize            The largest request body that is cached.
+     * @param meterRegistry          The registry the cache metrics are bound to.
+     */
+    public ValidationCacheFilter(InvoiceValidator invoiceValidator, PayslipValidator payslipValidator,
+                                 ExpenseReportValidator expenseReportValidator,
+                                 ValidationSettingsStore settingsStore, ExchangeRates exchangeRates,
+                                 @Value("${fincheck.cache.maximum-size:100000}") long maximumSize,
+                                 @Value("${fincheck.cache.ttl:10m}") Duration ttl,
+                                 @Value("${fincheck.cache.max-body-size:1MB}") DataSize maxBodySize,
+                                 MeterRegistry meterRegistry) {
+        this(invoiceValidator, payslipValidator, expenseReportValidator, settingsStore, exchangeRates, maximumSize,
+                ttl, maxBodySize, meterRegistry, body -> XxHash64.hash(body, 0));
+    }
+
+    ValidationCacheFilter(InvoiceValidator invoiceValidator, PayslipValidator payslipValidator,
+                          ExpenseReportValidator expenseReportValidator, ValidationSettingsStore settingsStore,
+                          ExchangeRates exchangeRates, long maximumSize, Duration ttl, DataSize maxBodySize,
+                          MeterRegistry meterRegistry, ToLongFunction<byte[]> hash) {
+        Set<String> paths = new HashSet<>();
+        if (!invoiceValidator.isStateful()) {
+            paths.add("/invoices/validate");
+        }
+        if (!payslipValidator.isStateful()) {
+            paths.add("/payslips/validate");
+        }
+        if (!expenseReportValidator.isStateful()) {
+            paths.add("/reports/validate");
+        }
+        this.cachedPaths = Set.copyOf(paths);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.maxBodySize = maxBodySize.toBytes();
+        this.hash = hash;
+        this.settingsStore = settingsStore;
+        this.exchangeRates = exchangeRates;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "validation.results");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !cachedPaths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0 || contentLength > maxBodySize) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes((int) contentLength);
+        // Read before validating, so an answer given under newer settings is at worst stored under an older key
+        CacheKey key = new CacheKey(request.getRequestURI(), request.getContentType(),
+                request.getHeader(HttpHeaders.ACCEPT), LocalDate.now().toEpochDay(), settingsStore.generation(),
+                exchangeRates.generation(), hash.applyAsLong(body), body.length);
+
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && Arrays.equals(cached.request(), body)) {
+            response.setStatus(cached.status());
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+
+        int status = responseWrapper.getStatus();
+        if (status == HttpServletResponse.SC_OK || status == HttpServletResponse.SC_BAD_REQUEST) {
+            cache.put(key, new CachedResponse(body, status, responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Identifies a submission: the endpoint and format it was sent to, the formats the response may be
+     * written in, the day and the settings and rate generations it was validated under and the hash and length of
+     * its body. Different bodies may share a key; the entry's request tells them apart.
+     */
+    private record CacheKey(String path, String contentType, String accept, long epochDay, long settingsGeneration,
+                            long ratesGeneration, long bodyHash, int bodyLength) { }
+
+    /**
+     * A response as it was written the first time the submission was validated, with the request body it answers.
+     */
+    private record CachedResponse(byte[] request, int status, String contentType, byte[] body) { }
+}
@@ -0,0 +1,308 @@
+package com.financials.fincheck.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ValidationResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Validates every record of a large NDJSON or CSV file without reading it through a stream.
+ * <p>
+ * The file is memory-mapped as a single segment, so files beyond 2 GB need no remapping, and cut into
+ * chunks of roughly the configured size that end at a newline. A fixed number of workers claim chunks
+ * until none are left; each copies its chunk out of the page cache into a reusable buffer and binds and
+ * validates the records line by line, so a malformed record only affects its own line. The calling
+ * thread writes the errors of each chunk as soon as all preceding chunks are written, which keeps the
+ * report in file order, and then drops them. Workers run at most two chunks per worker ahead of the
+ * writer, so a slow report or a chunk with many errors bounds the errors held in memory rather than
+ * letting them pile up for the rest of the file. If a chunk fails or the report cannot be written, the
+ * workers stop claiming chunks and the error is thrown.
+ * <p>
+ * The report has one tab-separated line per error: the line number in the file, the field and the
+ * message, e.g. {@code 42\tcurrency\tInvalid currency: ABC}. Blank lines are skipped, and records that
+ * cannot be bound, such as malformed JSON or a JSON {@code null}, are reported as {@link ErrorCode#RECORD_FORMAT}.
+ */
+public final class BulkFileValidator {
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * @param objectMapper The mapper records are bound with.
+     * @param parallelism  The number of chunks validated concurrently.
+     * @param chunkSize    The approximate number of bytes per chunk.
+     */
+    public BulkFileValidator(ObjectMapper objectMapper, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Counts of a finished run.
+     *
+     * @param records        The number of records validated, excluding blank lines and the CSV header.
+     * @param invalidRecords The number of records with at least one error.
+     * @param bytes          The size of the file.
+     * @param nanos          The time taken.
+     */
+    public record Summary(long records, long invalidRecords, long bytes, long nanos) {
+
+        /**
+         * @return The scan rate in megabytes (10<sup>6</sup> bytes) per second.
+         */
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0 : bytes * 1_000.0 / nanos;
+        }
+    }
+
+    /**
+     * Validates every record of a file and writes the errors to a report.
+     *
+     * @param file      The file to validate.
+     * @param format    The record format of the file.
+     * @param type      The document type each record is bound to.
+     * @param validator The validation function.
+     * @param report    The stream the report is written to. It is not closed by this method.
+     * @param <T>       The document type.
+     * @return The counts of the run.
+     * @throws IOException              If the file cannot be read or the report cannot be written.
+     * @throws IllegalArgumentException If the CSV header is malformed, e.g. names both {@code x} and {@code x.y}.
+     */
+    public <T> Summary validate(Path file, RecordFormat format, Class<T> type,
+                                Function<? super T, ValidationResult> validator, OutputStream report) throws IOException {
+        long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Arena arena = Arena.ofShared()) {
+            long size = channel.size();
+            if (size == 0) {
+                return new Summary(0, 0, 0, System.nanoTime() - started);
+            }
+            MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+
+            long bodyStart = 0;
+            int firstLine = 1;
+            CsvRecordParser csv = null;
+            if (format == RecordFormat.CSV) {
+                bodyStart = lineEnd(data, 0);
+                byte[] header = data.asSlice(0, bodyStart).toArray(ValueLayout.JAVA_BYTE);
+                csv = CsvRecordParser.forHeader(header, 0, trimLineTerminator(header, 0, header.length));
+                firstLine = 2;
+            }
+
+            List<long[]> chunks = chunks(data, bodyStart);
+            Chunk<T> work = new Chunk<>(data, objectMapper.readerFor(type), csv, validator);
+            List<CompletableFuture<ChunkResult>> results = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                results.add(new CompletableFuture<>());
+            }
+            AtomicInteger nextChunk = new AtomicInteger();
+            // One permit per chunk claimed but not yet written
+            Semaphore ahead = new Semaphore(2 * parallelism);
+
+            long records = 0;
+            long invalidRecords = 0;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < Math.min(parallelism, chunks.size()); i++) {
+                    executor.submit(() -> {
+                        byte[] buffer = new byte[0];
+                        while (true) {
+                            ahead.acquireUninterruptibly();
+                            int index = nextChunk.getAndIncrement();
+                            if (index >= chunks.size()) {
+                                ahead.release();
+                                return;
+                            }
+                            long[] bounds = chunks.get(index);
+                            try {
+                                if (buffer.length < bounds[1] - bounds[0]) {
+                                    buffer = new byte[checkedLength(bounds[1] - bounds[0])];
+                                }
+                                results.get(index).complete(work.validate(bounds[0], bounds[1], buffer));
+                            } catch (Throwable e) {
+                                results.get(index).completeExceptionally(e);
+                                // The report stops at this chunk, so the chunks after it are not needed
+                                nextChunk.set(chunks.size());
+                            }
+                        }
+                    });
+                }
+
+                long line = firstLine;
+                try {
+                    for (int i = 0; i < results.size(); i++) {
+                        ChunkResult result = join(results.get(i));
+                        results.set(i, null);
+                        for (ReportLine error : result.errors()) {
+                            writeReportLine(report, line + error.line(), error.field(), error.message());
+                        }
+                        ahead.release();
+                        line += result.lines();
+                        records += result.records();
+                        invalidRecords += result.invalidRecords();
+                    }
+                } catch (IOException | RuntimeException | Error e) {
+                    // Nothing after this chunk is written, so the workers stop, including those waiting for a permit
+                    nextChunk.set(chunks.size());
+                    ahead.release(parallelism);
+                    throw e;
+                }
+            }
+            return new Summary(records, invalidRecords, size, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Cuts the records after {@code from} into chunks ending at a newline, as {@code [start, end)} pairs.
+     */
+    private List<long[]> chunks(MemorySegment data, long from) {
+        List<long[]> chunks = new ArrayList<>();
+        long size = data.byteSize();
+        for (long start = from; start < size; ) {
+            long end = start + chunkSize >= size ? size : lineEnd(data, start + chunkSize - 1);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * @return The index after the first newline at or after {@code from}, or the end of the data.
+     */
+    private static long lineEnd(MemorySegment data, long from) {
+        long size = data.byteSize();
+        for (long i = from; i < size; i++) {
+            if (data.get(ValueLayout.JAVA_BYTE, i) == '\n') {
+                return i + 1;
+            }
+        }
+        return size;
+    }
+
+    private static int trimLineTerminator(byte[] buffer, int from, int to) {
+        while (to > from && (buffer[to - 1] == '\n' || buffer[to - 1] == '\r')) {
+            to--;
+        }
+        return to;
+    }
+
+    private static int checkedLength(long length) throws IOException {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Record of more than 2 GB");
+        }
+        return (int) length;
+    }
+
+    private static ChunkResult join(CompletableFuture<ChunkResult> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Bulk validation failed", e.getCause());
+        }
+    }
+
+    private static void writeReportLine(OutputStream report, long line, String field, String message) throws IOException {
+        report.write((line + "\t" + field + "\t" + message + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * An error in a chunk, with the line number relative to the chunk's first line (0).
+     */
+    private record ReportLine(int line, String field, String message) {
+    }
+
+    private record ChunkResult(int lines, long records, long invalidRecords, List<ReportLine> errors) {
+    }
+
+    /**
+     * Validates the records of one chunk; shared by all workers, which only share read-only state.
+     */
+    private record Chunk<T>(MemorySegment data, ObjectReader reader, CsvRecordParser csv,
+                            Function<? super T, ValidationResult> validator) {
+
+        ChunkResult validate(long start, long end, byte[] buffer) {
+            int length = (int) (end - start);
+            MemorySegment.copy(data, ValueLayout.JAVA_BYTE, start, buffer, 0, length);
+
+            List<ReportLine> errors = new ArrayList<>();
+            int lines = 0;
+            long records = 0;
+            long invalidRecords = 0;
+            for (int from = 0; from < length; lines++) {
+                int next = from;
+                while (next < length && buffer[next] != '\n') {
+                    next++;
+                }
+                int to = trimLineTerminator(buffer, from, next);
+                if (!isBlank(buffer, from, to)) {
+                    records++;
+                    T document;
+                    try {
+                        document = bind(buffer, from, to);
+                    } catch (IOException | IllegalArgumentException e) {
+                        document = null;
+                    }
+                    ValidationResult result = document == null
+                            ? ValidationResult.valid().with(ErrorCode.RECORD_FORMAT)
+                            : validator.apply(document);
+                    if (!result.isValid()) {
+                        invalidRecords++;
+                        for (int i = 0; i < result.size(); i++) {
+                            errors.add(new ReportLine(lines, result.code(i).field(), result.get(i)));
+                        }
+                    }
+                }
+                from = next + 1;
+            }
+            return new ChunkResult(lines, records, invalidRecords, errors);
+        }
+
+        private T bind(byte[] buffer, int from, int to) throws IOException {
+            if (csv != null) {
+                return reader.readValue(csv.parse(buffer, from, to));
+            }
+            return reader.readValue(buffer, from, to - from);
+        }
+
+        private static boolean isBlank(byte[] buffer, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (buffer[i] != ' ' && buffer[i] != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.financials.fincheck.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command-line mode validating archived NDJSON or CSV files with the application's validators, without HTTP.
+ * <p>
+ * Started through {@code FincheckApplication} with {@value #NAME} as the first argument:
+ * <pre>
+ * java -jar fincheck.jar validate payroll-2025.csv --type=payslip --report=errors.tsv
+ * </pre>
+ * Options are passed as {@code --name=value}:
+ * <ul>
+ *   <li>{@code --type} - the document type of every record: {@code invoice}, {@code payslip} or {@code expense_report} (required).</li>
+ *   <li>{@code --format} - {@code csv} or {@code ndjson}; by default taken from the file extension.</li>
+ *   <li>{@code --report} - the file the error report is written to; by default standard output.</li>
+ * </ul>
+ * Application properties, such as {@code --fincheck.rules.file}, may be passed the same way. The run summary
+ * goes to standard error. The exit code is 0 if every record is valid, 1 if any record is invalid and 2 if
+ * the file could not be validated.
+ * <p>
+ * Configuration: {@code fincheck.batch.parallelism} (defaults to the number of available processors) and
+ * {@code fincheck.cli.chunk-size}.
+ */
+@Component
+public class BulkValidationCommand {
+
+    /**
+     * The first program argument selecting this mode.
+     */
+    public static final String NAME = "validate";
+
+    static final int EXIT_VALID = 0;
+    static final int EXIT_INVALID = 1;
+    static final int EXIT_ERROR = 2;
+
+    private final InvoiceValidator invoiceValidator;
+    private final PayslipValidator payslipValidator;
+    private final ExpenseReportValidator expenseReportValidator;
+    private final BulkFileValidator fileValidator;
+
+    /**
+     * Constructor for injecting the validators, the application's {@code ObjectMapper} and the configuration.
+     *
+     * @param invoiceValidator       The component validating invoices.
+     * @param payslipValidator       The component validating payslips.
+     * @param expenseReportValidator The component validating expense reports.
+     * @param objectMapper           The mapper records are bound with.
+     * @param parallelism            The number of chunks validated concurrently; non-positive values select
+     *                               the number of available processors.
+     * @param chunkSize              The approximate size of the chunks a file is split into.
+     */
+    public BulkValidationCommand(InvoiceValidator invoiceValidator, PayslipValidator payslipValidator,
+                                 ExpenseReportValidator expenseReportValidator, ObjectMapper objectMapper,
+                                 @Value("${fincheck.batch.parallelism:0}") int parallelism,
+                                 @Value("${fincheck.cli.chunk-size:8MB}") DataSize chunkSize) {
+        this.invoiceValidator = invoiceValidator;
+        this.payslipValidator = payslipValidator;
+        this.expenseReportValidator = expenseReportValidator;
+        this.fileValidator = new BulkFileValidator(objectMapper,
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                Math.toIntExact(chunkSize.toBytes()));
+    }
+
+    /**
+     * Validates the file named by the arguments.
+     *
+     * @param args The arguments following {@value #NAME}.
+     * @return The exit code.
+     */
+    public int run(String... args) {
+        return run(args, System.out, System.err);
+    }
+
+    int run(String[] args, PrintStream out, PrintStream err) {
+        List<String> files = new ArrayList<>();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--")) {
+                files.add(arg);
+            } else if (separator > 2 && arg.indexOf('.') < 0) {
+                // Options with a dot are application properties, which Spring has already applied
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        DocumentType type = DocumentType.forTag(options.get("type"));
+        RecordFormat format = files.size() != 1 ? null : recordFormat(options.get("format"), Path.of(files.getFirst()));
+        if (type == null || format == null) {
+            err.println("Usage: " + NAME + " <file> --type=invoice|payslip|expense_report"
+                    + " [--format=csv|ndjson] [--report=<file>]");
+            return EXIT_ERROR;
+        }
+        Path file = Path.of(files.getFirst());
+
+        String reportFile = options.get("report");
+        try (OutputStream report = new BufferedOutputStream(reportFile == null
+                ? new UncloseableOutputStream(out)
+                : Files.newOutputStream(Path.of(reportFile)), 64 * 1024)) {
+            BulkFileValidator.Summary summary = validate(file, format, type, report);
+            report.flush();
+            err.printf(Locale.ROOT, "Validated %d records, %d invalid, %.1f MB in %.2f s (%.0f MB/s)%n",
+                    summary.records(), summary.invalidRecords(), summary.bytes() / 1e6, summary.nanos() / 1e9,
+                    summary.megabytesPerSecond());
+            return summary.invalidRecords() == 0 ? EXIT_VALID : EXIT_INVALID;
+        } catch (NoSuchFileException e) {
+            err.println("File not found: " + e.getFile());
+            return EXIT_ERROR;
+        } catch (IOException | IllegalArgumentException e) {
+            err.println("Validation failed: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+    }
+
+    private BulkFileValidator.Summary validate(Path file, RecordFormat format, DocumentType type,
+                                               OutputStream report) throws IOException {
+        return switch (type) {
+            case INVOICE -> fileValidator.validate(file, format, Invoice.class, invoiceValidator::validate, report);
+            case PAYSLIP -> fileValidator.validate(file, format, Payslip.class, payslipValidator::validate, report);
+            case EXPENSE_REPORT -> fileValidator.validate(file, format, ExpenseReport.class,
+                    expenseReportValidator::validate, report);
+        };
+    }
+
+    private static RecordFormat recordFormat(String name, Path file) {
+        if (name == null) {
+            return RecordFormat.forFile(file);
+        }
+        for (RecordFormat format : RecordFormat.values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keeps standard output open when the report stream is closed.
+     */
+    private static final class UncloseableOutputStream extends FilterOutputStream {
+        UncloseableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
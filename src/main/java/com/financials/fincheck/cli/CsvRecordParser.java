@@ -0,0 +1,125 @@
+package com.financials.fincheck.cli;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns CSV lines into JSON trees, so CSV records are bound by the same Jackson deserializers as JSON requests.
+ * <p>
+ * Each header column names a document property, with dots separating nested properties. Values are bound
+ * as strings, which Jackson coerces to numbers, dates and enums as needed. Empty cells are left out of the
+ * tree, so they bind like missing JSON properties. A property can be a value or have nested properties, not
+ * both, so a header naming both {@code x} and {@code x.y}, or naming a column twice, is rejected.
+ */
+final class CsvRecordParser {
+    private final String[][] paths;
+
+    private CsvRecordParser(String[][] paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * @param buffer The buffer holding the header line.
+     * @param from   The index of the first byte of the line.
+     * @param to     The index after the last byte of the line, excluding the line terminator.
+     * @return A parser for the records below the header.
+     * @throws IllegalArgumentException If a quoted column is not terminated, or two columns conflict.
+     */
+    static CsvRecordParser forHeader(byte[] buffer, int from, int to) {
+        List<String> columns = split(buffer, from, to);
+        String[][] paths = new String[columns.size()][];
+        // The columns, and every property with nested properties with the first column that named it
+        Set<String> values = new HashSet<>();
+        Map<String, String> parents = new HashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            String column = columns.get(i).trim();
+            paths[i] = column.split("\\.");
+            String conflict = values.contains(column) ? column : parents.get(column);
+            for (int end = column.indexOf('.'); conflict == null && end >= 0; end = column.indexOf('.', end + 1)) {
+                String parent = column.substring(0, end);
+                conflict = values.contains(parent) ? parent : null;
+                parents.putIfAbsent(parent, column);
+            }
+            if (conflict != null) {
+                throw new IllegalArgumentException("CSV header column " + column + " conflicts with column " + conflict);
+            }
+            values.add(column);
+        }
+        return new CsvRecordParser(paths);
+    }
+
+    /**
+     * @param buffer The buffer holding the record line.
+     * @param from   The index of the first byte of the line.
+     * @param to     The index after the last byte of the line, excluding the line terminator.
+     * @return The record as a JSON tree; cells beyond the header are ignored.
+     * @throws IllegalArgumentException If a quoted value is not terminated.
+     */
+    ObjectNode parse(byte[] buffer, int from, int to) {
+        ObjectNode record = JsonNodeFactory.instance.objectNode();
+        List<String> cells = split(buffer, from, to);
+        for (int i = 0; i < Math.min(cells.size(), paths.length); i++) {
+            String cell = cells.get(i);
+            if (cell.isEmpty()) {
+                continue;
+            }
+            String[] path = paths[i];
+            ObjectNode parent = record;
+            for (int j = 0; j < path.length - 1; j++) {
+                parent = parent.has(path[j]) ? (ObjectNode) parent.get(path[j]) : parent.putObject(path[j]);
+            }
+            parent.put(path[path.length - 1], cell);
+        }
+        return record;
+    }
+
+    private static List<String> split(byte[] buffer, int from, int to) {
+        List<String> cells = new ArrayList<>();
+        int i = from;
+        while (true) {
+            if (i < to && buffer[i] == '"') {
+                // Quoted value: "" stands for one quote, and commas are part of the value
+                StringBuilder cell = new StringBuilder();
+                int start = ++i;
+                while (true) {
+                    if (i >= to) {
+                        throw new IllegalArgumentException("Unterminated quoted value");
+                    }
+                    if (buffer[i] == '"') {
+                        cell.append(new String(buffer, start, i - start, StandardCharsets.UTF_8));
+                        if (i + 1 < to && buffer[i + 1] == '"') {
+                            cell.append('"');
+                            start = i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    i++;
+                }
+                cells.add(cell.toString());
+                while (i < to && buffer[i] != ',') {
+                    i++;
+                }
+            } else {
+                int start = i;
+                while (i < to && buffer[i] != ',') {
+                    i++;
+                }
+                cells.add(new String(buffer, start, i - start, StandardCharsets.UTF_8));
+            }
+            if (i >= to) {
+                return cells;
+            }
+            i++; // Skip the comma
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.financials.fincheck.cli;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Record formats of the files validated by the {@link BulkValidationCommand}.
+ * <p>
+ * Both formats hold one record per line, which is what lets a file be split into chunks at any newline.
+ */
+public enum RecordFormat {
+
+    /**
+     * Newline-delimited JSON, one document per line.
+     */
+    NDJSON,
+
+    /**
+     * Comma-separated values with a header row naming the document property of every column. Nested
+     * properties are named with dots (e.g. {@code employer.companyName} or {@code deductions.Tax}); quoted
+     * values must not contain line breaks.
+     */
+    CSV;
+
+    /**
+     * @param file The file to validate.
+     * @return {@link #CSV} for files ending in {@code .csv}, otherwise {@link #NDJSON}.
+     */
+    public static RecordFormat forFile(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
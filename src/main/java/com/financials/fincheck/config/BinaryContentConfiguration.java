@@ -0,0 +1,33 @@
+package com.financials.fincheck.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financials.fincheck.stream.DocumentFormat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets every Spring MVC endpoint read and write CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}) bodies next to JSON.
+ * <p>
+ * Spring MVC registers converters for both formats on its own when they are on the classpath, but with
+ * mappers of their own. These converters replace them with mappers derived from the application's
+ * {@code ObjectMapper}, so binary bodies bind with exactly the modules and features JSON bodies do. The JSON
+ * converter stays first, so clients that do not ask for a binary format keep receiving JSON.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinaryContentConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(DocumentFormat.CBOR.mapper(objectMapper));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(DocumentFormat.SMILE.mapper(objectMapper));
+    }
+}
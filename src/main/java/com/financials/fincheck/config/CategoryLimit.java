@@ -0,0 +1,57 @@
+package com.financials.fincheck.config;
+
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * The highest amount accepted for a single expense item of one category, such as 150 EUR on Meals.
+ * <p>
+ * In the settings file a limit is written as {@code <amount> <currency>}, e.g. {@code 150 EUR}. Items in another
+ * currency are compared at their amount converted at the rate of their expense date.
+ *
+ * @param category The expense item category.
+ * @param amount   The highest amount of an item of the category.
+ * @param currency The currency of the amount.
+ */
+public record CategoryLimit(String category, BigDecimal amount, CurrencyCode currency) {
+    public CategoryLimit {
+        if (currency == null || !currency.isRegistered()) {
+            throw new IllegalArgumentException("Unknown currency in limit of category " + category);
+        }
+        if (amount.signum() < 0 || amount.scale() > Money.scale(currency.currency())) {
+            throw new IllegalArgumentException("Limit of category " + category + " is not a valid amount in "
+                    + currency.code() + ": " + amount);
+        }
+    }
+
+    /**
+     * Parses a limit written as {@code <amount> <currency>}.
+     *
+     * @param category The expense item category.
+     * @param text     The limit, e.g. {@code 150 EUR}.
+     * @return The limit.
+     * @throws IllegalArgumentException If the text is malformed.
+     */
+    public static CategoryLimit parse(String category, String text) {
+        String[] money = text.trim().split("\\s+");
+        if (money.length != 2) {
+            throw new IllegalArgumentException("Limit of category " + category + " must look like 150 EUR: " + text);
+        }
+        return new CategoryLimit(category, new BigDecimal(money[0]), CurrencyRegistry.resolve(money[1]));
+    }
+
+    /**
+     * @return The number of minor unit digits of the limit's currency.
+     */
+    public int scale() {
+        return Money.scale(currency.currency());
+    }
+
+    @Override
+    public String toString() {
+        return amount.toPlainString() + " " + currency.code() + " on " + category;
+    }
+}
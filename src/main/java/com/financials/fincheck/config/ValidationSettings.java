@@ -0,0 +1,183 @@
+package com.financials.fincheck.config;
+
+import com.financials.fincheck.currency.CurrencySet;
+import com.financials.fincheck.spending.SpendLimit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable snapshot of the validation settings that can change without a restart.
+ * <p>
+ * Snapshots are read from a properties file with these keys, each optional:
+ * <ul>
+ *   <li>{@code invoice.currencies} - comma-separated currency codes accepted on invoices (default USD,EUR,GBP).</li>
+ *   <li>{@code invoice.currencies.<issuerId>} - the currency codes accepted on invoices of one issuer (tenant),
+ *       replacing {@code invoice.currencies} for that issuer.</li>
+ *   <li>{@code payslip.net-salary-tolerance} - how many minor units the net salary may differ from gross salary
+ *       minus deductions (default 0, an exact match).</li>
+ *   <li>{@code payslip.bank-account-countries} - comma-separated IBAN country codes accepted for bank transfers
+ *       (default empty, every country in the IBAN registry).</li>
+ *   <li>{@code expense.categories} - comma-separated expense item categories accepted on expense reports
+ *       (default empty, every category).</li>
+ *   <li>{@code expense.category-limit.<category>} - the highest amount accepted for a single expense item of the
+ *       category, as {@code <amount> <currency>}, e.g. {@code 150 EUR}; items in other currencies are converted at
+ *       the rate of their expense date (default none).</li>
+ *   <li>{@code expense.spend-limit.<category>} - the most an employee may spend on the category within a rolling
+ *       window, as {@code <amount> <currency>/<days>d}, e.g. {@code 2000 EUR/30d} (default none).</li>
+ * </ul>
+ *
+ * @param invoiceCurrencies       The currency codes accepted on invoices.
+ * @param issuerInvoiceCurrencies The currency codes accepted on invoices of specific issuers, by issuer ID.
+ * @param netSalaryTolerance      The accepted net salary difference, in minor units.
+ * @param bankAccountCountries    The accepted IBAN countries; empty accepts all.
+ * @param expenseCategories       The accepted expense item categories; empty accepts all.
+ * @param expenseCategoryLimits   The highest amount of a single expense item, by category.
+ * @param expenseSpendLimits      The rolling-window limits on an employee's spending, by category.
+ */
+public record ValidationSettings(CurrencySet invoiceCurrencies, Map<String, CurrencySet> issuerInvoiceCurrencies,
+                                 long netSalaryTolerance, Set<String> bankAccountCountries,
+                                 Set<String> expenseCategories, Map<String, CategoryLimit> expenseCategoryLimits,
+                                 Map<String, SpendLimit> expenseSpendLimits) {
+
+    /**
+     * The settings used when no settings file is configured.
+     */
+    public static final ValidationSettings DEFAULTS = new ValidationSettings(
+            CurrencySet.of("USD", "EUR", "GBP"), Map.of(), 0, Set.of());
+
+    private static final String INVOICE_CURRENCIES = "invoice.currencies";
+    private static final String EXPENSE_CATEGORY_LIMIT = "expense.category-limit.";
+    private static final String EXPENSE_SPEND_LIMIT = "expense.spend-limit.";
+
+    public ValidationSettings {
+        issuerInvoiceCurrencies = Map.copyOf(issuerInvoiceCurrencies);
+        bankAccountCountries = Set.copyOf(bankAccountCountries);
+        expenseCategories = Set.copyOf(expenseCategories);
+        expenseCategoryLimits = Map.copyOf(expenseCategoryLimits);
+        expenseSpendLimits = Map.copyOf(expenseSpendLimits);
+        if (netSalaryTolerance < 0) {
+            throw new IllegalArgumentException("Net salary tolerance must not be negative: " + netSalaryTolerance);
+        }
+    }
+
+    /**
+     * Creates settings without expense item policies.
+     */
+    public ValidationSettings(CurrencySet invoiceCurrencies, Map<String, CurrencySet> issuerInvoiceCurrencies,
+                              long netSalaryTolerance, Set<String> bankAccountCountries) {
+        this(invoiceCurrencies, issuerInvoiceCurrencies, netSalaryTolerance, bankAccountCountries, Set.of(), Map.of());
+    }
+
+    /**
+     * Creates settings without spend limits.
+     */
+    public ValidationSettings(CurrencySet invoiceCurrencies, Map<String, CurrencySet> issuerInvoiceCurrencies,
+                              long netSalaryTolerance, Set<String> bankAccountCountries,
+                              Set<String> expenseCategories, Map<String, CategoryLimit> expenseCategoryLimits) {
+        this(invoiceCurrencies, issuerInvoiceCurrencies, netSalaryTolerance, bankAccountCountries, expenseCategories,
+                expenseCategoryLimits, Map.of());
+    }
+
+    /**
+     * Builds a snapshot from properties, using the defaults for missing keys.
+     *
+     * @param properties The properties read from the settings file.
+     * @return The snapshot.
+     * @throws IllegalArgumentException If a value is malformed.
+     */
+    public static ValidationSettings from(Properties properties) {
+        String currencies = properties.getProperty(INVOICE_CURRENCIES);
+        Map<String, CurrencySet> issuerCurrencies = new HashMap<>();
+        Map<String, CategoryLimit> categoryLimits = new TreeMap<>();
+        Map<String, SpendLimit> spendLimits = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(INVOICE_CURRENCIES + ".")) {
+                issuerCurrencies.put(key.substring(INVOICE_CURRENCIES.length() + 1),
+                        currencies(properties.getProperty(key)));
+            } else if (key.startsWith(EXPENSE_CATEGORY_LIMIT)) {
+                String category = key.substring(EXPENSE_CATEGORY_LIMIT.length());
+                categoryLimits.put(category, CategoryLimit.parse(category, properties.getProperty(key)));
+            } else if (key.startsWith(EXPENSE_SPEND_LIMIT)) {
+                String category = key.substring(EXPENSE_SPEND_LIMIT.length());
+                spendLimits.put(category, SpendLimit.parse(category, properties.getProperty(key)));
+            }
+        }
+        String tolerance = properties.getProperty("payslip.net-salary-tolerance");
+        String countries = properties.getProperty("payslip.bank-account-countries");
+        String categories = properties.getProperty("expense.categories");
+        return new ValidationSettings(
+                currencies == null ? DEFAULTS.invoiceCurrencies : currencies(currencies),
+                issuerCurrencies,
+                tolerance == null ? DEFAULTS.netSalaryTolerance : Long.parseLong(tolerance.trim()),
+                countries == null ? DEFAULTS.bankAccountCountries : codes(countries, 2),
+                categories == null ? DEFAULTS.expenseCategories : names(categories),
+                categoryLimits,
+                spendLimits);
+    }
+
+    /**
+     * @param issuerId The issuer (tenant) of an invoice, or {@code null}.
+     * @return The currency codes accepted on the issuer's invoices.
+     */
+    public CurrencySet invoiceCurrencies(String issuerId) {
+        CurrencySet currencies = issuerId == null ? null : issuerInvoiceCurrencies.get(issuerId);
+        return currencies != null ? currencies : invoiceCurrencies;
+    }
+
+    /**
+     * @param country A two-letter IBAN country code.
+     * @return {@code true} if bank accounts in the country are accepted.
+     */
+    public boolean acceptsBankAccountCountry(String country) {
+        return bankAccountCountries.isEmpty() || bankAccountCountries.contains(country);
+    }
+
+    /**
+     * @param category An expense item category.
+     * @return {@code true} if items of the category are accepted.
+     */
+    public boolean acceptsExpenseCategory(String category) {
+        return expenseCategories.isEmpty() || expenseCategories.contains(category);
+    }
+
+    private static Set<String> names(String list) {
+        return Arrays.stream(list.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static CurrencySet currencies(String list) {
+        List<String> codes = Arrays.stream(list.split(","))
+                .map(String::trim)
+                .filter(code -> !code.isEmpty())
+                .toList();
+        for (String code : codes) {
+            // The registry also folds lower-case codes, which the settings file should not rely on
+            if (!code.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+                throw new IllegalArgumentException("Invalid code: " + code);
+            }
+        }
+        return CurrencySet.of(codes);
+    }
+
+    private static Set<String> codes(String list, int length) {
+        Set<String> codes = Arrays.stream(list.split(","))
+                .map(String::trim)
+                .filter(code -> !code.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        for (String code : codes) {
+            if (code.length() != length || !code.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+                throw new IllegalArgumentException("Invalid code: " + code);
+            }
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,128 @@
+package com.financials.fincheck.config;
+
+import com.financials.fincheck.util.FileWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link ValidationSettings} and reloads them when the settings file changes.
+ * <p>
+ * Every reload parses the whole file into a new immutable snapshot and publishes it with a single
+ * atomic reference swap. Readers call {@link #current()} once per document, a plain volatile read, and
+ * keep using that snapshot, so a document is validated against one consistent set of values even if a
+ * reload happens meanwhile. A file that cannot be parsed is rejected as a whole and the previous snapshot
+ * stays in place. Every published snapshot increments a {@linkplain #generation() generation}, so answers
+ * derived from the settings can be told apart from those of earlier snapshots.
+ * <p>
+ * The file's directory is watched by a daemon thread. Without {@code fincheck.rules.file} the
+ * {@link ValidationSettings#DEFAULTS} are used and nothing is watched.
+ */
+@Component
+public class ValidationSettingsStore implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ValidationSettingsStore.class);
+
+    private final AtomicReference<ValidationSettings> current;
+    private final AtomicLong generation = new AtomicLong();
+    private final Path file;
+    private final FileWatcher watcher;
+
+    /**
+     * Constructor for injecting the settings file location. Loads the file and starts watching it.
+     *
+     * @param file The settings file, or an empty string to use the defaults.
+     * @throws IOException If the settings file cannot be read or watched at startup.
+     */
+    @Autowired
+    public ValidationSettingsStore(@Value("${fincheck.rules.file:}") String file) throws IOException {
+        if (file.isBlank()) {
+            this.current = new AtomicReference<>(ValidationSettings.DEFAULTS);
+            this.file = null;
+            this.watcher = null;
+            return;
+        }
+        this.file = Path.of(file).toAbsolutePath();
+        // A broken file at startup fails fast instead of silently running on defaults
+        this.current = new AtomicReference<>(read(this.file));
+        this.watcher = FileWatcher.watch(this.file, "fincheck-rules-watcher", this::reload);
+    }
+
+    private ValidationSettingsStore(ValidationSettings settings) {
+        this.current = new AtomicReference<>(settings);
+        this.file = null;
+        this.watcher = null;
+    }
+
+    /**
+     * @param settings The settings to hold.
+     * @return A store that always returns the given settings, for validators created outside the application context.
+     */
+    public static ValidationSettingsStore fixed(ValidationSettings settings) {
+        return new ValidationSettingsStore(settings);
+    }
+
+    /**
+     * @return The settings snapshot to validate the next document with.
+     */
+    public ValidationSettings current() {
+        return current.get();
+    }
+
+    /**
+     * @return How many snapshots have been published since the store was created.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Reads the settings file again and publishes the new snapshot.
+     *
+     * @return {@code true} if a new snapshot was published, {@code false} if the file could not be read or parsed.
+     */
+    public boolean reload() {
+        if (file == null) {
+            return false;
+        }
+        try {
+            ValidationSettings settings = read(file);
+            current.set(settings);
+            generation.incrementAndGet();
+            log.info("Reloaded validation settings from {}: {}", file, settings);
+            return true;
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            log.warn("Keeping previous validation settings, {} could not be loaded: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching the settings file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private static ValidationSettings read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return ValidationSettings.from(properties);
+    }
+}
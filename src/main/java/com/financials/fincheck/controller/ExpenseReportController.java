@@ -5,6 +5,8 @@ import com.financials.fincheck.model.Payslip;
 import com.financials.fincheck.dto.ValidationResponse;
 import com.financials.fincheck.validator.ExpenseReportValidator;
 import com.financials.fincheck.validator.PayslipValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -14,8 +16,11 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/reports")
 public class ExpenseReportController {
+    private static final ValidationResponse VALID_RESPONSE = new ValidationResponse(true, List.of("Expense report is valid"));
+
     private final ExpenseReportValidator validator;
 
     public ExpenseReportController(ExpenseReportValidator validator) {
@@ -24,12 +29,12 @@ public class ExpenseReportController {
 
     @PostMapping("/validate")
     public ResponseEntity<ValidationResponse> validateExpenseReport(@RequestBody ExpenseReport expenseReport) {
-        List<String> errors = validator.validate(expenseReport);
+        ValidationResult errors = validator.validate(expenseReport);
 
-        if (!errors.isEmpty()) {
+        if (!errors.isValid()) {
             return ResponseEntity.badRequest().body(new ValidationResponse(false, errors));
         }
 
-        return ResponseEntity.ok(new ValidationResponse(true, List.of("Expense report is valid")));
+        return ResponseEntity.ok(VALID_RESPONSE);
     }
 }
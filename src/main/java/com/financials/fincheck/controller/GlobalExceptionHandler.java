@@ -1,29 +1,64 @@
 package com.financials.fincheck.controller;
 
 import com.financials.fincheck.dto.ValidationResponse;
+import com.financials.fincheck.job.JobQueueFullException;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.DocumentType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
 
 import java.io.IOException;
 import java.util.List;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
+    private final ValidationMetrics metrics;
+
+    public GlobalExceptionHandler(ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<ValidationResponse> handleDeserializationError(HttpMessageNotReadableException ex) {
+    public ResponseEntity<ValidationResponse> handleDeserializationError(HttpMessageNotReadableException ex, HandlerMethod handlerMethod) {
         Throwable rootCause = ex.getCause();
 
+        // Invalid currency codes are bound and reported by the validators, so only malformed bodies end up here
         String message = "Invalid request format";
         if (rootCause instanceof IOException) {
-            message = rootCause.getMessage(); // e.g. "Invalid currency code: FAKE"
+            message = rootCause.getMessage();
         }
+        metrics.recordDeserializationFailure(requestBodyType(handlerMethod), "format");
 
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .body(new ValidationResponse(false, List.of(message)));
     }
+
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ValidationResponse> handleJobQueueFull(JobQueueFullException ex) {
+        // Retry-After takes whole seconds; rounding up keeps clients from retrying too early
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(new ValidationResponse(false, List.of("Too many validation jobs, retry later")));
+    }
+
+    private static DocumentType requestBodyType(HandlerMethod handlerMethod) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                return DocumentType.forType(parameter.getGenericParameterType());
+            }
+        }
+        return null;
+    }
 }
@@ -1,14 +1,26 @@
 package com.financials.fincheck.controller;
 
+import com.financials.fincheck.batch.InvoiceBatchValidator;
+import com.financials.fincheck.dto.BatchItemResponse;
 import com.financials.fincheck.model.Invoice;
 import com.financials.fincheck.dto.ValidationResponse;
+import com.financials.fincheck.stream.DocumentFormat;
+import com.financials.fincheck.stream.DocumentStreamProcessor;
 import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,17 +31,28 @@ import java.util.List;
  * whether the invoice passed validation or failed with specific errors.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/invoices")
 public class InvoiceController {
+    private static final ValidationResponse VALID_RESPONSE = new ValidationResponse(true, List.of("Invoice is valid"));
+
     private final InvoiceValidator validator;
+    private final InvoiceBatchValidator batchValidator;
+    private final DocumentStreamProcessor streamProcessor;
 
     /**
-     * Constructor for injecting the {@code InvoiceValidator} dependency.
+     * Constructor for injecting the {@code InvoiceValidator}, {@code InvoiceBatchValidator} and
+     * {@code DocumentStreamProcessor} dependencies.
      *
-     * @param validator A component responsible for validating Invoice fields.
+     * @param validator       A component responsible for validating Invoice fields.
+     * @param batchValidator  A component that validates batches of invoices column by column.
+     * @param streamProcessor A component that validates streams of documents record by record.
      */
-    public InvoiceController(InvoiceValidator validator) {
+    public InvoiceController(InvoiceValidator validator, InvoiceBatchValidator batchValidator,
+                             DocumentStreamProcessor streamProcessor) {
         this.validator = validator;
+        this.batchValidator = batchValidator;
+        this.streamProcessor = streamProcessor;
     }
 
     /**
@@ -45,12 +68,66 @@ public class InvoiceController {
      */
     @PostMapping("/validate")
     public ResponseEntity<ValidationResponse> validateInvoice(@RequestBody Invoice invoice) {
-        List<String> errors = validator.validate(invoice);
+        ValidationResult errors = validator.validate(invoice);
 
-        if (!errors.isEmpty()) {
+        if (!errors.isValid()) {
             return ResponseEntity.badRequest().body(new ValidationResponse(false, errors));
         }
 
-        return ResponseEntity.ok(new ValidationResponse(true, List.of("Invoice is valid")));
+        return ResponseEntity.ok(VALID_RESPONSE);
+    }
+
+    /**
+     * POST endpoint that validates a batch of invoices.
+     * <p>
+     * URL: {@code /invoices/validate/batch}
+     * <p>
+     * Accepts a JSON array of {@code Invoice} objects and validates them with the columnar
+     * {@code InvoiceBatchValidator}. The response always has status 200 and contains one result per invoice,
+     * in input order, tagged with the invoice's position in the array and its {@code invoiceNumber}. A {@code null}
+     * element is reported as "Document is null".
+     *
+     * @param invoices The invoices to validate.
+     * @return A {@code ResponseEntity} containing one validation result per invoice.
+     */
+    @PostMapping("/validate/batch")
+    public ResponseEntity<List<BatchItemResponse>> validateInvoiceBatch(@RequestBody List<Invoice> invoices) {
+        List<ValidationResult> results = batchValidator.validateAll(invoices);
+        List<BatchItemResponse> responses = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            ValidationResult errors = results.get(i);
+            String invoiceNumber = invoices.get(i) == null ? null : invoices.get(i).getInvoiceNumber();
+            responses.add(errors.isValid()
+                    ? new BatchItemResponse(i, invoiceNumber, true, VALID_RESPONSE.messages())
+                    : new BatchItemResponse(i, invoiceNumber, false, errors));
+        }
+        return ResponseEntity.ok(responses);
+    }
+
+    /**
+     * POST endpoint that validates a stream of invoices.
+     * <p>
+     * URL: {@code /invoices/validate/stream}
+     * <p>
+     * The request body is newline-delimited JSON with one {@code Invoice} per line. Records are parsed
+     * and validated one at a time, and one {@code ValidationResponse} line is written back per record
+     * in input order, so memory use does not grow with the size of the upload.
+     * <p>
+     * A body of concatenated CBOR or Smile invoices is answered with concatenated responses in the same format.
+     *
+     * @param contentType The content type of the request body.
+     * @param body        The raw request body.
+     * @return A streaming body that writes one validation result per record.
+     */
+    @PostMapping(value = "/validate/stream",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, DocumentFormat.SMILE_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, DocumentFormat.SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> validateInvoiceStream(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        DocumentFormat format = DocumentFormat.of(contentType);
+        return ResponseEntity.ok()
+                .contentType(format.isBinary() ? format.mediaType() : MediaType.APPLICATION_NDJSON)
+                .body(out -> streamProcessor.process(body, out, format, Invoice.class, validator::validate,
+                        "Invoice is valid"));
     }
 }
@@ -0,0 +1,147 @@
+package com.financials.fincheck.controller;
+
+import com.financials.fincheck.dto.BatchItemResponse;
+import com.financials.fincheck.dto.JobResponse;
+import com.financials.fincheck.dto.JobResultsPage;
+import com.financials.fincheck.job.ValidationJob;
+import com.financials.fincheck.job.ValidationJobService;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.stream.DocumentFormat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for asynchronous validation jobs, for batches that take longer than a request should.
+ * <p>
+ * A client submits a batch, receives the job's URL, polls it for progress and reads the results in pages,
+ * also while the job is still running. When the job queue is full, submissions are answered with
+ * 429 Too Many Requests and a {@code Retry-After} header.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/jobs")
+public class JobController {
+
+    /**
+     * The largest page of results returned at once.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final ValidationJobService jobService;
+
+    /**
+     * Constructor for injecting the {@code ValidationJobService} dependency.
+     *
+     * @param jobService The component queuing and running validation jobs.
+     */
+    public JobController(ValidationJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * POST endpoint that submits a batch of documents for asynchronous validation.
+     * <p>
+     * URL: {@code /jobs/{type}}, where {@code type} is {@code invoice}, {@code payslip} or {@code expense_report}
+     * <p>
+     * The body is a JSON array of documents, or newline-delimited JSON with one document per line. CBOR and
+     * Smile bodies hold an array or a concatenation of documents. The body is only stored before the response
+     * is sent; validation happens later, on a worker.
+     *
+     * @param type        The document type tag.
+     * @param contentType The content type of the request body.
+     * @param body        The raw request body.
+     * @return 202 Accepted with the job and its URL in the {@code Location} header, or 404 for an unknown type.
+     * @throws IOException If the body cannot be stored.
+     */
+    @PostMapping(value = "/{type}", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, DocumentFormat.SMILE_VALUE})
+    public ResponseEntity<JobResponse> submitJob(@PathVariable String type,
+                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                 InputStream body) throws IOException {
+        DocumentType documentType = DocumentType.forTag(type);
+        if (documentType == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ValidationJob job = jobService.submit(documentType, DocumentFormat.of(contentType), body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/jobs/" + job.getId()))
+                .body(JobResponse.of(job));
+    }
+
+    /**
+     * GET endpoint that reports the progress of a job.
+     * <p>
+     * URL: {@code /jobs/{id}}
+     *
+     * @param id The job ID.
+     * @return The job's state, or 404 if it is unknown, expired or deleted.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable String id) {
+        return ResponseEntity.of(jobService.find(id).map(JobResponse::of));
+    }
+
+    /**
+     * GET endpoint that returns a page of a job's results.
+     * <p>
+     * URL: {@code /jobs/{id}/results?page=0&size=100}
+     *
+     * @param id   The job ID.
+     * @param page The zero-based page number.
+     * @param size The number of results per page, at most {@value #MAX_PAGE_SIZE}.
+     * @return The page, 400 for an invalid page or size, or 404 if the job is unknown, expired or deleted.
+     * @throws IOException If the results cannot be read.
+     */
+    @GetMapping("/{id}/results")
+    public ResponseEntity<JobResultsPage> getJobResults(@PathVariable String id,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "100") int size) throws IOException {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<ValidationJob> job = jobService.find(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Read the state first: results written before the job finished are then all on the page
+        boolean complete = job.get().isFinished();
+        List<BatchItemResponse> results;
+        try {
+            results = jobService.results(job.get(), (long) page * size, size);
+        } catch (NoSuchFileException e) {
+            // Deleted or purged after it was found
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new JobResultsPage(page, size, complete, results));
+    }
+
+    /**
+     * DELETE endpoint that removes a job and its results, stopping it if it has not finished.
+     * <p>
+     * URL: {@code /jobs/{id}}
+     *
+     * @param id The job ID.
+     * @return 204 No Content, or 404 if the job is unknown, expired or deleted.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteJob(@PathVariable String id) {
+        return jobService.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.financials.fincheck.controller;
+
+import com.financials.fincheck.dto.PayrollControlTotals;
+import com.financials.fincheck.dto.PayrollRunResponse;
+import com.financials.fincheck.payroll.PayrollRun;
+import com.financials.fincheck.payroll.PayrollRunAggregator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for payroll runs: the totals of the valid payslips of one employer and pay period, kept as
+ * the payslips are validated, and their reconciliation with the control totals of the payroll system.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "fincheck.payroll-runs.enabled", havingValue = "true")
+@RequestMapping("/payroll-runs")
+public class PayrollRunController {
+    private final PayrollRunAggregator aggregator;
+
+    /**
+     * Constructor for injecting the {@code PayrollRunAggregator} dependency.
+     *
+     * @param aggregator The component totalling the payslips of every open run.
+     */
+    public PayrollRunController(PayrollRunAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    /**
+     * GET endpoint returning the current totals of an open run.
+     * <p>
+     * URL: {@code /payroll-runs/{employerId}/{payPeriod}}
+     *
+     * @param employerId The employer ID.
+     * @param payPeriod  The pay period, {@code yyyy-MM}.
+     * @return The totals, or 404 if no payslip of the run has been validated since it was last closed.
+     */
+    @GetMapping("/{employerId}/{payPeriod}")
+    public ResponseEntity<PayrollRunResponse> getRun(@PathVariable String employerId, @PathVariable String payPeriod) {
+        PayrollRun run = aggregator.run(employerId, payPeriod);
+        return run == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(PayrollRunResponse.open(run));
+    }
+
+    /**
+     * POST endpoint that closes a run and reconciles its totals with the control totals.
+     * <p>
+     * URL: {@code /payroll-runs/{employerId}/{payPeriod}/close}
+     * <p>
+     * Close a run once every payslip of it has been answered. The run is closed whether or not it matches;
+     * the response lists every difference.
+     *
+     * @param employerId The employer ID.
+     * @param payPeriod  The pay period, {@code yyyy-MM}.
+     * @param control    The expected totals.
+     * @return The final totals and the outcome of the reconciliation, or 404 if the run is not open.
+     */
+    @PostMapping("/{employerId}/{payPeriod}/close")
+    public ResponseEntity<PayrollRunResponse> closeRun(@PathVariable String employerId, @PathVariable String payPeriod,
+                                                       @RequestBody PayrollControlTotals control) {
+        PayrollRun run = aggregator.close(employerId, payPeriod);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(PayrollRunResponse.closed(run, run.reconcile(control)));
+    }
+}
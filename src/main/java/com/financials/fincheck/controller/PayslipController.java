@@ -1,8 +1,12 @@
 package com.financials.fincheck.controller;
 
+import com.financials.fincheck.batch.BatchValidator;
+import com.financials.fincheck.dto.BatchItemResponse;
 import com.financials.fincheck.model.Payslip;
 import com.financials.fincheck.dto.ValidationResponse;
 import com.financials.fincheck.validator.PayslipValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -19,17 +23,23 @@ import java.util.List;
  * whether the payslip passed validation or failed with specific errors.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/payslips")
 public class PayslipController {
+    private static final ValidationResponse VALID_RESPONSE = new ValidationResponse(true, List.of("Payslip is valid"));
+
     private final PayslipValidator validator;
+    private final BatchValidator batchValidator;
 
     /**
-     * Constructor that injects the {@code PayslipValidator} dependency.
+     * Constructor that injects the {@code PayslipValidator} and {@code BatchValidator} dependencies.
      *
-     * @param validator The component responsible for validating payslip fields and business rules.
+     * @param validator      The component responsible for validating payslip fields and business rules.
+     * @param batchValidator The component that spreads batch validation across virtual threads.
      */
-    public PayslipController(PayslipValidator validator) {
+    public PayslipController(PayslipValidator validator, BatchValidator batchValidator) {
         this.validator = validator;
+        this.batchValidator = batchValidator;
     }
 
     /**
@@ -45,12 +55,31 @@ public class PayslipController {
      */
     @PostMapping("/validate")
     public ResponseEntity<ValidationResponse> validatePayslip(@RequestBody Payslip payslip) {
-        List<String> errors = validator.validate(payslip);
+        ValidationResult errors = validator.validate(payslip);
 
-        if (!errors.isEmpty()) {
+        if (!errors.isValid()) {
             return ResponseEntity.badRequest().body(new ValidationResponse(false, errors));
         }
 
-        return ResponseEntity.ok(new ValidationResponse(true, List.of("Payslip is valid")));
+        return ResponseEntity.ok(VALID_RESPONSE);
+    }
+
+    /**
+     * POST endpoint that validates a batch of payslips, such as a whole payroll run.
+     * <p>
+     * URL: {@code /payslips/validate/batch}
+     * <p>
+     * Accepts a JSON array of {@code Payslip} objects and validates them in parallel. The response
+     * always has status 200 and contains one result per payslip, in input order, tagged with the
+     * payslip's position in the array and its {@code employeeId}. A {@code null} element is reported as
+     * "Document is null".
+     *
+     * @param payslips The payslips to validate.
+     * @return A {@code ResponseEntity} containing one validation result per payslip.
+     */
+    @PostMapping("/validate/batch")
+    public ResponseEntity<List<BatchItemResponse>> validatePayslipBatch(@RequestBody List<Payslip> payslips) {
+        return ResponseEntity.ok(batchValidator.validateAll(
+                payslips, validator::validate, Payslip::getEmployeeId, "Payslip is valid"));
     }
 }
@@ -0,0 +1,85 @@
+package com.financials.fincheck.currency;
+
+import java.util.Currency;
+
+/**
+ * A currency code as submitted on a document.
+ * <p>
+ * Every ISO 4217 code has exactly one registered instance, created by the {@link CurrencyRegistry} at
+ * class load, so registered codes can be compared by identity and resolving them allocates nothing.
+ * Codes the registry does not know are kept as unregistered instances holding the submitted text, so
+ * validators can report them like any other invalid field value.
+ */
+public final class CurrencyCode {
+    private final String code;
+    private final Currency currency;
+    private final int packed;
+    private final int ordinal;
+
+    CurrencyCode(String code, Currency currency, int packed, int ordinal) {
+        this.code = code;
+        this.currency = currency;
+        this.packed = packed;
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * @param code   The submitted text.
+     * @param packed The packed text, or {@link CurrencyRegistry#NOT_A_CODE}.
+     * @return An unregistered code holding the text.
+     */
+    static CurrencyCode unregistered(String code, int packed) {
+        return new CurrencyCode(code, null, packed, -1);
+    }
+
+    /**
+     * @return The code, upper-case for registered codes and as submitted otherwise.
+     */
+    public String code() {
+        return code;
+    }
+
+    /**
+     * @return The ISO 4217 currency, or {@code null} if the code is not registered.
+     */
+    public Currency currency() {
+        return currency;
+    }
+
+    /**
+     * @return The code packed by {@link CurrencyRegistry#pack(char, char, char)}, or
+     *         {@link CurrencyRegistry#NOT_A_CODE} if it is not three letters.
+     */
+    public int packed() {
+        return packed;
+    }
+
+    /**
+     * @return {@code true} if the code is an ISO 4217 currency.
+     */
+    public boolean isRegistered() {
+        return ordinal >= 0;
+    }
+
+    /**
+     * @return The dense index of a registered code, used as its bit in a {@link CurrencySet}; -1 otherwise.
+     */
+    int ordinal() {
+        return ordinal;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof CurrencyCode that && code.equals(that.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return code.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
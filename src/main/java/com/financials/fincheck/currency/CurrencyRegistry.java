@@ -0,0 +1,154 @@
+package com.financials.fincheck.currency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Registry of the ISO 4217 currency codes known to the JDK.
+ * <p>
+ * A three-letter code packs into an int below 26³ (see {@link #pack(char, char, char)}), which indexes a
+ * table holding the registered {@link CurrencyCode} of every ISO currency. The packing is a perfect hash:
+ * decoding a code from a parser's character buffer is three subtractions and an array access, with no
+ * {@code String}, case conversion or exception.
+ * <p>
+ * Submitted codes are case-insensitive, as they were for expense reports before the registry: lower-case letters
+ * are folded while packing, so {@code "usd"} resolves to the registered {@code USD} and is reported back as
+ * {@code USD}. Only unregistered codes keep the text as submitted.
+ */
+public final class CurrencyRegistry {
+
+    /**
+     * Returned by {@link #pack(char, char, char)} for text that is not three ASCII letters.
+     */
+    public static final int NOT_A_CODE = -1;
+
+    private static final int LETTERS = 26;
+    private static final CurrencyCode[] CODES = new CurrencyCode[LETTERS * LETTERS * LETTERS];
+    private static final CurrencyCode[] BY_ORDINAL;
+
+    static {
+        List<Currency> currencies = Currency.getAvailableCurrencies().stream()
+                .sorted(Comparator.comparing(Currency::getCurrencyCode))
+                .toList();
+        List<CurrencyCode> registered = new ArrayList<>();
+        for (Currency currency : currencies) {
+            String code = currency.getCurrencyCode();
+            int packed = code.length() == 3 ? pack(code.charAt(0), code.charAt(1), code.charAt(2)) : NOT_A_CODE;
+            if (packed != NOT_A_CODE && CODES[packed] == null) {
+                CODES[packed] = new CurrencyCode(code, currency, packed, registered.size());
+                registered.add(CODES[packed]);
+            }
+        }
+        BY_ORDINAL = registered.toArray(new CurrencyCode[0]);
+    }
+
+    private CurrencyRegistry() {
+    }
+
+    /**
+     * Packs a three-letter code into an int.
+     *
+     * @param first  The first letter.
+     * @param second The second letter.
+     * @param third  The third letter.
+     * @return The packed code in {@code [0, 26³)}, or {@link #NOT_A_CODE} if a character is not an ASCII letter.
+     */
+    public static int pack(char first, char second, char third) {
+        int a = letter(first);
+        int b = letter(second);
+        int c = letter(third);
+        if ((a | b | c) < 0) {
+            return NOT_A_CODE;
+        }
+        return (a * LETTERS + b) * LETTERS + c;
+    }
+
+    /**
+     * Looks up a registered code without allocating.
+     *
+     * @param chars  The buffer holding the code.
+     * @param offset The index of the first character.
+     * @param length The number of characters.
+     * @return The registered code, or {@code null} if the text is not an ISO 4217 code.
+     */
+    public static CurrencyCode lookup(char[] chars, int offset, int length) {
+        if (length != 3) {
+            return null;
+        }
+        int packed = pack(chars[offset], chars[offset + 1], chars[offset + 2]);
+        return packed == NOT_A_CODE ? null : CODES[packed];
+    }
+
+    /**
+     * Resolves submitted text to a code, which is only allocated if the text is not an ISO 4217 code.
+     *
+     * @param chars  The buffer holding the code.
+     * @param offset The index of the first character.
+     * @param length The number of characters.
+     * @return The registered code, or an unregistered code holding the text.
+     */
+    public static CurrencyCode resolve(char[] chars, int offset, int length) {
+        if (length != 3) {
+            return CurrencyCode.unregistered(new String(chars, offset, length), NOT_A_CODE);
+        }
+        int packed = pack(chars[offset], chars[offset + 1], chars[offset + 2]);
+        CurrencyCode code = packed == NOT_A_CODE ? null : CODES[packed];
+        return code != null ? code : CurrencyCode.unregistered(new String(chars, offset, length), packed);
+    }
+
+    /**
+     * Resolves submitted text to a code.
+     *
+     * @param code The code, or {@code null}.
+     * @return The registered code, an unregistered code holding the text, or {@code null} if the text is {@code null}.
+     */
+    public static CurrencyCode resolve(String code) {
+        if (code == null) {
+            return null;
+        }
+        int packed = code.length() == 3 ? pack(code.charAt(0), code.charAt(1), code.charAt(2)) : NOT_A_CODE;
+        if (packed != NOT_A_CODE && CODES[packed] != null) {
+            return CODES[packed];
+        }
+        return CurrencyCode.unregistered(code, packed);
+    }
+
+    /**
+     * @param currency The currency, or {@code null}.
+     * @return The registered code of the currency, or {@code null} if the currency is {@code null}.
+     */
+    public static CurrencyCode of(Currency currency) {
+        return currency == null ? null : resolve(currency.getCurrencyCode());
+    }
+
+    /**
+     * @return The number of registered codes; their ordinals are {@code 0} to {@code size() - 1}.
+     */
+    static int size() {
+        return BY_ORDINAL.length;
+    }
+
+    /**
+     * @param packed A packed code, see {@link #pack(char, char, char)}.
+     * @return The registered code, or {@code null} if the packed code is not an ISO 4217 code.
+     */
+    static CurrencyCode byPacked(int packed) {
+        return packed >= 0 && packed < CODES.length ? CODES[packed] : null;
+    }
+
+    static CurrencyCode byOrdinal(int ordinal) {
+        return BY_ORDINAL[ordinal];
+    }
+
+    private static int letter(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.financials.fincheck.currency;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An immutable set of registered currency codes, stored as a bitset over their ordinals.
+ * <p>
+ * The ISO 4217 list fits in a handful of {@code long} words, so a membership test is a shift and a mask
+ * on a cache-resident array. Unregistered codes are never members.
+ */
+public final class CurrencySet {
+    private final long[] bits;
+
+    private CurrencySet(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * @param codes The ISO 4217 codes in the set.
+     * @return The set.
+     * @throws IllegalArgumentException If a code is not an ISO 4217 code.
+     */
+    public static CurrencySet of(Collection<String> codes) {
+        long[] bits = new long[(CurrencyRegistry.size() + 63) >>> 6];
+        for (String text : codes) {
+            CurrencyCode code = CurrencyRegistry.resolve(text);
+            if (code == null || !code.isRegistered()) {
+                throw new IllegalArgumentException("Unknown currency code: " + text);
+            }
+            bits[code.ordinal() >>> 6] |= 1L << code.ordinal();
+        }
+        return new CurrencySet(bits);
+    }
+
+    /**
+     * @param codes The ISO 4217 codes in the set.
+     * @return The set.
+     * @throws IllegalArgumentException If a code is not an ISO 4217 code.
+     */
+    public static CurrencySet of(String... codes) {
+        return of(Arrays.asList(codes));
+    }
+
+    /**
+     * @param code The code, or {@code null}.
+     * @return {@code true} if the code is registered and in this set.
+     */
+    public boolean contains(CurrencyCode code) {
+        if (code == null) {
+            return false;
+        }
+        int ordinal = code.ordinal();
+        return ordinal >= 0 && (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * @return The packed codes in the set (see {@link CurrencyCode#packed()}), sorted.
+     */
+    public int[] packedCodes() {
+        return codes().stream().mapToInt(code -> CurrencyRegistry.resolve(code).packed()).sorted().toArray();
+    }
+
+    /**
+     * @return The codes in the set, sorted.
+     */
+    public Set<String> codes() {
+        Set<String> codes = new TreeSet<>();
+        for (int ordinal = 0; ordinal < CurrencyRegistry.size(); ordinal++) {
+            if ((bits[ordinal >>> 6] & (1L << ordinal)) != 0) {
+                codes.add(CurrencyRegistry.byOrdinal(ordinal).code());
+            }
+        }
+        return codes;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof CurrencySet that && Arrays.equals(bits, that.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return codes().toString();
+    }
+}
@@ -0,0 +1,274 @@
+package com.financials.fincheck.currency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Daily exchange rates held in a memory-mapped, date-indexed file.
+ * <p>
+ * A rate file is compiled once from CSV (see {@link #compile(Path, CurrencyCode, Path)}) into a dense
+ * {@code [day][currency]} matrix of {@code double}s covering every calendar day from the first to the last
+ * date of the file, weekends and holidays filled with the rate of the day before. Looking up a rate is an
+ * array index into the currency's column, the day's distance from the first date and a read from the
+ * mapping: no search, no boxing and no allocation, so years of history cost nothing per lookup. The mapping
+ * is released by the garbage collector once the table is unreachable, so a table can be swapped for a newer
+ * one while other threads still read it.
+ * <p>
+ * Rates are quoted against a base currency, as units of the currency per unit of the base; the base itself
+ * has the rate 1. A rate the source did not publish for a day is {@code NaN}.
+ * <p>
+ * File layout, little-endian: the magic number (8 bytes), the epoch day of the first date (8), the number of
+ * days (4), the number of currencies (4), the packed code of every currency (4 each, padded to a multiple of
+ * 8), then the rates.
+ */
+public final class ExchangeRateTable {
+    private static final long MAGIC = 0x4658_5241_5445_5301L; // "FXRATES" and the format version
+    private static final int HEADER_BYTES = 24;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble RATE = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final String MISSING = "N/A";
+    private static final double[] POWERS_OF_TEN = {1e-4, 1e-3, 1e-2, 1e-1, 1, 1e1, 1e2, 1e3, 1e4};
+
+    private final MemorySegment data;
+    private final long firstEpochDay;
+    private final int dayCount;
+    private final int currencyCount;
+    private final long ratesOffset;
+    private final int carryForwardDays;
+    /**
+     * The column of every registered currency by {@link CurrencyCode#ordinal()}, or -1 if the file has no rates for it.
+     */
+    private final int[] columns;
+
+    private ExchangeRateTable(MemorySegment data, int carryForwardDays) {
+        if (data.byteSize() < HEADER_BYTES || data.get(LONG, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a compiled exchange rate file");
+        }
+        this.data = data;
+        this.firstEpochDay = data.get(LONG, 8);
+        this.dayCount = data.get(INT, 16);
+        this.currencyCount = data.get(INT, 20);
+        this.ratesOffset = ratesOffset(currencyCount);
+        this.carryForwardDays = carryForwardDays;
+        if (dayCount < 1 || currencyCount < 1 || data.byteSize() != ratesOffset + (long) dayCount * currencyCount * Double.BYTES) {
+            throw new IllegalArgumentException("Truncated exchange rate file");
+        }
+        this.columns = new int[CurrencyRegistry.size()];
+        Arrays.fill(columns, -1);
+        for (int column = 0; column < currencyCount; column++) {
+            CurrencyCode code = CurrencyRegistry.byPacked(data.get(INT, HEADER_BYTES + 4L * column));
+            if (code == null) {
+                throw new IllegalArgumentException("Unknown currency in exchange rate file");
+            }
+            columns[code.ordinal()] = column;
+        }
+    }
+
+    /**
+     * Maps a compiled rate file.
+     *
+     * @param file             A file written by {@link #compile(Path, CurrencyCode, Path)}.
+     * @param carryForwardDays For how many days after the last date of the file its last rates still apply.
+     * @return The table.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a compiled rate file.
+     */
+    public static ExchangeRateTable open(Path file, int carryForwardDays) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ExchangeRateTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto()),
+                    carryForwardDays);
+        }
+    }
+
+    /**
+     * Compiles a CSV rate file into the mapped format.
+     * <p>
+     * The CSV has a header row {@code Date,USD,JPY,...} naming the currency of every column, then one row per
+     * published day with the ISO date and the rate of every currency against the base, {@code N/A} or empty if
+     * it was not published. This is the layout of the ECB's historical reference rates. Rows may come in any
+     * order; days without a row take the rates of the day before.
+     *
+     * @param csv    The CSV file.
+     * @param base   The currency the rates are quoted against.
+     * @param target The file to write.
+     * @throws IOException              If a file cannot be read or written.
+     * @throws IllegalArgumentException If the CSV is malformed.
+     */
+    public static void compile(Path csv, CurrencyCode base, Path target) throws IOException {
+        if (base == null || !base.isRegistered()) {
+            throw new IllegalArgumentException("Unknown base currency: " + base);
+        }
+        List<CurrencyCode> currencies = new ArrayList<>();
+        currencies.add(base);
+        int[] csvColumns;
+        TreeMap<Long, double[]> rows = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Empty exchange rate file");
+            }
+            String[] names = header.split(",");
+            csvColumns = new int[names.length];
+            for (int i = 1; i < names.length; i++) {
+                String name = names[i].trim();
+                CurrencyCode code = CurrencyRegistry.resolve(name);
+                // The ECB file ends every line with a comma
+                if (name.isEmpty() || code == base) {
+                    csvColumns[i] = -1;
+                    continue;
+                }
+                if (!code.isRegistered() || currencies.contains(code)) {
+                    throw new IllegalArgumentException("Unknown or repeated currency in header: " + name);
+                }
+                csvColumns[i] = currencies.size();
+                currencies.add(code);
+            }
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    String[] fields = line.split(",");
+                    rows.put(parseDate(fields[0]), parseRates(fields, csvColumns, currencies.size()));
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Exchange rate file has no rates");
+        }
+        write(target, currencies, rows);
+    }
+
+    private static long parseDate(String text) {
+        try {
+            return LocalDate.parse(text.trim()).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date in exchange rate file: " + text);
+        }
+    }
+
+    private static double[] parseRates(String[] fields, int[] csvColumns, int currencyCount) {
+        double[] rates = new double[currencyCount];
+        Arrays.fill(rates, Double.NaN);
+        rates[0] = 1;
+        for (int i = 1; i < fields.length && i < csvColumns.length; i++) {
+            String text = fields[i].trim();
+            if (csvColumns[i] < 0 || text.isEmpty() || text.equals(MISSING)) {
+                continue;
+            }
+            try {
+                double rate = Double.parseDouble(text);
+                if (!(rate > 0) || Double.isInfinite(rate)) {
+                    throw new NumberFormatException();
+                }
+                rates[csvColumns[i]] = rate;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rate in exchange rate file on " + fields[0] + ": " + text);
+            }
+        }
+        return rates;
+    }
+
+    private static void write(Path target, List<CurrencyCode> currencies, TreeMap<Long, double[]> rows) throws IOException {
+        long firstEpochDay = rows.firstKey();
+        long days = rows.lastKey() - firstEpochDay + 1;
+        int currencyCount = currencies.size();
+        long ratesOffset = ratesOffset(currencyCount);
+        if (days > Integer.MAX_VALUE / currencyCount) {
+            throw new IllegalArgumentException("Exchange rate file spans too many days");
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment out = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    ratesOffset + days * currencyCount * Double.BYTES, arena);
+            out.set(LONG, 0, MAGIC);
+            out.set(LONG, 8, firstEpochDay);
+            out.set(INT, 16, (int) days);
+            out.set(INT, 20, currencyCount);
+            for (int column = 0; column < currencyCount; column++) {
+                out.set(INT, HEADER_BYTES + 4L * column, currencies.get(column).packed());
+            }
+            for (long day = 0; day < days; day++) {
+                // Days without a row take the rates of the last row before them
+                double[] rates = rows.floorEntry(firstEpochDay + day).getValue();
+                MemorySegment.copy(rates, 0, out, RATE, ratesOffset + day * currencyCount * Double.BYTES, currencyCount);
+            }
+            out.force();
+        }
+    }
+
+    private static long ratesOffset(int currencyCount) {
+        return HEADER_BYTES + ((4L * currencyCount + 7) & ~7L);
+    }
+
+    /**
+     * Looks up a rate without allocating.
+     *
+     * @param currency The currency, or {@code null}.
+     * @param date     The day.
+     * @return The units of the currency per unit of the base currency on that day, or {@code NaN} if the table has
+     *         no rate for the currency on that day.
+     */
+    public double rate(CurrencyCode currency, LocalDate date) {
+        int column = currency == null || currency.ordinal() < 0 ? -1 : columns[currency.ordinal()];
+        long day = date.toEpochDay() - firstEpochDay;
+        if (column < 0 || day < 0 || day >= (long) dayCount + carryForwardDays) {
+            return Double.NaN;
+        }
+        return data.get(RATE, ratesOffset + (Math.min(day, dayCount - 1) * currencyCount + column) * Double.BYTES);
+    }
+
+    /**
+     * Looks up the factor converting minor units of one currency to minor units of another without allocating.
+     *
+     * @param from      The currency of the amount.
+     * @param fromScale The scale of the amount.
+     * @param to        The currency to convert to.
+     * @param toScale   The scale of the result, at most 4 more or less than {@code fromScale}.
+     * @param date      The day whose rates apply.
+     * @return The factor to multiply the amount by, or {@code NaN} if either currency has no rate on that day.
+     */
+    public double factor(CurrencyCode from, int fromScale, CurrencyCode to, int toScale, LocalDate date) {
+        return rate(to, date) / rate(from, date) * POWERS_OF_TEN[toScale - fromScale + 4];
+    }
+
+    /**
+     * @return The first day with rates.
+     */
+    public LocalDate firstDate() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    /**
+     * @return The last day with published rates.
+     */
+    public LocalDate lastDate() {
+        return LocalDate.ofEpochDay(firstEpochDay + dayCount - 1);
+    }
+
+    /**
+     * @return The number of currencies with rates, including the base currency.
+     */
+    public int currencyCount() {
+        return currencyCount;
+    }
+
+    @Override
+    public String toString() {
+        return currencyCount + " currencies from " + firstDate() + " to " + lastDate();
+    }
+}
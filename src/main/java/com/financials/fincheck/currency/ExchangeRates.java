@@ -0,0 +1,172 @@
+package com.financials.fincheck.currency;
+
+import com.financials.fincheck.util.FileWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link ExchangeRateTable} and rebuilds it when the rate file changes.
+ * <p>
+ * The CSV rate file is compiled into a mapped table (see {@link ExchangeRateTable#compile}) at startup and
+ * again whenever the file is replaced, e.g. by the daily download of new reference rates. Like the
+ * validation settings, the new table is published with a single reference swap; readers call
+ * {@link #current()} once per document and keep using that table. A file that cannot be compiled is
+ * rejected as a whole and the previous table stays in place. Every published table increments a
+ * {@linkplain #generation() generation}.
+ * <p>
+ * Configuration: {@code fincheck.fx.rates-file}, empty to convert nothing; {@code fincheck.fx.base-currency},
+ * the currency the file quotes against; {@code fincheck.fx.carry-forward-days}, for how many days after the
+ * last date of the file its rates still apply; {@code fincheck.fx.directory}, where compiled tables are
+ * written, empty for the temporary directory.
+ */
+@Component
+public class ExchangeRates implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRates.class);
+
+    private final AtomicReference<Compiled> current;
+    private final AtomicLong generation = new AtomicLong();
+    private final Path file;
+    private final CurrencyCode base;
+    private final int carryForwardDays;
+    private final Path directory;
+    private final FileWatcher watcher;
+
+    /**
+     * Constructor for injecting the rate file configuration. Compiles the file and starts watching it.
+     *
+     * @param file             The CSV rate file, or an empty string to convert nothing.
+     * @param base             The currency the file quotes against.
+     * @param carryForwardDays For how many days after the last date of the file its rates still apply.
+     * @param directory        The directory for compiled tables, or an empty string for the temporary directory.
+     * @throws IOException If the rate file cannot be compiled or watched at startup.
+     */
+    @Autowired
+    public ExchangeRates(@Value("${fincheck.fx.rates-file:}") String file,
+                         @Value("${fincheck.fx.base-currency:EUR}") String base,
+                         @Value("${fincheck.fx.carry-forward-days:7}") int carryForwardDays,
+                         @Value("${fincheck.fx.directory:}") String directory) throws IOException {
+        this.base = CurrencyRegistry.resolve(base);
+        this.carryForwardDays = carryForwardDays;
+        if (file.isBlank()) {
+            this.current = new AtomicReference<>();
+            this.file = null;
+            this.directory = null;
+            this.watcher = null;
+            return;
+        }
+        this.file = Path.of(file).toAbsolutePath();
+        this.directory = directory.isBlank() ? Path.of(System.getProperty("java.io.tmpdir")) : Path.of(directory);
+        Files.createDirectories(this.directory);
+        // A broken file at startup fails fast instead of silently converting nothing
+        this.current = new AtomicReference<>(compile());
+        log.info("Loaded exchange rates from {}: {}", this.file, current.get().table());
+        this.watcher = FileWatcher.watch(this.file, "fincheck-fx-watcher", this::reload);
+    }
+
+    private ExchangeRates(ExchangeRateTable table) {
+        this.current = new AtomicReference<>(table == null ? null : new Compiled(table, null));
+        this.file = null;
+        this.base = null;
+        this.carryForwardDays = 0;
+        this.directory = null;
+        this.watcher = null;
+    }
+
+    /**
+     * @param table The table to hold, or {@code null} for none.
+     * @return Rates that always return the given table, for validators created outside the application context.
+     */
+    public static ExchangeRates fixed(ExchangeRateTable table) {
+        return new ExchangeRates(table);
+    }
+
+    /**
+     * @return Rates without a table, which convert nothing.
+     */
+    public static ExchangeRates none() {
+        return new ExchangeRates((ExchangeRateTable) null);
+    }
+
+    /**
+     * @return The table to convert the next document with, or {@code null} if no rate file is configured.
+     */
+    public ExchangeRateTable current() {
+        Compiled compiled = current.get();
+        return compiled == null ? null : compiled.table();
+    }
+
+    /**
+     * @return How many tables have been published since the rates were created.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Compiles the rate file again and publishes the new table.
+     *
+     * @return {@code true} if a new table was published, {@code false} if the file could not be compiled.
+     */
+    public boolean reload() {
+        if (file == null) {
+            return false;
+        }
+        try {
+            Compiled compiled = compile();
+            delete(current.getAndSet(compiled));
+            generation.incrementAndGet();
+            log.info("Reloaded exchange rates from {}: {}", file, compiled.table());
+            return true;
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            log.warn("Keeping previous exchange rates, {} could not be loaded: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching the rate file and deletes the compiled table.
+     */
+    @Override
+    public void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            delete(current.get());
+        }
+    }
+
+    private Compiled compile() throws IOException {
+        Path target = Files.createTempFile(directory, "fincheck-rates-", ".bin");
+        try {
+            ExchangeRateTable.compile(file, base, target);
+            return new Compiled(ExchangeRateTable.open(target, carryForwardDays), target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    private static void delete(Compiled compiled) {
+        if (compiled == null || compiled.file() == null) {
+            return;
+        }
+        try {
+            // The mapping outlives the file where the file system allows it; elsewhere the file goes at exit
+            Files.deleteIfExists(compiled.file());
+        } catch (IOException e) {
+            compiled.file().toFile().deleteOnExit();
+        }
+    }
+
+    private record Compiled(ExchangeRateTable table, Path file) {
+    }
+}
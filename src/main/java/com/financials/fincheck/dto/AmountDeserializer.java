@@ -0,0 +1,54 @@
+package com.financials.fincheck.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.financials.fincheck.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Reads a monetary amount as a {@code long} at {@link Money#PARSE_SCALE}, straight from the parser's
+ * text buffer.
+ * <p>
+ * Missing and {@code null} amounts become {@link Money#ABSENT}, and numbers that cannot be represented
+ * become {@link Money#INVALID}, so the validators can report them next to the other rule violations.
+ * Numbers may also be sent as strings, as the previous {@code Double} binding allowed.
+ */
+public class AmountDeserializer extends JsonDeserializer<Long> {
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return read(p, ctxt);
+    }
+
+    @Override
+    public Long getNullValue(DeserializationContext ctxt) {
+        return Money.ABSENT;
+    }
+
+    @Override
+    public Object getAbsentValue(DeserializationContext ctxt) {
+        return Money.ABSENT;
+    }
+
+    /**
+     * Reads the amount at the parser's current token.
+     *
+     * @param p    The parser, positioned on the amount.
+     * @param ctxt The deserialization context, used to report unexpected tokens.
+     * @return The amount at {@link Money#PARSE_SCALE}, {@link Money#ABSENT} or {@link Money#INVALID}.
+     * @throws IOException If the token is not a number, string or {@code null}.
+     */
+    static long read(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return Money.ABSENT;
+        }
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                && token != JsonToken.VALUE_STRING) {
+            return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+        return Money.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+    }
+}
@@ -0,0 +1,16 @@
+package com.financials.fincheck.dto;
+
+import java.util.List;
+
+/**
+ * DTO representing the validation result of a single document within a batch request.
+ * <p>
+ * Batch endpoints return one {@code BatchItemResponse} per submitted document, in the same order
+ * as the request, so clients can match results back to their input.
+ *
+ * @param index    The zero-based position of the document in the submitted batch.
+ * @param id       The business identifier of the document (e.g., the {@code employeeId} of a payslip).
+ * @param success  Indicates whether the document passed validation.
+ * @param messages Error descriptions for failed documents, or a confirmation message for valid ones.
+ */
+public record BatchItemResponse(int index, String id, boolean success, List<String> messages) { }
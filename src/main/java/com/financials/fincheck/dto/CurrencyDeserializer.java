@@ -1,20 +1,42 @@
 package com.financials.fincheck.dto;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
 
 import java.io.IOException;
-import java.util.Currency;
 
-public class CurrencyDeserializer extends JsonDeserializer<Currency> {
+/**
+ * Reads a currency code straight from the parser's text buffer through the {@link CurrencyRegistry}.
+ * <p>
+ * ISO 4217 codes resolve to their shared {@link CurrencyCode} without allocating. Any other scalar
+ * becomes an unregistered code, which the validators report next to the other rule violations instead
+ * of failing the whole request.
+ */
+public class CurrencyDeserializer extends JsonDeserializer<CurrencyCode> {
     @Override
-    public Currency deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        String code = p.getText().toUpperCase();
-        try {
-            return Currency.getInstance(code);
-        } catch (IllegalArgumentException e) {
-            throw new IOException("Invalid currency code: " + code);
+    public CurrencyCode deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return read(p, ctxt);
+    }
+
+    /**
+     * Reads the currency code at the parser's current token.
+     *
+     * @param p    The parser, positioned on the code.
+     * @param ctxt The deserialization context, used to report unexpected tokens.
+     * @return The code, or {@code null} for a {@code null} token.
+     * @throws IOException If the token is not a scalar.
+     */
+    static CurrencyCode read(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!p.currentToken().isScalarValue()) {
+            return (CurrencyCode) ctxt.handleUnexpectedToken(CurrencyCode.class, p);
         }
+        return CurrencyRegistry.resolve(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
     }
 }
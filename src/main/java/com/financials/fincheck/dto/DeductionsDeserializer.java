@@ -0,0 +1,28 @@
+package com.financials.fincheck.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.financials.fincheck.model.Deductions;
+import com.financials.fincheck.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Reads a JSON object of deduction names to amounts (e.g. {@code {"Tax": 500.00}}) straight into
+ * {@code Deductions}, with amounts at {@link Money#PARSE_SCALE}.
+ */
+public class DeductionsDeserializer extends JsonDeserializer<Deductions> {
+    @Override
+    public Deductions deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (Deductions) ctxt.handleUnexpectedToken(Deductions.class, p);
+        }
+        Deductions deductions = new Deductions(8);
+        for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            deductions.add(name, AmountDeserializer.read(p, ctxt));
+        }
+        return deductions;
+    }
+}
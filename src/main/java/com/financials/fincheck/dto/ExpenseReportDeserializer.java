@@ -0,0 +1,155 @@
+package com.financials.fincheck.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Money;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads an {@code ExpenseReport} and its items in a single pass over the tokens.
+ * <p>
+ * Jackson's bean deserializer buffers the creator properties of the report and of every item, and binds the
+ * items through a separate collection deserializer. Here each item is created as soon as its object closes,
+ * with its amount read straight from the parser, and appended to the report's list. Dates are read with the
+ * deserializer Jackson would use for them, so their formats and error messages are unchanged.
+ */
+public class ExpenseReportDeserializer extends JsonDeserializer<ExpenseReport> implements ResolvableDeserializer {
+    private static final List<Object> PROPERTIES = List.of("reportId", "employeeId", "businessPurpose", "currency",
+            "submissionDate", "items", "total");
+    private static final List<Object> ITEM_PROPERTIES = List.of("category", "amount", "currency", "expenseDate",
+            "description");
+
+    private JsonDeserializer<Object> dateDeserializer;
+    private ItemDeserializer itemDeserializer;
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        dateDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDate.class));
+        itemDeserializer = new ItemDeserializer(dateDeserializer);
+    }
+
+    @Override
+    public Collection<Object> getKnownPropertyNames() {
+        return PROPERTIES;
+    }
+
+    @Override
+    public ExpenseReport deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (ExpenseReport) ctxt.handleUnexpectedToken(ExpenseReport.class, p);
+        }
+        String reportId = null;
+        String employeeId = null;
+        String businessPurpose = null;
+        CurrencyCode currency = null;
+        LocalDate submissionDate = null;
+        List<ExpenseItem> items = null;
+        long total = Money.ABSENT;
+
+        for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            if (!PROPERTIES.contains(name)) {
+                ctxt.handleUnknownProperty(p, this, ExpenseReport.class, name);
+                continue;
+            }
+            try {
+                switch (name) {
+                    case "reportId" -> reportId = Tokens.string(p, ctxt);
+                    case "employeeId" -> employeeId = Tokens.string(p, ctxt);
+                    case "businessPurpose" -> businessPurpose = Tokens.string(p, ctxt);
+                    case "currency" -> currency = CurrencyDeserializer.read(p, ctxt);
+                    case "submissionDate" -> submissionDate = (LocalDate) Tokens.value(p, ctxt, dateDeserializer);
+                    case "items" -> items = readItems(p, ctxt);
+                    case "total" -> total = AmountDeserializer.read(p, ctxt);
+                }
+            } catch (IOException e) {
+                throw Tokens.withPath(e, ctxt, ExpenseReport.class, name);
+            }
+        }
+        return ExpenseReport.fromJson(reportId, employeeId, businessPurpose, currency, submissionDate, items, total);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ExpenseItem> readItems(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!p.isExpectedStartArrayToken()) {
+            return (List<ExpenseItem>) ctxt.handleUnexpectedToken(List.class, p);
+        }
+        List<ExpenseItem> items = new ArrayList<>();
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            try {
+                items.add(token == JsonToken.VALUE_NULL ? null : itemDeserializer.deserialize(p, ctxt));
+            } catch (JsonProcessingException e) {
+                if (!ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS)) {
+                    throw e;
+                }
+                throw JsonMappingException.wrapWithPath(e, items, items.size());
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Reads the items of a report, and reports unknown item properties against the item's own properties.
+     */
+    private static final class ItemDeserializer extends JsonDeserializer<ExpenseItem> {
+        private final JsonDeserializer<Object> dateDeserializer;
+
+        ItemDeserializer(JsonDeserializer<Object> dateDeserializer) {
+            this.dateDeserializer = dateDeserializer;
+        }
+
+        @Override
+        public Collection<Object> getKnownPropertyNames() {
+            return ITEM_PROPERTIES;
+        }
+
+        @Override
+        public ExpenseItem deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (ExpenseItem) ctxt.handleUnexpectedToken(ExpenseItem.class, p);
+            }
+            String category = null;
+            long amount = Money.ABSENT;
+            CurrencyCode currency = null;
+            LocalDate expenseDate = null;
+            String description = null;
+
+            for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+                p.nextToken();
+                if (!ITEM_PROPERTIES.contains(name)) {
+                    ctxt.handleUnknownProperty(p, this, ExpenseItem.class, name);
+                    continue;
+                }
+                try {
+                    switch (name) {
+                        case "category" -> category = Tokens.string(p, ctxt);
+                        case "amount" -> amount = AmountDeserializer.read(p, ctxt);
+                        case "currency" -> currency = CurrencyDeserializer.read(p, ctxt);
+                        case "expenseDate" -> expenseDate = (LocalDate) Tokens.value(p, ctxt, dateDeserializer);
+                        case "description" -> description = Tokens.string(p, ctxt);
+                    }
+                } catch (IOException e) {
+                    throw Tokens.withPath(e, ctxt, ExpenseItem.class, name);
+                }
+            }
+            return ExpenseItem.fromJson(category, amount, currency, expenseDate, description);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.financials.fincheck.dto;
+
+import com.financials.fincheck.job.JobStatus;
+import com.financials.fincheck.job.ValidationJob;
+
+import java.time.Instant;
+
+/**
+ * DTO representing the state of an asynchronous validation job.
+ *
+ * @param id               The job ID, used in the job's URLs.
+ * @param type             The document type tag, e.g. {@code payslip}.
+ * @param status           The life cycle state of the job.
+ * @param documents        The number of documents validated so far whose results can be read.
+ * @param invalidDocuments The number of those documents that failed validation.
+ * @param failure          Why the job failed, or {@code null}.
+ * @param submittedAt      When the job was accepted.
+ * @param finishedAt       When the job completed or failed, or {@code null}.
+ */
+public record JobResponse(String id, String type, JobStatus status, long documents, long invalidDocuments,
+                          String failure, Instant submittedAt, Instant finishedAt) {
+
+    /**
+     * @param job The job.
+     * @return The current state of the job.
+     */
+    public static JobResponse of(ValidationJob job) {
+        return new JobResponse(job.getId(), job.getType().tag(), job.getStatus(), job.getDocuments(),
+                job.getInvalidDocuments(), job.getFailure(), job.getSubmittedAt(), job.getFinishedAt());
+    }
+}
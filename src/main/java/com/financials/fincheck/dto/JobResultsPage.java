@@ -0,0 +1,14 @@
+package com.financials.fincheck.dto;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of the results of an asynchronous validation job.
+ *
+ * @param page     The zero-based page number.
+ * @param size     The requested page size.
+ * @param complete Indicates whether the job has finished, so the results written so far are all there will be.
+ * @param items    The results on the page, in submission order; fewer than {@code size} on the last page
+ *                 written so far.
+ */
+public record JobResultsPage(int page, int size, boolean complete, List<BatchItemResponse> items) { }
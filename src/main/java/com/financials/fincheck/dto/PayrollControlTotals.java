@@ -0,0 +1,19 @@
+package com.financials.fincheck.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO carrying the control totals of a payroll run, as computed by the payroll system, to reconcile the run with.
+ * <p>
+ * Every total is optional; totals left out are not compared.
+ *
+ * @param currency   The currency of the amounts, e.g. {@code EUR}.
+ * @param headcount  The number of payslips in the run.
+ * @param grossTotal The sum of the gross salaries.
+ * @param netTotal   The sum of the net salaries.
+ * @param deductions The sum of every deduction type, by deduction name.
+ */
+public record PayrollControlTotals(String currency, Long headcount, BigDecimal grossTotal, BigDecimal netTotal,
+                                   Map<String, BigDecimal> deductions) {
+}
@@ -0,0 +1,49 @@
+package com.financials.fincheck.dto;
+
+import com.financials.fincheck.payroll.PayrollRun;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO representing the totals of a payroll run and, once it is closed, how they compare with the control totals.
+ *
+ * @param employerId    The employer ID.
+ * @param payPeriod     The pay period, {@code yyyy-MM}.
+ * @param currency      The currency of the totals.
+ * @param headcount     The number of valid payslips totalled.
+ * @param grossTotal    The sum of the gross salaries.
+ * @param netTotal      The sum of the net salaries.
+ * @param deductions    The sum of every deduction type, by deduction name.
+ * @param closed        Whether the run has been closed.
+ * @param reconciled    Whether the run matched its control totals; {@code false} while the run is open.
+ * @param discrepancies Every difference from the control totals; empty while the run is open.
+ */
+public record PayrollRunResponse(String employerId, String payPeriod, String currency, long headcount,
+                                 BigDecimal grossTotal, BigDecimal netTotal, Map<String, BigDecimal> deductions,
+                                 boolean closed, boolean reconciled, List<String> discrepancies) {
+
+    /**
+     * @param run The open run.
+     * @return The current totals of the run.
+     */
+    public static PayrollRunResponse open(PayrollRun run) {
+        return of(run, false, List.of());
+    }
+
+    /**
+     * @param run           The closed run.
+     * @param discrepancies The differences from the control totals.
+     * @return The final totals of the run and the outcome of the reconciliation.
+     */
+    public static PayrollRunResponse closed(PayrollRun run, List<String> discrepancies) {
+        return of(run, true, discrepancies);
+    }
+
+    private static PayrollRunResponse of(PayrollRun run, boolean closed, List<String> discrepancies) {
+        return new PayrollRunResponse(run.getEmployerId(), run.getPayPeriod(), run.getCurrency().code(),
+                run.getHeadcount(), run.getGrossTotal(), run.getNetTotal(), run.getDeductionTotals(),
+                closed, closed && discrepancies.isEmpty(), discrepancies);
+    }
+}
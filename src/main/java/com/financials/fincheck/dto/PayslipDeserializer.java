@@ -0,0 +1,96 @@
+package com.financials.fincheck.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.model.Deductions;
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads a {@code Payslip} in a single pass over the tokens, without the buffering of creator properties
+ * that Jackson's bean deserializer needs to call a constructor.
+ * <p>
+ * Strings, amounts, the currency and the deductions are read straight from the parser; {@code Deductions}
+ * sums the valid amounts and counts the invalid ones as they arrive, which the validator then reads
+ * instead of walking the deductions again. Dates, the payment method and the employer are read with the
+ * deserializers Jackson would use for them, so their formats and error messages are unchanged.
+ */
+public class PayslipDeserializer extends JsonDeserializer<Payslip> implements ResolvableDeserializer {
+    private static final List<Object> PROPERTIES = List.of("employeeId", "employeeName", "payPeriod", "paymentDate",
+            "currency", "grossSalary", "deductions", "netSalary", "paymentMethod", "bankAccount", "employer", "hoursWorked");
+
+    private final DeductionsDeserializer deductionsDeserializer = new DeductionsDeserializer();
+    private JsonDeserializer<Object> dateDeserializer;
+    private JsonDeserializer<Object> paymentMethodDeserializer;
+    private JsonDeserializer<Object> employerDeserializer;
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        dateDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDate.class));
+        paymentMethodDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(PaymentMethod.class));
+        employerDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(Employer.class));
+    }
+
+    @Override
+    public Collection<Object> getKnownPropertyNames() {
+        return PROPERTIES;
+    }
+
+    @Override
+    public Payslip deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (Payslip) ctxt.handleUnexpectedToken(Payslip.class, p);
+        }
+        String employeeId = null;
+        String employeeName = null;
+        String payPeriod = null;
+        LocalDate paymentDate = null;
+        CurrencyCode currency = null;
+        long grossSalary = Money.ABSENT;
+        Deductions deductions = null;
+        long netSalary = Money.ABSENT;
+        PaymentMethod paymentMethod = null;
+        String bankAccount = null;
+        Employer employer = null;
+        int hoursWorked = 0;
+
+        for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            if (!PROPERTIES.contains(name)) {
+                ctxt.handleUnknownProperty(p, this, Payslip.class, name);
+                continue;
+            }
+            try {
+                switch (name) {
+                    case "employeeId" -> employeeId = Tokens.string(p, ctxt);
+                    case "employeeName" -> employeeName = Tokens.string(p, ctxt);
+                    case "payPeriod" -> payPeriod = Tokens.string(p, ctxt);
+                    case "paymentDate" -> paymentDate = (LocalDate) Tokens.value(p, ctxt, dateDeserializer);
+                    case "currency" -> currency = CurrencyDeserializer.read(p, ctxt);
+                    case "grossSalary" -> grossSalary = AmountDeserializer.read(p, ctxt);
+                    case "deductions" -> deductions = (Deductions) Tokens.value(p, ctxt, deductionsDeserializer);
+                    case "netSalary" -> netSalary = AmountDeserializer.read(p, ctxt);
+                    case "paymentMethod" -> paymentMethod = (PaymentMethod) Tokens.value(p, ctxt, paymentMethodDeserializer);
+                    case "bankAccount" -> bankAccount = Tokens.string(p, ctxt);
+                    case "employer" -> employer = (Employer) Tokens.value(p, ctxt, employerDeserializer);
+                    case "hoursWorked" -> hoursWorked = Tokens.intValue(p, ctxt);
+                }
+            } catch (IOException e) {
+                throw Tokens.withPath(e, ctxt, Payslip.class, name);
+            }
+        }
+        return Payslip.fromJson(employeeId, employeeName, payPeriod, paymentDate, currency, grossSalary,
+                deductions, netSalary, paymentMethod, bankAccount, employer, hoursWorked);
+    }
+}
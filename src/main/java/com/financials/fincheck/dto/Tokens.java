@@ -0,0 +1,66 @@
+package com.financials.fincheck.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+
+/**
+ * Property readers shared by the hand-written document deserializers.
+ * <p>
+ * Each reader takes the parser positioned on a property value and binds it the way Jackson's bean
+ * deserializer would: {@code null} tokens become the property's null value, and other scalars are
+ * coerced with Jackson's own deserializers, which also report the tokens that cannot be bound.
+ */
+final class Tokens {
+
+    private Tokens() {
+    }
+
+    static String string(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        return token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, String.class);
+    }
+
+    static int intValue(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getIntValue();
+        }
+        Integer value = token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, int.class);
+        return value == null ? 0 : value;
+    }
+
+    static Object value(JsonParser p, DeserializationContext ctxt, JsonDeserializer<?> deserializer) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return deserializer.getNullValue(ctxt);
+        }
+        return deserializer.deserialize(p, ctxt);
+    }
+
+    /**
+     * Adds the property to the path of a binding failure, as the bean deserializer does for nested values.
+     * Other I/O failures, and all failures with {@link DeserializationFeature#WRAP_EXCEPTIONS} disabled, are
+     * returned unchanged.
+     *
+     * @param e        The failure.
+     * @param ctxt     The deserialization context.
+     * @param type     The type owning the property.
+     * @param property The property being read.
+     * @return The failure to throw.
+     */
+    static IOException withPath(IOException e, DeserializationContext ctxt, Class<?> type, String property) {
+        if (e instanceof JsonProcessingException && ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS)) {
+            return JsonMappingException.wrapWithPath(e, type, property);
+        }
+        return e;
+    }
+}
@@ -12,5 +12,7 @@ import java.util.List;
  * @param messages A list of messages explaining the validation result.
  *                 For failed validations, these are error descriptions.
  *                 For successful validations, this includes a confirmation message.
+ *                 Error lists returned by the validators format their messages lazily, while
+ *                 the response is written.
  */
 public record ValidationResponse(boolean success, List<String> messages) { }
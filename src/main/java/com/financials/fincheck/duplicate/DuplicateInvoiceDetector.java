@@ -0,0 +1,67 @@
+package com.financials.fincheck.duplicate;
+
+import com.financials.fincheck.util.XxHash64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers every invoice number seen, per issuer, to detect invoices submitted more than once.
+ * <p>
+ * Each (issuer, invoice number) pair is reduced to a 128-bit fingerprint, built from two XXH64 hashes
+ * chained through the issuer and the invoice number so no combined key string is allocated. Fingerprints
+ * are kept in an off-heap {@link FingerprintSet}, which holds hundreds of millions of numbers in a few
+ * gigabytes of native memory and stripes its locks so lookups scale with request concurrency. Invoices
+ * without an issuer share one default partition.
+ * <p>
+ * Configuration: {@code fincheck.duplicates.enabled}, {@code fincheck.duplicates.stripes} and
+ * {@code fincheck.duplicates.expected-invoices}.
+ */
+@Component
+@ConditionalOnProperty(name = "fincheck.duplicates.enabled", havingValue = "true")
+public class DuplicateInvoiceDetector implements AutoCloseable {
+    private static final long HIGH_SEED = 0x5DEECE66DL;
+    private static final long LOW_SEED = 0x2545F4914F6CDD1DL;
+
+    private final FingerprintSet seen;
+
+    /**
+     * Constructor for injecting the detector configuration.
+     *
+     * @param stripes          The number of independently locked stripes.
+     * @param expectedInvoices The number of invoice numbers to presize the set for.
+     */
+    public DuplicateInvoiceDetector(@Value("${fincheck.duplicates.stripes:256}") int stripes,
+                                    @Value("${fincheck.duplicates.expected-invoices:1000000}") long expectedInvoices) {
+        this.seen = new FingerprintSet(stripes, expectedInvoices);
+    }
+
+    /**
+     * Records an invoice number for an issuer.
+     *
+     * @param issuerId      The issuer (tenant) the invoice belongs to; {@code null} selects the default partition.
+     * @param invoiceNumber The invoice number.
+     * @return {@code true} if the number is new for the issuer, {@code false} if it was seen before.
+     */
+    public boolean recordIfAbsent(String issuerId, String invoiceNumber) {
+        String issuer = issuerId == null ? "" : issuerId;
+        long high = XxHash64.hashChars(invoiceNumber, XxHash64.hashChars(issuer, HIGH_SEED));
+        long low = XxHash64.hashChars(invoiceNumber, XxHash64.hashChars(issuer, LOW_SEED));
+        return seen.add(high, low);
+    }
+
+    /**
+     * @return The number of distinct invoice numbers recorded across all issuers.
+     */
+    public long size() {
+        return seen.size();
+    }
+
+    /**
+     * Releases the native memory holding the recorded invoice numbers.
+     */
+    @Override
+    public void close() {
+        seen.close();
+    }
+}
@@ -0,0 +1,219 @@
+package com.financials.fincheck.duplicate;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent set of 128-bit fingerprints stored off-heap.
+ * <p>
+ * The set is split into a fixed number of stripes, each an open-addressing hash table with linear
+ * probing held in native memory. The high bits of a fingerprint select the stripe and its low bits the
+ * slot, so concurrent callers only contend when they hit the same stripe. Each slot holds the two
+ * 64-bit halves of a fingerprint (16 bytes) and tables grow by doubling at 75% load, which keeps the
+ * footprint at roughly 16-32 bytes per entry and entirely outside the Java heap.
+ * <p>
+ * With 128-bit fingerprints the chance of two different keys colliding is negligible even at billions
+ * of entries, so membership is treated as exact.
+ */
+public final class FingerprintSet implements AutoCloseable {
+    private static final long SLOT_BYTES = 16;
+    private static final int MIN_STRIPE_CAPACITY = 1024;
+    private static final int MAX_STRIPE_CAPACITY = 1 << 30;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Creates a set presized for the expected number of entries.
+     *
+     * @param stripeCount     The number of independently locked stripes; rounded up to a power of two.
+     * @param expectedEntries The number of entries the set should hold without resizing.
+     */
+    public FingerprintSet(int stripeCount, long expectedEntries) {
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        long perStripe = expectedEntries / count * 4 / 3 + 1;
+        int capacity = (int) Math.min(MAX_STRIPE_CAPACITY, Math.max(MIN_STRIPE_CAPACITY, Long.highestOneBit(perStripe - 1) << 1));
+
+        this.stripes = new Stripe[count];
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    /**
+     * Adds a fingerprint unless it is already present.
+     *
+     * @param high The high 64 bits of the fingerprint.
+     * @param low  The low 64 bits of the fingerprint.
+     * @return {@code true} if the fingerprint was added, {@code false} if it was already in the set.
+     */
+    public boolean add(long high, long low) {
+        if (high == 0 && low == 0) {
+            // (0, 0) marks an empty slot
+            low = 1;
+        }
+        Stripe stripe = stripeFor(high);
+        stripe.lock.lock();
+        try {
+            return stripe.add(high, low);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Tests whether a fingerprint is in the set.
+     *
+     * @param high The high 64 bits of the fingerprint.
+     * @param low  The low 64 bits of the fingerprint.
+     * @return {@code true} if the fingerprint was added before.
+     */
+    public boolean contains(long high, long low) {
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        Stripe stripe = stripeFor(high);
+        stripe.lock.lock();
+        try {
+            return stripe.indexOf(high, low) >= 0;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of fingerprints in the set.
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return The number of bytes of native memory currently reserved by the set.
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                bytes += stripe.table.byteSize();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Releases the native memory of the set. The set must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.arena.close();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private Stripe stripeFor(long high) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (high >>> stripeShift)];
+    }
+
+    /**
+     * One open-addressing table; every method must be called while holding {@link #lock}.
+     */
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        Arena arena;
+        MemorySegment table;
+        int mask;
+        int size;
+
+        Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        boolean add(long high, long low) {
+            if (indexOf(high, low) >= 0) {
+                return false;
+            }
+            if (size + 1 > (mask + 1L) * 3 / 4) {
+                grow();
+            }
+            insert(table, mask, high, low);
+            size++;
+            return true;
+        }
+
+        int indexOf(long high, long low) {
+            int slot = (int) low & mask;
+            while (true) {
+                long offset = slot * SLOT_BYTES;
+                long storedHigh = table.get(ValueLayout.JAVA_LONG, offset);
+                long storedLow = table.get(ValueLayout.JAVA_LONG, offset + 8);
+                if (storedHigh == high && storedLow == low) {
+                    return slot;
+                }
+                if (storedHigh == 0 && storedLow == 0) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private void grow() {
+            Arena oldArena = arena;
+            MemorySegment oldTable = table;
+            int oldCapacity = mask + 1;
+            if (oldCapacity == MAX_STRIPE_CAPACITY) {
+                throw new IllegalStateException("Fingerprint set stripe is full");
+            }
+
+            allocate(oldCapacity * 2);
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                long offset = slot * SLOT_BYTES;
+                long high = oldTable.get(ValueLayout.JAVA_LONG, offset);
+                long low = oldTable.get(ValueLayout.JAVA_LONG, offset + 8);
+                if (high != 0 || low != 0) {
+                    insert(table, mask, high, low);
+                }
+            }
+            oldArena.close();
+        }
+
+        private void allocate(int capacity) {
+            arena = Arena.ofShared();
+            table = arena.allocate(capacity * SLOT_BYTES, Long.BYTES);
+            mask = capacity - 1;
+        }
+
+        private static void insert(MemorySegment table, int mask, long high, long low) {
+            int slot = (int) low & mask;
+            while (true) {
+                long offset = slot * SLOT_BYTES;
+                if (table.get(ValueLayout.JAVA_LONG, offset) == 0 && table.get(ValueLayout.JAVA_LONG, offset + 8) == 0) {
+                    table.set(ValueLayout.JAVA_LONG, offset, high);
+                    table.set(ValueLayout.JAVA_LONG, offset + 8, low);
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.financials.fincheck.iban;
+
+import java.util.Arrays;
+
+/**
+ * Embedded IBAN registry: the BBAN structure of every supported country.
+ * <p>
+ * Structures use the notation of the SWIFT IBAN registry, where {@code n} is a digit, {@code a} an
+ * upper-case letter and {@code c} an upper-case alphanumeric character, each preceded by its count
+ * (e.g. {@code 4!a6!n8!n} for Ireland). The table is expanded once at class load into one array of
+ * character classes per country, indexed directly by the two country letters, so a lookup costs an
+ * array access.
+ */
+final class IbanRegistry {
+    static final byte DIGIT = 'n';
+    static final byte LETTER = 'a';
+    static final byte ALPHANUMERIC = 'c';
+
+    private static final String[][] COUNTRIES = {
+            {"AD", "4!n4!n12!c"}, {"AE", "3!n16!n"}, {"AL", "8!n16!c"}, {"AT", "5!n11!n"},
+            {"AZ", "4!a20!c"}, {"BA", "3!n3!n8!n2!n"}, {"BE", "3!n7!n2!n"}, {"BG", "4!a4!n2!n8!c"},
+            {"BH", "4!a14!c"}, {"BR", "8!n5!n10!n1!a1!c"}, {"CH", "5!n12!c"}, {"CR", "4!n14!n"},
+            {"CY", "3!n5!n16!c"}, {"CZ", "4!n6!n10!n"}, {"DE", "8!n10!n"}, {"DK", "4!n9!n1!n"},
+            {"DO", "4!c20!n"}, {"EE", "2!n2!n11!n1!n"}, {"EG", "4!n4!n17!n"}, {"ES", "4!n4!n1!n1!n10!n"},
+            {"FI", "3!n11!n"}, {"FO", "4!n9!n1!n"}, {"FR", "5!n5!n11!c2!n"}, {"GB", "4!a6!n8!n"},
+            {"GE", "2!a16!n"}, {"GI", "4!a15!c"}, {"GL", "4!n9!n1!n"}, {"GR", "3!n4!n16!c"},
+            {"GT", "4!c20!c"}, {"HR", "7!n10!n"}, {"HU", "3!n4!n1!n15!n1!n"}, {"IE", "4!a6!n8!n"},
+            {"IL", "3!n3!n13!n"}, {"IS", "4!n2!n6!n10!n"}, {"IT", "1!a5!n5!n12!c"}, {"JO", "4!a4!n18!c"},
+            {"KW", "4!a22!c"}, {"KZ", "3!n13!c"}, {"LB", "4!n20!c"}, {"LI", "5!n12!c"},
+            {"LT", "5!n11!n"}, {"LU", "3!n13!c"}, {"LV", "4!a13!c"}, {"MC", "5!n5!n11!c2!n"},
+            {"MD", "2!c18!c"}, {"ME", "3!n13!n2!n"}, {"MK", "3!n10!c2!n"}, {"MR", "5!n5!n11!n2!n"},
+            {"MT", "4!a5!n18!c"}, {"MU", "4!a2!n2!n12!n3!n3!a"}, {"NL", "4!a10!n"}, {"NO", "4!n6!n1!n"},
+            {"PK", "4!a16!c"}, {"PL", "8!n16!n"}, {"PS", "4!a21!c"}, {"PT", "4!n4!n11!n2!n"},
+            {"QA", "4!a21!c"}, {"RO", "4!a16!c"}, {"RS", "3!n13!n2!n"}, {"SA", "2!n18!c"},
+            {"SE", "3!n16!n1!n"}, {"SI", "5!n8!n2!n"}, {"SK", "4!n6!n10!n"}, {"SM", "1!a5!n5!n12!c"},
+            {"TN", "2!n3!n13!n2!n"}, {"TR", "5!n1!n16!c"}, {"UA", "6!n19!c"}, {"VG", "4!a16!n"},
+            {"XK", "4!n10!n2!n"}
+    };
+
+    private static final byte[][] BBAN_STRUCTURES = new byte[26 * 26][];
+
+    static {
+        for (String[] country : COUNTRIES) {
+            BBAN_STRUCTURES[index(country[0].charAt(0), country[0].charAt(1))] = expand(country[1]);
+        }
+    }
+
+    private IbanRegistry() {
+    }
+
+    /**
+     * Returns the character class of every BBAN position for the given country, or {@code null}
+     * if the country does not issue IBANs. Both letters must be upper-case ASCII.
+     *
+     * @param first  The first letter of the country code.
+     * @param second The second letter of the country code.
+     * @return The BBAN structure as an array of {@link #DIGIT}, {@link #LETTER} and {@link #ALPHANUMERIC}.
+     */
+    static byte[] bbanStructure(char first, char second) {
+        return BBAN_STRUCTURES[index(first, second)];
+    }
+
+    private static int index(char first, char second) {
+        return (first - 'A') * 26 + (second - 'A');
+    }
+
+    private static byte[] expand(String structure) {
+        byte[] buffer = new byte[64];
+        int length = 0;
+        int count = 0;
+        for (int i = 0; i < structure.length(); i++) {
+            char c = structure.charAt(i);
+            if (c >= '0' && c <= '9') {
+                count = count * 10 + (c - '0');
+            } else if (c == DIGIT || c == LETTER || c == ALPHANUMERIC) {
+                for (int j = 0; j < count; j++) {
+                    buffer[length++] = (byte) c;
+                }
+                count = 0;
+            } else if (c != '!') {
+                throw new IllegalStateException("Malformed IBAN structure: " + structure);
+            }
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+}
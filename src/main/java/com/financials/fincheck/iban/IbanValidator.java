@@ -0,0 +1,107 @@
+package com.financials.fincheck.iban;
+
+/**
+ * Validates International Bank Account Numbers (IBANs) in electronic format.
+ * <p>
+ * An IBAN is accepted when its country is in the {@link IbanRegistry}, its length and BBAN structure
+ * match the country's entry, and its ISO 7064 MOD 97-10 checksum holds. The checksum is computed with
+ * a single pass over the characters, folding each digit (or the two-digit value of each letter) into
+ * a running remainder, so no intermediate {@code String} or {@code BigInteger} is built.
+ * <p>
+ * The electronic format has no spaces and only upper-case letters; printed IBANs must be normalized
+ * by the caller.
+ */
+public final class IbanValidator {
+
+    /**
+     * Outcome of an IBAN check.
+     */
+    public enum Result {
+        /** The IBAN is well formed and its checksum holds. */
+        VALID,
+        /** The IBAN does not start with a two-letter country code and two check digits. */
+        INVALID_FORMAT,
+        /** The country code is not in the registry. */
+        UNKNOWN_COUNTRY,
+        /** The IBAN length does not match the country's registry entry. */
+        INVALID_LENGTH,
+        /** A BBAN character does not match the country's registry entry. */
+        INVALID_STRUCTURE,
+        /** The IBAN is well formed, but its MOD 97-10 checksum does not hold. */
+        INVALID_CHECKSUM
+    }
+
+    private IbanValidator() {
+    }
+
+    /**
+     * Checks the given IBAN against the registry and the MOD 97-10 checksum.
+     *
+     * @param iban The IBAN in electronic format (e.g., "IE29AIBK93115212345678"); must not be {@code null}.
+     * @return {@link Result#VALID} if the IBAN is valid, otherwise the first problem found.
+     */
+    public static Result check(CharSequence iban) {
+        int length = iban.length();
+        if (length < 5
+                || !isLetter(iban.charAt(0)) || !isLetter(iban.charAt(1))
+                || !isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+            return Result.INVALID_FORMAT;
+        }
+
+        byte[] structure = IbanRegistry.bbanStructure(iban.charAt(0), iban.charAt(1));
+        if (structure == null) {
+            return Result.UNKNOWN_COUNTRY;
+        }
+        if (length != structure.length + 4) {
+            return Result.INVALID_LENGTH;
+        }
+
+        // The checksum runs over the BBAN followed by the country code and check digits
+        int remainder = 0;
+        for (int i = 0; i < structure.length; i++) {
+            char c = iban.charAt(i + 4);
+            if (!matches(structure[i], c)) {
+                return Result.INVALID_STRUCTURE;
+            }
+            remainder = mod97(remainder, c);
+        }
+        for (int i = 0; i < 4; i++) {
+            remainder = mod97(remainder, iban.charAt(i));
+        }
+
+        return remainder == 1 ? Result.VALID : Result.INVALID_CHECKSUM;
+    }
+
+    /**
+     * Returns whether the given IBAN is valid.
+     *
+     * @param iban The IBAN in electronic format; must not be {@code null}.
+     * @return {@code true} if {@link #check(CharSequence)} returns {@link Result#VALID}.
+     */
+    public static boolean isValid(CharSequence iban) {
+        return check(iban) == Result.VALID;
+    }
+
+    private static int mod97(int remainder, char c) {
+        // Digits contribute one decimal digit, letters A-Z the two digits 10-35
+        return isDigit(c)
+                ? (remainder * 10 + (c - '0')) % 97
+                : (remainder * 100 + (c - 'A' + 10)) % 97;
+    }
+
+    private static boolean matches(byte characterClass, char c) {
+        return switch (characterClass) {
+            case IbanRegistry.DIGIT -> isDigit(c);
+            case IbanRegistry.LETTER -> isLetter(c);
+            default -> isDigit(c) || isLetter(c);
+        };
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
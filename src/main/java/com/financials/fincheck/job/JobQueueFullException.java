@@ -0,0 +1,25 @@
+package com.financials.fincheck.job;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a job is submitted while every worker is busy and the queue is full.
+ */
+public class JobQueueFullException extends RuntimeException {
+    private final Duration retryAfter;
+
+    /**
+     * @param retryAfter How long clients should wait before submitting again.
+     */
+    public JobQueueFullException(Duration retryAfter) {
+        super("Job queue is full");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return How long clients should wait before submitting again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,27 @@
+package com.financials.fincheck.job;
+
+/**
+ * The life cycle of a {@link ValidationJob}.
+ */
+public enum JobStatus {
+
+    /**
+     * Accepted and waiting for a worker.
+     */
+    QUEUED,
+
+    /**
+     * Being validated; results are readable as they are written.
+     */
+    RUNNING,
+
+    /**
+     * Every document was validated.
+     */
+    COMPLETED,
+
+    /**
+     * Stopped early, for example at a document that could not be parsed; the results written so far are kept.
+     */
+    FAILED
+}
@@ -0,0 +1,160 @@
+package com.financials.fincheck.job;
+
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.stream.DocumentFormat;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * A batch of documents submitted for asynchronous validation, and its progress.
+ * <p>
+ * The worker running the job is the only writer. It publishes progress whenever it flushes the result file,
+ * so {@link #getDocuments()} never counts results that cannot be read back yet. The result file has one
+ * {@code BatchItemResponse} per line; the byte offset of every {@value #INDEX_INTERVAL}th line is kept so
+ * that a page can be read without scanning the file from the start.
+ */
+public final class ValidationJob {
+
+    /**
+     * The number of result lines between two indexed offsets.
+     */
+    static final int INDEX_INTERVAL = 1024;
+
+    private final String id;
+    private final DocumentType type;
+    private final DocumentFormat format;
+    private final Instant submittedAt;
+    private final Path input;
+    private final Path results;
+
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile long documents;
+    private volatile long invalidDocuments;
+    private volatile String failure;
+    private volatile Instant finishedAt;
+    private volatile boolean cancelled;
+
+    private long[] offsets = new long[16];
+    private int offsetCount;
+
+    ValidationJob(String id, DocumentType type, DocumentFormat format, Instant submittedAt, Path input, Path results) {
+        this.id = id;
+        this.type = type;
+        this.format = format;
+        this.submittedAt = submittedAt;
+        this.input = input;
+        this.results = results;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public DocumentType getType() {
+        return type;
+    }
+
+    /**
+     * @return The format the documents were submitted in.
+     */
+    public DocumentFormat getFormat() {
+        return format;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The number of documents validated so far whose results can be read.
+     */
+    public long getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @return The number of those documents with at least one error.
+     */
+    public long getInvalidDocuments() {
+        return invalidDocuments;
+    }
+
+    /**
+     * @return Why the job failed, or {@code null}.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * @return When the job completed or failed, or {@code null} while it is queued or running.
+     */
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * @return {@code true} once the job has completed or failed.
+     */
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    Path input() {
+        return input;
+    }
+
+    Path results() {
+        return results;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    void started() {
+        status = JobStatus.RUNNING;
+    }
+
+    /**
+     * Publishes the results flushed to the result file.
+     */
+    void progress(long documents, long invalidDocuments) {
+        this.invalidDocuments = invalidDocuments;
+        this.documents = documents;
+    }
+
+    void finished(String failure, Instant finishedAt) {
+        this.failure = failure;
+        this.status = failure == null ? JobStatus.COMPLETED : JobStatus.FAILED;
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Records the byte offset of the next result line, called before every {@value #INDEX_INTERVAL}th line.
+     */
+    synchronized void index(long offset) {
+        if (offsetCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsetCount * 2);
+        }
+        offsets[offsetCount++] = offset;
+    }
+
+    /**
+     * @param document The position of a flushed result.
+     * @return The byte offset of the closest indexed line at or before the result's line.
+     */
+    synchronized long offsetBefore(long document) {
+        return offsets[(int) (document / INDEX_INTERVAL)];
+    }
+}
@@ -0,0 +1,420 @@
+package com.financials.fincheck.job;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.financials.fincheck.dto.BatchItemResponse;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.stream.DocumentFormat;
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs validation jobs: batches too large to validate within a request.
+ * <p>
+ * A submitted body is spooled to a local input file, so the request thread is released as soon as the upload
+ * is read, and queued for a fixed pool of workers. At most {@code workers + queue-capacity} jobs are accepted
+ * at a time; beyond that, submissions fail with {@link JobQueueFullException} before the body is read. A worker
+ * binds the documents one at a time from the input file, validates them with the application's validators and
+ * appends one result line per document to the job's result file, which can be read in pages while the job is
+ * still running. A {@code null} document is reported as {@link ErrorCode#DOCUMENT_NULL} and the job goes on.
+ * <p>
+ * Jobs are kept in memory. Finished jobs are dropped, and their files deleted, when they are deleted explicitly
+ * or by a sweep that runs every purge interval and removes those older than the configured retention.
+ * <p>
+ * Configuration: {@code fincheck.jobs.workers}, {@code fincheck.jobs.queue-capacity}, {@code fincheck.jobs.directory}
+ * (defaults to a temporary directory), {@code fincheck.jobs.retention}, {@code fincheck.jobs.purge-interval} and
+ * {@code fincheck.jobs.retry-after}.
+ */
+@Component
+public class ValidationJobService implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ValidationJobService.class);
+
+    /**
+     * The number of documents validated between two flushes of the result file, and so between progress updates.
+     */
+    static final int FLUSH_INTERVAL = ValidationJob.INDEX_INTERVAL;
+
+    /**
+     * Binds a {@code null} document, which bean deserializers reject when it is read as a value of the sequence,
+     * to {@code null}, so it is reported rather than ending the job.
+     */
+    private static final DeserializationProblemHandler NULL_DOCUMENTS = new DeserializationProblemHandler() {
+        @Override
+        public Object handleUnexpectedToken(DeserializationContext context, JavaType targetType, JsonToken token,
+                                            JsonParser parser, String failureMessage) {
+            JsonStreamContext position = parser.getParsingContext();
+            boolean document = position.inRoot() || position.inArray() && position.getParent().inRoot();
+            return token == JsonToken.VALUE_NULL && document ? null : NOT_HANDLED;
+        }
+    };
+
+    private final Map<DocumentFormat, ObjectMapper> documentMappers = new EnumMap<>(DocumentFormat.class);
+    private final ObjectWriter resultWriter;
+    private final ObjectReader resultReader;
+    private final Map<DocumentType, JobKind<?>> kinds = new EnumMap<>(DocumentType.class);
+    private final Map<String, ValidationJob> jobs = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService purger;
+    private final Path directory;
+    private final boolean temporaryDirectory;
+    private final Duration retention;
+    private final Duration retryAfter;
+    private final Clock clock;
+
+    /**
+     * Constructor for injecting the validators, the application's {@code ObjectMapper} and the configuration.
+     *
+     * @param invoiceValidator       The component validating invoices.
+     * @param payslipValidator       The component validating payslips.
+     * @param expenseReportValidator The component validating expense reports.
+     * @param objectMapper           The mapper JSON documents are bound and results written with, from which
+     *                               the CBOR and Smile mappers are derived.
+     * @param workers                The number of jobs validated concurrently.
+     * @param queueCapacity          The number of jobs waiting for a worker before submissions are rejected.
+     * @param directory              The directory for input and result files, or an empty string for a
+     *                               temporary directory removed on shutdown.
+     * @param retention              How long finished jobs and their results are kept.
+     * @param purgeInterval          How often finished jobs are checked against the retention.
+     * @param retryAfter             How long clients are asked to wait when the queue is full.
+     * @throws IOException If the directory cannot be created.
+     */
+    public ValidationJobService(InvoiceValidator invoiceValidator, PayslipValidator payslipValidator,
+                                ExpenseReportValidator expenseReportValidator, ObjectMapper objectMapper,
+                                @Value("${fincheck.jobs.workers:2}") int workers,
+                                @Value("${fincheck.jobs.queue-capacity:16}") int queueCapacity,
+                                @Value("${fincheck.jobs.directory:}") String directory,
+                                @Value("${fincheck.jobs.retention:1h}") Duration retention,
+                                @Value("${fincheck.jobs.purge-interval:1m}") Duration purgeInterval,
+                                @Value("${fincheck.jobs.retry-after:30s}") Duration retryAfter) throws IOException {
+        this(invoiceValidator, payslipValidator, expenseReportValidator, objectMapper, workers, queueCapacity,
+                directory, retention, purgeInterval, retryAfter, Clock.systemUTC());
+    }
+
+    ValidationJobService(InvoiceValidator invoiceValidator, PayslipValidator payslipValidator,
+                         ExpenseReportValidator expenseReportValidator, ObjectMapper objectMapper,
+                         int workers, int queueCapacity, String directory, Duration retention, Duration purgeInterval,
+                         Duration retryAfter, Clock clock) throws IOException {
+        if (workers < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Job workers must be positive and the queue capacity not negative");
+        }
+        if (!purgeInterval.isPositive()) {
+            throw new IllegalArgumentException("Job purge interval must be positive");
+        }
+        for (DocumentFormat format : DocumentFormat.values()) {
+            documentMappers.put(format, format.mapper(objectMapper));
+        }
+        this.resultWriter = objectMapper.writerFor(BatchItemResponse.class);
+        this.resultReader = objectMapper.readerFor(BatchItemResponse.class);
+        kinds.put(DocumentType.INVOICE, new JobKind<>(Invoice.class, invoiceValidator::validate,
+                Invoice::getInvoiceNumber, "Invoice is valid"));
+        kinds.put(DocumentType.PAYSLIP, new JobKind<>(Payslip.class, payslipValidator::validate,
+                Payslip::getEmployeeId, "Payslip is valid"));
+        kinds.put(DocumentType.EXPENSE_REPORT, new JobKind<>(ExpenseReport.class, expenseReportValidator::validate,
+                ExpenseReport::getReportId, "Expense report is valid"));
+
+        this.slots = new Semaphore(workers + queueCapacity);
+        // The slots bound the accepted jobs; the queue also has room for those whose worker is just finishing,
+        // which have released their slot already, so execute() never rejects a job
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers + queueCapacity),
+                Thread.ofPlatform().name("fincheck-job-", 1).factory());
+        this.temporaryDirectory = directory.isBlank();
+        this.directory = temporaryDirectory
+                ? Files.createTempDirectory("fincheck-jobs")
+                : Files.createDirectories(Path.of(directory));
+        this.retention = retention;
+        this.retryAfter = retryAfter;
+        this.clock = clock;
+        this.purger = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("fincheck-job-purge").daemon().factory());
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeInterval.toMillis(), purgeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Accepts a batch of JSON documents for validation.
+     *
+     * @param type The type of every document.
+     * @param body The documents, as a JSON array or newline-delimited JSON. It is read fully but not closed.
+     * @return The queued job.
+     * @throws JobQueueFullException If no more jobs are accepted at the moment.
+     * @throws IOException           If the body cannot be read or spooled.
+     */
+    public ValidationJob submit(DocumentType type, InputStream body) throws IOException {
+        return submit(type, DocumentFormat.JSON, body);
+    }
+
+    /**
+     * Accepts a batch of documents for validation.
+     *
+     * @param type   The type of every document.
+     * @param format The format of the body.
+     * @param body   The documents, as an array or a sequence of documents. It is read fully but not closed.
+     * @return The queued job.
+     * @throws JobQueueFullException If no more jobs are accepted at the moment.
+     * @throws IOException           If the body cannot be read or spooled.
+     */
+    public ValidationJob submit(DocumentType type, DocumentFormat format, InputStream body) throws IOException {
+        if (!slots.tryAcquire()) {
+            throw new JobQueueFullException(retryAfter);
+        }
+        String id = UUID.randomUUID().toString();
+        ValidationJob job = new ValidationJob(id, type, format, clock.instant(),
+                directory.resolve(id + ".input"), directory.resolve(id + ".results.ndjson"));
+        try {
+            Files.copy(body, job.input());
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            Files.deleteIfExists(job.input());
+            throw e;
+        }
+        jobs.put(id, job);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * @param id The ID of a job.
+     * @return The job, unless it is unknown, expired or deleted.
+     */
+    public Optional<ValidationJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Reads a range of a job's results.
+     *
+     * @param job   The job.
+     * @param from  The position of the first result.
+     * @param count The maximum number of results.
+     * @return The results from {@code from} on that have been written, at most {@code count}.
+     * @throws java.nio.file.NoSuchFileException If the job has been deleted or purged since it was found.
+     * @throws IOException                       If the result file cannot be read.
+     */
+    public List<BatchItemResponse> results(ValidationJob job, long from, int count) throws IOException {
+        long available = job.getDocuments();
+        if (from >= available || count <= 0) {
+            return List.of();
+        }
+        int size = (int) Math.min(count, available - from);
+        List<BatchItemResponse> results = new ArrayList<>(size);
+        try (FileChannel channel = FileChannel.open(job.results());
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     Channels.newInputStream(channel.position(job.offsetBefore(from))), StandardCharsets.UTF_8))) {
+            for (long skip = from % ValidationJob.INDEX_INTERVAL; skip > 0; skip--) {
+                reader.readLine();
+            }
+            for (int i = 0; i < size; i++) {
+                results.add(resultReader.readValue(reader.readLine()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Deletes a job and its files, stopping it if it is still queued or running.
+     *
+     * @param id The ID of the job.
+     * @return {@code true} if the job existed.
+     */
+    public boolean delete(String id) {
+        ValidationJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        if (job.isFinished()) {
+            deleteFiles(job);
+        }
+        // Otherwise the worker deletes the files once it notices the cancellation
+        return true;
+    }
+
+    private void run(ValidationJob job) {
+        String failure;
+        try {
+            if (job.isCancelled()) {
+                failure = "Cancelled";
+            } else {
+                job.started();
+                failure = validate(job, kinds.get(job.getType()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Validation job {} failed", job.getId(), e);
+            failure = "Validation failed";
+        }
+        try {
+            Files.deleteIfExists(job.input());
+        } catch (IOException e) {
+            log.warn("Could not delete the input of validation job {}", job.getId(), e);
+        }
+        // Cleaned up and out of the queue before it is reported finished, so clients can submit the next job
+        slots.release();
+        job.finished(failure, clock.instant());
+        if (job.isCancelled()) {
+            deleteFiles(job);
+        }
+    }
+
+    /**
+     * Validates the documents of a job.
+     *
+     * @return {@code null} if every document was validated, otherwise the reason the job stopped.
+     */
+    private <T> String validate(ValidationJob job, JobKind<T> kind) throws IOException {
+        List<String> validMessages = List.of(kind.validMessage());
+        long documents = 0;
+        long invalidDocuments = 0;
+        long written = 0;
+        try (MappingIterator<T> iterator = documentMappers.get(job.getFormat()).readerFor(kind.type())
+                .withHandler(NULL_DOCUMENTS).readValues(job.input().toFile());
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.results()), 64 * 1024)) {
+            job.index(0);
+            try {
+                while (iterator.hasNextValue()) {
+                    if (job.isCancelled()) {
+                        return "Cancelled";
+                    }
+                    T document = iterator.nextValue();
+                    ValidationResult errors = document == null
+                            ? ValidationResult.valid().with(ErrorCode.DOCUMENT_NULL)
+                            : kind.validator().apply(document);
+                    String id = document == null ? null : kind.idExtractor().apply(document);
+                    byte[] line = resultWriter.writeValueAsBytes(errors.isValid()
+                            ? new BatchItemResponse((int) documents, id, true, validMessages)
+                            : new BatchItemResponse((int) documents, id, false, errors));
+                    out.write(line);
+                    out.write('\n');
+                    written += line.length + 1;
+                    documents++;
+                    if (!errors.isValid()) {
+                        invalidDocuments++;
+                    }
+                    if (documents % FLUSH_INTERVAL == 0) {
+                        job.index(written);
+                        out.flush();
+                        job.progress(documents, invalidDocuments);
+                    }
+                }
+            } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                // The parser position is unreliable after a binding failure, so the job ends at this document
+                return "Invalid request format at record " + (documents + 1);
+            } finally {
+                out.flush();
+                job.progress(documents, invalidDocuments);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops finished jobs older than the retention; run by the purger every purge interval.
+     */
+    private void purgeExpired() {
+        try {
+            Instant cutoff = clock.instant().minus(retention);
+            for (ValidationJob job : jobs.values()) {
+                Instant finishedAt = job.getFinishedAt();
+                if (finishedAt != null && finishedAt.isBefore(cutoff)) {
+                    delete(job.getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            // A failed sweep must not cancel the schedule; the next one tries again
+            log.warn("Could not purge expired validation jobs", e);
+        }
+    }
+
+    private void deleteFiles(ValidationJob job) {
+        try {
+            Files.deleteIfExists(job.input());
+            Files.deleteIfExists(job.results());
+        } catch (IOException e) {
+            log.warn("Could not delete the files of validation job {}", job.getId(), e);
+        }
+    }
+
+    /**
+     * Stops the workers and deletes the files of every job.
+     */
+    @Override
+    public void close() {
+        purger.shutdownNow();
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Validation jobs did not stop within 10 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (ValidationJob job : jobs.values()) {
+            deleteFiles(job);
+        }
+        jobs.clear();
+        if (temporaryDirectory) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (IOException e) {
+                log.warn("Could not delete the validation job directory {}", directory, e);
+            }
+        }
+    }
+
+    /**
+     * How to bind, validate and identify the documents of one type.
+     */
+    private record JobKind<T>(Class<T> type, Function<? super T, ValidationResult> validator,
+                              Function<? super T, String> idExtractor, String validMessage) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.financials.fincheck.metrics;
+
+import com.financials.fincheck.model.DocumentType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.InputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times the binding of document request bodies for {@link ValidationMetrics}.
+ * <p>
+ * For sampled requests the body is wrapped in a message carrying the start time, which Spring hands
+ * back to {@link #afterBodyRead} once the converter has produced the document. Bodies that fail to
+ * bind never reach {@code afterBodyRead}; they are counted by {@code GlobalExceptionHandler} instead.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DeserializationMetricsAdvice extends RequestBodyAdviceAdapter {
+    private final ValidationMetrics metrics;
+
+    /**
+     * Constructor for injecting the {@code ValidationMetrics} dependency.
+     *
+     * @param metrics The component publishing validation metrics.
+     */
+    public DeserializationMetricsAdvice(ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return DocumentType.forType(targetType) != null;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        return metrics.isSampled() ? new TimedInputMessage(inputMessage, System.nanoTime()) : inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (inputMessage instanceof TimedInputMessage timed) {
+            metrics.recordDeserialization(DocumentType.forType(targetType), System.nanoTime() - timed.start());
+        }
+        return body;
+    }
+
+    /**
+     * Request body that remembers when its binding started.
+     */
+    private record TimedInputMessage(HttpInputMessage delegate, long start) implements HttpInputMessage {
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
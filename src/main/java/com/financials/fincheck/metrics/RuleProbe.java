@@ -0,0 +1,26 @@
+package com.financials.fincheck.metrics;
+
+import com.financials.fincheck.validator.ValidationResult;
+
+/**
+ * Times the rules of a single validation run.
+ * <p>
+ * Validators call {@link #lap(String, ValidationResult)} after each rule. A sampled probe records the
+ * time since the previous lap against that rule, with outcome {@code failure} if the rule added an
+ * error. Runs that are not sampled get {@link #NOOP}, whose laps do nothing.
+ */
+public interface RuleProbe {
+
+    /**
+     * Probe for validation runs that are not timed.
+     */
+    RuleProbe NOOP = (rule, errors) -> { };
+
+    /**
+     * Marks the end of a rule.
+     *
+     * @param rule   The rule that just ran, named after the field it checks.
+     * @param errors The errors collected so far in this validation run.
+     */
+    void lap(String rule, ValidationResult errors);
+}
@@ -0,0 +1,244 @@
+package com.financials.fincheck.metrics;
+
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ValidationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes validation metrics through Micrometer.
+ * <p>
+ * Published meters, all tagged with {@code document}:
+ * <ul>
+ *   <li>{@code fincheck.validation.documents} (counter, {@code outcome}) - every validated document.</li>
+ *   <li>{@code fincheck.validation.rule.failures} (counter, {@code rule}, {@code code}) - every reported error.</li>
+ *   <li>{@code fincheck.validation.duration} (timer, {@code outcome}) - whole validation runs, sampled.</li>
+ *   <li>{@code fincheck.validation.rule.duration} (timer, {@code rule}, {@code outcome}) - single rules, sampled.</li>
+ *   <li>{@code fincheck.deserialization.duration} (timer) - request body binding, sampled.</li>
+ *   <li>{@code fincheck.deserialization.failures} (counter, {@code reason}) - request bodies that could not be bound.</li>
+ * </ul>
+ * Counters are updated on every call and are backed by Micrometer's striped adders. Timers only record
+ * a random sample of calls, set by {@code fincheck.metrics.timer-sample-rate}, so the unsampled path
+ * costs a random number and a no-op call per rule.
+ */
+@Component
+public class ValidationMetrics {
+    private static final ValidationMetrics DISABLED = new ValidationMetrics();
+
+    private final MeterRegistry registry;
+    private final int sampleInterval;
+    private final Counter[][] documentCounters;
+    private final Counter[][] failureCounters;
+    private final Timer[][] documentTimers;
+    private final Map<String, Timer>[][] ruleTimers;
+    private final Timer[] deserializationTimers;
+    private final Timer unknownDeserializationTimer;
+
+    /**
+     * Constructor for injecting the meter registry and the timer sample rate.
+     *
+     * @param registry   The registry meters are published to.
+     * @param sampleRate The fraction of calls that are timed, between 0 (none) and 1 (all).
+     */
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public ValidationMetrics(MeterRegistry registry,
+                             @Value("${fincheck.metrics.timer-sample-rate:0.01}") double sampleRate) {
+        this.registry = registry;
+        this.sampleInterval = sampleRate <= 0 ? 0 : (int) Math.max(1, Math.round(1 / Math.min(1, sampleRate)));
+
+        DocumentType[] types = DocumentType.values();
+        this.documentCounters = new Counter[types.length][];
+        this.failureCounters = new Counter[types.length][ErrorCode.values().length];
+        this.documentTimers = new Timer[types.length][];
+        this.ruleTimers = new Map[types.length][];
+        this.deserializationTimers = new Timer[types.length];
+        for (DocumentType type : types) {
+            documentCounters[type.ordinal()] = new Counter[]{
+                    documentCounter(type, "valid"),
+                    documentCounter(type, "invalid")
+            };
+            documentTimers[type.ordinal()] = new Timer[]{
+                    documentTimer(type, "valid"),
+                    documentTimer(type, "invalid")
+            };
+            ruleTimers[type.ordinal()] = new Map[]{new ConcurrentHashMap<>(), new ConcurrentHashMap<>()};
+            deserializationTimers[type.ordinal()] = deserializationTimer(type.tag());
+        }
+        this.unknownDeserializationTimer = deserializationTimer("unknown");
+    }
+
+    private ValidationMetrics() {
+        this.registry = null;
+        this.sampleInterval = 0;
+        this.documentCounters = null;
+        this.failureCounters = null;
+        this.documentTimers = null;
+        this.ruleTimers = null;
+        this.deserializationTimers = null;
+        this.unknownDeserializationTimer = null;
+    }
+
+    /**
+     * @return An instance that records nothing, for validators created outside the application context.
+     */
+    public static ValidationMetrics disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Starts a validation run, deciding whether it is timed.
+     *
+     * @param type The type of the document being validated.
+     * @return A probe to call after each rule, which is {@link RuleProbe#NOOP} for runs that are not sampled.
+     */
+    public RuleProbe start(DocumentType type) {
+        if (!isSampled()) {
+            return RuleProbe.NOOP;
+        }
+        return new SampledRuleProbe(type, System.nanoTime());
+    }
+
+    /**
+     * Completes a validation run: counts the document and its errors and, for sampled runs, records its duration.
+     *
+     * @param type   The type of the validated document.
+     * @param errors The validation result.
+     * @param probe  The probe returned by {@link #start(DocumentType)}.
+     */
+    public void finish(DocumentType type, ValidationResult errors, RuleProbe probe) {
+        if (registry == null) {
+            return;
+        }
+        documentCounters[type.ordinal()][errors.isValid() ? 0 : 1].increment();
+        for (int i = 0; i < errors.size(); i++) {
+            failureCounter(type, errors.code(i)).increment();
+        }
+        if (probe instanceof SampledRuleProbe sampled) {
+            documentTimers[type.ordinal()][errors.isValid() ? 0 : 1]
+                    .record(System.nanoTime() - sampled.start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return {@code true} if the current call should be timed.
+     */
+    public boolean isSampled() {
+        return sampleInterval > 0 && (sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0);
+    }
+
+    /**
+     * Records how long binding a request body took.
+     *
+     * @param type  The document type that was bound.
+     * @param nanos The binding duration in nanoseconds.
+     */
+    public void recordDeserialization(DocumentType type, long nanos) {
+        if (registry == null) {
+            return;
+        }
+        Timer timer = type == null ? unknownDeserializationTimer : deserializationTimers[type.ordinal()];
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a request body that could not be bound.
+     *
+     * @param type   The document type the body was bound to, or {@code null} if unknown.
+     * @param reason Why binding failed (e.g. "format").
+     */
+    public void recordDeserializationFailure(DocumentType type, String reason) {
+        if (registry == null) {
+            return;
+        }
+        Counter.builder("fincheck.deserialization.failures")
+                .tag("document", type == null ? "unknown" : type.tag())
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private Counter documentCounter(DocumentType type, String outcome) {
+        return Counter.builder("fincheck.validation.documents")
+                .tag("document", type.tag())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Timer documentTimer(DocumentType type, String outcome) {
+        return Timer.builder("fincheck.validation.duration")
+                .tag("document", type.tag())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer deserializationTimer(String document) {
+        return Timer.builder("fincheck.deserialization.duration")
+                .tag("document", document)
+                .register(registry);
+    }
+
+    private Counter failureCounter(DocumentType type, ErrorCode code) {
+        Counter counter = failureCounters[type.ordinal()][code.ordinal()];
+        if (counter == null) {
+            // Registration is idempotent, so racing threads end up with the same counter
+            counter = Counter.builder("fincheck.validation.rule.failures")
+                    .tag("document", type.tag())
+                    .tag("rule", code.field())
+                    .tag("code", code.name())
+                    .register(registry);
+            failureCounters[type.ordinal()][code.ordinal()] = counter;
+        }
+        return counter;
+    }
+
+    private Timer ruleTimer(DocumentType type, String rule, boolean failed) {
+        // Rule names are string constants, so the lookup hashes a cached hash code and does not allocate
+        Map<String, Timer> timers = ruleTimers[type.ordinal()][failed ? 1 : 0];
+        Timer timer = timers.get(rule);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(rule, k -> Timer.builder("fincheck.validation.rule.duration")
+                .tag("document", type.tag())
+                .tag("rule", rule)
+                .tag("outcome", failed ? "failure" : "success")
+                .register(registry));
+    }
+
+    /**
+     * Probe of a sampled validation run, timing each rule from the previous lap.
+     */
+    private final class SampledRuleProbe implements RuleProbe {
+        private final DocumentType type;
+        private final long start;
+        private long lastLap;
+        private int lastErrorCount;
+
+        SampledRuleProbe(DocumentType type, long start) {
+            this.type = type;
+            this.start = start;
+            this.lastLap = start;
+        }
+
+        @Override
+        public void lap(String rule, ValidationResult errors) {
+            long now = System.nanoTime();
+            boolean failed = errors.size() > lastErrorCount;
+            ruleTimer(type, rule, failed).record(now - lastLap, TimeUnit.NANOSECONDS);
+            lastLap = now;
+            lastErrorCount = errors.size();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.financials.fincheck.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.financials.fincheck.dto.DeductionsDeserializer;
+import com.financials.fincheck.rules.Checks;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The named deductions of a payslip, held in parallel arrays of names and minor-unit amounts.
+ * <p>
+ * Deductions keep the order they were submitted in, including repeated names. Amounts are at the
+ * scale of the payslip currency and may be {@link Money#ABSENT} or {@link Money#INVALID}.
+ * <p>
+ * The sum of the valid amounts and the number of invalid deductions are kept up to date as deductions are
+ * added, so a deserializer filling this from the token stream leaves the validator nothing to walk for a
+ * payslip whose deductions are all valid.
+ */
+@JsonDeserialize(using = DeductionsDeserializer.class)
+public final class Deductions {
+    private String[] names;
+    private long[] amounts;
+    private int size;
+    private long total;
+    private int invalid;
+
+    /**
+     * Creates an empty set of deductions.
+     *
+     * @param capacity The number of deductions expected.
+     */
+    public Deductions(int capacity) {
+        this.names = new String[Math.max(capacity, 4)];
+        this.amounts = new long[names.length];
+    }
+
+    /**
+     * Converts a map of deduction names to major-unit amounts.
+     *
+     * @param deductions The deductions, or {@code null}.
+     * @param scale      The scale of the payslip currency.
+     * @return The deductions, or {@code null} if {@code deductions} is {@code null}.
+     */
+    public static Deductions of(Map<String, Double> deductions, int scale) {
+        if (deductions == null) {
+            return null;
+        }
+        Deductions result = new Deductions(deductions.size());
+        for (Map.Entry<String, Double> entry : deductions.entrySet()) {
+            result.add(entry.getKey(), Money.fromDouble(entry.getValue(), scale));
+        }
+        return result;
+    }
+
+    /**
+     * Appends a deduction.
+     *
+     * @param name   The deduction name (e.g., "Tax").
+     * @param amount The amount in minor units.
+     */
+    public void add(String name, long amount) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        names[size] = name;
+        amounts[size] = amount;
+        size++;
+        count(name, amount);
+    }
+
+    private void count(String name, long amount) {
+        if (isValid(name, amount)) {
+            // Amounts are at most 10^18, so capping the sum rules out overflow while keeping it above any gross salary
+            total = Math.min(total + amount, Long.MAX_VALUE / 2);
+        } else {
+            invalid++;
+        }
+    }
+
+    /**
+     * @param name   The deduction name.
+     * @param amount The amount in minor units.
+     * @return Whether the deduction has a name and a present, representable, non-negative amount.
+     */
+    public static boolean isValid(String name, long amount) {
+        return !Checks.isBlank(name) && Money.isPresent(amount) && amount >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public long amount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * @return The sum of the valid amounts, capped at {@code Long.MAX_VALUE / 2}.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @return Whether any deduction has a blank name or an absent, unrepresentable or negative amount.
+     */
+    public boolean hasInvalid() {
+        return invalid > 0;
+    }
+
+    /**
+     * Moves every amount to another scale, see {@link Money#rescale(long, int, int)}.
+     *
+     * @param fromScale The current scale.
+     * @param toScale   The target scale.
+     */
+    public void rescale(int fromScale, int toScale) {
+        if (fromScale == toScale) {
+            return;
+        }
+        total = 0;
+        invalid = 0;
+        for (int i = 0; i < size; i++) {
+            amounts[i] = Money.rescale(amounts[i], fromScale, toScale);
+            count(names[i], amounts[i]);
+        }
+    }
+
+    /**
+     * @param scale The scale of the amounts.
+     * @return The deductions as a map of names to major-unit amounts. Later duplicates replace earlier ones.
+     */
+    public Map<String, Double> toMap(int scale) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(names[i], Money.toDouble(amounts[i], scale));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,75 @@
+package com.financials.fincheck.model;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Enum representing the kinds of financial documents FinCheck validates.
+ * <p>
+ * The {@code tag} is the stable, lower-case name used wherever a document type is reported
+ * externally, such as in metric tags.
+ */
+public enum DocumentType {
+
+    /**
+     * An {@code Invoice}.
+     */
+    INVOICE("invoice", Invoice.class),
+
+    /**
+     * A {@code Payslip}.
+     */
+    PAYSLIP("payslip", Payslip.class),
+
+    /**
+     * An {@code ExpenseReport}.
+     */
+    EXPENSE_REPORT("expense_report", ExpenseReport.class);
+
+    private final String tag;
+    private final Class<?> modelClass;
+
+    DocumentType(String tag, Class<?> modelClass) {
+        this.tag = tag;
+        this.modelClass = modelClass;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public Class<?> modelClass() {
+        return modelClass;
+    }
+
+    /**
+     * @param tag A tag as returned by {@link #tag()}.
+     * @return The document type with the tag, or {@code null} if there is none.
+     */
+    public static DocumentType forTag(String tag) {
+        for (DocumentType documentType : values()) {
+            if (documentType.tag.equals(tag)) {
+                return documentType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the document type bound to a request body type, looking through collections of documents.
+     *
+     * @param type The declared type of a request body, e.g. {@code Payslip} or {@code List<Payslip>}.
+     * @return The matching document type, or {@code null} if the type is not a document.
+     */
+    public static DocumentType forType(Type type) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getActualTypeArguments().length == 1) {
+            type = parameterized.getActualTypeArguments()[0];
+        }
+        for (DocumentType documentType : values()) {
+            if (documentType.modelClass == type) {
+                return documentType;
+            }
+        }
+        return null;
+    }
+}
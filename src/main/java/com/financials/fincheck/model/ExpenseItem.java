@@ -1,20 +1,68 @@
 package com.financials.fincheck.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.dto.AmountDeserializer;
+import com.financials.fincheck.dto.CurrencyDeserializer;
+
 import java.time.LocalDate;
+import java.util.Currency;
 
 public class ExpenseItem {
     private String category;
-    private double amount;
+    /**
+     * The amount in minor units at {@code scale}; the owning report moves it to the scale of the item currency.
+     */
+    private long amount;
+    private int scale;
+    /**
+     * The currency the expense was paid in, or {@code null} if it is that of the report.
+     */
+    private CurrencyCode currency;
     private LocalDate expenseDate;
     private String description;
 
     public ExpenseItem(String category, double amount, LocalDate expenseDate, String description) {
+        this(category, amount, null, expenseDate, description);
+    }
+
+    public ExpenseItem(String category, double amount, Currency currency, LocalDate expenseDate, String description) {
+        this(category, Money.fromDouble(amount, Money.PARSE_SCALE), Money.PARSE_SCALE, CurrencyRegistry.of(currency),
+                expenseDate, description);
+    }
+
+    private ExpenseItem(String category, long amount, int scale, CurrencyCode currency, LocalDate expenseDate,
+                        String description) {
         this.category = category;
         this.amount = amount;
+        this.scale = scale;
+        this.currency = currency;
         this.expenseDate = expenseDate;
         this.description = description;
     }
 
+    /**
+     * Creates an item as read from JSON, with the amount at {@link Money#PARSE_SCALE}.
+     *
+     * @param category    The expense category (e.g., "Travel").
+     * @param amount      The amount at {@link Money#PARSE_SCALE}, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     * @param currency    The currency the expense was paid in, or {@code null} if it is that of the report.
+     * @param expenseDate The date of the expense.
+     * @param description What the expense was for.
+     * @return The item.
+     */
+    @JsonCreator
+    public static ExpenseItem fromJson(String category,
+                                        @JsonDeserialize(using = AmountDeserializer.class) long amount,
+                                        @JsonDeserialize(using = CurrencyDeserializer.class) CurrencyCode currency,
+                                        LocalDate expenseDate, String description) {
+        return new ExpenseItem(category, amount, Money.PARSE_SCALE, currency, expenseDate, description);
+    }
+
     public String getCategory() {
         return category;
     }
@@ -23,12 +71,66 @@ public class ExpenseItem {
         this.category = category;
     }
 
-    public double getAmount() {
-        return amount;
+    public Double getAmount() {
+        return Money.toDouble(amount, scale);
     }
 
     public void setAmount(double amount) {
-        this.amount = amount;
+        this.amount = Money.fromDouble(amount, scale);
+    }
+
+    /**
+     * @return The amount in minor units at {@link #getScale()}, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     */
+    @JsonIgnore
+    public long getAmountMinor() {
+        return amount;
+    }
+
+    /**
+     * @return The scale of {@link #getAmountMinor()}, which is that of the item currency once the item belongs to a report.
+     */
+    @JsonIgnore
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Moves the amount to the scale of the item currency, see {@link Money#rescale(long, int, int)}. The amount keeps
+     * its scale while the currency is unknown, which the validator reports separately.
+     *
+     * @param reportScale The scale of the report currency, or -1 if it is unknown.
+     */
+    void rescale(int reportScale) {
+        int toScale = currency == null ? reportScale : currency.isRegistered() ? Money.scale(currency.currency()) : -1;
+        if (toScale >= 0) {
+            this.amount = Money.rescale(amount, scale, toScale);
+            this.scale = toScale;
+        }
+    }
+
+    /**
+     * @return The currency the expense was paid in, or {@code null} if it is that of the report or the code is not an
+     *         ISO 4217 currency.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Currency getCurrency() {
+        return currency == null ? null : currency.currency();
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = CurrencyRegistry.of(currency);
+        if (this.currency != null) {
+            rescale(-1);
+        }
+    }
+
+    /**
+     * @return The currency code as submitted, or {@code null} if the expense was paid in the report currency.
+     */
+    @JsonIgnore
+    public CurrencyCode getCurrencyCode() {
+        return currency;
     }
 
     public LocalDate getExpenseDate() {
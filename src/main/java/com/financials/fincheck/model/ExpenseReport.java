@@ -1,28 +1,135 @@
 package com.financials.fincheck.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.currency.ExchangeRateTable;
+import com.financials.fincheck.dto.ExpenseReportDeserializer;
 
 import java.time.LocalDate;
 import java.util.Currency;
 import java.util.List;
 
+@JsonDeserialize(using = ExpenseReportDeserializer.class)
 public class ExpenseReport {
     private String reportId;
     private String employeeId;
     private String businessPurpose;
 
-    @JsonDeserialize(using = com.financials.fincheck.dto.CurrencyDeserializer.class)
-    private Currency currency;
+    private CurrencyCode currency;
     private LocalDate submissionDate;
     private List<ExpenseItem> items;
+    /**
+     * The declared total of the items in minor units of the report currency at {@code totalScale}, or {@link Money#ABSENT}.
+     */
+    private long total = Money.ABSENT;
+    private int totalScale = Money.PARSE_SCALE;
 
     public ExpenseReport(String reportId, String employeeId, String businessPurpose, Currency currency, LocalDate submissionDate, List<ExpenseItem> items) {
+        this(reportId, employeeId, businessPurpose, CurrencyRegistry.of(currency), submissionDate, items, Money.ABSENT);
+    }
+
+    private ExpenseReport(String reportId, String employeeId, String businessPurpose, CurrencyCode currency,
+                          LocalDate submissionDate, List<ExpenseItem> items, long total) {
         this.reportId = reportId;
         this.employeeId = employeeId;
         this.businessPurpose = businessPurpose;
         this.currency = currency;
         this.submissionDate = submissionDate;
         this.items = items;
+        this.total = total;
+        rescaleAmounts();
+    }
+
+    /**
+     * Creates a report as read from JSON by {@link ExpenseReportDeserializer}, with the currency decoded straight
+     * from the parser buffer and the amounts at {@link Money#PARSE_SCALE}.
+     *
+     * @param reportId        The report ID.
+     * @param employeeId      The ID of the employee claiming the expenses.
+     * @param businessPurpose The purpose of the expenses.
+     * @param currency        The currency code, or {@code null} if none was given.
+     * @param submissionDate  The date the report was submitted.
+     * @param items           The expense items, or {@code null}.
+     * @param total           The declared total at {@link Money#PARSE_SCALE}, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     * @return The report, with the amounts moved to the scale of their currency.
+     */
+    public static ExpenseReport fromJson(String reportId, String employeeId, String businessPurpose,
+                                         CurrencyCode currency, LocalDate submissionDate, List<ExpenseItem> items,
+                                         long total) {
+        return new ExpenseReport(reportId, employeeId, businessPurpose, currency, submissionDate, items, total);
+    }
+
+    /**
+     * Moves the total and the item amounts to the scale of their currency, which is unknown while the items are
+     * bound. Amounts keep their scale while their currency is missing or unknown, which the validator reports
+     * separately.
+     */
+    private void rescaleAmounts() {
+        int scale = currency == null || !currency.isRegistered() ? -1 : Money.scale(currency.currency());
+        if (scale >= 0) {
+            total = Money.rescale(total, totalScale, scale);
+            totalScale = scale;
+        }
+        if (items == null) {
+            return;
+        }
+        for (ExpenseItem item : items) {
+            if (item != null) {
+                item.rescale(scale);
+            }
+        }
+    }
+
+    /**
+     * Sums the item amounts in the report currency, converting items paid in another currency at the rates of
+     * their expense date, or of the submission date if they have none. Nothing is allocated, whatever the number
+     * of items.
+     *
+     * @param rates The exchange rates, or {@code null} if none are available.
+     * @return The total in minor units at {@link #getTotalScale()}, or {@link Money#INVALID} if the report currency
+     *         is unknown, an item has no amount, an item cannot be converted, or the total does not fit in a
+     *         {@code long}.
+     */
+    public long itemTotal(ExchangeRateTable rates) {
+        if (currency == null || !currency.isRegistered() || items == null) {
+            return Money.INVALID;
+        }
+        double converted = 0;
+        long sum = 0;
+        for (ExpenseItem item : items) {
+            if (item == null || !Money.isPresent(item.getAmountMinor())) {
+                return Money.INVALID;
+            }
+            CurrencyCode itemCurrency = item.getCurrencyCode();
+            if (itemCurrency == null || itemCurrency == currency) {
+                // A parsed amount is at most 10^16 minor units at scale 2, so a thousand items can overflow
+                long next = sum + item.getAmountMinor();
+                if (((sum ^ next) & (item.getAmountMinor() ^ next)) < 0) {
+                    return Money.INVALID;
+                }
+                sum = next;
+                continue;
+            }
+            LocalDate date = item.getExpenseDate() != null ? item.getExpenseDate() : submissionDate;
+            if (rates == null || date == null) {
+                return Money.INVALID;
+            }
+            double factor = rates.factor(itemCurrency, item.getScale(), currency, totalScale, date);
+            if (Double.isNaN(factor)) {
+                return Money.INVALID;
+            }
+            // Every item is rounded on its own, as it would be on a statement in the report currency
+            converted += Math.rint(item.getAmountMinor() * factor);
+        }
+        // Beyond 2^53 doubles no longer hold every whole number, so the converted sum would not be exact
+        if (!(Math.abs(converted) < 0x1p53)) {
+            return Money.INVALID;
+        }
+        long total = sum + (long) converted;
+        return ((sum ^ total) & ((long) converted ^ total)) < 0 ? Money.INVALID : total;
     }
 
     public String getReportId() {
@@ -49,12 +156,24 @@ public class ExpenseReport {
         this.businessPurpose = businessPurpose;
     }
 
+    /**
+     * @return The currency, or {@code null} if none was given or the code is not an ISO 4217 currency.
+     */
     public Currency getCurrency() {
-        return currency;
+        return currency == null ? null : currency.currency();
     }
 
     public void setCurrency(Currency currency) {
-        this.currency = currency;
+        this.currency = CurrencyRegistry.of(currency);
+        rescaleAmounts();
+    }
+
+    /**
+     * @return The currency code as submitted, or {@code null} if none was given.
+     */
+    @JsonIgnore
+    public CurrencyCode getCurrencyCode() {
+        return currency;
     }
 
     public LocalDate getSubmissionDate() {
@@ -71,5 +190,34 @@ public class ExpenseReport {
 
     public void setItems(List<ExpenseItem> items) {
         this.items = items;
+        rescaleAmounts();
+    }
+
+    /**
+     * @return The declared total of the items in the report currency, or {@code null} if none was given.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Double getTotal() {
+        return Money.toDouble(total, totalScale);
+    }
+
+    public void setTotal(Double total) {
+        this.total = Money.fromDouble(total, totalScale);
+    }
+
+    /**
+     * @return The declared total in minor units at {@link #getTotalScale()}, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     */
+    @JsonIgnore
+    public long getTotalMinor() {
+        return total;
+    }
+
+    /**
+     * @return The scale of {@link #getTotalMinor()} and {@link #itemTotal(ExchangeRateTable)}, that of the report currency.
+     */
+    @JsonIgnore
+    public int getTotalScale() {
+        return totalScale;
     }
 }
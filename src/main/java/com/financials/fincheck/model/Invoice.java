@@ -1,5 +1,12 @@
 package com.financials.fincheck.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.dto.CurrencyDeserializer;
+
 /**
  * Represents a financial invoice submitted for validation.
  * <p>
@@ -20,9 +27,16 @@ public class Invoice {
     private Double amount;
 
     /**
-     * ISO 4217 currency code (e.g., "EUR", "USD", "GBP") used in the invoice.
+     * ISO 4217 currency code (e.g., "EUR", "USD", "GBP") used in the invoice, resolved through the {@link CurrencyRegistry}.
+     * The code is matched case-insensitively and reported in upper case.
+     */
+    private CurrencyCode currency;
+
+    /**
+     * Identifier of the issuer (tenant) that sent the invoice.
+     * Invoice numbers only need to be unique per issuer. May be {@code null}.
      */
-    private String currency;
+    private String issuerId;
 
     /**
      * Constructs an {@code Invoice} object with the specified invoice number, amount, and currency.
@@ -32,9 +46,31 @@ public class Invoice {
      * @param currency      The currency code associated with the amount.
      */
     public Invoice(String invoiceNumber, Double amount, String currency) {
+        this(invoiceNumber, amount, currency, null);
+    }
+
+    /**
+     * Constructs an {@code Invoice} object with the specified invoice number, amount, currency, and issuer.
+     *
+     * @param invoiceNumber A unique string identifying the invoice.
+     * @param amount        The monetary value of the invoice.
+     * @param currency      The currency code associated with the amount.
+     * @param issuerId      The issuer (tenant) that sent the invoice, or {@code null}.
+     */
+    public Invoice(String invoiceNumber, Double amount, String currency, String issuerId) {
+        this(invoiceNumber, amount, CurrencyRegistry.resolve(currency), issuerId);
+    }
+
+    /**
+     * Creates an invoice from JSON, with the currency decoded straight from the parser buffer.
+     */
+    @JsonCreator
+    private Invoice(String invoiceNumber, Double amount,
+                    @JsonDeserialize(using = CurrencyDeserializer.class) CurrencyCode currency, String issuerId) {
         this.invoiceNumber = invoiceNumber;
         this.amount = amount;
         this.currency = currency;
+        this.issuerId = issuerId;
     }
 
     public String getInvoiceNumber() {
@@ -54,10 +90,26 @@ public class Invoice {
     }
 
     public String getCurrency() {
-        return currency;
+        return currency == null ? null : currency.code();
     }
 
     public void setCurrency(String currency) {
-        this.currency = currency;
+        this.currency = CurrencyRegistry.resolve(currency);
+    }
+
+    /**
+     * @return The currency code, or {@code null} if none was given.
+     */
+    @JsonIgnore
+    public CurrencyCode getCurrencyCode() {
+        return currency;
+    }
+
+    public String getIssuerId() {
+        return issuerId;
+    }
+
+    public void setIssuerId(String issuerId) {
+        this.issuerId = issuerId;
     }
 }
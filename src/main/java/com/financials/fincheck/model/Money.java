@@ -0,0 +1,198 @@
+package com.financials.fincheck.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Arithmetic for monetary amounts held as primitive {@code long} minor units.
+ * <p>
+ * An amount is an unscaled value at a given scale, the number of decimal places, so 2300.50 at scale 2 is
+ * {@code 230050}. Documents keep their amounts at the scale of their currency ({@link #scale(Currency)}),
+ * which makes sums and comparisons exact. Two reserved values stand in for amounts that are not numbers:
+ * {@link #ABSENT} for missing amounts and {@link #INVALID} for amounts that cannot be represented at the
+ * required scale, such as 10.005 EUR.
+ * <p>
+ * Amounts read from JSON are first parsed at {@link #PARSE_SCALE}, the largest scale of any ISO 4217
+ * currency, because the document currency may only be known once all properties have been read.
+ */
+public final class Money {
+
+    /**
+     * Marks a missing amount.
+     */
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    /**
+     * Marks an amount that is out of range or has more decimal places than its scale allows.
+     */
+    public static final long INVALID = Long.MIN_VALUE + 1;
+
+    /**
+     * The scale amounts are parsed at before the document currency is known.
+     */
+    public static final int PARSE_SCALE = 4;
+
+    /**
+     * Largest accepted magnitude in major units (100 trillion), which keeps every amount well inside a
+     * {@code long} at {@link #PARSE_SCALE}.
+     */
+    private static final long MAX_MAJOR_UNITS = 100_000_000_000_000L;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+    private static final long MAX_PARSED = MAX_MAJOR_UNITS * POWERS_OF_TEN[PARSE_SCALE];
+
+    private Money() {
+    }
+
+    /**
+     * @param currency The currency.
+     * @return The number of minor unit digits of the currency, e.g. 2 for EUR and 0 for JPY.
+     */
+    public static int scale(Currency currency) {
+        // Pseudo-currencies such as XAU have no minor unit (-1)
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * @param amount An amount in minor units.
+     * @return {@code true} if the amount is a number, i.e. neither {@link #ABSENT} nor {@link #INVALID}.
+     */
+    public static boolean isPresent(long amount) {
+        return amount != ABSENT && amount != INVALID;
+    }
+
+    /**
+     * Parses a plain decimal number such as {@code -2300.5} at {@link #PARSE_SCALE} without allocating.
+     *
+     * @param chars  The buffer holding the number.
+     * @param offset The index of the first character.
+     * @param length The number of characters.
+     * @return The amount at {@link #PARSE_SCALE}, or {@link #INVALID} if the text is not a representable number.
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c == 'e' || c == 'E') {
+                // Exponent notation is rare enough to take the allocating path
+                return parseDecimal(new String(chars, offset, length));
+            } else if (c < '0' || c > '9') {
+                return INVALID;
+            } else if (fractionDigits == PARSE_SCALE) {
+                // Trailing zeros beyond the parse scale do not change the value
+                if (c != '0') {
+                    return INVALID;
+                }
+            } else {
+                if (value > MAX_PARSED / 10) {
+                    return INVALID;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            }
+        }
+        if (digits == 0) {
+            return INVALID;
+        }
+
+        // The digits read so far are bounded, but scaling them up to the parse scale may still overflow
+        long power = POWERS_OF_TEN[PARSE_SCALE - Math.max(0, fractionDigits)];
+        if (value > MAX_PARSED / power) {
+            return INVALID;
+        }
+        value *= power;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Converts a {@code double} to minor units, for code that still works with floating-point amounts.
+     *
+     * @param value The amount in major units, or {@code null}.
+     * @param scale The scale of the result.
+     * @return The amount at {@code scale}, {@link #ABSENT} for {@code null}, or {@link #INVALID} if it needs more decimal places.
+     */
+    public static long fromDouble(Double value, int scale) {
+        if (value == null) {
+            return ABSENT;
+        }
+        if (value.isNaN() || value.isInfinite()) {
+            return INVALID;
+        }
+        // BigDecimal.valueOf uses the shortest decimal that round-trips, so 75.5 is 75.5 and not 75.4999...
+        return fromDecimal(BigDecimal.valueOf(value), scale);
+    }
+
+    /**
+     * Converts minor units back to a {@code double}, for code that still works with floating-point amounts.
+     *
+     * @param amount The amount in minor units.
+     * @param scale  The scale of the amount.
+     * @return The amount in major units, {@code null} for {@link #ABSENT}, or {@code NaN} for {@link #INVALID}.
+     */
+    public static Double toDouble(long amount, int scale) {
+        if (amount == ABSENT) {
+            return null;
+        }
+        if (amount == INVALID) {
+            return Double.NaN;
+        }
+        // Both operands are exact, so the division rounds once, to the double closest to the decimal value
+        return (double) amount / POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * Moves an amount from one scale to another without changing its value.
+     *
+     * @param amount The amount in minor units at {@code fromScale}.
+     * @param fromScale The current scale.
+     * @param toScale The target scale.
+     * @return The amount at {@code toScale}, or {@link #INVALID} if it has more decimal places than {@code toScale}
+     *         allows. {@link #ABSENT} and {@link #INVALID} are returned unchanged.
+     */
+    public static long rescale(long amount, int fromScale, int toScale) {
+        if (!isPresent(amount) || fromScale == toScale) {
+            return amount;
+        }
+        if (toScale > fromScale) {
+            // Parsed amounts are bounded far below the overflow limit
+            return amount * POWERS_OF_TEN[toScale - fromScale];
+        }
+        long divisor = POWERS_OF_TEN[fromScale - toScale];
+        return amount % divisor == 0 ? amount / divisor : INVALID;
+    }
+
+    private static long parseDecimal(String text) {
+        try {
+            return fromDecimal(new BigDecimal(text), PARSE_SCALE);
+        } catch (NumberFormatException e) {
+            return INVALID;
+        }
+    }
+
+    private static long fromDecimal(BigDecimal value, int scale) {
+        try {
+            BigDecimal scaled = value.setScale(scale);
+            if (scaled.abs().compareTo(BigDecimal.valueOf(MAX_MAJOR_UNITS, 0).movePointRight(scale)) > 0) {
+                return INVALID;
+            }
+            return scaled.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            return INVALID;
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.financials.fincheck.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.dto.PayslipDeserializer;
+
 import java.time.LocalDate;
+import java.util.Currency;
 import java.util.Map;
 
 /**
@@ -8,9 +15,19 @@ import java.util.Map;
  * <p>
  * This class is used in validation processes to ensure salary data, deductions, and payment methods
  * conform to expected business rules.
+ * <p>
+ * Monetary amounts are held as {@code long} minor units of the payslip currency (see {@link Money}),
+ * so the net salary check is exact. The {@code Double} accessors convert on every call and are kept
+ * for JSON output and existing callers.
  */
+@JsonDeserialize(using = PayslipDeserializer.class)
 public class Payslip {
 
+    /**
+     * Currency assumed for payslips that do not state one.
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("EUR");
+
     /**
      * Unique identifier for the employee.
      */
@@ -32,19 +49,25 @@ public class Payslip {
     private LocalDate paymentDate;
 
     /**
-     * Gross salary before deductions.
+     * Currency all amounts on the payslip are expressed in. Defaults to {@link #DEFAULT_CURRENCY}.
+     * Amounts of payslips with an unknown currency stay at {@link Money#PARSE_SCALE}.
+     */
+    private CurrencyCode currency;
+
+    /**
+     * Gross salary before deductions, in minor units.
      */
-    private Double grossSalary;
+    private long grossSalary;
 
     /**
-     * A map of deduction names (e.g., "Tax", "Pension") to deduction amounts (e.g., "incomeTax": 750.00).
+     * Deduction names (e.g., "Tax", "Pension") and amounts in minor units (e.g., "incomeTax": 750.00 as 75000).
      */
-    private Map<String, Double> deductions;
+    private Deductions deductions;
 
     /**
-     * Net salary after all deductions.
+     * Net salary after all deductions, in minor units.
      */
-    private Double netSalary;
+    private long netSalary;
 
     /**
      * Method used to pay the employee (e.g., bank transfer, cheque).
@@ -87,15 +110,65 @@ public class Payslip {
         this.employeeName = employeeName;
         this.payPeriod = payPeriod;
         this.paymentDate = paymentDate;
-        this.grossSalary = grossSalary;
+        this.currency = CurrencyRegistry.of(DEFAULT_CURRENCY);
+        this.grossSalary = Money.fromDouble(grossSalary, scale());
+        this.deductions = Deductions.of(deductions, scale());
+        this.netSalary = Money.fromDouble(netSalary, scale());
+        this.paymentMethod = paymentMethod;
+        this.bankAccount = bankAccount;
+        this.employer = employer;
+        this.hoursWorked = hoursWorked;
+    }
+
+    private Payslip(String employeeId, String employeeName, String payPeriod, LocalDate paymentDate,
+                    CurrencyCode currency, long grossSalary, Deductions deductions, long netSalary,
+                    PaymentMethod paymentMethod, String bankAccount, Employer employer, int hoursWorked) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.payPeriod = payPeriod;
+        this.paymentDate = paymentDate;
+        this.currency = currency != null ? currency : CurrencyRegistry.of(DEFAULT_CURRENCY);
+        this.grossSalary = Money.rescale(grossSalary, Money.PARSE_SCALE, scale());
         this.deductions = deductions;
-        this.netSalary = netSalary;
+        if (deductions != null) {
+            deductions.rescale(Money.PARSE_SCALE, scale());
+        }
+        this.netSalary = Money.rescale(netSalary, Money.PARSE_SCALE, scale());
         this.paymentMethod = paymentMethod;
         this.bankAccount = bankAccount;
         this.employer = employer;
         this.hoursWorked = hoursWorked;
     }
 
+    /**
+     * Creates a payslip as read from JSON by {@link PayslipDeserializer}, with amounts at {@link Money#PARSE_SCALE}
+     * that are moved to the currency's scale.
+     *
+     * @param employeeId    Unique identifier of the employee.
+     * @param employeeName  Full name of the employee.
+     * @param payPeriod     The pay period this payslip corresponds to (e.g., "2025-05").
+     * @param paymentDate   The date on which the payment was issued.
+     * @param currency      The currency code, or {@code null} for {@link #DEFAULT_CURRENCY}.
+     * @param grossSalary   Gross salary at {@link Money#PARSE_SCALE}, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     * @param deductions    Deductions at {@link Money#PARSE_SCALE}, or {@code null}.
+     * @param netSalary     Net salary at {@link Money#PARSE_SCALE}, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     * @param paymentMethod Method used to pay the employee.
+     * @param bankAccount   Bank account where payment was made, if applicable.
+     * @param employer      Information about the employer issuing the payslip.
+     * @param hoursWorked   Total number of hours worked during the pay period.
+     * @return The payslip.
+     */
+    public static Payslip fromJson(String employeeId, String employeeName, String payPeriod, LocalDate paymentDate,
+                                   CurrencyCode currency, long grossSalary, Deductions deductions, long netSalary,
+                                   PaymentMethod paymentMethod, String bankAccount, Employer employer, int hoursWorked) {
+        return new Payslip(employeeId, employeeName, payPeriod, paymentDate, currency, grossSalary, deductions,
+                netSalary, paymentMethod, bankAccount, employer, hoursWorked);
+    }
+
+    private int scale() {
+        return currency.isRegistered() ? Money.scale(currency.currency()) : Money.PARSE_SCALE;
+    }
+
     public String getEmployeeId() {
         return employeeId;
     }
@@ -128,28 +201,82 @@ public class Payslip {
         this.paymentDate = paymentDate;
     }
 
+    /**
+     * @return The currency, or {@code null} if the payslip states a code that is not an ISO 4217 currency.
+     */
+    public Currency getCurrency() {
+        return currency.currency();
+    }
+
+    /**
+     * Changes the payslip currency, keeping the value of every amount.
+     *
+     * @param currency The new currency, or {@code null} for {@link #DEFAULT_CURRENCY}.
+     */
+    public void setCurrency(Currency currency) {
+        int oldScale = scale();
+        this.currency = CurrencyRegistry.of(currency != null ? currency : DEFAULT_CURRENCY);
+        this.grossSalary = Money.rescale(grossSalary, oldScale, scale());
+        this.netSalary = Money.rescale(netSalary, oldScale, scale());
+        if (deductions != null) {
+            deductions.rescale(oldScale, scale());
+        }
+    }
+
+    /**
+     * @return The currency code as stated on the payslip, or the code of {@link #DEFAULT_CURRENCY}.
+     */
+    @JsonIgnore
+    public CurrencyCode getCurrencyCode() {
+        return currency;
+    }
+
     public Double getGrossSalary() {
-        return grossSalary;
+        return Money.toDouble(grossSalary, scale());
     }
 
     public void setGrossSalary(Double grossSalary) {
-        this.grossSalary = grossSalary;
+        this.grossSalary = Money.fromDouble(grossSalary, scale());
+    }
+
+    /**
+     * @return The gross salary in minor units of the payslip currency, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     */
+    @JsonIgnore
+    public long getGrossSalaryMinor() {
+        return grossSalary;
     }
 
     public Double getNetSalary() {
-        return netSalary;
+        return Money.toDouble(netSalary, scale());
     }
 
     public void setNetSalary(Double netSalary) {
-        this.netSalary = netSalary;
+        this.netSalary = Money.fromDouble(netSalary, scale());
+    }
+
+    /**
+     * @return The net salary in minor units of the payslip currency, or {@link Money#ABSENT} / {@link Money#INVALID}.
+     */
+    @JsonIgnore
+    public long getNetSalaryMinor() {
+        return netSalary;
     }
 
     public Map<String, Double> getDeductions() {
-        return deductions;
+        return deductions == null ? null : deductions.toMap(scale());
     }
 
     public void setDeductions(Map<String, Double> deductions) {
-        this.deductions = deductions;
+        this.deductions = Deductions.of(deductions, scale());
+    }
+
+    /**
+     * @return The deductions with amounts in minor units of the payslip currency, or {@code null}.
+     */
+    @JsonIgnore
+    public Deductions getDeductionAmounts() {
+        return deductions;
     }
 
     public PaymentMethod getPaymentMethod() {
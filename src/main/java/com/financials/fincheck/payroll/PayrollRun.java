@@ -0,0 +1,233 @@
+package com.financials.fincheck.payroll;
+
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.dto.PayrollControlTotals;
+import com.financials.fincheck.model.Deductions;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.model.Payslip;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of the valid payslips of one employer and pay period.
+ * <p>
+ * Every total is a {@link LongAdder}, which spreads concurrent additions over striped cells instead of
+ * contending on a single value, so payslips of one run validated on many threads add up without locks.
+ * Amounts are summed in minor units of the run currency, the currency of its first payslip; payslips in
+ * another currency are only counted, and reported when the run is reconciled.
+ * <p>
+ * A run has one payslip per employee. The run remembers what each employee's payslip added, so a payslip sent
+ * again, e.g. by a client retry or as a correction, replaces the employee's earlier one instead of being counted
+ * twice.
+ */
+public final class PayrollRun {
+    /**
+     * The time of the last payslip of a run that was evicted, so no payslip is added to it any more.
+     */
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final String employerId;
+    private final String payPeriod;
+    private final CurrencyCode currency;
+    private final int scale;
+    private final LongAdder headcount = new LongAdder();
+    private final LongAdder grossTotal = new LongAdder();
+    private final LongAdder netTotal = new LongAdder();
+    private final LongAdder otherCurrency = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> deductionTotals = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Contribution> employees = new ConcurrentHashMap<>();
+    private final AtomicLong lastRecorded = new AtomicLong();
+
+    /**
+     * Creates an empty run.
+     *
+     * @param employerId The employer ID.
+     * @param payPeriod  The pay period, {@code yyyy-MM}.
+     * @param currency   The currency amounts are summed in.
+     */
+    public PayrollRun(String employerId, String payPeriod, CurrencyCode currency) {
+        this.employerId = employerId;
+        this.payPeriod = payPeriod;
+        this.currency = currency;
+        this.scale = Money.scale(currency.currency());
+    }
+
+    /**
+     * Adds a valid payslip of this run to the totals, replacing the payslip of the employee added before, if any.
+     * <p>
+     * The previous payslip is taken out of the totals after the new one is added. Concurrent payslips of one
+     * employee each take out the one they replaced, so the totals end up with exactly one of them.
+     *
+     * @param payslip A payslip that passed validation.
+     * @return {@code false} if a payslip of the employee was already counted and this one replaced it.
+     */
+    public boolean add(Payslip payslip) {
+        Contribution contribution = Contribution.of(payslip, currency);
+        Contribution previous = employees.put(payslip.getEmployeeId(), contribution);
+        apply(contribution, 1);
+        if (previous == null) {
+            return true;
+        }
+        apply(previous, -1);
+        return false;
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        if (!contribution.totalled()) {
+            otherCurrency.add(sign);
+            return;
+        }
+        headcount.add(sign);
+        grossTotal.add(sign * contribution.gross());
+        netTotal.add(sign * contribution.net());
+        for (int i = 0; i < contribution.deductionNames().length; i++) {
+            String name = contribution.deductionNames()[i];
+            LongAdder total = deductionTotals.get(name);
+            if (total == null) {
+                total = deductionTotals.computeIfAbsent(name, key -> new LongAdder());
+            }
+            total.add(sign * contribution.deductionAmounts()[i]);
+        }
+    }
+
+    /**
+     * Marks the run as receiving a payslip at the given time, unless it was evicted.
+     *
+     * @param now The current time in epoch milliseconds.
+     * @return {@code false} if the run was evicted and the payslip belongs in a new run.
+     */
+    boolean touch(long now) {
+        long last;
+        do {
+            last = lastRecorded.get();
+            if (last == EVICTED) {
+                return false;
+            }
+        } while (last < now && !lastRecorded.compareAndSet(last, now));
+        return true;
+    }
+
+    /**
+     * Evicts the run if it received no payslip since the given time. A payslip touching the run at the same time
+     * either keeps it or finds it evicted, never adds to an evicted run.
+     *
+     * @param cutoff The time in epoch milliseconds before which the last payslip must have been received.
+     * @return {@code true} if the run was evicted.
+     */
+    boolean evictIfIdleSince(long cutoff) {
+        long last = lastRecorded.get();
+        return last != EVICTED && last < cutoff && lastRecorded.compareAndSet(last, EVICTED);
+    }
+
+    public String getEmployerId() {
+        return employerId;
+    }
+
+    public String getPayPeriod() {
+        return payPeriod;
+    }
+
+    public CurrencyCode getCurrency() {
+        return currency;
+    }
+
+    public long getHeadcount() {
+        return headcount.sum();
+    }
+
+    public BigDecimal getGrossTotal() {
+        return BigDecimal.valueOf(grossTotal.sum(), scale);
+    }
+
+    public BigDecimal getNetTotal() {
+        return BigDecimal.valueOf(netTotal.sum(), scale);
+    }
+
+    /**
+     * @return The total of every deduction type, by name in alphabetical order.
+     */
+    public Map<String, BigDecimal> getDeductionTotals() {
+        Map<String, BigDecimal> totals = new TreeMap<>();
+        deductionTotals.forEach((name, total) -> totals.put(name, BigDecimal.valueOf(total.sum(), scale)));
+        return totals;
+    }
+
+    /**
+     * @return The number of valid payslips of the run that were not totalled because of their currency.
+     */
+    public long getOtherCurrencyPayslips() {
+        return otherCurrency.sum();
+    }
+
+    /**
+     * Compares the totals with the control totals of the payroll system. The totals are only exact once every
+     * payslip of the run has been validated.
+     *
+     * @param control The expected totals.
+     * @return A description of every difference; empty if the run matches.
+     */
+    public List<String> reconcile(PayrollControlTotals control) {
+        List<String> discrepancies = new ArrayList<>();
+        long otherCurrencyPayslips = getOtherCurrencyPayslips();
+        if (otherCurrencyPayslips > 0) {
+            discrepancies.add(otherCurrencyPayslips + " payslips in another currency than " + currency
+                    + " were not totalled");
+        }
+        if (control.currency() != null && !control.currency().equalsIgnoreCase(currency.code())) {
+            discrepancies.add("Run currency " + currency + " does not match control currency " + control.currency());
+            return discrepancies;
+        }
+        if (control.headcount() != null && control.headcount() != getHeadcount()) {
+            discrepancies.add("Headcount " + getHeadcount() + " does not match control total " + control.headcount());
+        }
+        compare(discrepancies, "Gross total", getGrossTotal(), control.grossTotal());
+        compare(discrepancies, "Net total", getNetTotal(), control.netTotal());
+        if (control.deductions() != null) {
+            Map<String, BigDecimal> deductions = getDeductionTotals();
+            control.deductions().forEach((name, expected) ->
+                    compare(discrepancies, "Deduction '" + name + "' total", deductions.getOrDefault(name, BigDecimal.ZERO), expected));
+            deductions.keySet().stream()
+                    .filter(name -> !control.deductions().containsKey(name))
+                    .forEach(name -> discrepancies.add("Deduction '" + name + "' has no control total"));
+        }
+        return discrepancies;
+    }
+
+    /**
+     * What one employee's payslip added to the totals, in minor units of the run currency, or only to the count
+     * of payslips in another currency if it is not {@code totalled}.
+     */
+    private record Contribution(boolean totalled, long gross, long net, String[] deductionNames,
+                                long[] deductionAmounts) {
+        private static final String[] NO_NAMES = {};
+        private static final long[] NO_AMOUNTS = {};
+
+        static Contribution of(Payslip payslip, CurrencyCode currency) {
+            if (payslip.getCurrencyCode() != currency) {
+                return new Contribution(false, 0, 0, NO_NAMES, NO_AMOUNTS);
+            }
+            // Copied, as Deductions is mutable and the payslip is not kept
+            Deductions deductions = payslip.getDeductionAmounts();
+            String[] names = new String[deductions.size()];
+            long[] amounts = new long[deductions.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = deductions.name(i);
+                amounts[i] = deductions.amount(i);
+            }
+            return new Contribution(true, payslip.getGrossSalaryMinor(), payslip.getNetSalaryMinor(), names, amounts);
+        }
+    }
+
+    private static void compare(List<String> discrepancies, String label, BigDecimal actual, BigDecimal expected) {
+        if (expected != null && actual.compareTo(expected) != 0) {
+            discrepancies.add(label + " " + actual.toPlainString() + " does not match control total " + expected.toPlainString());
+        }
+    }
+}
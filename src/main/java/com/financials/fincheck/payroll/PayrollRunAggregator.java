@@ -0,0 +1,138 @@
+package com.financials.fincheck.payroll;
+
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.rules.Checks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totals the valid payslips of every open payroll run, identified by {@link Employer#employerId()} and pay
+ * period, as they are validated.
+ * <p>
+ * Only the totals of a run and the amounts each employee added are kept (see {@link PayrollRun}), never its
+ * payslips. A payslip of an employee the run already counted replaces the earlier one, so a payslip sent again
+ * is not counted twice and a corrected one takes effect.
+ * <p>
+ * A run is opened by its first valid payslip and stays open until it is closed, or until it received no payslip
+ * for the configured retention, when it is evicted as abandoned. Payslips of a run that arrive after it was
+ * closed or evicted open a new one. Payslips without an employer ID belong to no run. At most once per sweep
+ * interval, the shorter of the retention and an hour, the first payslip recorded sweeps out the abandoned runs,
+ * so memory stays bounded by the runs that received payslips within the retention.
+ * <p>
+ * Configuration: {@code fincheck.payroll-runs.enabled} and {@code fincheck.payroll-runs.retention}.
+ */
+@Component
+@ConditionalOnProperty(name = "fincheck.payroll-runs.enabled", havingValue = "true")
+public class PayrollRunAggregator {
+    private static final long MAX_SWEEP_INTERVAL = Duration.ofHours(1).toMillis();
+
+    private final ConcurrentHashMap<RunKey, PayrollRun> runs = new ConcurrentHashMap<>();
+    private final AtomicLong nextEviction = new AtomicLong(Long.MIN_VALUE);
+    private final long retention;
+    private final long sweepInterval;
+    private final Clock clock;
+
+    /**
+     * Constructor for injecting the aggregator configuration.
+     *
+     * @param retention How long an open run that receives no payslips is kept before it is evicted.
+     */
+    @Autowired
+    public PayrollRunAggregator(@Value("${fincheck.payroll-runs.retention:30d}") Duration retention) {
+        this(retention, Clock.systemUTC());
+    }
+
+    PayrollRunAggregator(Duration retention, Clock clock) {
+        if (retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("Payroll run retention must be positive: " + retention);
+        }
+        this.retention = retention.toMillis();
+        this.sweepInterval = Math.min(this.retention, MAX_SWEEP_INTERVAL);
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a valid payslip to the totals of its run, opening the run if needed. A payslip of an employee the run
+     * already counted replaces the earlier one.
+     *
+     * @param payslip A payslip that passed validation.
+     * @return {@code false} if the payslip has no employer ID and belongs to no run.
+     */
+    public boolean record(Payslip payslip) {
+        String employerId = payslip.getEmployer().employerId();
+        if (Checks.isBlank(employerId)) {
+            return false;
+        }
+        long now = clock.millis();
+        evictIdle(now);
+        RunKey key = new RunKey(employerId, payslip.getPayPeriod());
+        while (true) {
+            PayrollRun run = runs.get(key);
+            if (run == null) {
+                run = runs.computeIfAbsent(key, k -> new PayrollRun(k.employerId(), k.payPeriod(), payslip.getCurrencyCode()));
+            }
+            if (run.touch(now)) {
+                run.add(payslip);
+                return true;
+            }
+            // Evicted since it was looked up; the sweep may not have removed it yet
+            runs.remove(key, run);
+        }
+    }
+
+    /**
+     * @param employerId The employer ID.
+     * @param payPeriod  The pay period, {@code yyyy-MM}.
+     * @return The open run, or {@code null} if no payslip of it has been recorded since it was last closed.
+     */
+    public PayrollRun run(String employerId, String payPeriod) {
+        return runs.get(new RunKey(employerId, payPeriod));
+    }
+
+    /**
+     * Closes a run, so later payslips of the employer and period open a new one. Close a run once every one of its
+     * payslips has been answered; payslips still being validated may otherwise be missing from the totals.
+     *
+     * @param employerId The employer ID.
+     * @param payPeriod  The pay period, {@code yyyy-MM}.
+     * @return The final totals of the run, or {@code null} if it is not open.
+     */
+    public PayrollRun close(String employerId, String payPeriod) {
+        return runs.remove(new RunKey(employerId, payPeriod));
+    }
+
+    /**
+     * @return The number of open runs.
+     */
+    public int openRuns() {
+        return runs.size();
+    }
+
+    /**
+     * Removes the runs that received no payslip for the retention, at most once per sweep interval.
+     */
+    private void evictIdle(long now) {
+        long due = nextEviction.get();
+        if (now < due || !nextEviction.compareAndSet(due, now + sweepInterval)) {
+            return;
+        }
+        long cutoff = now - retention;
+        for (Map.Entry<RunKey, PayrollRun> entry : runs.entrySet()) {
+            if (entry.getValue().evictIfIdleSince(cutoff)) {
+                runs.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private record RunKey(String employerId, String payPeriod) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.financials.fincheck.reactive;
+
+import com.financials.fincheck.dto.ValidationResponse;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Non-blocking counterpart of the validation controllers, used when the application runs reactively
+ * (the {@code reactive} profile).
+ * <p>
+ * Request bodies are decoded by WebFlux as the bytes arrive, without a thread waiting on the socket, and are
+ * handed to the same validator components the Spring MVC controllers use. A document whose validation only
+ * computes runs on the event loop thread that decoded it. A document whose validation may wait, because its
+ * validator records it under a lock (duplicate detection, reconciliation, payroll runs or spend limits) or checks
+ * a large expense report on several threads, runs on Reactor's bounded elastic scheduler instead, so the event
+ * loop keeps serving other connections. Streaming endpoints map a {@code Flux} of documents to a {@code Flux} of
+ * results one document at a time: a document is only read from the connection once the previous result has been
+ * written, so a slow reader or writer holds back the other side instead of buffering.
+ * <p>
+ * A single document, or a record of a stream, may take up to {@code spring.codec.max-in-memory-size} bytes. A
+ * larger document is answered with 413; a larger record ends its stream with a failure line. Other responses
+ * match the Spring MVC endpoints, including the failure line that ends a stream at a record that cannot be parsed.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveValidationHandler {
+    private static final ValidationResponse VALID_INVOICE = new ValidationResponse(true, List.of("Invoice is valid"));
+    private static final ValidationResponse VALID_PAYSLIP = new ValidationResponse(true, List.of("Payslip is valid"));
+    private static final ValidationResponse VALID_EXPENSE_REPORT =
+            new ValidationResponse(true, List.of("Expense report is valid"));
+
+    private final InvoiceValidator invoiceValidator;
+    private final PayslipValidator payslipValidator;
+    private final ExpenseReportValidator expenseReportValidator;
+    private final ValidationMetrics metrics;
+    private final Scheduler blockingScheduler = Schedulers.boundedElastic();
+
+    /**
+     * Constructor for injecting the validators and the {@code ValidationMetrics}.
+     *
+     * @param invoiceValidator       The component validating invoices.
+     * @param payslipValidator       The component validating payslips.
+     * @param expenseReportValidator The component validating expense reports.
+     * @param metrics                The component publishing validation metrics.
+     */
+    public ReactiveValidationHandler(InvoiceValidator invoiceValidator, PayslipValidator payslipValidator,
+                                     ExpenseReportValidator expenseReportValidator, ValidationMetrics metrics) {
+        this.invoiceValidator = invoiceValidator;
+        this.payslipValidator = payslipValidator;
+        this.expenseReportValidator = expenseReportValidator;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Validates an invoice: {@code POST /invoices/validate}.
+     */
+    public Mono<ServerResponse> validateInvoice(ServerRequest request) {
+        return validate(request, DocumentType.INVOICE, Invoice.class, invoiceValidator::validate,
+                invoice -> invoiceValidator.isStateful(), VALID_INVOICE);
+    }
+
+    /**
+     * Validates a payslip: {@code POST /payslips/validate}.
+     */
+    public Mono<ServerResponse> validatePayslip(ServerRequest request) {
+        return validate(request, DocumentType.PAYSLIP, Payslip.class, payslipValidator::validate,
+                payslip -> payslipValidator.isStateful(), VALID_PAYSLIP);
+    }
+
+    /**
+     * Validates an expense report: {@code POST /reports/validate}.
+     */
+    public Mono<ServerResponse> validateExpenseReport(ServerRequest request) {
+        return validate(request, DocumentType.EXPENSE_REPORT, ExpenseReport.class, expenseReportValidator::validate,
+                expenseReportValidator::mayBlock, VALID_EXPENSE_REPORT);
+    }
+
+    /**
+     * Validates a stream of invoices: {@code POST /invoices/validate/stream}.
+     */
+    public Mono<ServerResponse> validateInvoiceStream(ServerRequest request) {
+        return validateStream(request, Invoice.class, invoiceValidator::validate,
+                invoice -> invoiceValidator.isStateful(), VALID_INVOICE);
+    }
+
+    /**
+     * Validates a stream of payslips: {@code POST /payslips/validate/stream}.
+     */
+    public Mono<ServerResponse> validatePayslipStream(ServerRequest request) {
+        return validateStream(request, Payslip.class, payslipValidator::validate,
+                payslip -> payslipValidator.isStateful(), VALID_PAYSLIP);
+    }
+
+    /**
+     * Validates a stream of expense reports: {@code POST /reports/validate/stream}.
+     */
+    public Mono<ServerResponse> validateExpenseReportStream(ServerRequest request) {
+        return validateStream(request, ExpenseReport.class, expenseReportValidator::validate,
+                expenseReportValidator::mayBlock, VALID_EXPENSE_REPORT);
+    }
+
+    /**
+     * Validates a single JSON document: 200 with the valid response, 400 with the errors or the format error, or
+     * 413 if the document is larger than the codecs may buffer.
+     */
+    private <T> Mono<ServerResponse> validate(ServerRequest request, DocumentType documentType, Class<T> type,
+                                              Function<T, ValidationResult> validator, Predicate<T> mayBlock,
+                                              ValidationResponse valid) {
+        return request.bodyToMono(type)
+                .flatMap(document -> validate(document, validator, mayBlock))
+                .flatMap(errors -> errors.isValid()
+                        ? ServerResponse.ok().bodyValue(valid)
+                        : ServerResponse.badRequest().bodyValue(new ValidationResponse(false, errors)))
+                .switchIfEmpty(Mono.defer(() -> formatError(documentType, "Required request body is missing")))
+                .onErrorResume(ReactiveValidationHandler::isTooLarge, e -> tooLarge(documentType))
+                .onErrorResume(ReactiveValidationHandler::isFormatError,
+                        e -> formatError(documentType, formatMessage(e)));
+    }
+
+    /**
+     * Validates a document on the calling event loop thread, or on the bounded elastic scheduler if the validation
+     * may wait.
+     */
+    private <T> Mono<ValidationResult> validate(T document, Function<T, ValidationResult> validator,
+                                                Predicate<T> mayBlock) {
+        Mono<ValidationResult> validation = Mono.fromSupplier(() -> validator.apply(document));
+        return mayBlock.test(document) ? validation.subscribeOn(blockingScheduler) : validation;
+    }
+
+    /**
+     * Validates newline-delimited JSON documents, writing one response line per document as it is validated.
+     */
+    private <T> Mono<ServerResponse> validateStream(ServerRequest request, Class<T> type,
+                                                    Function<T, ValidationResult> validator, Predicate<T> mayBlock,
+                                                    ValidationResponse valid) {
+        Flux<ValidationResponse> responses = Flux.defer(() -> {
+            AtomicLong records = new AtomicLong();
+            return request.bodyToFlux(type)
+                    .concatMap(document -> {
+                        records.incrementAndGet();
+                        return validate(document, validator, mayBlock)
+                                .map(errors -> errors.isValid() ? valid : new ValidationResponse(false, errors));
+                    }, 1)
+                    // The decoder's position is unreliable after a binding failure, so the stream ends here
+                    .onErrorResume(ReactiveValidationHandler::isTooLarge, e -> Mono.just(new ValidationResponse(
+                            false, List.of("Record " + (records.get() + 1) + " is too large"))))
+                    .onErrorResume(ReactiveValidationHandler::isFormatError, e -> Mono.just(new ValidationResponse(
+                            false, List.of("Invalid request format at record " + (records.get() + 1)))));
+        });
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responses, ValidationResponse.class);
+    }
+
+    private Mono<ServerResponse> formatError(DocumentType documentType, String message) {
+        metrics.recordDeserializationFailure(documentType, "format");
+        return ServerResponse.badRequest().bodyValue(new ValidationResponse(false, List.of(message)));
+    }
+
+    private Mono<ServerResponse> tooLarge(DocumentType documentType) {
+        metrics.recordDeserializationFailure(documentType, "too_large");
+        return ServerResponse.status(413)
+                .bodyValue(new ValidationResponse(false, List.of("Request body is too large")));
+    }
+
+    /**
+     * @return {@code true} if the body exceeded {@code spring.codec.max-in-memory-size}, which the codecs report
+     *         as is or as the cause of a decoding error.
+     */
+    private static boolean isTooLarge(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataBufferLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFormatError(Throwable e) {
+        return e instanceof DecodingException || e instanceof ServerWebInputException;
+    }
+
+    /**
+     * @return The message of the underlying parser error, as the Spring MVC endpoints report it.
+     */
+    private static String formatMessage(Throwable e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return cause.getMessage();
+            }
+        }
+        return "Invalid request format";
+    }
+}
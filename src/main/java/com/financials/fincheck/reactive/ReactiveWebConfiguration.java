@@ -0,0 +1,70 @@
+package com.financials.fincheck.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financials.fincheck.stream.DocumentFormat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Web configuration of the {@code reactive} profile, which runs the application on WebFlux instead of Spring MVC.
+ * <p>
+ * Tomcat stays on the classpath for the default Spring MVC mode, and Spring Boot would prefer it for a reactive
+ * application as well, so the Netty server is declared explicitly. Netty serves every connection from a small,
+ * fixed set of event loop threads, so idle or slow connections cost memory but no thread.
+ * <p>
+ * Only the document validation endpoints are routed; batch endpoints and validation jobs need the Spring MVC mode.
+ * Single documents may also be sent and answered as CBOR or Smile; the streaming endpoints read NDJSON only,
+ * since the CBOR decoder cannot split a stream into documents.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Adds CBOR and Smile codecs with mappers derived from the application's {@code ObjectMapper}, so binary
+     * bodies bind with the same modules and features as JSON bodies.
+     */
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectMapper objectMapper) {
+        ObjectMapper cborMapper = DocumentFormat.CBOR.mapper(objectMapper);
+        ObjectMapper smileMapper = DocumentFormat.SMILE.mapper(objectMapper);
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+        };
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> validationRoutes(ReactiveValidationHandler handler) {
+        return RouterFunctions.route()
+                .POST("/invoices/validate", handler::validateInvoice)
+                .POST("/payslips/validate", handler::validatePayslip)
+                .POST("/reports/validate", handler::validateExpenseReport)
+                .POST("/invoices/validate/stream", RequestPredicates.contentType(MediaType.APPLICATION_NDJSON),
+                        handler::validateInvoiceStream)
+                .POST("/payslips/validate/stream", RequestPredicates.contentType(MediaType.APPLICATION_NDJSON),
+                        handler::validatePayslipStream)
+                .POST("/reports/validate/stream", RequestPredicates.contentType(MediaType.APPLICATION_NDJSON),
+                        handler::validateExpenseReportStream)
+                .build();
+    }
+}
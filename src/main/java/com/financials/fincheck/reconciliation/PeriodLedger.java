@@ -0,0 +1,402 @@
+package com.financials.fincheck.reconciliation;
+
+import com.financials.fincheck.model.Money;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent per-employee totals of one pay period: the net pay of the payslips and the expenses claimed.
+ * <p>
+ * Employees are identified by a 64-bit key. The ledger is split into a fixed number of stripes, each an
+ * open-addressing hash table with linear probing over a single {@code long[]}, so an employee costs one row of
+ * five longs (40 bytes) and no objects. The high bits of a key select the stripe and its low bits the row, so
+ * concurrent callers only contend when they hit the same stripe. Tables grow by doubling at 75% load.
+ * <p>
+ * Amounts are minor units in the currency of the row, which is set by the first payslip or expense report
+ * recorded for the employee. Each stripe also keeps the expenses of every report it recorded, by employee and
+ * report key, in a second open-addressing table: a resubmitted report with the same expenses is counted once,
+ * and one with other expenses replaces the earlier ones. The net pay of employees paid by more than one
+ * employer is kept per employer in a third table, so a resent payslip replaces the pay of its employer; an
+ * employee with a single employer needs only the row.
+ */
+public final class PeriodLedger {
+    /**
+     * The employer key of an employee paid by more than one employer in the period.
+     */
+    private static final long MIXED_EMPLOYERS = -1;
+
+    private static final int MIN_STRIPE_CAPACITY = 64;
+    private static final int MAX_STRIPE_CAPACITY = 1 << 26;
+    private static final int MIN_PAIR_CAPACITY = 16;
+
+    // Row layout: employee key (0 marks an empty row), employer key, net pay, expenses, packed currency code
+    private static final int ROW = 5;
+    private static final int EMPLOYEE = 0;
+    private static final int EMPLOYER = 1;
+    private static final int NET_PAY = 2;
+    private static final int EXPENSES = 3;
+    private static final int CURRENCY = 4;
+
+    private final int month;
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Creates a ledger presized for the expected number of employees.
+     *
+     * @param month             The pay period, as months since January of year 0.
+     * @param stripeCount       The number of independently locked stripes; rounded up to a power of two.
+     * @param expectedEmployees The number of employees the ledger should hold without resizing.
+     */
+    public PeriodLedger(int month, int stripeCount, long expectedEmployees) {
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        long perStripe = expectedEmployees / count * 4 / 3 + 1;
+        int capacity = (int) Math.min(MAX_STRIPE_CAPACITY, Math.max(MIN_STRIPE_CAPACITY, Long.highestOneBit(perStripe - 1) << 1));
+
+        this.month = month;
+        this.stripes = new Stripe[count];
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    /**
+     * @return The pay period of this ledger, as months since January of year 0.
+     */
+    public int month() {
+        return month;
+    }
+
+    /**
+     * Records the net pay of a payslip. A payslip from an employer already recorded for the employee replaces the
+     * net pay from that employer, as a corrected or resent payslip; one from another employer in the same currency
+     * adds to it.
+     *
+     * @param employee The employee key.
+     * @param employer The employer key.
+     * @param netPay   The net pay in minor units.
+     * @param currency The packed currency code of the net pay.
+     */
+    public void recordNetPay(long employee, long employer, long netPay, int currency) {
+        employee = nonZero(employee);
+        Stripe stripe = stripeFor(employee);
+        stripe.lock.lock();
+        try {
+            long[] rows = stripe.rows;
+            int row = stripe.indexOf(employee);
+            if (row < 0) {
+                row = stripe.insert(employee, currency);
+                rows = stripe.rows;
+            }
+            if (rows[row + NET_PAY] == Money.ABSENT) {
+                if (rows[row + CURRENCY] != currency) {
+                    // Expenses recorded in another currency cannot be compared with this net pay
+                    rows[row + EXPENSES] = 0;
+                }
+                rows[row + EMPLOYER] = employer;
+                rows[row + NET_PAY] = netPay;
+                rows[row + CURRENCY] = currency;
+            } else if (rows[row + EMPLOYER] == employer) {
+                rows[row + NET_PAY] = netPay;
+            } else if (rows[row + CURRENCY] == currency) {
+                if (rows[row + EMPLOYER] != MIXED_EMPLOYERS) {
+                    // From now on the pay of every employer is kept apart
+                    stripe.payslips.put(employee, rows[row + EMPLOYER], rows[row + NET_PAY]);
+                    rows[row + EMPLOYER] = MIXED_EMPLOYERS;
+                }
+                int entry = stripe.payslips.indexOf(employee, employer);
+                long previous = entry >= 0 ? stripe.payslips.value(entry) : 0;
+                rows[row + NET_PAY] = saturatedAdd(Math.max(0, rows[row + NET_PAY] - previous), netPay);
+                stripe.payslips.put(employee, employer, netPay);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @param employee The employee key.
+     * @return {@code true} if a payslip was recorded for the employee.
+     */
+    public boolean hasPayslip(long employee) {
+        employee = nonZero(employee);
+        Stripe stripe = stripeFor(employee);
+        stripe.lock.lock();
+        try {
+            int row = stripe.indexOf(employee);
+            return row >= 0 && stripe.rows[row + NET_PAY] != Money.ABSENT;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @param employee The employee key.
+     * @param currency A packed currency code.
+     * @return The net pay recorded for the employee, or {@link Money#ABSENT} if there is none in that currency.
+     */
+    public long netPay(long employee, int currency) {
+        employee = nonZero(employee);
+        Stripe stripe = stripeFor(employee);
+        stripe.lock.lock();
+        try {
+            int row = stripe.indexOf(employee);
+            return row >= 0 && stripe.rows[row + CURRENCY] == currency ? stripe.rows[row + NET_PAY] : Money.ABSENT;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @param employee The employee key.
+     * @return The expenses recorded for the employee, in minor units; 0 if there are none.
+     */
+    public long expenses(long employee) {
+        employee = nonZero(employee);
+        Stripe stripe = stripeFor(employee);
+        stripe.lock.lock();
+        try {
+            int row = stripe.indexOf(employee);
+            return row >= 0 ? stripe.rows[row + EXPENSES] : 0;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds expenses for an employee unless the employee's expenses in the period would exceed a limit.
+     *
+     * @param employee The employee key.
+     * @param amount   The expenses to add, in minor units.
+     * @param currency The packed currency code of the amount, which must be that of the employee's row if it exists.
+     * @param limit    The most the employee's expenses may add up to.
+     * @return {@code true} if the expenses were added, {@code false} if they would exceed the limit or are in
+     *         another currency than the expenses already recorded.
+     */
+    public boolean addExpenses(long employee, long amount, int currency, long limit) {
+        return addExpenses(employee, 0, amount, currency, limit);
+    }
+
+    /**
+     * Adds the expenses of a report for an employee unless the employee's expenses in the period would exceed a
+     * limit. A report the employee's expenses already hold with the same amount is not added again; one they hold
+     * with another amount is checked and counted in place of the earlier amount.
+     *
+     * @param employee The employee key.
+     * @param document The key of the report, or 0 if it has none.
+     * @param amount   The expenses of the report, in minor units.
+     * @param currency The packed currency code of the amount, which must be that of the employee's row if it exists.
+     * @param limit    The most the employee's expenses may add up to.
+     * @return {@code true} if the expenses were added or the report was recorded before with the same amount,
+     *         {@code false} if they would exceed the limit or are in another currency than the expenses already
+     *         recorded; the earlier amount of the report then stays.
+     */
+    public boolean addExpenses(long employee, long document, long amount, int currency, long limit) {
+        employee = nonZero(employee);
+        Stripe stripe = stripeFor(employee);
+        stripe.lock.lock();
+        try {
+            int entry = document == 0 ? -1 : stripe.documents.indexOf(employee, document);
+            long previous = entry >= 0 ? stripe.documents.value(entry) : 0;
+            if (entry >= 0 && previous == amount) {
+                return true;
+            }
+            int row = stripe.indexOf(employee);
+            if (row >= 0 && stripe.rows[row + CURRENCY] != currency) {
+                return false;
+            }
+            // The expenses of the row start afresh when its currency changes, so they may no longer hold the report
+            long others = row >= 0 ? Math.max(0, stripe.rows[row + EXPENSES] - previous) : 0;
+            long expenses = saturatedAdd(others, amount);
+            if (expenses > limit) {
+                return false;
+            }
+            if (row < 0) {
+                row = stripe.insert(employee, currency);
+            }
+            stripe.rows[row + EXPENSES] = expenses;
+            if (document != 0) {
+                stripe.documents.put(employee, document, amount);
+            }
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of employees with a payslip or expenses in the period.
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(long employee) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (employee >>> stripeShift)];
+    }
+
+    private static long nonZero(long employee) {
+        // 0 marks an empty row
+        return employee == 0 ? 1 : employee;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * One open-addressing table; every method must be called while holding {@link #lock}.
+     */
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        long[] rows;
+        int mask;
+        int size;
+        // The expenses of every recorded report, by employee and report key
+        final PairTable documents = new PairTable();
+        // The net pay from every employer of the employees paid by more than one, by employee and employer key
+        final PairTable payslips = new PairTable();
+
+        Stripe(int capacity) {
+            this.rows = new long[capacity * ROW];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * @return The index of the employee's row in {@link #rows}, or -1.
+         */
+        int indexOf(long employee) {
+            int slot = (int) employee & mask;
+            while (true) {
+                long stored = rows[slot * ROW + EMPLOYEE];
+                if (stored == employee) {
+                    return slot * ROW;
+                }
+                if (stored == 0) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Adds a row without payslip or expenses for an employee not in the table.
+         *
+         * @return The index of the new row.
+         */
+        int insert(long employee, int currency) {
+            if (size + 1 > (mask + 1L) * 3 / 4) {
+                grow();
+            }
+            int row = slotFor(rows, mask, employee) * ROW;
+            rows[row + EMPLOYEE] = employee;
+            rows[row + NET_PAY] = Money.ABSENT;
+            rows[row + CURRENCY] = currency;
+            size++;
+            return row;
+        }
+
+        private void grow() {
+            int oldCapacity = mask + 1;
+            if (oldCapacity == MAX_STRIPE_CAPACITY) {
+                throw new IllegalStateException("Period ledger stripe is full");
+            }
+            long[] oldRows = rows;
+            int newMask = oldCapacity * 2 - 1;
+            long[] newRows = new long[oldCapacity * 2 * ROW];
+            for (int row = 0; row < oldRows.length; row += ROW) {
+                long employee = oldRows[row + EMPLOYEE];
+                if (employee != 0) {
+                    System.arraycopy(oldRows, row, newRows, slotFor(newRows, newMask, employee) * ROW, ROW);
+                }
+            }
+            rows = newRows;
+            mask = newMask;
+        }
+
+        private static int slotFor(long[] rows, int mask, long employee) {
+            int slot = (int) employee & mask;
+            while (rows[slot * ROW + EMPLOYEE] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * An open-addressing table with linear probing from a pair of non-zero keys to a value, in one {@code long[]}
+     * of three longs per entry. Grows by doubling at 75% load; entries are never removed.
+     */
+    private static final class PairTable {
+        // Entry layout: first key (0 marks an empty entry), second key, value
+        private static final int ENTRY = 3;
+
+        long[] entries = new long[MIN_PAIR_CAPACITY * ENTRY];
+        int size;
+
+        /**
+         * @return The index of the entry in {@link #entries}, or -1.
+         */
+        int indexOf(long first, long second) {
+            int mask = entries.length / ENTRY - 1;
+            for (int slot = slot(first, second, mask); entries[slot * ENTRY] != 0; slot = (slot + 1) & mask) {
+                if (entries[slot * ENTRY] == first && entries[slot * ENTRY + 1] == second) {
+                    return slot * ENTRY;
+                }
+            }
+            return -1;
+        }
+
+        long value(int entry) {
+            return entries[entry + 2];
+        }
+
+        /**
+         * Sets the value of a pair, adding its entry if needed.
+         */
+        void put(long first, long second, long value) {
+            int entry = indexOf(first, second);
+            if (entry < 0) {
+                if (size + 1 > entries.length / ENTRY / 4 * 3) {
+                    long[] old = entries;
+                    entries = new long[old.length * 2];
+                    for (int i = 0; i < old.length; i += ENTRY) {
+                        if (old[i] != 0) {
+                            System.arraycopy(old, i, entries, free(entries, old[i], old[i + 1]), ENTRY);
+                        }
+                    }
+                }
+                entry = free(entries, first, second);
+                entries[entry] = first;
+                entries[entry + 1] = second;
+                size++;
+            }
+            entries[entry + 2] = value;
+        }
+
+        private static int free(long[] entries, long first, long second) {
+            int mask = entries.length / ENTRY - 1;
+            int slot = slot(first, second, mask);
+            while (entries[slot * ENTRY] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            return slot * ENTRY;
+        }
+
+        private static int slot(long first, long second, int mask) {
+            long hash = first ^ second * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ hash >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.financials.fincheck.reconciliation;
+
+import com.financials.fincheck.currency.ExchangeRateTable;
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.util.XxHash64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Remembers the accepted payslips and expense reports of the most recent pay periods, per employee, so
+ * expense reports can be reconciled with pay.
+ * <p>
+ * Every period has its own {@link PeriodLedger}, in a ring of {@code window-months} slots indexed by month.
+ * Recording a newer period than any seen before drops the ledgers that fall out of the window, so eviction
+ * costs nothing per employee. Employees are keyed by the XXH64 hash of their ID; at a few million employees
+ * the chance of two IDs sharing a key is negligible.
+ * <p>
+ * An expense report belongs to the period of its submission date. It is checked against the net pay of that
+ * period or, when its payslip is not recorded yet, of the period before: the employee must have been paid, and
+ * the expenses of the period must not exceed {@code max-expense-share} of the net pay. Expenses in another
+ * currency than the net pay cannot be compared without exchange rates and are accepted unchecked. A report is
+ * remembered with its expenses by employee and the XXH64 hash of its report ID: a resubmitted report with the
+ * same expenses, e.g. a client retry, is accepted again without counting them twice, and one with other expenses
+ * is checked again in place of the earlier ones. Another employee's report with the same ID counts on its own.
+ * The index only knows the documents validated since the application started.
+ * <p>
+ * Configuration: {@code fincheck.reconciliation.enabled}, {@code fincheck.reconciliation.window-months},
+ * {@code fincheck.reconciliation.max-expense-share}, {@code fincheck.reconciliation.stripes} and
+ * {@code fincheck.reconciliation.expected-employees}.
+ */
+@Component
+@ConditionalOnProperty(name = "fincheck.reconciliation.enabled", havingValue = "true")
+public class ReconciliationIndex {
+    private static final long EMPLOYEE_SEED = 0x9E3779B97F4A7C15L;
+    private static final long EMPLOYER_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long REPORT_SEED = 0x165667B19E3779F9L;
+    private static final long SHARE_DENOMINATOR = 1_000_000;
+
+    /**
+     * Outcome of reconciling an expense report with the recorded pay.
+     */
+    public enum Outcome {
+        /**
+         * The expenses are within the share of net pay and were recorded.
+         */
+        ACCEPTED,
+        /**
+         * The report cannot be compared with pay: its period is outside the window or its currency differs
+         * from the net pay. Nothing was recorded.
+         */
+        UNCHECKED,
+        /**
+         * No payslip is recorded for the employee in the period or the one before. Nothing was recorded.
+         */
+        NO_PAYSLIP,
+        /**
+         * The expenses of the period would exceed the share of net pay. Nothing was recorded.
+         */
+        EXCEEDS_SHARE
+    }
+
+    private final AtomicReferenceArray<PeriodLedger> ledgers;
+    private final AtomicInteger latestMonth = new AtomicInteger(Integer.MIN_VALUE);
+    private final long shareNumerator;
+    private final int stripes;
+    private final long expectedEmployees;
+
+    /**
+     * Constructor for injecting the index configuration.
+     *
+     * @param windowMonths      The number of most recent pay periods kept.
+     * @param maxExpenseShare   The largest share of net pay the expenses of a period may add up to.
+     * @param stripes           The number of independently locked stripes of each period.
+     * @param expectedEmployees The number of employees to presize each period for.
+     */
+    public ReconciliationIndex(@Value("${fincheck.reconciliation.window-months:3}") int windowMonths,
+                               @Value("${fincheck.reconciliation.max-expense-share:0.5}") BigDecimal maxExpenseShare,
+                               @Value("${fincheck.reconciliation.stripes:64}") int stripes,
+                               @Value("${fincheck.reconciliation.expected-employees:100000}") long expectedEmployees) {
+        if (windowMonths < 2) {
+            throw new IllegalArgumentException("The window must hold at least 2 months: " + windowMonths);
+        }
+        if (maxExpenseShare.signum() < 0) {
+            throw new IllegalArgumentException("Expense share must not be negative: " + maxExpenseShare);
+        }
+        this.ledgers = new AtomicReferenceArray<>(windowMonths);
+        this.shareNumerator = maxExpenseShare.movePointRight(6).longValue();
+        this.stripes = stripes;
+        this.expectedEmployees = expectedEmployees;
+    }
+
+    /**
+     * Records the net pay of a valid payslip in its pay period.
+     *
+     * @param payslip A payslip that passed validation.
+     * @return {@code false} if the pay period is outside the window and was not recorded.
+     */
+    public boolean recordPayslip(Payslip payslip) {
+        PeriodLedger ledger = ledger(month(YearMonth.parse(payslip.getPayPeriod())), true);
+        if (ledger == null) {
+            return false;
+        }
+        ledger.recordNetPay(employeeKey(payslip.getEmployeeId()), employerKey(payslip.getEmployer()),
+                payslip.getNetSalaryMinor(), payslip.getCurrencyCode().packed());
+        return true;
+    }
+
+    /**
+     * Reconciles a valid expense report with the recorded pay, and records its expenses if they are accepted.
+     *
+     * @param report An expense report that passed validation.
+     * @return The outcome.
+     */
+    public Outcome recordExpenses(ExpenseReport report) {
+        return recordExpenses(report, null);
+    }
+
+    /**
+     * Reconciles a valid expense report with the recorded pay, converting items paid in another currency to the
+     * report currency, and records its expenses if they are accepted. A report recorded before in its period is
+     * accepted without adding its expenses again.
+     *
+     * @param report An expense report that passed validation.
+     * @param rates  The exchange rates, or {@code null} if none are available.
+     * @return The outcome; {@link Outcome#UNCHECKED} if an item cannot be converted or the items add up to more than
+     *         an amount can hold, which validation rejects before.
+     */
+    public Outcome recordExpenses(ExpenseReport report, ExchangeRateTable rates) {
+        int month = month(YearMonth.from(report.getSubmissionDate()));
+        PeriodLedger current = ledger(month, true);
+        if (current == null) {
+            return Outcome.UNCHECKED;
+        }
+
+        long employee = employeeKey(report.getEmployeeId());
+        PeriodLedger payroll = current;
+        if (!current.hasPayslip(employee)) {
+            payroll = ledger(month - 1, false);
+            if (payroll == null || !payroll.hasPayslip(employee)) {
+                return Outcome.NO_PAYSLIP;
+            }
+        }
+
+        int currency = report.getCurrencyCode().packed();
+        long netPay = payroll.netPay(employee, currency);
+        long total = report.itemTotal(rates);
+        if (netPay == Money.ABSENT || !Money.isPresent(total)) {
+            return Outcome.UNCHECKED;
+        }
+        long limit = netPay / SHARE_DENOMINATOR * shareNumerator + netPay % SHARE_DENOMINATOR * shareNumerator / SHARE_DENOMINATOR;
+        return current.addExpenses(employee, reportKey(report.getReportId()), Math.max(0, total), currency, limit)
+                ? Outcome.ACCEPTED : Outcome.EXCEEDS_SHARE;
+    }
+
+    /**
+     * @param period A pay period.
+     * @return The ledger of the period, or {@code null} if it is outside the window.
+     */
+    public PeriodLedger ledger(YearMonth period) {
+        return ledger(month(period), false);
+    }
+
+    /**
+     * Looks up the ledger of a period, creating it if asked to and the period is not older than the window.
+     * Creating a period newer than any before drops the ledgers that fall out of the window.
+     */
+    private PeriodLedger ledger(int month, boolean create) {
+        int window = ledgers.length();
+        int latest = latestMonth.get();
+        if (month <= (long) latest - window || create && month > month(YearMonth.now()) + 1) {
+            // Too old, or too far ahead to be a real pay period, which would evict every recent period
+            return null;
+        }
+        int slot = Math.floorMod(month, window);
+        while (true) {
+            PeriodLedger ledger = ledgers.get(slot);
+            if (ledger != null && ledger.month() == month) {
+                return ledger;
+            }
+            if (!create || ledger != null && ledger.month() > month) {
+                return null;
+            }
+            PeriodLedger created = new PeriodLedger(month, stripes, expectedEmployees);
+            if (ledgers.compareAndSet(slot, ledger, created)) {
+                if (latestMonth.accumulateAndGet(month, Math::max) == month) {
+                    evictBefore(month - window + 1);
+                }
+                return created;
+            }
+        }
+    }
+
+    private void evictBefore(int oldestMonth) {
+        for (int slot = 0; slot < ledgers.length(); slot++) {
+            PeriodLedger ledger = ledgers.get(slot);
+            if (ledger != null && ledger.month() < oldestMonth) {
+                ledgers.compareAndSet(slot, ledger, null);
+            }
+        }
+    }
+
+    private static int month(YearMonth period) {
+        return period.getYear() * 12 + period.getMonthValue() - 1;
+    }
+
+    static long employeeKey(String employeeId) {
+        return XxHash64.hashChars(employeeId, EMPLOYEE_SEED);
+    }
+
+    private static long reportKey(String reportId) {
+        if (reportId == null) {
+            return 0;
+        }
+        long key = XxHash64.hashChars(reportId, REPORT_SEED);
+        // 0 means no report ID
+        return key == 0 ? 1 : key;
+    }
+
+    private static long employerKey(Employer employer) {
+        String id = employer.employerId() != null ? employer.employerId() : employer.companyName();
+        return XxHash64.hashChars(id == null ? "" : id, EMPLOYER_SEED);
+    }
+}
@@ -0,0 +1,18 @@
+package com.financials.fincheck.rules;
+
+/**
+ * Predicates shared by the rule definitions of several document types.
+ */
+public final class Checks {
+
+    private Checks() {
+    }
+
+    /**
+     * @param value The text to check.
+     * @return {@code true} if the text is {@code null}, empty or only whitespace.
+     */
+    public static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
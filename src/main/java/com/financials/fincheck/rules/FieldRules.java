@@ -0,0 +1,136 @@
+package com.financials.fincheck.rules;
+
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Declares the checks of one document field.
+ * <p>
+ * Checks run in declaration order and the first failing one reports its error, so later checks may
+ * assume earlier ones passed (e.g. a {@code null} check followed by a range check).
+ *
+ * @param <T> The document type.
+ * @param <V> The field type.
+ */
+public final class FieldRules<T, V> {
+    private final List<Predicate<? super V>> failures = new ArrayList<>();
+    private final List<Reporter<T, V>> reporters = new ArrayList<>();
+    private Predicate<? super T> condition;
+
+    FieldRules() {
+    }
+
+    /**
+     * Only checks the field of documents matching the condition.
+     *
+     * @param condition The condition on the document.
+     * @return This instance.
+     */
+    public FieldRules<T, V> onlyIf(Predicate<? super T> condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * Reports {@code code} if the field value matches {@code failure}. Parameterized codes receive the field value.
+     *
+     * @param failure The predicate describing an invalid value.
+     * @param code    The error to report.
+     * @return This instance.
+     */
+    public FieldRules<T, V> failIf(Predicate<? super V> failure, ErrorCode code) {
+        failures.add(failure);
+        reporters.add(code.isParameterized()
+                ? (document, value, errors) -> errors.with(code, value)
+                : (document, value, errors) -> errors.with(code));
+        return this;
+    }
+
+    /**
+     * Reports {@code code} with a parameter taken from the document if the field value matches {@code failure}.
+     *
+     * @param failure   The predicate describing an invalid value.
+     * @param code      The error to report.
+     * @param parameter The function producing the message parameter.
+     * @return This instance.
+     */
+    public FieldRules<T, V> failIf(Predicate<? super V> failure, ErrorCode code, Function<? super T, ?> parameter) {
+        failures.add(failure);
+        reporters.add((document, value, errors) -> errors.with(code, parameter.apply(document)));
+        return this;
+    }
+
+    /**
+     * Compiles the checks into one rule, unrolled for the common cases of one to three checks.
+     */
+    @SuppressWarnings("unchecked")
+    Rule<T> compile(Function<? super T, ? extends V> accessor) {
+        Predicate<? super V>[] tests = failures.toArray(new Predicate[0]);
+        Reporter<T, V>[] reports = reporters.toArray(new Reporter[0]);
+        Rule<T> rule = switch (tests.length) {
+            case 0 -> (document, errors) -> errors;
+            case 1 -> {
+                Predicate<? super V> test0 = tests[0];
+                Reporter<T, V> report0 = reports[0];
+                yield (document, errors) -> {
+                    V value = accessor.apply(document);
+                    return test0.test(value) ? report0.report(document, value, errors) : errors;
+                };
+            }
+            case 2 -> {
+                Predicate<? super V> test0 = tests[0];
+                Predicate<? super V> test1 = tests[1];
+                Reporter<T, V> report0 = reports[0];
+                Reporter<T, V> report1 = reports[1];
+                yield (document, errors) -> {
+                    V value = accessor.apply(document);
+                    if (test0.test(value)) {
+                        return report0.report(document, value, errors);
+                    }
+                    return test1.test(value) ? report1.report(document, value, errors) : errors;
+                };
+            }
+            case 3 -> {
+                Predicate<? super V> test0 = tests[0];
+                Predicate<? super V> test1 = tests[1];
+                Predicate<? super V> test2 = tests[2];
+                Reporter<T, V> report0 = reports[0];
+                Reporter<T, V> report1 = reports[1];
+                Reporter<T, V> report2 = reports[2];
+                yield (document, errors) -> {
+                    V value = accessor.apply(document);
+                    if (test0.test(value)) {
+                        return report0.report(document, value, errors);
+                    }
+                    if (test1.test(value)) {
+                        return report1.report(document, value, errors);
+                    }
+                    return test2.test(value) ? report2.report(document, value, errors) : errors;
+                };
+            }
+            default -> (document, errors) -> {
+                V value = accessor.apply(document);
+                for (int i = 0; i < tests.length; i++) {
+                    if (tests[i].test(value)) {
+                        return reports[i].report(document, value, errors);
+                    }
+                }
+                return errors;
+            };
+        };
+        return RuleSet.guard(condition, rule);
+    }
+
+    /**
+     * Adds the error of a failed check.
+     */
+    @FunctionalInterface
+    private interface Reporter<T, V> {
+        ValidationResult report(T document, V value, ValidationResult errors);
+    }
+}
@@ -0,0 +1,139 @@
+package com.financials.fincheck.rules;
+
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Declares the checks of one primitive {@code long} document field, such as an amount in minor units.
+ * <p>
+ * Works like {@link FieldRules} but without boxing the field value.
+ * <p>
+ * Checks run in declaration order and the first failing one reports its error, so later checks may
+ * assume earlier ones passed (e.g. a {@code null} check followed by a range check).
+ *
+ * @param <T> The document type.
+ */
+public final class LongFieldRules<T> {
+    private final List<LongPredicate> failures = new ArrayList<>();
+    private final List<Reporter<T>> reporters = new ArrayList<>();
+    private Predicate<? super T> condition;
+
+    LongFieldRules() {
+    }
+
+    /**
+     * Only checks the field of documents matching the condition.
+     *
+     * @param condition The condition on the document.
+     * @return This instance.
+     */
+    public LongFieldRules<T> onlyIf(Predicate<? super T> condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * Reports {@code code} if the field value matches {@code failure}. Parameterized codes receive the field value.
+     *
+     * @param failure The predicate describing an invalid value.
+     * @param code    The error to report.
+     * @return This instance.
+     */
+    public LongFieldRules<T> failIf(LongPredicate failure, ErrorCode code) {
+        failures.add(failure);
+        reporters.add(code.isParameterized()
+                ? (document, value, errors) -> errors.with(code, value)
+                : (document, value, errors) -> errors.with(code));
+        return this;
+    }
+
+    /**
+     * Reports {@code code} with a parameter taken from the document if the field value matches {@code failure}.
+     *
+     * @param failure   The predicate describing an invalid value.
+     * @param code      The error to report.
+     * @param parameter The function producing the message parameter.
+     * @return This instance.
+     */
+    public LongFieldRules<T> failIf(LongPredicate failure, ErrorCode code, Function<? super T, ?> parameter) {
+        failures.add(failure);
+        reporters.add((document, value, errors) -> errors.with(code, parameter.apply(document)));
+        return this;
+    }
+
+    /**
+     * Compiles the checks into one rule, unrolled for the common cases of one to three checks.
+     */
+    @SuppressWarnings("unchecked")
+    Rule<T> compile(ToLongFunction<? super T> accessor) {
+        LongPredicate[] tests = failures.toArray(new LongPredicate[0]);
+        Reporter<T>[] reports = reporters.toArray(new Reporter[0]);
+        Rule<T> rule = switch (tests.length) {
+            case 0 -> (document, errors) -> errors;
+            case 1 -> {
+                LongPredicate test0 = tests[0];
+                Reporter<T> report0 = reports[0];
+                yield (document, errors) -> {
+                    long value = accessor.applyAsLong(document);
+                    return test0.test(value) ? report0.report(document, value, errors) : errors;
+                };
+            }
+            case 2 -> {
+                LongPredicate test0 = tests[0];
+                LongPredicate test1 = tests[1];
+                Reporter<T> report0 = reports[0];
+                Reporter<T> report1 = reports[1];
+                yield (document, errors) -> {
+                    long value = accessor.applyAsLong(document);
+                    if (test0.test(value)) {
+                        return report0.report(document, value, errors);
+                    }
+                    return test1.test(value) ? report1.report(document, value, errors) : errors;
+                };
+            }
+            case 3 -> {
+                LongPredicate test0 = tests[0];
+                LongPredicate test1 = tests[1];
+                LongPredicate test2 = tests[2];
+                Reporter<T> report0 = reports[0];
+                Reporter<T> report1 = reports[1];
+                Reporter<T> report2 = reports[2];
+                yield (document, errors) -> {
+                    long value = accessor.applyAsLong(document);
+                    if (test0.test(value)) {
+                        return report0.report(document, value, errors);
+                    }
+                    if (test1.test(value)) {
+                        return report1.report(document, value, errors);
+                    }
+                    return test2.test(value) ? report2.report(document, value, errors) : errors;
+                };
+            }
+            default -> (document, errors) -> {
+                long value = accessor.applyAsLong(document);
+                for (int i = 0; i < tests.length; i++) {
+                    if (tests[i].test(value)) {
+                        return reports[i].report(document, value, errors);
+                    }
+                }
+                return errors;
+            };
+        };
+        return RuleSet.guard(condition, rule);
+    }
+
+    /**
+     * Adds the error of a failed check.
+     */
+    @FunctionalInterface
+    private interface Reporter<T> {
+        ValidationResult report(T document, long value, ValidationResult errors);
+    }
+}
@@ -0,0 +1,21 @@
+package com.financials.fincheck.rules;
+
+import com.financials.fincheck.validator.ValidationResult;
+
+/**
+ * A single compiled validation rule.
+ *
+ * @param <T> The document type the rule checks.
+ */
+@FunctionalInterface
+public interface Rule<T> {
+
+    /**
+     * Checks the document and adds any errors to those collected so far.
+     *
+     * @param document The document to check.
+     * @param errors   The errors collected by the preceding rules.
+     * @return The errors including any reported by this rule.
+     */
+    ValidationResult check(T document, ValidationResult errors);
+}
@@ -0,0 +1,46 @@
+package com.financials.fincheck.rules;
+
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+
+import java.util.function.Function;
+
+/**
+ * A {@link RuleSet} compiled from the current {@link ValidationSettings}, recompiled after each reload.
+ * <p>
+ * The settings values are captured in the compiled lambdas, so the hot path still reads no configuration.
+ * The first document after a reload compiles the new rules; documents racing with it may compile them as
+ * well, which is harmless since compilation has no side effects and both results are equivalent.
+ *
+ * @param <T> The document type.
+ */
+public final class SettingsBoundRuleSet<T> {
+    private final ValidationSettingsStore settings;
+    private final Function<ValidationSettings, RuleSet<T>> compiler;
+    private volatile Compiled<T> compiled;
+
+    /**
+     * @param settings The store holding the current settings.
+     * @param compiler Declares and builds the rules for a settings snapshot.
+     */
+    public SettingsBoundRuleSet(ValidationSettingsStore settings, Function<ValidationSettings, RuleSet<T>> compiler) {
+        this.settings = settings;
+        this.compiler = compiler;
+    }
+
+    /**
+     * @return The rules compiled for the current settings snapshot.
+     */
+    public RuleSet<T> current() {
+        ValidationSettings snapshot = settings.current();
+        Compiled<T> rules = compiled;
+        if (rules == null || rules.settings != snapshot) {
+            rules = new Compiled<>(snapshot, compiler.apply(snapshot));
+            compiled = rules;
+        }
+        return rules.rules;
+    }
+
+    private record Compiled<T>(ValidationSettings settings, RuleSet<T> rules) {
+    }
+}
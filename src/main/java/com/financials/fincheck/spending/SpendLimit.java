@@ -0,0 +1,83 @@
+package com.financials.fincheck.spending;
+
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * A rolling-window limit on what an employee may spend on one expense category, such as 2,000 EUR per 30 days
+ * on Meals.
+ * <p>
+ * In the settings file a limit is written as {@code <amount> <currency>/<days>d}, e.g. {@code 2000 EUR/30d}.
+ *
+ * @param category The expense item category.
+ * @param amount   The most the items of the category may add up to within the window.
+ * @param currency The currency of the amount.
+ * @param days     The length of the window in days, ending with the current day.
+ */
+public record SpendLimit(String category, BigDecimal amount, CurrencyCode currency, int days) {
+    /**
+     * The longest window a limit may have.
+     */
+    public static final int MAX_DAYS = 366;
+
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE / 10_000);
+
+    public SpendLimit {
+        if (currency == null || !currency.isRegistered()) {
+            throw new IllegalArgumentException("Unknown currency in spend limit of category " + category);
+        }
+        if (amount.signum() < 0 || amount.compareTo(MAX_AMOUNT) > 0 || amount.scale() > scale(currency)) {
+            throw new IllegalArgumentException("Spend limit of category " + category + " is not a valid amount in "
+                    + currency.code() + ": " + amount);
+        }
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Spend limit window of category " + category + " must be 1 to "
+                    + MAX_DAYS + " days: " + days);
+        }
+    }
+
+    /**
+     * Parses a limit written as {@code <amount> <currency>/<days>d}.
+     *
+     * @param category The expense item category.
+     * @param text     The limit, e.g. {@code 2000 EUR/30d}.
+     * @return The limit.
+     * @throws IllegalArgumentException If the text is malformed.
+     */
+    public static SpendLimit parse(String category, String text) {
+        String[] parts = text.trim().split("\\s*/\\s*");
+        String[] money = parts[0].split("\\s+");
+        if (parts.length != 2 || money.length != 2 || !parts[1].endsWith("d")) {
+            throw new IllegalArgumentException("Spend limit of category " + category
+                    + " must look like 2000 EUR/30d: " + text);
+        }
+        int days = Integer.parseInt(parts[1].substring(0, parts[1].length() - 1));
+        return new SpendLimit(category, new BigDecimal(money[0]), CurrencyRegistry.resolve(money[1]), days);
+    }
+
+    /**
+     * @return The number of minor unit digits of the limit's currency.
+     */
+    public int scale() {
+        return scale(currency);
+    }
+
+    /**
+     * @return The amount in minor units of the limit's currency.
+     */
+    public long minorAmount() {
+        return amount.movePointRight(scale()).longValueExact();
+    }
+
+    private static int scale(CurrencyCode currency) {
+        return Money.scale(currency.currency());
+    }
+
+    @Override
+    public String toString() {
+        return amount.toPlainString() + " " + currency.code() + " per " + days + " days on " + category;
+    }
+}
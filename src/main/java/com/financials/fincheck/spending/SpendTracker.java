@@ -0,0 +1,370 @@
+package com.financials.fincheck.spending;
+
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.ExchangeRateTable;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks what every employee spent on every category with a {@link SpendLimit} over the last days, and rejects
+ * expense reports that would take an employee over a limit.
+ * <p>
+ * Spending is kept per employee ID and category in a {@link SpendWindow}, a ring of daily buckets as long as the
+ * limit's window, and counts on the submission day of its report. The windows are split into a fixed number of
+ * stripes by the hash of their key, each with its own lock. A report locks the stripes of all its limited
+ * categories, in stripe order so reports never wait on each other in a cycle, checks every limit and records
+ * its spending only if all of them hold. Two reports of the same employee are therefore checked one after
+ * the other and cannot both slip under a limit, while reports of other employees rarely share a stripe.
+ * <p>
+ * A window remembers the day and amount it counts for every report ID. A resubmission with the same spending, e.g.
+ * a client retry, is not counted again; a resubmission with other spending is checked and counted in place of
+ * the earlier one, so a report cannot be resubmitted past a limit. A category the resubmission no longer has
+ * keeps the earlier spending. The spending a report recorded can be released again when a later rule rejects
+ * it, which restores what an earlier submission of the report had recorded.
+ * <p>
+ * Items count at their amount in the currency of the limit, converted at the rates of their expense date. A report
+ * with an item that cannot be converted for lack of a rate is rejected rather than recorded without it, so a limit
+ * cannot be got round by reporting in another currency. A window whose limit changes its currency starts afresh.
+ * <p>
+ * Once a day, the first report sweeps out the windows with no spending recent enough to count, so memory stays
+ * bounded by the employees who spent within their windows. The tracker only knows the reports validated since
+ * the application started.
+ * <p>
+ * Configuration: {@code fincheck.spend-limits.enabled} and {@code fincheck.spend-limits.stripes}; the limits
+ * themselves are validation settings.
+ */
+@Component
+@ConditionalOnProperty(name = "fincheck.spend-limits.enabled", havingValue = "true")
+public class SpendTracker {
+    private final ConcurrentHashMap<Key, SpendWindow> windows = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks;
+    private final AtomicLong nextEviction = new AtomicLong(Long.MIN_VALUE);
+    private final Clock clock;
+
+    /**
+     * Constructor for injecting the tracker configuration.
+     *
+     * @param stripes The number of independently locked stripes; rounded up to a power of two.
+     */
+    @Autowired
+    public SpendTracker(@Value("${fincheck.spend-limits.stripes:64}") int stripes) {
+        this(stripes, Clock.systemDefaultZone());
+    }
+
+    SpendTracker(int stripes, Clock clock) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * The outcome of recording an expense report: the limit it would exceed, the item it could not convert, or the
+     * spending it added, which {@link #release(Recording)} takes out again if a later rule rejects the report.
+     */
+    public static final class Recording {
+        private static final Key[] NO_KEYS = new Key[0];
+        private static final SpendWindow.Recorded[] NOT_REPLACED = new SpendWindow.Recorded[0];
+        private static final Recording NOTHING = new Recording(null, null, null, NO_KEYS, NOT_REPLACED);
+
+        private final SpendLimit exceeded;
+        private final String missingRate;
+        private final String reportId;
+        private final Key[] added;
+        private final SpendWindow.Recorded[] replaced;
+
+        private Recording(SpendLimit exceeded, String missingRate, String reportId, Key[] added,
+                          SpendWindow.Recorded[] replaced) {
+            this.exceeded = exceeded;
+            this.missingRate = missingRate;
+            this.reportId = reportId;
+            this.added = added;
+            this.replaced = replaced;
+        }
+
+        /**
+         * @return The first limit the report would exceed, in item order, or {@code null} if it keeps every limit.
+         */
+        public SpendLimit exceeded() {
+            return exceeded;
+        }
+
+        /**
+         * @return The currency and date of the first item that has no rate to the currency of its limit, e.g.
+         *         {@code USD on 2025-06-30}, or {@code null} if every item could be converted.
+         */
+        public String missingRate() {
+            return missingRate;
+        }
+    }
+
+    /**
+     * Checks a valid expense report against the spend limits of its categories and records its spending if every
+     * limit holds. A window that already counts the same spending for the report ID is left alone; one that counts
+     * other spending for it has that spending replaced, and the limit is checked against the new spending.
+     *
+     * @param report An expense report that passed validation.
+     * @param limits The spend limits, by category.
+     * @param rates  The exchange rates, or {@code null} if none are available.
+     * @return The outcome; nothing is recorded if the report would exceed a limit or has a limited item that cannot
+     *         be converted to the limit's currency.
+     */
+    public Recording record(ExpenseReport report, Map<String, SpendLimit> limits, ExchangeRateTable rates) {
+        if (limits.isEmpty() || report.getItems() == null) {
+            return Recording.NOTHING;
+        }
+        long today = LocalDate.now(clock).toEpochDay();
+        evictIdle(today);
+        // A report dated ahead of the clock counts today, so it cannot reach past the end of any window
+        long day = Math.min(report.getSubmissionDate().toEpochDay(), today);
+
+        SpendLimit[] touched = new SpendLimit[Math.min(limits.size(), report.getItems().size())];
+        long[] spent = new long[touched.length];
+        int count = 0;
+        for (ExpenseItem item : report.getItems()) {
+            SpendLimit limit = limits.get(item.getCategory());
+            if (limit == null || day <= today - limit.days()) {
+                continue;
+            }
+            long amount = convert(report, item, limit, rates);
+            if (!Money.isPresent(amount)) {
+                return new Recording(null, currency(report, item).code() + " on " + date(report, item),
+                        report.getReportId(), Recording.NO_KEYS, Recording.NOT_REPLACED);
+            }
+            int index = 0;
+            while (index < count && touched[index] != limit) {
+                index++;
+            }
+            if (index == count) {
+                touched[count++] = limit;
+            }
+            long sum = spent[index] + Math.max(0, amount);
+            spent[index] = sum < 0 ? Long.MAX_VALUE : sum;
+        }
+        if (count == 0) {
+            return Recording.NOTHING;
+        }
+
+        String reportId = report.getReportId();
+        Key[] keys = new Key[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = new Key(report.getEmployeeId(), touched[i].category());
+        }
+        int[] stripes = lockAll(keys);
+        try {
+            SpendWindow[] spending = new SpendWindow[count];
+            SpendWindow.Recorded[] previous = new SpendWindow.Recorded[count];
+            int added = 0;
+            for (int i = 0; i < count; i++) {
+                SpendLimit limit = touched[i];
+                spending[i] = windows.get(keys[i]);
+                long total = 0;
+                if (spending[i] != null) {
+                    spending[i].align(today, limit.days(), limit.currency().packed());
+                    previous[i] = spending[i].recorded(reportId);
+                    if (previous[i] != null && previous[i].day() == day && previous[i].amount() == spent[i]) {
+                        // A retry of a submission that was already counted
+                        keys[i] = null;
+                        continue;
+                    }
+                    total = spending[i].total() - (previous[i] == null ? 0 : previous[i].amount());
+                }
+                if (spent[i] > limit.minorAmount() - total) {
+                    return new Recording(limit, null, reportId, Recording.NO_KEYS, Recording.NOT_REPLACED);
+                }
+                added++;
+            }
+            Key[] recorded = new Key[added];
+            SpendWindow.Recorded[] replaced = new SpendWindow.Recorded[added];
+            for (int i = 0, j = 0; i < count; i++) {
+                if (keys[i] == null) {
+                    continue;
+                }
+                if (spending[i] == null) {
+                    SpendLimit limit = touched[i];
+                    spending[i] = windows.computeIfAbsent(keys[i],
+                            key -> new SpendWindow(limit.days(), limit.currency().packed(), today));
+                } else if (previous[i] != null) {
+                    spending[i].remove(reportId);
+                }
+                spending[i].add(reportId, day, spent[i]);
+                replaced[j] = previous[i];
+                recorded[j++] = keys[i];
+            }
+            return new Recording(null, null, reportId, recorded, replaced);
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    /**
+     * Takes the spending a report recorded out of the windows again, for a report that a later rule rejected. The
+     * spending an earlier submission of the report had recorded, and this one replaced, is counted again.
+     *
+     * @param recording The outcome of recording the report.
+     */
+    public void release(Recording recording) {
+        if (recording.added.length == 0) {
+            return;
+        }
+        int[] stripes = lockAll(recording.added);
+        try {
+            for (int i = 0; i < recording.added.length; i++) {
+                SpendWindow window = windows.get(recording.added[i]);
+                if (window != null) {
+                    window.remove(recording.reportId);
+                    SpendWindow.Recorded replaced = recording.replaced[i];
+                    if (replaced != null) {
+                        window.add(recording.reportId, replaced.day(), replaced.amount());
+                    }
+                }
+            }
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    /**
+     * Locks the stripes of the keys in stripe order, so callers locking several stripes never wait on each other in
+     * a cycle.
+     *
+     * @return The sorted stripes, to unlock with {@link #unlockAll(int[])}.
+     */
+    private int[] lockAll(Key[] keys) {
+        int[] stripes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            stripes[i] = stripe(keys[i]);
+        }
+        Arrays.sort(stripes);
+        int locked = 0;
+        try {
+            for (; locked < stripes.length; locked++) {
+                if (locked == 0 || stripes[locked] != stripes[locked - 1]) {
+                    locks[stripes[locked]].lock();
+                }
+            }
+            return stripes;
+        } catch (RuntimeException | Error e) {
+            unlock(stripes, locked);
+            throw e;
+        }
+    }
+
+    private void unlockAll(int[] stripes) {
+        unlock(stripes, stripes.length);
+    }
+
+    private void unlock(int[] stripes, int locked) {
+        while (--locked >= 0) {
+            if (locked == 0 || stripes[locked] != stripes[locked - 1]) {
+                locks[stripes[locked]].unlock();
+            }
+        }
+    }
+
+    /**
+     * @param employeeId The employee ID.
+     * @param limit      A spend limit.
+     * @return What the employee spent on the limit's category within its window, in minor units of its currency.
+     */
+    public long spent(String employeeId, SpendLimit limit) {
+        Key key = new Key(employeeId, limit.category());
+        ReentrantLock lock = locks[stripe(key)];
+        lock.lock();
+        try {
+            SpendWindow window = windows.get(key);
+            if (window == null) {
+                return 0;
+            }
+            window.align(LocalDate.now(clock).toEpochDay(), limit.days(), limit.currency().packed());
+            return window.total();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of windows held, one per employee and category with recent spending.
+     */
+    public int size() {
+        return windows.size();
+    }
+
+    /**
+     * Removes the windows without recent spending, at most once a day. Each window is removed under the lock of its
+     * stripe, so a report recording into it at the same time either comes first or finds no window and starts one.
+     */
+    private void evictIdle(long today) {
+        long due = nextEviction.get();
+        if (today < due || !nextEviction.compareAndSet(due, today + 1)) {
+            return;
+        }
+        for (Map.Entry<Key, SpendWindow> entry : windows.entrySet()) {
+            ReentrantLock lock = locks[stripe(entry.getKey())];
+            lock.lock();
+            try {
+                if (entry.getValue().isIdle(today)) {
+                    windows.remove(entry.getKey(), entry.getValue());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Converts an item to minor units of the limit's currency, or returns {@link Money#INVALID} if there is no rate.
+     * An amount too large to represent saturates, so it exceeds any limit.
+     */
+    private static long convert(ExpenseReport report, ExpenseItem item, SpendLimit limit, ExchangeRateTable rates) {
+        CurrencyCode currency = currency(report, item);
+        double factor;
+        if (currency == limit.currency()) {
+            long amount = Money.rescale(item.getAmountMinor(), item.getScale(), limit.scale());
+            if (Money.isPresent(amount)) {
+                return amount;
+            }
+            // More decimal places than the limit's currency has: rounded like a converted amount
+            factor = Math.pow(10, limit.scale() - item.getScale());
+        } else {
+            factor = rates == null ? Double.NaN
+                    : rates.factor(currency, item.getScale(), limit.currency(), limit.scale(), date(report, item));
+        }
+        double converted = Math.rint(item.getAmountMinor() * factor);
+        if (Double.isNaN(converted)) {
+            return Money.INVALID;
+        }
+        return Math.abs(converted) < 0x1p53 ? (long) converted : converted > 0 ? Long.MAX_VALUE : 0;
+    }
+
+    private static CurrencyCode currency(ExpenseReport report, ExpenseItem item) {
+        return item.getCurrencyCode() != null ? item.getCurrencyCode() : report.getCurrencyCode();
+    }
+
+    private static LocalDate date(ExpenseReport report, ExpenseItem item) {
+        return item.getExpenseDate() != null ? item.getExpenseDate() : report.getSubmissionDate();
+    }
+
+    private int stripe(Key key) {
+        int hash = key.hashCode();
+        return (hash ^ hash >>> 16) & (locks.length - 1);
+    }
+
+    private record Key(String employeeId, String category) {
+    }
+}
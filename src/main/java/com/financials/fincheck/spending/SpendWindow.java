@@ -0,0 +1,138 @@
+package com.financials.fincheck.spending;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The spending of one employee on one category over the last days, as a ring of daily buckets.
+ * <p>
+ * The bucket of a day is its epoch day modulo the window length. Moving the window forward clears the buckets of
+ * the days that fell out of it, so the window costs one {@code long} per day and summing it never looks at
+ * older spending. The window also remembers the day and amount of every report it counts, by report ID, so a
+ * resubmitted report replaces its earlier spending instead of adding to it, and a report rejected later can be
+ * taken out again. Reports leave the window together with their day. Windows are not thread-safe; the {@link SpendTracker} only touches them
+ * under the lock of their stripe.
+ */
+final class SpendWindow {
+    private final Map<String, Recorded> reports = new HashMap<>();
+    private long[] amounts;
+    private long lastDay;
+    private int currency;
+
+    /**
+     * @param days     The length of the window.
+     * @param currency The packed code of the currency the amounts are in.
+     * @param today    The epoch day the window ends with.
+     */
+    SpendWindow(int days, int currency, long today) {
+        this.amounts = new long[days];
+        this.currency = currency;
+        this.lastDay = today;
+    }
+
+    /**
+     * Moves the window forward to end with the given day and fits it to the limit. A longer or shorter window keeps
+     * the days both have in common; a window in another currency starts afresh, as its amounts cannot be compared.
+     *
+     * @param today    The epoch day the window should end with; earlier days leave the window where it is.
+     * @param days     The length of the window.
+     * @param currency The packed code of the currency of the limit.
+     */
+    void align(long today, int days, int currency) {
+        if (currency != this.currency) {
+            this.amounts = new long[days];
+            this.currency = currency;
+            this.lastDay = Math.max(lastDay, today);
+            reports.clear();
+            return;
+        }
+        boolean moved = days != amounts.length || today > lastDay;
+        if (days != amounts.length) {
+            long[] resized = new long[days];
+            for (int i = 0; i < Math.min(days, amounts.length); i++) {
+                resized[slot(lastDay - i, days)] = amounts[slot(lastDay - i, amounts.length)];
+            }
+            amounts = resized;
+        }
+        if (today > lastDay) {
+            long cleared = Math.min(today - lastDay, amounts.length);
+            for (long day = today - cleared + 1; day <= today; day++) {
+                amounts[slot(day, amounts.length)] = 0;
+            }
+            lastDay = today;
+        }
+        if (moved && !reports.isEmpty()) {
+            reports.values().removeIf(recorded -> !contains(recorded.day()));
+        }
+    }
+
+    /**
+     * @return The spending within the window, in minor units.
+     */
+    long total() {
+        long total = 0;
+        for (long amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    /**
+     * @param reportId The ID of an expense report.
+     * @return The day and amount the window counts for the report, or {@code null} if it counts none.
+     */
+    Recorded recorded(String reportId) {
+        return reports.get(reportId);
+    }
+
+    /**
+     * Adds the spending of a report to the bucket of a day. Days before the window are not counted.
+     *
+     * @param reportId The ID of the report, not counted by the window.
+     * @param day      The epoch day of the spending, not after the last day of the window.
+     * @param amount   The amount in minor units.
+     */
+    void add(String reportId, long day, long amount) {
+        if (contains(day)) {
+            amounts[slot(day, amounts.length)] += amount;
+            reports.put(reportId, new Recorded(day, amount));
+        }
+    }
+
+    /**
+     * Takes the spending of a report out of the window again.
+     *
+     * @param reportId The ID of the report.
+     */
+    void remove(String reportId) {
+        Recorded recorded = reports.remove(reportId);
+        if (recorded != null && contains(recorded.day())) {
+            amounts[slot(recorded.day(), amounts.length)] -= recorded.amount();
+        }
+    }
+
+    /**
+     * @param today The current epoch day.
+     * @return {@code true} if nothing in the window is recent enough to count on that day.
+     */
+    boolean isIdle(long today) {
+        return lastDay <= today - amounts.length;
+    }
+
+    private boolean contains(long day) {
+        return day > lastDay - amounts.length && day <= lastDay;
+    }
+
+    private static int slot(long day, int length) {
+        return (int) Math.floorMod(day, (long) length);
+    }
+
+    /**
+     * The spending of one report counted by a window.
+     *
+     * @param day    The epoch day the spending counts on.
+     * @param amount The amount in minor units.
+     */
+    record Recorded(long day, long amount) {
+    }
+}
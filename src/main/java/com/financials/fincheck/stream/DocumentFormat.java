@@ -0,0 +1,97 @@
+package com.financials.fincheck.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * The encodings documents and responses can be exchanged in.
+ * <p>
+ * The binary formats carry the same data model as JSON, so every document type binds through the same
+ * annotations and deserializers in each of them. A stream of binary documents is a plain concatenation of
+ * values, without separators.
+ */
+public enum DocumentFormat {
+    /**
+     * JSON text: a single document, a JSON array or newline-delimited JSON.
+     */
+    JSON(MediaType.APPLICATION_JSON),
+    /**
+     * Concise Binary Object Representation (RFC 8949).
+     */
+    CBOR(MediaType.APPLICATION_CBOR),
+    /**
+     * Jackson's binary JSON encoding, which also shares repeated property names and short strings.
+     */
+    SMILE(MediaType.valueOf("application/x-jackson-smile"));
+
+    /**
+     * The media type of Smile, for use in request mappings.
+     */
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+
+    DocumentFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * @param contentType The content type of a request, or {@code null}.
+     * @return The binary format of that content type, otherwise {@link #JSON}.
+     */
+    public static DocumentFormat of(MediaType contentType) {
+        if (contentType == null) {
+            return JSON;
+        }
+        if (CBOR.mediaType.isCompatibleWith(contentType)) {
+            return CBOR;
+        }
+        return SMILE.mediaType.isCompatibleWith(contentType) ? SMILE : JSON;
+    }
+
+    /**
+     * Derives a mapper for this format from the application's JSON mapper, keeping its modules and features.
+     *
+     * @param jsonMapper The application's {@code ObjectMapper}.
+     * @return A mapper reading and writing this format; {@code jsonMapper} itself for {@link #JSON}.
+     */
+    public ObjectMapper mapper(ObjectMapper jsonMapper) {
+        return switch (this) {
+            case JSON -> jsonMapper;
+            case CBOR -> new FormatMapper(jsonMapper, new CBORFactory());
+            case SMILE -> new FormatMapper(jsonMapper, new SmileFactory());
+        };
+    }
+
+    /**
+     * A copy of a mapper over another factory. {@code ObjectMapper.copyWith} refuses subclasses such as
+     * {@code JsonMapper}, so the copy constructor is used directly.
+     */
+    private static final class FormatMapper extends ObjectMapper {
+
+        private FormatMapper(ObjectMapper source, JsonFactory factory) {
+            super(source, factory);
+        }
+
+        @Override
+        public ObjectMapper copy() {
+            return new FormatMapper(this, getFactory().copy());
+        }
+
+        @Override
+        public ObjectMapper copyWith(JsonFactory factory) {
+            return new FormatMapper(this, factory);
+        }
+    }
+}
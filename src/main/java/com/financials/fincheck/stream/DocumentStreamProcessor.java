@@ -0,0 +1,129 @@
+package com.financials.fincheck.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financials.fincheck.dto.ValidationResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Validates a stream of newline-delimited JSON (NDJSON) documents record by record.
+ * <p>
+ * The input is read incrementally with Jackson's streaming {@code JsonParser}, so only the
+ * record currently being validated is held in memory. For every record a single
+ * {@code ValidationResponse} line is written to the output, in input order.
+ * <p>
+ * Streams of CBOR or Smile documents are read the same way, as concatenated values, and are answered
+ * with concatenated responses in the same format.
+ * <p>
+ * A record that cannot be parsed ends the stream: the parser position is unreliable after a
+ * binding failure, so a final failure line naming the record is written instead.
+ */
+@Component
+public class DocumentStreamProcessor {
+    private final Map<DocumentFormat, ObjectMapper> mappers = new EnumMap<>(DocumentFormat.class);
+    private final Map<DocumentFormat, ObjectWriter> responseWriters = new EnumMap<>(DocumentFormat.class);
+
+    /**
+     * Constructor for injecting the application's {@code ObjectMapper}.
+     *
+     * @param objectMapper The mapper used to bind records and write responses, from which the CBOR and
+     *                     Smile mappers are derived.
+     */
+    public DocumentStreamProcessor(ObjectMapper objectMapper) {
+        for (DocumentFormat format : DocumentFormat.values()) {
+            ObjectMapper mapper = format.mapper(objectMapper);
+            mappers.put(format, mapper);
+            // Flushing after every record would turn each response line into its own network write;
+            // the servlet response buffer decides when bytes go out instead.
+            responseWriters.put(format, mapper.writerFor(ValidationResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+    }
+
+    /**
+     * Reads documents of the given type from {@code in}, validates each one and writes one
+     * NDJSON response line per document to {@code out}.
+     *
+     * @param in           The NDJSON input stream. It is not closed by this method.
+     * @param out          The stream response lines are written to. It is not closed by this method.
+     * @param type         The document type each record is bound to.
+     * @param validator    The validation function, returning an empty list for valid documents.
+     * @param validMessage The message reported for documents that pass validation.
+     * @param <T>          The document type.
+     * @return The number of records that were read and validated.
+     * @throws IOException If reading the input or writing the output fails.
+     */
+    public <T> long process(InputStream in, OutputStream out, Class<T> type,
+                            Function<T, List<String>> validator, String validMessage) throws IOException {
+        return process(in, out, DocumentFormat.JSON, type, validator, validMessage);
+    }
+
+    /**
+     * Reads documents of the given type and format from {@code in}, validates each one and writes one
+     * response per document to {@code out}, in the same format.
+     *
+     * @param in           The input stream: NDJSON, or concatenated CBOR or Smile values. It is not closed.
+     * @param out          The stream responses are written to. It is not closed by this method.
+     * @param format       The format of the input and the output.
+     * @param type         The document type each record is bound to.
+     * @param validator    The validation function, returning an empty list for valid documents.
+     * @param validMessage The message reported for documents that pass validation.
+     * @param <T>          The document type.
+     * @return The number of records that were read and validated.
+     * @throws IOException If reading the input or writing the output fails.
+     */
+    public <T> long process(InputStream in, OutputStream out, DocumentFormat format, Class<T> type,
+                            Function<T, List<String>> validator, String validMessage) throws IOException {
+        ObjectMapper mapper = mappers.get(format);
+        ObjectWriter responseWriter = responseWriters.get(format);
+        ObjectReader reader = mapper.readerFor(type);
+        ValidationResponse validResponse = new ValidationResponse(true, List.of(validMessage));
+        long records = 0;
+
+        try (JsonParser parser = mapper.createParser(in);
+             JsonGenerator generator = mapper.createGenerator(out)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!format.isBinary()) {
+                generator.setRootValueSeparator(null);
+            }
+
+            try {
+                while (parser.nextToken() != null) {
+                    T document = reader.readValue(parser);
+                    List<String> errors = validator.apply(document);
+                    responseWriter.writeValue(generator, errors.isEmpty()
+                            ? validResponse
+                            : new ValidationResponse(false, errors));
+                    endRecord(generator, format);
+                    records++;
+                }
+            } catch (JsonProcessingException e) {
+                responseWriter.writeValue(generator, new ValidationResponse(false,
+                        List.of("Invalid request format at record " + (records + 1))));
+                endRecord(generator, format);
+            }
+        }
+        return records;
+    }
+
+    private static void endRecord(JsonGenerator generator, DocumentFormat format) throws IOException {
+        // Binary values delimit themselves
+        if (!format.isBinary()) {
+            generator.writeRaw('\n');
+        }
+    }
+}
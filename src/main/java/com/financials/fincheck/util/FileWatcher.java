@@ -0,0 +1,85 @@
+package com.financials.fincheck.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a file's directory on a daemon thread and runs a callback once the file has changed and the
+ * directory has been quiet for a moment.
+ */
+public final class FileWatcher implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(FileWatcher.class);
+
+    private static final long QUIET_PERIOD_MS = 200;
+
+    private final Path file;
+    private final Runnable onChange;
+    private final WatchService watchService;
+
+    private FileWatcher(Path file, Runnable onChange) throws IOException {
+        this.file = file;
+        this.onChange = onChange;
+        this.watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    /**
+     * Starts watching a file.
+     *
+     * @param file       The absolute path of the file.
+     * @param threadName The name of the watcher thread.
+     * @param onChange   Called on the watcher thread after the file was written or replaced.
+     * @return The watcher, to close on shutdown.
+     * @throws IOException If the directory cannot be watched.
+     */
+    public static FileWatcher watch(Path file, String threadName, Runnable onChange) throws IOException {
+        FileWatcher watcher = new FileWatcher(file, onChange);
+        Thread.ofPlatform().daemon().name(threadName).start(watcher::run);
+        return watcher;
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                boolean changed = false;
+                // Writing a file in place fires several events and may be seen half-written, so wait until
+                // the directory has been quiet for a moment before reading it
+                for (WatchKey key = watchService.take(); key != null;
+                     key = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS)) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        // Editors often replace the file instead of writing it, which shows up as a create
+                        changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                                || file.getFileName().equals(event.context());
+                    }
+                    if (!key.reset()) {
+                        log.warn("Stopped watching {}, its directory is no longer accessible", file);
+                        return;
+                    }
+                }
+                if (changed) {
+                    onChange.run();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Shutting down
+        }
+    }
+}
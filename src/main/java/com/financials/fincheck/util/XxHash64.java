@@ -0,0 +1,185 @@
+package com.financials.fincheck.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Implementation of the 64-bit xxHash (XXH64) non-cryptographic hash function.
+ * <p>
+ * XXH64 processes input in 32-byte stripes across four independent lanes, which makes it fast enough
+ * to hash whole request bodies on the request path. Results are identical to the reference
+ * implementation, so hashes can be compared with those computed by other tools.
+ * <p>
+ * Not suitable where an attacker choosing colliding inputs is a concern.
+ */
+public final class XxHash64 {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private XxHash64() {
+    }
+
+    /**
+     * Hashes a whole byte array.
+     *
+     * @param input The bytes to hash.
+     * @param seed  The hash seed.
+     * @return The XXH64 hash.
+     */
+    public static long hash(byte[] input, long seed) {
+        return hash(input, 0, input.length, seed);
+    }
+
+    /**
+     * Hashes a range of a byte array.
+     *
+     * @param input  The bytes to hash.
+     * @param offset The index of the first byte to hash.
+     * @param length The number of bytes to hash.
+     * @param seed   The hash seed.
+     * @return The XXH64 hash.
+     */
+    public static long hash(byte[] input, int offset, int length, long seed) {
+        int end = offset + length;
+        int i = offset;
+        long hash;
+
+        if (length >= 32) {
+            long v1 = seed + PRIME1 + PRIME2;
+            long v2 = seed + PRIME2;
+            long v3 = seed;
+            long v4 = seed - PRIME1;
+            int limit = end - 32;
+            do {
+                v1 = round(v1, (long) LONG_LE.get(input, i));
+                v2 = round(v2, (long) LONG_LE.get(input, i + 8));
+                v3 = round(v3, (long) LONG_LE.get(input, i + 16));
+                v4 = round(v4, (long) LONG_LE.get(input, i + 24));
+                i += 32;
+            } while (i <= limit);
+
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = seed + PRIME5;
+        }
+
+        hash += length;
+
+        while (i + 8 <= end) {
+            hash ^= round(0, (long) LONG_LE.get(input, i));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+            i += 8;
+        }
+        if (i + 4 <= end) {
+            hash ^= ((int) INT_LE.get(input, i) & 0xFFFFFFFFL) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            i += 4;
+        }
+        while (i < end) {
+            hash ^= (input[i] & 0xFFL) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+            i++;
+        }
+
+        return avalanche(hash);
+    }
+
+    /**
+     * Hashes the UTF-16 code units of a character sequence without encoding it to bytes first.
+     * <p>
+     * The result equals {@link #hash(byte[], long)} of the sequence encoded as UTF-16LE.
+     *
+     * @param input The characters to hash.
+     * @param seed  The hash seed.
+     * @return The XXH64 hash.
+     */
+    public static long hashChars(CharSequence input, long seed) {
+        int end = input.length();
+        int i = 0;
+        long hash;
+
+        if (end >= 16) {
+            long v1 = seed + PRIME1 + PRIME2;
+            long v2 = seed + PRIME2;
+            long v3 = seed;
+            long v4 = seed - PRIME1;
+            int limit = end - 16;
+            do {
+                v1 = round(v1, charsAsLong(input, i));
+                v2 = round(v2, charsAsLong(input, i + 4));
+                v3 = round(v3, charsAsLong(input, i + 8));
+                v4 = round(v4, charsAsLong(input, i + 12));
+                i += 16;
+            } while (i <= limit);
+
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = seed + PRIME5;
+        }
+
+        hash += 2L * end;
+
+        while (i + 4 <= end) {
+            hash ^= round(0, charsAsLong(input, i));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+            i += 4;
+        }
+        if (i + 2 <= end) {
+            long value = input.charAt(i) | (long) input.charAt(i + 1) << 16;
+            hash ^= value * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            i += 2;
+        }
+        if (i < end) {
+            char c = input.charAt(i);
+            hash ^= (c & 0xFFL) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+            hash ^= (c >>> 8) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+        }
+
+        return avalanche(hash);
+    }
+
+    private static long charsAsLong(CharSequence input, int index) {
+        return input.charAt(index)
+                | (long) input.charAt(index + 1) << 16
+                | (long) input.charAt(index + 2) << 32
+                | (long) input.charAt(index + 3) << 48;
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * PRIME1;
+    }
+
+    private static long mergeRound(long accumulator, long value) {
+        accumulator ^= round(0, value);
+        return accumulator * PRIME1 + PRIME4;
+    }
+
+    private static long avalanche(long hash) {
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+}
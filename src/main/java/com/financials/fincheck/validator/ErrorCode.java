@@ -0,0 +1,116 @@
+package com.financials.fincheck.validator;
+
+/**
+ * Catalogue of every validation error FinCheck reports.
+ * <p>
+ * Each code carries the path of the field it concerns and a static message template. Templates with
+ * a {@code %s} placeholder are completed with the parameter recorded alongside the code in a
+ * {@link ValidationResult}; templates without one are returned as-is, so the common messages are
+ * shared constants rather than per-request strings.
+ */
+public enum ErrorCode {
+
+    // Shared by several document types
+    EMPLOYEE_ID_EMPTY("employeeId", "Employee ID must not be empty"),
+    RECORD_FORMAT("-", "Invalid record format"),
+    DOCUMENT_NULL("-", "Document is null"),
+
+    // Invoice
+    AMOUNT_MISSING("amount", "Amount must be provided"),
+    AMOUNT_NEGATIVE("amount", "Amount must not be negative"),
+    CURRENCY_INVALID("currency", "Invalid currency: %s"),
+    INVOICE_NUMBER_EMPTY("invoiceNumber", "Invoice number must not be empty"),
+    INVOICE_NUMBER_DUPLICATE("invoiceNumber", "Invoice number %s has already been submitted"),
+
+    // Payslip
+    GROSS_SALARY_MISSING("grossSalary", "Gross salary must not be empty"),
+    GROSS_SALARY_NOT_POSITIVE("grossSalary", "Gross salary must be positive"),
+    GROSS_SALARY_NOT_REPRESENTABLE("grossSalary", "Gross salary is not a valid amount in %s"),
+    NET_SALARY_MISSING("netSalary", "Net salary must not be empty"),
+    NET_SALARY_NOT_POSITIVE("netSalary", "Net salary must be positive"),
+    NET_SALARY_NOT_REPRESENTABLE("netSalary", "Net salary is not a valid amount in %s"),
+    NET_SALARY_MISMATCH("netSalary", "Net salary does not match gross salary minus deductions"),
+    EMPLOYEE_NAME_EMPTY("employeeName", "Employee name must not be empty"),
+    PAY_PERIOD_EMPTY("payPeriod", "Pay period must not be empty"),
+    PAY_PERIOD_FORMAT("payPeriod", "Pay period must follow the format YYYY-MM"),
+    PAYMENT_DATE_MISSING("paymentDate", "Payment date must not be empty"),
+    PAYMENT_DATE_IN_FUTURE("paymentDate", "Payment date cannot be in the future"),
+    DEDUCTIONS_EMPTY("deductions", "Deductions must not be empty"),
+    DEDUCTION_NAME_BLANK("deductions", "Deduction name must not be blank or null"),
+    DEDUCTION_AMOUNT_INVALID("deductions", "Deduction amount for '%s' must be non-negative and not null"),
+    DEDUCTION_AMOUNT_NOT_REPRESENTABLE("deductions", "Deduction amount for '%s' is not a valid amount in the payslip currency"),
+    PAYMENT_METHOD_MISSING("paymentMethod", "Payment method must not be empty"),
+    BANK_ACCOUNT_MISSING("bankAccount", "Bank account (IBAN) must not be empty for bank transfers"),
+    BANK_ACCOUNT_FORMAT("bankAccount", "Bank account (IBAN) format is invalid"),
+    BANK_ACCOUNT_CHECKSUM("bankAccount", "Bank account (IBAN) checksum is invalid"),
+    BANK_ACCOUNT_COUNTRY("bankAccount", "Bank account (IBAN) country %s is not accepted"),
+    EMPLOYER_MISSING("employer", "Employer must not be empty"),
+    HOURS_WORKED_NEGATIVE("hoursWorked", "Hours worked must be non-negative"),
+
+    // Expense report
+    REPORT_ID_EMPTY("reportId", "Report ID must not be empty"),
+    BUSINESS_PURPOSE_EMPTY("businessPurpose", "Business purpose must not be empty"),
+    CURRENCY_MISSING("currency", "Currency must not be null"),
+    SUBMISSION_DATE_MISSING("submissionDate", "Submission date must not be null"),
+    SUBMISSION_DATE_IN_FUTURE("submissionDate", "Submission date must not be in the future"),
+    ITEMS_MISSING("items", "Items must not be null"),
+    ITEM_MISSING("items", "Expense item %s must not be null"),
+    ITEM_CATEGORY_EMPTY("items", "Expense item %s category must not be empty"),
+    ITEM_CATEGORY_NOT_ACCEPTED("items", "Expense item %s category is not accepted"),
+    ITEM_AMOUNT_MISSING("items", "Expense item %s amount must be provided"),
+    ITEM_AMOUNT_NOT_POSITIVE("items", "Expense item %s amount must be positive"),
+    ITEM_AMOUNT_NOT_REPRESENTABLE("items", "Expense item %s amount is not a valid amount in its currency"),
+    ITEM_AMOUNT_EXCEEDS_LIMIT("items", "Expense item %s amount exceeds the limit of its category"),
+    ITEM_EXPENSE_DATE_MISSING("items", "Expense item %s date must not be null"),
+    ITEM_EXPENSE_DATE_AFTER_SUBMISSION("items", "Expense item %s date must not be after the submission date"),
+    ITEM_DESCRIPTION_EMPTY("items", "Expense item %s description must not be empty"),
+    ITEM_DUPLICATE("items", "Expense item %s duplicates an earlier item"),
+    ITEM_CURRENCY_INVALID("items", "Invalid item currency: %s"),
+    EXCHANGE_RATE_MISSING("items", "No exchange rate for %s"),
+    TOTAL_NOT_REPRESENTABLE("total", "Total is not a valid amount in %s"),
+    TOTAL_MISMATCH("total", "Total does not match the sum of the items in %s"),
+    EXPENSES_WITHOUT_PAYSLIP("employeeId", "No payslip is recorded for the employee in %s or the month before"),
+    EXPENSES_EXCEED_NET_PAY("items", "Expenses submitted in %s exceed the allowed share of net pay"),
+    SPEND_LIMIT_EXCEEDED("items", "Expenses exceed the spend limit of %s");
+
+    private final String field;
+    private final String template;
+    private final boolean parameterized;
+
+    ErrorCode(String field, String template) {
+        this.field = field;
+        this.template = template;
+        this.parameterized = template.contains("%s");
+    }
+
+    /**
+     * @return The path of the document field this error concerns (e.g., "grossSalary").
+     */
+    public String field() {
+        return field;
+    }
+
+    /**
+     * @return The message template, containing {@code %s} if the message takes a parameter.
+     */
+    public String template() {
+        return template;
+    }
+
+    /**
+     * @return {@code true} if the message template takes a parameter.
+     */
+    public boolean isParameterized() {
+        return parameterized;
+    }
+
+    /**
+     * Builds the human-readable message for this code.
+     *
+     * @param parameter The value substituted into the template; ignored by codes without a placeholder.
+     * @return The formatted message.
+     */
+    public String format(Object parameter) {
+        return parameterized ? template.formatted(parameter) : template;
+    }
+}
@@ -0,0 +1,371 @@
+package com.financials.fincheck.validator;
+
+import com.financials.fincheck.config.CategoryLimit;
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.ExchangeRateTable;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.rules.Checks;
+import com.financials.fincheck.util.XxHash64;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the items of an expense report one by one, and for duplicates among them.
+ * <p>
+ * Every item needs a category accepted by the {@link ValidationSettings}, a positive amount within the limit of
+ * its category, an expense date not after the submission date and a description. An item in another currency than
+ * its category limit is converted at the rate of its expense date. Two items with the same
+ * category, amount, currency, date and description are duplicates; the later one is reported. Items are
+ * numbered from 0, in request order.
+ * <p>
+ * A report of a few dozen items is checked on the calling thread without allocating anything but its errors:
+ * duplicates are found by comparing every item with the ones before it. Larger reports hash their items into
+ * an open-addressing table of item indices instead. Reports of {@code fincheck.expenses.parallel-threshold}
+ * items or more are cut into contiguous chunks that {@code fincheck.expenses.parallelism} virtual threads
+ * check and hash concurrently, as the {@code BatchValidator} does with documents; each chunk collects its own
+ * errors, which are appended in chunk order, so errors come in item order whatever the number of threads.
+ */
+@Component
+public class ExpenseItemValidator {
+    /**
+     * Reports up to this size look for duplicates by comparing every pair of items.
+     */
+    static final int PAIRWISE_LIMIT = 32;
+
+    /**
+     * Smallest number of items a worker claims at once, to keep contention on the chunk counter low.
+     */
+    static final int MIN_CHUNK_SIZE = 1024;
+
+    private static final long DATE_MIX = 0x9E3779B97F4A7C15L;
+
+    private final int parallelThreshold;
+    private final int parallelism;
+
+    /**
+     * Creates a validator with the default threshold, using every available processor.
+     */
+    public ExpenseItemValidator() {
+        this(4096, 0);
+    }
+
+    /**
+     * Constructor for injecting the configured parallelism.
+     *
+     * @param parallelThreshold The number of items from which a report is checked on several threads.
+     * @param parallelism       The number of threads checking a large report; non-positive values select the
+     *                          number of available processors.
+     */
+    @Autowired
+    public ExpenseItemValidator(@Value("${fincheck.expenses.parallel-threshold:4096}") int parallelThreshold,
+                                @Value("${fincheck.expenses.parallelism:0}") int parallelism) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @param items The number of items of a report.
+     * @return {@code true} if the items of such a report are checked on several threads, which the caller waits for.
+     */
+    boolean isParallel(int items) {
+        return items > PAIRWISE_LIMIT && items >= parallelThreshold && parallelism > 1;
+    }
+
+    /**
+     * Checks every item of a report.
+     *
+     * @param report The report, whose items are not {@code null}.
+     * @param errors The errors collected so far.
+     * @param policy The item policy compiled from the current settings.
+     * @param rates  The exchange rates converting items to the currency of their category limit, or {@code null}.
+     * @return The errors including those of the items.
+     */
+    ValidationResult validate(ExpenseReport report, ValidationResult errors, Policy policy, ExchangeRateTable rates) {
+        List<ExpenseItem> items = report.getItems() instanceof RandomAccess ? report.getItems() : new ArrayList<>(report.getItems());
+        int size = items.size();
+        Context context = new Context(report, policy, rates);
+        if (size <= PAIRWISE_LIMIT) {
+            errors = checkRange(items, 0, size, context, null, errors);
+            return findDuplicatesPairwise(items, context.currency, errors);
+        }
+        long[] hashes = new long[size];
+        if (size < parallelThreshold || parallelism == 1) {
+            errors = checkRange(items, 0, size, context, hashes, errors);
+        } else {
+            errors = checkInParallel(items, context, hashes, errors);
+        }
+        return findDuplicates(items, hashes, context.currency, errors);
+    }
+
+    private ValidationResult checkInParallel(List<ExpenseItem> items, Context context, long[] hashes,
+                                             ValidationResult errors) {
+        int size = items.size();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4));
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        ValidationResult[] chunkErrors = new ValidationResult[chunks];
+        AtomicInteger nextChunk = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int workers = Math.min(parallelism, chunks);
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    int chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        int from = chunk * chunkSize;
+                        chunkErrors[chunk] = checkRange(items, from, Math.min(from + chunkSize, size), context, hashes,
+                                ValidationResult.valid());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Expense item validation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Expense item validation failed", e.getCause());
+        }
+
+        for (ValidationResult chunk : chunkErrors) {
+            for (int i = 0; i < chunk.size(); i++) {
+                errors = errors.with(chunk.code(i), chunk.parameter(i));
+            }
+        }
+        return errors;
+    }
+
+    private static ValidationResult checkRange(List<ExpenseItem> items, int from, int to, Context context,
+                                               long[] hashes, ValidationResult errors) {
+        for (int i = from; i < to; i++) {
+            ExpenseItem item = items.get(i);
+            errors = checkItem(item, i, context, errors);
+            if (hashes != null && item != null) {
+                hashes[i] = hash(item);
+            }
+        }
+        return errors;
+    }
+
+    private static ValidationResult checkItem(ExpenseItem item, int index, Context context, ValidationResult errors) {
+        if (item == null) {
+            return errors.with(ErrorCode.ITEM_MISSING, index);
+        }
+        String category = item.getCategory();
+        if (Checks.isBlank(category)) {
+            errors = errors.with(ErrorCode.ITEM_CATEGORY_EMPTY, index);
+        } else if (!context.policy.settings().acceptsExpenseCategory(category)) {
+            errors = errors.with(ErrorCode.ITEM_CATEGORY_NOT_ACCEPTED, index);
+        }
+
+        long amount = item.getAmountMinor();
+        if (amount == Money.ABSENT) {
+            errors = errors.with(ErrorCode.ITEM_AMOUNT_MISSING, index);
+        } else if (amount == Money.INVALID) {
+            errors = errors.with(ErrorCode.ITEM_AMOUNT_NOT_REPRESENTABLE, index);
+        } else if (amount <= 0) {
+            errors = errors.with(ErrorCode.ITEM_AMOUNT_NOT_POSITIVE, index);
+        } else if (category != null) {
+            errors = checkLimit(item, index, context.policy.limit(category), context, errors);
+        }
+
+        LocalDate expenseDate = item.getExpenseDate();
+        if (expenseDate == null) {
+            errors = errors.with(ErrorCode.ITEM_EXPENSE_DATE_MISSING, index);
+        } else if (context.submissionDate != null && expenseDate.isAfter(context.submissionDate)) {
+            errors = errors.with(ErrorCode.ITEM_EXPENSE_DATE_AFTER_SUBMISSION, index);
+        }
+
+        if (Checks.isBlank(item.getDescription())) {
+            errors = errors.with(ErrorCode.ITEM_DESCRIPTION_EMPTY, index);
+        }
+        return errors;
+    }
+
+    /**
+     * Checks the positive amount of an item against the limit of its category, converted to the limit's currency.
+     * An item without a rate to the limit's currency is rejected, unless the limit is in the report currency: the
+     * total rule reports those.
+     */
+    private static ValidationResult checkLimit(ExpenseItem item, int index, Policy.Limit limit, Context context,
+                                               ValidationResult errors) {
+        CurrencyCode currency = currency(item, context.currency);
+        if (limit == null || currency == null || !currency.isRegistered()) {
+            return errors;
+        }
+        if (currency == limit.currency()) {
+            return item.getAmountMinor() > limit.minorAmount(item.getScale())
+                    ? errors.with(ErrorCode.ITEM_AMOUNT_EXCEEDS_LIMIT, index) : errors;
+        }
+        LocalDate date = item.getExpenseDate() != null ? item.getExpenseDate() : context.submissionDate;
+        if (date == null) {
+            // Reported as a missing date
+            return errors;
+        }
+        double factor = context.rates == null ? Double.NaN
+                : context.rates.factor(currency, item.getScale(), limit.currency(), limit.scale(), date);
+        if (Double.isNaN(factor)) {
+            return limit.currency() == context.currency ? errors
+                    : errors.with(ErrorCode.EXCHANGE_RATE_MISSING, currency.code() + " on " + date);
+        }
+        return Math.rint(item.getAmountMinor() * factor) > limit.minorAmount(limit.scale())
+                ? errors.with(ErrorCode.ITEM_AMOUNT_EXCEEDS_LIMIT, index) : errors;
+    }
+
+    private static ValidationResult findDuplicatesPairwise(List<ExpenseItem> items, CurrencyCode reportCurrency,
+                                                           ValidationResult errors) {
+        for (int j = 1; j < items.size(); j++) {
+            ExpenseItem item = items.get(j);
+            for (int i = 0; item != null && i < j; i++) {
+                if (isDuplicate(items.get(i), item, reportCurrency)) {
+                    errors = errors.with(ErrorCode.ITEM_DUPLICATE, j);
+                    break;
+                }
+            }
+        }
+        return errors;
+    }
+
+    private static ValidationResult findDuplicates(List<ExpenseItem> items, long[] hashes, CurrencyCode reportCurrency,
+                                                   ValidationResult errors) {
+        int size = items.size();
+        // Item indices plus one, at most half full, probed linearly from the hash
+        int[] table = new int[Integer.highestOneBit(size) << 2];
+        int mask = table.length - 1;
+        for (int j = 0; j < size; j++) {
+            ExpenseItem item = items.get(j);
+            if (item == null) {
+                continue;
+            }
+            int slot = (int) hashes[j] & mask;
+            boolean duplicate = false;
+            for (; table[slot] != 0; slot = (slot + 1) & mask) {
+                int i = table[slot] - 1;
+                if (hashes[i] == hashes[j] && isDuplicate(items.get(i), item, reportCurrency)) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (duplicate) {
+                errors = errors.with(ErrorCode.ITEM_DUPLICATE, j);
+            } else {
+                table[slot] = j + 1;
+            }
+        }
+        return errors;
+    }
+
+    private static boolean isDuplicate(ExpenseItem earlier, ExpenseItem item, CurrencyCode reportCurrency) {
+        return earlier != null
+                && earlier.getAmountMinor() == item.getAmountMinor()
+                && earlier.getScale() == item.getScale()
+                && Objects.equals(earlier.getExpenseDate(), item.getExpenseDate())
+                && Objects.equals(earlier.getCategory(), item.getCategory())
+                && Objects.equals(currency(earlier, reportCurrency), currency(item, reportCurrency))
+                && Objects.equals(earlier.getDescription(), item.getDescription());
+    }
+
+    private static CurrencyCode currency(ExpenseItem item, CurrencyCode reportCurrency) {
+        return item.getCurrencyCode() != null ? item.getCurrencyCode() : reportCurrency;
+    }
+
+    private static long hash(ExpenseItem item) {
+        String category = item.getCategory();
+        String description = item.getDescription();
+        long hash = XxHash64.hashChars(category == null ? "" : category, item.getAmountMinor());
+        hash = XxHash64.hashChars(description == null ? "" : description, hash);
+        return item.getExpenseDate() == null ? hash : hash ^ item.getExpenseDate().toEpochDay() * DATE_MIX;
+    }
+
+    /**
+     * The item rules of one settings snapshot, with the category limits in minor units at every scale.
+     *
+     * @param settings The settings snapshot.
+     * @param limits   The limit of every category with one.
+     */
+    record Policy(ValidationSettings settings, Map<String, Limit> limits) {
+        private static final int MAX_SCALE = Money.PARSE_SCALE;
+
+        /**
+         * @param settings A settings snapshot.
+         * @return The item rules of the snapshot.
+         */
+        static Policy of(ValidationSettings settings) {
+            Map<String, Limit> limits = new HashMap<>();
+            settings.expenseCategoryLimits().forEach((category, limit) -> limits.put(category, Limit.of(limit)));
+            return new Policy(settings, Map.copyOf(limits));
+        }
+
+        /**
+         * @return The limit of the category, or {@code null} if it has none.
+         */
+        Limit limit(String category) {
+            return limits.get(category);
+        }
+
+        /**
+         * A category limit in minor units of its currency at every scale.
+         *
+         * @param currency The currency of the limit.
+         * @param scale    The number of minor unit digits of the currency.
+         * @param byScale  The highest amount of an item, indexed by scale.
+         */
+        record Limit(CurrencyCode currency, int scale, long[] byScale) {
+            static Limit of(CategoryLimit limit) {
+                long[] byScale = new long[MAX_SCALE + 1];
+                for (int scale = 0; scale <= MAX_SCALE; scale++) {
+                    BigDecimal minor = limit.amount().movePointRight(scale).setScale(0, RoundingMode.FLOOR);
+                    byScale[scale] = minor.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) < 0 ? minor.longValue() : Long.MAX_VALUE;
+                }
+                return new Limit(limit.currency(), limit.scale(), byScale);
+            }
+
+            /**
+             * @return The highest amount of an item in minor units at the scale.
+             */
+            long minorAmount(int scale) {
+                return byScale[scale];
+            }
+        }
+    }
+
+    /**
+     * What every item of one report is checked against.
+     */
+    private static final class Context {
+        final Policy policy;
+        final ExchangeRateTable rates;
+        final CurrencyCode currency;
+        final LocalDate submissionDate;
+
+        Context(ExpenseReport report, Policy policy, ExchangeRateTable rates) {
+            this.policy = policy;
+            this.rates = rates;
+            this.currency = report.getCurrencyCode();
+            this.submissionDate = report.getSubmissionDate();
+        }
+    }
+}
@@ -1,43 +1,236 @@
 package com.financials.fincheck.validator;
 
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.currency.CurrencyCode;
+import com.financials.fincheck.currency.ExchangeRateTable;
+import com.financials.fincheck.currency.ExchangeRates;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.ExpenseItem;
 import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.reconciliation.ReconciliationIndex;
+import com.financials.fincheck.rules.Checks;
+import com.financials.fincheck.rules.RuleSet;
+import com.financials.fincheck.rules.SettingsBoundRuleSet;
+import com.financials.fincheck.spending.SpendLimit;
+import com.financials.fincheck.spending.SpendTracker;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
+/**
+ * Validates {@code ExpenseReport} objects.
+ * <p>
+ * The rules are compiled for each {@link ValidationSettings} snapshot, which sets the accepted item categories and
+ * the limit of an item of each category. The items themselves are checked by the {@link ExpenseItemValidator}.
+ * <p>
+ * Items may be paid in another currency than the report. They are converted to the report currency with the
+ * {@link ExchangeRates} of their expense date, so every item currency needs a rate on that date, and the
+ * converted items must add up to the declared total, if any. As each converted item is rounded to the minor
+ * unit on its own, the sum may differ from the total by up to one minor unit per converted item.
+ * <p>
+ * When reconciliation is enabled, a valid report is also checked against the pay recorded in the
+ * {@link ReconciliationIndex}: the employee must have a payslip in the month of submission or the month before,
+ * and the month's expenses must stay within the configured share of net pay.
+ * <p>
+ * When spend limits are enabled, a valid report must also keep the employee within the {@link SpendLimit} of every
+ * category in the settings, counting the reports validated in the limit's window (see {@link SpendTracker}). A
+ * report that reconciliation rejects does not count towards the limits, and a resubmitted report is counted once.
+ */
 @Component
 public class ExpenseReportValidator {
-    public List<String> validate(ExpenseReport expenseReport) {
-        List<String> errors = new ArrayList<>();
+    private final SettingsBoundRuleSet<ExpenseReport> rules;
+    private final ValidationMetrics metrics;
+    private final ExpenseItemValidator itemValidator;
+    private final boolean stateful;
 
-        if (expenseReport.getReportId() == null || expenseReport.getReportId().isBlank()) {
-            errors.add("Report ID must not be empty");
-        }
+    public ExpenseReportValidator() {
+        this(ValidationMetrics.disabled());
+    }
 
-        if (expenseReport.getEmployeeId() == null || expenseReport.getEmployeeId().isBlank()) {
-            errors.add("Employee ID must not be empty");
-        }
+    public ExpenseReportValidator(ValidationMetrics metrics) {
+        this(metrics, ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS));
+    }
 
-        if (expenseReport.getBusinessPurpose() == null || expenseReport.getBusinessPurpose().isBlank()) {
-            errors.add("Business purpose must not be empty");
-        }
+    /**
+     * Creates a validator with metrics and settings, without reconciliation or exchange rates.
+     *
+     * @param metrics  The component publishing validation metrics.
+     * @param settings The store holding the reloadable validation settings.
+     */
+    public ExpenseReportValidator(ValidationMetrics metrics, ValidationSettingsStore settings) {
+        this(Optional.empty(), Optional.empty(), ExchangeRates.none(), new ExpenseItemValidator(), metrics, settings);
+    }
 
-        if (expenseReport.getCurrency() == null) {
-            errors.add("Currency must not be null");
-        }
+    public ExpenseReportValidator(Optional<ReconciliationIndex> reconciliationIndex, ValidationMetrics metrics) {
+        this(reconciliationIndex, Optional.empty(), ExchangeRates.none(), new ExpenseItemValidator(), metrics,
+                ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS));
+    }
+
+    /**
+     * Constructor for injecting the optional {@code ReconciliationIndex} and {@code SpendTracker}, the
+     * {@code ExchangeRates}, the {@code ExpenseItemValidator}, the {@code ValidationMetrics} and the
+     * {@code ValidationSettingsStore}.
+     *
+     * @param reconciliationIndex The index of recorded pay, if reconciliation is enabled.
+     * @param spendTracker        The tracker of recent spending, if spend limits are enabled.
+     * @param exchangeRates       The rates converting items to the report currency.
+     * @param itemValidator       The component checking the items of a report.
+     * @param metrics             The component publishing validation metrics.
+     * @param settings            The store holding the reloadable validation settings.
+     */
+    @Autowired
+    public ExpenseReportValidator(Optional<ReconciliationIndex> reconciliationIndex, Optional<SpendTracker> spendTracker,
+                                  ExchangeRates exchangeRates, ExpenseItemValidator itemValidator,
+                                  ValidationMetrics metrics, ValidationSettingsStore settings) {
+        ReconciliationIndex index = reconciliationIndex.orElse(null);
+        SpendTracker tracker = spendTracker.orElse(null);
+        this.rules = new SettingsBoundRuleSet<>(settings,
+                snapshot -> rules(snapshot, index, tracker, exchangeRates, itemValidator));
+        this.metrics = metrics;
+        this.itemValidator = itemValidator;
+        this.stateful = index != null || tracker != null;
+    }
+
+    /**
+     * @return {@code true} if validating a valid report records it for reconciliation or against the spend limits,
+     *         so the same report submitted again may get another answer.
+     */
+    public boolean isStateful() {
+        return stateful;
+    }
+
+    /**
+     * @param report An expense report.
+     * @return {@code true} if validating the report may wait: it is recorded under a lock, or its items are checked
+     *         on several threads.
+     */
+    public boolean mayBlock(ExpenseReport report) {
+        return stateful || report.getItems() != null && itemValidator.isParallel(report.getItems().size());
+    }
 
-        if (expenseReport.getSubmissionDate() == null) {
-            errors.add("Submission date must not be null");
-        } else if (expenseReport.getSubmissionDate().isAfter(LocalDate.now())) {
-            errors.add("Submission date must not be in the future");
+    private static RuleSet<ExpenseReport> rules(ValidationSettings settings, ReconciliationIndex reconciliationIndex,
+                                                SpendTracker spendTracker, ExchangeRates exchangeRates,
+                                                ExpenseItemValidator itemValidator) {
+        ExpenseItemValidator.Policy itemPolicy = ExpenseItemValidator.Policy.of(settings);
+        RuleSet.Builder<ExpenseReport> rules = RuleSet.<ExpenseReport>builder(DocumentType.EXPENSE_REPORT)
+                .field("reportId", ExpenseReport::getReportId, reportId -> reportId
+                        .failIf(Checks::isBlank, ErrorCode.REPORT_ID_EMPTY))
+                .field("employeeId", ExpenseReport::getEmployeeId, employeeId -> employeeId
+                        .failIf(Checks::isBlank, ErrorCode.EMPLOYEE_ID_EMPTY))
+                .field("businessPurpose", ExpenseReport::getBusinessPurpose, businessPurpose -> businessPurpose
+                        .failIf(Checks::isBlank, ErrorCode.BUSINESS_PURPOSE_EMPTY))
+                .field("currency", ExpenseReport::getCurrencyCode, currency -> currency
+                        .failIf(Objects::isNull, ErrorCode.CURRENCY_MISSING)
+                        .failIf(code -> !code.isRegistered(), ErrorCode.CURRENCY_INVALID))
+                .field("submissionDate", ExpenseReport::getSubmissionDate, submissionDate -> submissionDate
+                        .failIf(Objects::isNull, ErrorCode.SUBMISSION_DATE_MISSING)
+                        .failIf(value -> value.isAfter(LocalDate.now()), ErrorCode.SUBMISSION_DATE_IN_FUTURE))
+                .field("items", ExpenseReport::getItems, items -> items
+                        .failIf(Objects::isNull, ErrorCode.ITEMS_MISSING))
+                .rule("itemDetails", (report, errors) -> report.getItems() == null ? errors
+                        : itemValidator.validate(report, errors, itemPolicy, exchangeRates.current()))
+                .rule("total", (report, errors) -> checkTotal(report, errors, exchangeRates.current()));
+
+        Map<String, SpendLimit> spendLimits = spendTracker == null ? Map.of() : settings.expenseSpendLimits();
+        if (!spendLimits.isEmpty() || reconciliationIndex != null) {
+            // Both record the report, so they run as one rule: a report that reconciliation rejects takes back the
+            // spending recorded against its limits, and a report over a limit is not reconciled
+            rules.rule(reconciliationIndex != null ? "reconciliation" : "spendLimits", (report, errors) ->
+                    record(report, errors, spendLimits, spendTracker, reconciliationIndex, exchangeRates.current()));
         }
+        return rules.build();
+    }
 
-        if (expenseReport.getItems() == null) {
-            errors.add("Items must not be null");
+    /**
+     * Records a valid report with the spend limits and the reconciliation, whichever are enabled. Only otherwise valid
+     * reports are recorded, so rejected ones count towards neither.
+     */
+    private static ValidationResult record(ExpenseReport report, ValidationResult errors,
+                                           Map<String, SpendLimit> spendLimits, SpendTracker spendTracker,
+                                           ReconciliationIndex reconciliationIndex, ExchangeRateTable rates) {
+        if (!errors.isValid()) {
+            return errors;
+        }
+        SpendTracker.Recording spending = null;
+        if (!spendLimits.isEmpty()) {
+            spending = spendTracker.record(report, spendLimits, rates);
+            if (spending.missingRate() != null) {
+                return errors.with(ErrorCode.EXCHANGE_RATE_MISSING, spending.missingRate());
+            }
+            if (spending.exceeded() != null) {
+                return errors.with(ErrorCode.SPEND_LIMIT_EXCEEDED, spending.exceeded());
+            }
+        }
+        if (reconciliationIndex == null) {
+            return errors;
         }
+        ErrorCode rejected = switch (reconciliationIndex.recordExpenses(report, rates)) {
+            case NO_PAYSLIP -> ErrorCode.EXPENSES_WITHOUT_PAYSLIP;
+            case EXCEEDS_SHARE -> ErrorCode.EXPENSES_EXCEED_NET_PAY;
+            case ACCEPTED, UNCHECKED -> null;
+        };
+        if (rejected == null) {
+            return errors;
+        }
+        if (spending != null) {
+            spendTracker.release(spending);
+        }
+        return errors.with(rejected, YearMonth.from(report.getSubmissionDate()));
+    }
 
+    /**
+     * Checks that every item can be converted to the report currency, that the items add up to an amount that can be
+     * represented, and that they add up to the declared total.
+     * The sum is computed without allocating; the items are only looked at again to explain a failed conversion.
+     */
+    private static ValidationResult checkTotal(ExpenseReport report, ValidationResult errors, ExchangeRateTable rates) {
+        CurrencyCode currency = report.getCurrencyCode();
+        if (currency == null || !currency.isRegistered() || report.getItems() == null) {
+            return errors;
+        }
+        long itemTotal = report.itemTotal(rates);
+        int convertedItems = 0;
+        for (ExpenseItem item : report.getItems()) {
+            CurrencyCode itemCurrency = item == null ? null : item.getCurrencyCode();
+            if (itemCurrency == null || itemCurrency == currency) {
+                continue;
+            }
+            convertedItems++;
+            if (Money.isPresent(itemTotal)) {
+                continue;
+            }
+            if (!itemCurrency.isRegistered()) {
+                return errors.with(ErrorCode.ITEM_CURRENCY_INVALID, itemCurrency.code());
+            }
+            LocalDate date = item.getExpenseDate() != null ? item.getExpenseDate() : report.getSubmissionDate();
+            if (date != null && (rates == null
+                    || Double.isNaN(rates.factor(itemCurrency, item.getScale(), currency, report.getTotalScale(), date)))) {
+                return errors.with(ErrorCode.EXCHANGE_RATE_MISSING, itemCurrency.code() + " on " + date);
+            }
+        }
+        if (itemTotal == Money.INVALID && errors.isValid()) {
+            // Every item is valid and convertible, so the items add up to more than an amount can hold
+            return errors.with(ErrorCode.TOTAL_NOT_REPRESENTABLE, currency.code());
+        }
+        long total = report.getTotalMinor();
+        if (total == Money.INVALID) {
+            return errors.with(ErrorCode.TOTAL_NOT_REPRESENTABLE, currency.code());
+        }
+        if (total != Money.ABSENT && Money.isPresent(itemTotal) && Math.abs(total - itemTotal) > convertedItems) {
+            return errors.with(ErrorCode.TOTAL_MISMATCH, currency.code());
+        }
         return errors;
     }
+
+    public ValidationResult validate(ExpenseReport expenseReport) {
+        return rules.current().validate(expenseReport, metrics);
+    }
 }
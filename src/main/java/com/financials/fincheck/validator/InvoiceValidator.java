@@ -1,11 +1,19 @@
 package com.financials.fincheck.validator;
 
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.duplicate.DuplicateInvoiceDetector;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.DocumentType;
 import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.rules.Checks;
+import com.financials.fincheck.rules.RuleSet;
+import com.financials.fincheck.rules.SettingsBoundRuleSet;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 // TODO: refactor InvoiceControllerTest.
 /**
@@ -13,38 +21,100 @@ import java.util.List;
  * <p>
  * Performs basic validation checks such as:
  * - Ensuring the amount is non-negative
- * - Validating the currency is supported
+ * - Validating the currency is supported for the issuer (see {@link ValidationSettings#invoiceCurrencies(String)})
  * - Ensuring the invoice number is present
+ * - Rejecting invoice numbers already submitted by the same issuer, when duplicate detection is enabled
  * <p>
  * This logic is intentionally separated from the controller to keep it clean and testable.
+ * The rules are declared with {@link RuleSet} and compiled for each {@link ValidationSettings} snapshot.
  */
 @Component
 public class InvoiceValidator {
-    private static final List<String> VALID_CURRENCIES = Arrays.asList("USD", "EUR", "GBP");
+    private final SettingsBoundRuleSet<Invoice> rules;
+    private final ValidationMetrics metrics;
+    private final boolean stateful;
 
     /**
-     * Validates the fields of a given {@code Invoice}.
+     * Creates a validator without duplicate detection or metrics.
+     */
+    public InvoiceValidator() {
+        this(Optional.empty());
+    }
+
+    /**
+     * Creates a validator with the given duplicate detection and without metrics.
      *
-     * @param invoice The invoice to validate.
-     * @return A list of validation error messages. Returns an empty list if the invoice is valid.
+     * @param duplicateDetector The detector remembering submitted invoice numbers, if enabled.
      */
-    public List<String> validate(Invoice invoice) {
-        List<String> errors = new ArrayList<>();
+    public InvoiceValidator(Optional<DuplicateInvoiceDetector> duplicateDetector) {
+        this(duplicateDetector, ValidationMetrics.disabled());
+    }
 
-        if (invoice.getAmount() == null) {
-            errors.add("Amount must be provided");
-        } else if (invoice.getAmount() < 0) {
-            errors.add("Amount must not be negative");
-        }
+    /**
+     * Creates a validator with the given duplicate detection and metrics, using the default settings.
+     *
+     * @param duplicateDetector The detector remembering submitted invoice numbers, if enabled.
+     * @param metrics           The component publishing validation metrics.
+     */
+    public InvoiceValidator(Optional<DuplicateInvoiceDetector> duplicateDetector, ValidationMetrics metrics) {
+        this(duplicateDetector, metrics, ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS));
+    }
 
-        if (!VALID_CURRENCIES.contains(invoice.getCurrency())) {
-            errors.add("Invalid currency: " + invoice.getCurrency());
-        }
+    /**
+     * Constructor for injecting the optional {@code DuplicateInvoiceDetector}, the {@code ValidationMetrics}
+     * and the {@code ValidationSettingsStore}.
+     *
+     * @param duplicateDetector The detector remembering submitted invoice numbers, if enabled.
+     * @param metrics           The component publishing validation metrics.
+     * @param settings          The store holding the reloadable validation settings.
+     */
+    @Autowired
+    public InvoiceValidator(Optional<DuplicateInvoiceDetector> duplicateDetector, ValidationMetrics metrics,
+                            ValidationSettingsStore settings) {
+        DuplicateInvoiceDetector detector = duplicateDetector.orElse(null);
+        this.rules = new SettingsBoundRuleSet<>(settings, snapshot -> rules(snapshot, detector));
+        this.metrics = metrics;
+        this.stateful = detector != null;
+    }
+
+    /**
+     * @return {@code true} if validating a valid invoice records its number, so the same invoice submitted again is
+     *         rejected as a duplicate.
+     */
+    public boolean isStateful() {
+        return stateful;
+    }
+
+    private static RuleSet<Invoice> rules(ValidationSettings settings, DuplicateInvoiceDetector duplicateDetector) {
+        RuleSet.Builder<Invoice> rules = RuleSet.<Invoice>builder(DocumentType.INVOICE)
+                .field("amount", Invoice::getAmount, amount -> amount
+                        .failIf(Objects::isNull, ErrorCode.AMOUNT_MISSING)
+                        .failIf(value -> value < 0, ErrorCode.AMOUNT_NEGATIVE))
+                .rule("currency", (invoice, errors) -> settings.invoiceCurrencies(invoice.getIssuerId())
+                        .contains(invoice.getCurrencyCode())
+                        ? errors
+                        : errors.with(ErrorCode.CURRENCY_INVALID, invoice.getCurrency()))
+                // Invoice number must be present and not just whitespace
+                .field("invoiceNumber", Invoice::getInvoiceNumber, invoiceNumber -> invoiceNumber
+                        .failIf(Checks::isBlank, ErrorCode.INVOICE_NUMBER_EMPTY));
 
-        // Invoice number must be present and not just whitespace
-        if (invoice.getInvoiceNumber() == null || invoice.getInvoiceNumber().trim().isEmpty()) {
-            errors.add("Invoice number must not be empty");
+        if (duplicateDetector != null) {
+            // Only otherwise valid invoices are remembered, so a corrected resubmission is not a duplicate
+            rules.rule("duplicate", (invoice, errors) -> errors.isValid()
+                    && !duplicateDetector.recordIfAbsent(invoice.getIssuerId(), invoice.getInvoiceNumber())
+                    ? errors.with(ErrorCode.INVOICE_NUMBER_DUPLICATE, invoice.getInvoiceNumber())
+                    : errors);
         }
-        return errors;
+        return rules.build();
+    }
+
+    /**
+     * Validates the fields of a given {@code Invoice}.
+     *
+     * @param invoice The invoice to validate.
+     * @return The validation errors. Returns the shared empty result if the invoice is valid.
+     */
+    public ValidationResult validate(Invoice invoice) {
+        return rules.current().validate(invoice, metrics);
     }
 }
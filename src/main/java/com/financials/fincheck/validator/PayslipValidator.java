@@ -1,127 +1,250 @@
 package com.financials.fincheck.validator;
 
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.iban.IbanValidator;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.Deductions;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.Money;
 import com.financials.fincheck.model.PaymentMethod;
 import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.payroll.PayrollRunAggregator;
+import com.financials.fincheck.reconciliation.ReconciliationIndex;
+import com.financials.fincheck.rules.Checks;
+import com.financials.fincheck.rules.RuleSet;
+import com.financials.fincheck.rules.SettingsBoundRuleSet;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Validates {@code Payslip} objects to ensure they adhere to expected financial and business rules.
  * <p>
- * This class is intended to encapsulate all validation logic for payslips.
+ * This class is intended to encapsulate all validation logic for payslips. The rules are declared with
+ * {@link RuleSet} and compiled for each {@link ValidationSettings} snapshot, which sets the net salary
+ * tolerance and the accepted bank account countries.
+ * <p>
+ * When reconciliation is enabled, every valid payslip is recorded in the {@link ReconciliationIndex}, so
+ * expense reports of the same employee can be checked against its net pay. When payroll runs are enabled,
+ * every valid payslip is also added to the totals of its run by the {@link PayrollRunAggregator}.
  */
 @Component
 public class PayslipValidator {
+    private final SettingsBoundRuleSet<Payslip> rules;
+    private final ValidationMetrics metrics;
+    private final boolean stateful;
 
     /**
-     * Validates the fields of a given {@code Payslip}.
-     * <p>
-     * Currently performs basic checks on salary values.
-     *
-     * @param payslip The payslip to validate.
-     * @return A list of validation error messages. If valid, the list will be empty.
+     * Creates a validator without metrics, using the default settings.
      */
-    public List<String> validate(Payslip payslip) {
-        List<String> errors = new ArrayList<>();
+    public PayslipValidator() {
+        this(ValidationMetrics.disabled());
+    }
 
-        if (payslip.getGrossSalary() == null) {
-            errors.add("Gross salary must not be empty");
-        } else if (payslip.getGrossSalary() <= 0) {
-            errors.add("Gross salary must be positive");
-        }
+    /**
+     * Creates a validator with metrics, using the default settings.
+     *
+     * @param metrics The component publishing validation metrics.
+     */
+    public PayslipValidator(ValidationMetrics metrics) {
+        this(metrics, ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS));
+    }
 
-        if (payslip.getNetSalary() == null) {
-            errors.add("Net salary must not be empty");
-        } else if (payslip.getNetSalary() <= 0) {
-            errors.add("Net salary must be positive");
-        }
+    /**
+     * Creates a validator with metrics and settings, without reconciliation or payroll runs.
+     *
+     * @param metrics  The component publishing validation metrics.
+     * @param settings The store holding the reloadable validation settings.
+     */
+    public PayslipValidator(ValidationMetrics metrics, ValidationSettingsStore settings) {
+        this(Optional.empty(), Optional.empty(), metrics, settings);
+    }
 
-        if (payslip.getEmployeeId() == null || payslip.getEmployeeId().trim().isEmpty()) {
-            errors.add("Employee ID must not be empty");
-        }
+    /**
+     * Constructor for injecting the optional {@code ReconciliationIndex} and {@code PayrollRunAggregator}, the
+     * {@code ValidationMetrics} and the {@code ValidationSettingsStore}.
+     *
+     * @param reconciliationIndex The index recording valid payslips, if reconciliation is enabled.
+     * @param payrollRuns         The aggregator totalling valid payslips per payroll run, if enabled.
+     * @param metrics             The component publishing validation metrics.
+     * @param settings            The store holding the reloadable validation settings.
+     */
+    @Autowired
+    public PayslipValidator(Optional<ReconciliationIndex> reconciliationIndex, Optional<PayrollRunAggregator> payrollRuns,
+                            ValidationMetrics metrics, ValidationSettingsStore settings) {
+        ReconciliationIndex index = reconciliationIndex.orElse(null);
+        PayrollRunAggregator aggregator = payrollRuns.orElse(null);
+        this.rules = new SettingsBoundRuleSet<>(settings, snapshot -> rules(snapshot, index, aggregator));
+        this.metrics = metrics;
+        this.stateful = index != null || aggregator != null;
+    }
 
-        if (payslip.getEmployeeName() == null || payslip.getEmployeeName().trim().isEmpty()) {
-            errors.add("Employee name must not be empty");
-        }
+    /**
+     * @return {@code true} if validating a valid payslip records it for reconciliation or in its payroll run, so
+     *         the answer to a payslip must not be reused without validating it.
+     */
+    public boolean isStateful() {
+        return stateful;
+    }
 
-        String payPeriod = payslip.getPayPeriod();
-        if (payPeriod == null || payPeriod.isBlank()) {
-            errors.add("Pay period must not be empty");
-        } else {
-            try {
-                YearMonth.parse(payPeriod);
-            } catch (DateTimeParseException e) {
-                errors.add("Pay period must follow the format YYYY-MM");
-            }
+    private static RuleSet<Payslip> rules(ValidationSettings settings, ReconciliationIndex reconciliationIndex,
+                                          PayrollRunAggregator payrollRuns) {
+        long netSalaryTolerance = settings.netSalaryTolerance();
+        RuleSet.Builder<Payslip> rules = RuleSet.<Payslip>builder(DocumentType.PAYSLIP)
+                .field("currency", Payslip::getCurrencyCode, currency -> currency
+                        .failIf(code -> !code.isRegistered(), ErrorCode.CURRENCY_INVALID))
+                .longField("grossSalary", Payslip::getGrossSalaryMinor, grossSalary -> grossSalary
+                        .failIf(value -> value == Money.ABSENT, ErrorCode.GROSS_SALARY_MISSING)
+                        .failIf(value -> value == Money.INVALID, ErrorCode.GROSS_SALARY_NOT_REPRESENTABLE, Payslip::getCurrencyCode)
+                        .failIf(value -> value <= 0, ErrorCode.GROSS_SALARY_NOT_POSITIVE))
+                .longField("netSalary", Payslip::getNetSalaryMinor, netSalary -> netSalary
+                        .failIf(value -> value == Money.ABSENT, ErrorCode.NET_SALARY_MISSING)
+                        .failIf(value -> value == Money.INVALID, ErrorCode.NET_SALARY_NOT_REPRESENTABLE, Payslip::getCurrencyCode)
+                        .failIf(value -> value <= 0, ErrorCode.NET_SALARY_NOT_POSITIVE))
+                .field("employeeId", Payslip::getEmployeeId, employeeId -> employeeId
+                        .failIf(Checks::isBlank, ErrorCode.EMPLOYEE_ID_EMPTY))
+                .field("employeeName", Payslip::getEmployeeName, employeeName -> employeeName
+                        .failIf(Checks::isBlank, ErrorCode.EMPLOYEE_NAME_EMPTY))
+                .field("payPeriod", Payslip::getPayPeriod, payPeriod -> payPeriod
+                        .failIf(Checks::isBlank, ErrorCode.PAY_PERIOD_EMPTY)
+                        .failIf(value -> !isYearMonth(value), ErrorCode.PAY_PERIOD_FORMAT))
+                .field("paymentDate", Payslip::getPaymentDate, paymentDate -> paymentDate
+                        .failIf(Objects::isNull, ErrorCode.PAYMENT_DATE_MISSING)
+                        .failIf(value -> value.isAfter(LocalDate.now()), ErrorCode.PAYMENT_DATE_IN_FUTURE))
+                .rule("deductions", (payslip, errors) -> checkDeductions(payslip, errors, netSalaryTolerance))
+                .field("paymentMethod", Payslip::getPaymentMethod, paymentMethod -> paymentMethod
+                        .failIf(Objects::isNull, ErrorCode.PAYMENT_METHOD_MISSING))
+                .field("bankAccount", payslip -> checkBankAccount(payslip, settings), bankAccount -> bankAccount
+                        .onlyIf(payslip -> payslip.getPaymentMethod() == PaymentMethod.BANK_TRANSFER)
+                        .failIf(status -> status == BankAccount.MISSING, ErrorCode.BANK_ACCOUNT_MISSING)
+                        .failIf(status -> status == BankAccount.INVALID_CHECKSUM, ErrorCode.BANK_ACCOUNT_CHECKSUM)
+                        .failIf(status -> status == BankAccount.COUNTRY_NOT_ACCEPTED, ErrorCode.BANK_ACCOUNT_COUNTRY,
+                                payslip -> payslip.getBankAccount().substring(0, 2))
+                        .failIf(status -> status != BankAccount.VALID, ErrorCode.BANK_ACCOUNT_FORMAT))
+                .field("employer", Payslip::getEmployer, employer -> employer
+                        .failIf(Objects::isNull, ErrorCode.EMPLOYER_MISSING))
+                .longField("hoursWorked", Payslip::getHoursWorked, hoursWorked -> hoursWorked
+                        .failIf(value -> value < 0, ErrorCode.HOURS_WORKED_NEGATIVE));
+
+        if (reconciliationIndex != null) {
+            // Only valid payslips are recorded, so a rejected one cannot vouch for expenses
+            rules.rule("reconciliation", (payslip, errors) -> {
+                if (errors.isValid()) {
+                    reconciliationIndex.recordPayslip(payslip);
+                }
+                return errors;
+            });
         }
-
-        if (payslip.getPaymentDate() == null) {
-            errors.add("Payment date must not be empty");
-        } else if (payslip.getPaymentDate().isAfter(LocalDate.now())) {
-            errors.add("Payment date cannot be in the future");
+        if (payrollRuns != null) {
+            rules.rule("payrollRun", (payslip, errors) -> {
+                if (errors.isValid()) {
+                    payrollRuns.record(payslip);
+                }
+                return errors;
+            });
         }
+        return rules.build();
+    }
 
-        if (payslip.getDeductions() == null || payslip.getDeductions().isEmpty()) {
-            errors.add("Deductions must not be empty");
-        } else {
-            boolean hasInvalidDeduction = false;
-
-            for (Map.Entry<String, Double> entry : payslip.getDeductions().entrySet()) {
-                String key = entry.getKey();
-                Double value = entry.getValue();
+    /**
+     * Validates the fields of a given {@code Payslip}.
+     *
+     * @param payslip The payslip to validate.
+     * @return The validation errors. If valid, the shared empty result is returned.
+     */
+    public ValidationResult validate(Payslip payslip) {
+        return rules.current().validate(payslip, metrics);
+    }
 
-                if (key == null || key.isBlank()) {
-                    errors.add("Deduction name must not be blank or null");
-                    hasInvalidDeduction = true;
-                }
+    /**
+     * @return Whether the value is a year and month as {@link YearMonth#parse(CharSequence)} accepts it. The
+     * common {@code yyyy-MM} form is checked character by character, without the parser and its exception.
+     */
+    private static boolean isYearMonth(String value) {
+        if (value.length() == 7 && value.charAt(4) == '-' && isDigits(value, 0, 4) && isDigits(value, 5, 7)) {
+            int month = (value.charAt(5) - '0') * 10 + value.charAt(6) - '0';
+            return month >= 1 && month <= 12;
+        }
+        try {
+            YearMonth.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
 
-                if (value == null || value < 0) {
-                    errors.add("Deduction amount for '" + key + "' must be non-negative and not null");
-                    hasInvalidDeduction = true;
-                }
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
             }
+        }
+        return true;
+    }
 
-            if (!hasInvalidDeduction && payslip.getGrossSalary() != null && payslip.getNetSalary() != null) {
-                double sumDeductions = payslip.getDeductions().values().stream().mapToDouble(Double::doubleValue).sum();
-                double expectedNetSalary = payslip.getGrossSalary() - sumDeductions;
+    /**
+     * Outcome of the bank account checks, combining the IBAN check with the accepted countries.
+     */
+    private enum BankAccount { VALID, MISSING, INVALID_CHECKSUM, INVALID_FORMAT, COUNTRY_NOT_ACCEPTED }
 
-                if (Math.abs(payslip.getNetSalary() - expectedNetSalary) > 0.01) {
-                    errors.add("Net salary does not match gross salary minus deductions");
-                }
-            }
+    private static BankAccount checkBankAccount(Payslip payslip, ValidationSettings settings) {
+        String bankAccount = payslip.getBankAccount();
+        if (Checks.isBlank(bankAccount)) {
+            return BankAccount.MISSING;
         }
+        return switch (IbanValidator.check(bankAccount)) {
+            case VALID -> settings.acceptsBankAccountCountry(bankAccount.substring(0, 2))
+                    ? BankAccount.VALID
+                    : BankAccount.COUNTRY_NOT_ACCEPTED;
+            case INVALID_CHECKSUM -> BankAccount.INVALID_CHECKSUM;
+            default -> BankAccount.INVALID_FORMAT;
+        };
+    }
 
-        if (payslip.getPaymentMethod() == null) {
-            errors.add("Payment method must not be empty");
+    /**
+     * Checks every deduction and, if all are valid, that the net salary equals gross salary minus deductions
+     * within the configured tolerance.
+     * <p>
+     * {@code Deductions} keeps the sum and the validity of its entries while it is filled, so the entries are
+     * only walked again to report the invalid ones.
+     */
+    private static ValidationResult checkDeductions(Payslip payslip, ValidationResult errors, long netSalaryTolerance) {
+        Deductions deductions = payslip.getDeductionAmounts();
+        if (deductions == null || deductions.isEmpty()) {
+            return errors.with(ErrorCode.DEDUCTIONS_EMPTY);
         }
 
-        if (payslip.getPaymentMethod() == PaymentMethod.BANK_TRANSFER) {
-            String bankAccount = payslip.getBankAccount();
+        if (deductions.hasInvalid()) {
+            for (int i = 0; i < deductions.size(); i++) {
+                String name = deductions.name(i);
+                long amount = deductions.amount(i);
 
-            if (bankAccount == null || bankAccount.isBlank()) {
-                errors.add("Bank account (IBAN) must not be empty for bank transfers");
-            } else {
-                String ibanPattern = "^[A-Z]{2}\\d{2}[A-Z0-9]{11,30}$";
-                if (!bankAccount.matches(ibanPattern)) {
-                    errors.add("Bank account (IBAN) format is invalid");
+                if (Checks.isBlank(name)) {
+                    errors = errors.with(ErrorCode.DEDUCTION_NAME_BLANK);
                 }
-            }
-        }
 
-        if (payslip.getEmployer() == null) {
-            errors.add("Employer must not be empty");
+                if (amount == Money.INVALID) {
+                    errors = errors.with(ErrorCode.DEDUCTION_AMOUNT_NOT_REPRESENTABLE, name);
+                } else if (amount == Money.ABSENT || amount < 0) {
+                    errors = errors.with(ErrorCode.DEDUCTION_AMOUNT_INVALID, name);
+                }
+            }
+            return errors;
         }
 
-        if (payslip.getHoursWorked() < 0) {
-            errors.add("Hours worked must be non-negative");
+        // Minor units make the check exact; the tolerance is 0 unless configured otherwise
+        long grossSalary = payslip.getGrossSalaryMinor();
+        long netSalary = payslip.getNetSalaryMinor();
+        if (Money.isPresent(grossSalary) && Money.isPresent(netSalary)
+                && Math.abs(grossSalary - deductions.total() - netSalary) > netSalaryTolerance) {
+            errors = errors.with(ErrorCode.NET_SALARY_MISMATCH);
         }
-
         return errors;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package com.financials.fincheck.validator;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Outcome of validating a single document: an ordered list of {@link ErrorCode}s with their parameters.
+ * <p>
+ * The result is a {@code List<String>} of error messages, but messages are only formatted when an
+ * element is read, which normally happens while the response is serialized. A document that passes
+ * validation returns the shared {@link #valid()} instance, so the common case allocates nothing.
+ * <p>
+ * Validators build a result by reassigning the return value of {@link #with(ErrorCode, Object)}:
+ * the shared valid instance is never modified, and the first error creates a result owned by the
+ * current validation, which subsequent errors are appended to in place.
+ */
+public final class ValidationResult extends AbstractList<String> implements RandomAccess {
+    private static final ValidationResult VALID = new ValidationResult(0);
+    private static final int INITIAL_CAPACITY = 4;
+
+    private ErrorCode[] codes;
+    private Object[] parameters;
+    private int size;
+
+    private ValidationResult(int capacity) {
+        this.codes = new ErrorCode[capacity];
+        this.parameters = new Object[capacity];
+    }
+
+    /**
+     * @return The shared result of a document without errors.
+     */
+    public static ValidationResult valid() {
+        return VALID;
+    }
+
+    /**
+     * Records an error without a message parameter.
+     *
+     * @param code The error to record.
+     * @return The result to use from now on, which may be a new instance.
+     */
+    public ValidationResult with(ErrorCode code) {
+        return with(code, null);
+    }
+
+    /**
+     * Records an error whose message takes a parameter.
+     *
+     * @param code      The error to record.
+     * @param parameter The value substituted into the message template.
+     * @return The result to use from now on, which may be a new instance.
+     */
+    public ValidationResult with(ErrorCode code, Object parameter) {
+        ValidationResult result = this == VALID ? new ValidationResult(INITIAL_CAPACITY) : this;
+        result.append(code, parameter);
+        return result;
+    }
+
+    /**
+     * @return {@code true} if no error was recorded.
+     */
+    public boolean isValid() {
+        return size == 0;
+    }
+
+    /**
+     * @param index The position of the error.
+     * @return The error code at the given position.
+     */
+    public ErrorCode code(int index) {
+        checkIndex(index);
+        return codes[index];
+    }
+
+    /**
+     * @param index The position of the error.
+     * @return The message parameter recorded with the error at the given position, or {@code null}.
+     */
+    public Object parameter(int index) {
+        checkIndex(index);
+        return parameters[index];
+    }
+
+    /**
+     * @param code The error code to look for.
+     * @return {@code true} if the given error was recorded at least once.
+     */
+    public boolean hasCode(ErrorCode code) {
+        for (int i = 0; i < size; i++) {
+            if (codes[i] == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Formats the message of the error at the given position.
+     */
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        return codes[index].format(parameters[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void append(ErrorCode code, Object parameter) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            parameters = Arrays.copyOf(parameters, size * 2);
+        }
+        codes[size] = code;
+        parameters[size] = parameter;
+        size++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+}
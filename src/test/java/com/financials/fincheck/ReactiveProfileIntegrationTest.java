@@ -0,0 +1,118 @@
+package com.financials.fincheck;
+
+import com.financials.fincheck.dto.ValidationResponse;
+import com.financials.fincheck.model.Invoice;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@code reactive} profile.
+ * <p>
+ * These tests start Netty on a random port. The web application type is also set on the test itself, since
+ * the test framework picks the type of context before profile properties are read. Duplicate detection is
+ * enabled so that invoices are validated off the event loop, and the buffer limit is lowered to test it cheaply.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "fincheck.duplicates.enabled=true",
+                "spring.codec.max-in-memory-size=64KB"})
+@ActiveProfiles("reactive")
+class ReactiveProfileIntegrationTest {
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    public void requestsShouldBeServedByNetty() throws Exception {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+
+    @Test
+    public void invalidInvoiceShouldReturnErrors() throws Exception {
+        webTestClient.post().uri("/invoices/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Invoice("", -100.0, "ABC"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ValidationResponse.class)
+                .isEqualTo(new ValidationResponse(false, List.of(
+                        "Amount must not be negative", "Invalid currency: ABC", "Invoice number must not be empty")));
+    }
+
+    @Test
+    public void malformedPayslipShouldReturnFormatError() throws Exception {
+        webTestClient.post().uri("/payslips/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"employeeId\": ")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false);
+    }
+
+    @Test
+    public void resubmittedInvoiceShouldBeRejectedAsDuplicate() throws Exception {
+        String invoice = "{\"invoiceNumber\": \"INV-REACTIVE-DUP\", \"amount\": 5.0, \"currency\": \"EUR\"}";
+        webTestClient.post().uri("/invoices/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(invoice)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/invoices/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(invoice)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ValidationResponse.class)
+                .isEqualTo(new ValidationResponse(false, List.of(
+                        "Invoice number INV-REACTIVE-DUP has already been submitted")));
+    }
+
+    @Test
+    public void documentOverBufferLimitShouldReturnPayloadTooLarge() throws Exception {
+        String invoice = "{\"invoiceNumber\": \"" + "X".repeat(100_000) + "\", \"amount\": 5.0, \"currency\": \"EUR\"}";
+        webTestClient.post().uri("/invoices/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(invoice)
+                .exchange()
+                .expectStatus().isEqualTo(413)
+                .expectBody(ValidationResponse.class)
+                .isEqualTo(new ValidationResponse(false, List.of("Request body is too large")));
+    }
+
+    @Test
+    public void streamedInvoicesShouldReturnOneLinePerRecord() throws Exception {
+        String body = """
+                {"invoiceNumber": "INV001", "amount": 2500.0, "currency": "EUR"}
+                {"invoiceNumber": "INV002", "amount": 10.0, "currency": "ABC"}
+                {"invoiceNumber": "INV003", "amount": "lots"}
+                """;
+
+        List<ValidationResponse> responses = webTestClient.post().uri("/invoices/validate/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ValidationResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(List.of(
+                new ValidationResponse(true, List.of("Invoice is valid")),
+                new ValidationResponse(false, List.of("Invalid currency: ABC")),
+                new ValidationResponse(false, List.of("Invalid request format at record 3"))), responses);
+    }
+}
@@ -0,0 +1,52 @@
+package com.financials.fincheck;
+
+import com.financials.fincheck.dto.ValidationResponse;
+import com.financials.fincheck.model.Invoice;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@code virtual-threads} profile.
+ * <p>
+ * These tests start the embedded server on a random port, since the request executor only exists
+ * for a real connector.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsProfileIntegrationTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void requestsShouldBeHandledOnVirtualThreads() throws Exception {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+
+        assertInstanceOf(VirtualThreadExecutor.class,
+                webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+    }
+
+    @Test
+    public void validInvoiceShouldReturnSuccess() throws Exception {
+        ResponseEntity<ValidationResponse> response = restTemplate.postForEntity(
+                "/invoices/validate", new Invoice("INV001", 2500.0, "EUR"), ValidationResponse.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Invoice is valid"), response.getBody().messages());
+    }
+}
@@ -0,0 +1,78 @@
+package com.financials.fincheck.batch;
+
+import com.financials.fincheck.dto.BatchItemResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code BatchValidator}.
+ * <p>
+ * Verifies that results are returned in input order and tagged correctly, both for small
+ * batches validated inline and for large batches spread across virtual threads, and that
+ * {@code null} elements are reported per item.
+ */
+class BatchValidatorTest {
+    private final BatchValidator batchValidator = new BatchValidator(4);
+
+    @Test
+    public void smallBatchShouldReturnResultsInInputOrder() throws Exception {
+        List<String> ids = List.of("EMP001", "", "EMP003");
+
+        List<BatchItemResponse> results = batchValidator.validateAll(
+                ids, BatchValidatorTest::validate, id -> id, "Document is valid");
+
+        assertEquals(3, results.size());
+        assertEquals(new BatchItemResponse(0, "EMP001", true, List.of("Document is valid")), results.get(0));
+        assertEquals(new BatchItemResponse(1, "", false, List.of("ID must not be empty")), results.get(1));
+        assertEquals(new BatchItemResponse(2, "EMP003", true, List.of("Document is valid")), results.get(2));
+    }
+
+    @Test
+    public void largeBatchShouldReturnResultsInInputOrder() throws Exception {
+        List<String> ids = IntStream.range(0, 50_000)
+                .mapToObj(i -> i % 7 == 0 ? "" : "EMP" + i)
+                .toList();
+
+        List<BatchItemResponse> results = batchValidator.validateAll(
+                ids, BatchValidatorTest::validate, id -> id, "Document is valid");
+
+        assertEquals(ids.size(), results.size());
+        for (int i = 0; i < ids.size(); i++) {
+            BatchItemResponse result = results.get(i);
+            assertEquals(i, result.index());
+            assertEquals(ids.get(i), result.id());
+            assertEquals(i % 7 != 0, result.success());
+        }
+    }
+
+    @Test
+    public void nullDocumentsShouldBeReportedPerItem() throws Exception {
+        List<String> ids = IntStream.range(0, 1_000)
+                .mapToObj(i -> i % 100 == 0 ? null : "EMP" + i)
+                .toList();
+
+        List<BatchItemResponse> results = batchValidator.validateAll(
+                ids, BatchValidatorTest::validate, id -> id, "Document is valid");
+
+        assertEquals(new BatchItemResponse(0, null, false, List.of("Document is null")), results.get(0));
+        assertEquals(new BatchItemResponse(1, "EMP1", true, List.of("Document is valid")), results.get(1));
+        assertEquals(10, results.stream().filter(result -> !result.success()).count());
+    }
+
+    @Test
+    public void validatorFailureShouldPropagate() throws Exception {
+        List<String> ids = IntStream.range(0, 1_000).mapToObj(i -> "EMP" + i).toList();
+
+        assertThrows(IllegalArgumentException.class, () -> batchValidator.validateAll(ids, id -> {
+            throw new IllegalArgumentException("boom");
+        }, id -> id, "Document is valid"));
+    }
+
+    private static List<String> validate(String id) {
+        return id.isEmpty() ? List.of("ID must not be empty") : List.of();
+    }
+}
@@ -0,0 +1,145 @@
+package com.financials.fincheck.batch;
+
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.currency.CurrencySet;
+import com.financials.fincheck.duplicate.DuplicateInvoiceDetector;
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code InvoiceBatchValidator}.
+ * <p>
+ * These tests verify that both kernels return exactly the results of {@code InvoiceValidator}, in input order,
+ * including partially filled bit mask words, issuer-specific currencies and duplicate detection, and that
+ * {@code null} elements are reported per item.
+ */
+class InvoiceBatchValidatorTest {
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "SEK", "ZZZ", "eur", "EURO", "", null};
+
+    @Test
+    public void scalarKernelShouldMatchInvoiceValidator() throws Exception {
+        assertMatchesInvoiceValidator(InvoiceKernel.scalar(), ValidationSettings.DEFAULTS);
+    }
+
+    @Test
+    public void vectorKernelShouldMatchInvoiceValidator() throws Exception {
+        Optional<InvoiceKernel> vector = InvoiceKernel.vector();
+        if (vector.isEmpty()) {
+            // The JVM was started without jdk.incubator.vector, so there is only the scalar kernel
+            return;
+        }
+        assertMatchesInvoiceValidator(vector.get(), ValidationSettings.DEFAULTS);
+    }
+
+    @Test
+    public void issuerCurrenciesShouldMatchInvoiceValidator() throws Exception {
+        ValidationSettings settings = new ValidationSettings(CurrencySet.of("EUR"),
+                Map.of("ACME", CurrencySet.of("SEK", "USD")), 0, Set.of());
+        assertMatchesInvoiceValidator(InvoiceKernel.best(), settings);
+    }
+
+    @Test
+    public void manyAcceptedCurrenciesShouldMatchInvoiceValidator() throws Exception {
+        ValidationSettings settings = new ValidationSettings(CurrencySet.of("EUR", "USD", "GBP", "SEK", "NOK", "DKK",
+                "CHF", "PLN", "CZK", "HUF", "RON", "BGN", "ISK", "JPY", "CNY", "AUD", "CAD", "NZD"),
+                Map.of(), 0, Set.of());
+        assertMatchesInvoiceValidator(InvoiceKernel.best(), settings);
+    }
+
+    @Test
+    public void duplicateInvoiceNumbersShouldBeRejectedInBatchOrder() throws Exception {
+        try (DuplicateInvoiceDetector detector = new DuplicateInvoiceDetector(4, 16)) {
+            InvoiceBatchValidator validator = new InvoiceBatchValidator(Optional.of(detector),
+                    ValidationMetrics.disabled(), ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS),
+                    InvoiceKernel.best());
+
+            List<ValidationResult> results = validator.validateAll(List.of(
+                    new Invoice("INV-1", 10.0, "EUR"),
+                    new Invoice("INV-1", 10.0, "ABC"),
+                    new Invoice("INV-1", 10.0, "EUR"),
+                    new Invoice("INV-1", 10.0, "EUR", "ACME")));
+
+            assertTrue(results.get(0).isValid());
+            assertEquals(List.of("Invalid currency: ABC"), results.get(1));
+            assertEquals(List.of("Invoice number INV-1 has already been submitted"), results.get(2));
+            assertTrue(results.get(3).isValid());
+        }
+    }
+
+    @Test
+    public void nullInvoicesShouldBeReportedPerItem() throws Exception {
+        try (DuplicateInvoiceDetector detector = new DuplicateInvoiceDetector(4, 16)) {
+            InvoiceBatchValidator validator = new InvoiceBatchValidator(Optional.of(detector),
+                    ValidationMetrics.disabled(), ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS),
+                    InvoiceKernel.best());
+            List<Invoice> invoices = new ArrayList<>();
+            for (int i = 0; i < 70; i++) {
+                invoices.add(i % 3 == 0 ? null : new Invoice("INV-" + i, 10.0, "EUR"));
+            }
+
+            List<ValidationResult> results = validator.validateAll(invoices);
+
+            assertEquals(70, results.size());
+            for (int i = 0; i < 70; i++) {
+                assertEquals(i % 3 == 0 ? List.of("Document is null") : List.of(), results.get(i), "Invoice " + i);
+            }
+        }
+    }
+
+    @Test
+    public void emptyBatchShouldHaveNoResults() throws Exception {
+        assertEquals(List.of(), new InvoiceBatchValidator().validateAll(List.of()));
+    }
+
+    private static void assertMatchesInvoiceValidator(InvoiceKernel kernel, ValidationSettings settings) {
+        ValidationSettingsStore store = ValidationSettingsStore.fixed(settings);
+        InvoiceValidator expected = new InvoiceValidator(Optional.empty(), ValidationMetrics.disabled(), store);
+        InvoiceBatchValidator validator = new InvoiceBatchValidator(Optional.empty(), ValidationMetrics.disabled(),
+                store, kernel);
+        Random random = new Random(42);
+        // Sizes around word boundaries check the padding rows of the last word
+        for (int size : new int[]{1, 63, 64, 65, 1_000}) {
+            List<Invoice> invoices = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                invoices.add(randomInvoice(random));
+            }
+
+            List<ValidationResult> results = validator.validateAll(invoices);
+
+            assertEquals(size, results.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.validate(invoices.get(i)), results.get(i), "Invoice " + i + " of " + size);
+            }
+        }
+    }
+
+    private static Invoice randomInvoice(Random random) {
+        Double amount = switch (random.nextInt(6)) {
+            case 0 -> null;
+            case 1 -> -random.nextDouble(1_000);
+            case 2 -> -0.0;
+            case 3 -> Double.NaN;
+            default -> random.nextDouble(1_000);
+        };
+        String invoiceNumber = switch (random.nextInt(5)) {
+            case 0 -> null;
+            case 1 -> " ";
+            default -> "INV-" + random.nextInt(100_000);
+        };
+        String issuerId = random.nextBoolean() ? "ACME" : null;
+        return new Invoice(invoiceNumber, amount, CURRENCIES[random.nextInt(CURRENCIES.length)], issuerId);
+    }
+}
@@ -0,0 +1,72 @@
+package com.financials.fincheck.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"fincheck.cache.enabled=true", "fincheck.duplicates.enabled=true"})
+@AutoConfigureMockMvc
+class StatefulValidationCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("A resubmitted invoice should reach duplicate detection although the cache is enabled")
+    public void resubmittedInvoiceShouldBeRejectedAsDuplicate() throws Exception {
+        String invoice = "{\"invoiceNumber\": \"INV-CACHE-DUP\", \"amount\": 5.0, \"currency\": \"EUR\", \"issuerId\": \"ACME\"}";
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        mockMvc.perform(post("/invoices/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoice))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/invoices/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoice))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages[0]", is("Invoice number INV-CACHE-DUP has already been submitted")));
+
+        assertEquals(0, cacheGets("hit") - hitsBefore);
+        assertEquals(0, cacheGets("miss") - missesBefore);
+    }
+
+    @Test
+    @DisplayName("Endpoints without stateful rules should still be answered from the cache")
+    public void statelessEndpointShouldStillBeCached() throws Exception {
+        String payslip = "{\"employeeId\": \"EMP-CACHE\", \"grossSalary\": -1.0}";
+        double hitsBefore = cacheGets("hit");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/payslips/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(payslip))
+                    .andExpect(status().isBadRequest());
+        }
+
+        assertEquals(1, cacheGets("hit") - hitsBefore);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "validation.results")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.financials.fincheck.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "fincheck.cache.enabled=true")
+@AutoConfigureMockMvc
+class ValidationCacheFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Repeated identical submissions should be answered from the cache")
+    public void repeatedSubmissionShouldBeServedFromCache() throws Exception {
+        String invoice = "{\"invoiceNumber\": \"INV-CACHE-1\", \"amount\": -5.0, \"currency\": \"EUR\"}";
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/invoices/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(invoice))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(jsonPath("$.messages[0]", is("Amount must not be negative")));
+        }
+
+        assertEquals(1, cacheGets("miss") - missesBefore);
+        assertEquals(2, cacheGets("hit") - hitsBefore);
+    }
+
+    @Test
+    @DisplayName("Different bodies on the same endpoint should not share a cache entry")
+    public void differentBodiesShouldNotShareCacheEntry() throws Exception {
+        mockMvc.perform(post("/invoices/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"invoiceNumber\": \"INV-CACHE-2\", \"amount\": 5.0, \"currency\": \"EUR\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/invoices/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"invoiceNumber\": \"INV-CACHE-2\", \"amount\": 5.0, \"currency\": \"ABC\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages[0]", is("Invalid currency: ABC")));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "validation.results")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
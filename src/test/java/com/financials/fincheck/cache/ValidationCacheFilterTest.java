@@ -0,0 +1,116 @@
+package com.financials.fincheck.cache;
+
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.currency.ExchangeRates;
+import com.financials.fincheck.util.XxHash64;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@code ValidationCacheFilter}.
+ * <p>
+ * These tests verify that a repeated body is answered from the cache, that bodies whose hashes collide each get
+ * their own answer, and that a cached body can be read without blocking through a {@code ReadListener}.
+ */
+class ValidationCacheFilterTest {
+    private final AtomicInteger validations = new AtomicInteger();
+
+    @Test
+    public void repeatedBodyShouldBeAnsweredFromCache() throws Exception {
+        ValidationCacheFilter filter = filter(body -> XxHash64.hash(body, 0));
+
+        assertEquals("{\"a\":1}", post(filter, "{\"a\":1}"));
+        assertEquals("{\"a\":1}", post(filter, "{\"a\":1}"));
+        assertEquals(1, validations.get());
+    }
+
+    @Test
+    public void collidingBodiesShouldNotShareAnswer() throws Exception {
+        // Bodies of the same length share a key
+        ValidationCacheFilter filter = filter(body -> 0L);
+
+        assertEquals("{\"a\":1}", post(filter, "{\"a\":1}"));
+        assertEquals("{\"a\":2}", post(filter, "{\"a\":2}"));
+        assertEquals("{\"a\":2}", post(filter, "{\"a\":2}"));
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    public void cachedBodyShouldBeReadWithReadListener() throws Exception {
+        ServletInputStream in = new CachedBodyRequest(new MockHttpServletRequest(),
+                "{\"a\":1}".getBytes(StandardCharsets.UTF_8)).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[4];
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(buffer, 0, in.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertEquals("{\"a\":1}", read.toString(StandardCharsets.UTF_8));
+        assertTrue(allDataRead.get());
+    }
+
+    private ValidationCacheFilter filter(ToLongFunction<byte[]> hash) {
+        return new ValidationCacheFilter(new InvoiceValidator(), new PayslipValidator(), new ExpenseReportValidator(),
+                ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS), ExchangeRates.none(), 100, Duration.ofMinutes(10), DataSize.ofKilobytes(1), new SimpleMeterRegistry(), hash);
+    }
+
+    /**
+     * Posts a body to the invoice endpoint through the filter, to a servlet answering with the body it received.
+     */
+    private String post(ValidationCacheFilter filter, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/invoices/validate");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                validations.incrementAndGet();
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(req.getInputStream().readAllBytes());
+            }
+        }));
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.financials.fincheck.cache;
+
+import com.financials.fincheck.config.ValidationSettingsStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "fincheck.cache.enabled=true")
+@AutoConfigureMockMvc
+class ValidationCacheReloadIntegrationTest {
+    private static final Path RULES_FILE;
+
+    static {
+        try {
+            RULES_FILE = Files.createTempFile("fincheck-rules", ".properties");
+            Files.writeString(RULES_FILE, "invoice.currencies=EUR,SEK\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ValidationSettingsStore settingsStore;
+
+    @DynamicPropertySource
+    static void rulesFile(DynamicPropertyRegistry registry) {
+        registry.add("fincheck.rules.file", RULES_FILE::toString);
+    }
+
+    @Test
+    @DisplayName("A cached answer should not be reused after the validation settings are reloaded")
+    public void cachedAnswerShouldNotOutliveSettingsReload() throws Exception {
+        String invoice = "{\"invoiceNumber\": \"INV-CACHE-RELOAD\", \"amount\": 5.0, \"currency\": \"SEK\"}";
+        double hitsBefore = cacheGets("hit");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/invoices/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(invoice))
+                    .andExpect(status().isOk());
+        }
+        assertEquals(1, cacheGets("hit") - hitsBefore);
+
+        Files.writeString(RULES_FILE, "invoice.currencies=EUR\n");
+        assertTrue(settingsStore.reload());
+
+        mockMvc.perform(post("/invoices/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoice))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages[0]", is("Invalid currency: SEK")));
+        assertEquals(1, cacheGets("hit") - hitsBefore);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "validation.results")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,169 @@
+package com.financials.fincheck.cli;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code BulkFileValidator}.
+ * <p>
+ * These tests verify that records are validated line by line across chunk boundaries, that the report
+ * keeps file order and line numbers, that CSV columns bind to nested document properties, that conflicting
+ * CSV columns are rejected, and that a failed report write stops the remaining validation.
+ */
+class BulkFileValidatorTest {
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void ndjsonRecordsShouldBeReportedByLine() throws Exception {
+        Path file = write("invoices.ndjson", """
+                {"invoiceNumber": "INV-1", "amount": 10.0, "currency": "EUR"}
+                {"invoiceNumber": "INV-2", "amount": 10.0, "currency": "ABC"}
+
+                {"invoiceNumber": "INV-3", "amount":
+                {"invoiceNumber": "", "amount": -1.0, "currency": "USD"}\r
+                {"invoiceNumber": "INV-5", "amount": 10.0, "currency": "GBP"}""");
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        BulkFileValidator.Summary summary = new BulkFileValidator(OBJECT_MAPPER, 4, 16)
+                .validate(file, RecordFormat.NDJSON, Invoice.class, new InvoiceValidator()::validate, report);
+
+        assertEquals(5, summary.records());
+        assertEquals(3, summary.invalidRecords());
+        assertEquals(List.of(
+                "2\tcurrency\tInvalid currency: ABC",
+                "4\t-\tInvalid record format",
+                "5\tamount\tAmount must not be negative",
+                "5\tinvoiceNumber\tInvoice number must not be empty"), lines(report));
+    }
+
+    @Test
+    public void reportShouldKeepFileOrderAcrossChunks() throws Exception {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 5_000; i++) {
+            String currency = i % 7 == 0 ? "XXX" : "EUR";
+            content.append("{\"invoiceNumber\": \"INV-").append(i).append("\", \"amount\": 1.0, \"currency\": \"")
+                    .append(currency).append("\"}\n");
+            if (i % 7 == 0) {
+                expected.add(i + "\tcurrency\tInvalid currency: XXX");
+            }
+        }
+        Path file = write("invoices.ndjson", content.toString());
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        BulkFileValidator.Summary summary = new BulkFileValidator(OBJECT_MAPPER, 8, 1_000)
+                .validate(file, RecordFormat.NDJSON, Invoice.class, new InvoiceValidator()::validate, report);
+
+        assertEquals(5_000, summary.records());
+        assertEquals(expected.size(), summary.invalidRecords());
+        assertEquals(expected, lines(report));
+    }
+
+    @Test
+    public void csvColumnsShouldBindToNestedProperties() throws Exception {
+        Path file = write("payslips.csv", """
+                employeeId,employeeName,payPeriod,paymentDate,grossSalary,netSalary,deductions.Tax,deductions.Pension,paymentMethod,bankAccount,employer.companyName,employer.employerId,hoursWorked
+                EMP001,"Doe, John",2025-05,2025-05-25,3000.00,2300.00,500.00,200.00,BANK_TRANSFER,IE29AIBK93115212345678,ValidCorp Ltd,1234567A,160
+                EMP002,"Jane ""JJ"" Roe",2025-13,2025-05-25,3000.00,2400.00,500.00,200.00,CHEQUE,,ValidCorp Ltd,1234567A,160
+                EMP003,"Unterminated,2025-05
+                """);
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        BulkFileValidator.Summary summary = new BulkFileValidator(OBJECT_MAPPER, 2, 64)
+                .validate(file, RecordFormat.CSV, Payslip.class, new PayslipValidator()::validate, report);
+
+        assertEquals(3, summary.records());
+        assertEquals(2, summary.invalidRecords());
+        assertEquals(List.of(
+                "3\tpayPeriod\tPay period must follow the format YYYY-MM",
+                "3\tnetSalary\tNet salary does not match gross salary minus deductions",
+                "4\t-\tInvalid record format"), lines(report));
+    }
+
+    @Test
+    public void conflictingCsvColumnsShouldBeRejected() throws Exception {
+        BulkFileValidator validator = new BulkFileValidator(OBJECT_MAPPER, 2, 64);
+        for (String header : List.of("employeeId,employer,employer.employerId", "employer.employerId,employeeId,employer",
+                "employeeId,employeeId")) {
+            Path file = write("payslips.csv", header + "\nEMP001,ValidCorp Ltd,1234567A\n");
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> validator.validate(file,
+                    RecordFormat.CSV, Payslip.class, new PayslipValidator()::validate, new ByteArrayOutputStream()));
+            assertTrue(e.getMessage().startsWith("CSV header column "), e.getMessage());
+        }
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CsvRecordParser.forHeader("employer,employer.employerId".getBytes(StandardCharsets.UTF_8), 0, 28));
+        assertEquals("CSV header column employer.employerId conflicts with column employer", e.getMessage());
+    }
+
+    @Test
+    public void failedReportWriteShouldStopValidation() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 5_000; i++) {
+            content.append("{\"invoiceNumber\": \"INV-").append(i).append("\", \"amount\": 1.0, \"currency\": \"XXX\"}\n");
+        }
+        Path file = write("invoices.ndjson", content.toString());
+        AtomicInteger validated = new AtomicInteger();
+        OutputStream report = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Disk full");
+            }
+        };
+
+        IOException e = assertThrows(IOException.class, () -> new BulkFileValidator(OBJECT_MAPPER, 2, 64)
+                .validate(file, RecordFormat.NDJSON, Invoice.class, invoice -> {
+                    validated.incrementAndGet();
+                    return new InvoiceValidator().validate(invoice);
+                }, report));
+
+        assertEquals("Disk full", e.getMessage());
+        assertTrue(validated.get() < 100, "validated " + validated.get() + " records");
+    }
+
+    @Test
+    public void emptyFileShouldHaveNoRecords() throws Exception {
+        Path file = write("empty.ndjson", "");
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        BulkFileValidator.Summary summary = new BulkFileValidator(OBJECT_MAPPER, 2, 64)
+                .validate(file, RecordFormat.NDJSON, Invoice.class, new InvoiceValidator()::validate, report);
+
+        assertEquals(0, summary.records());
+        assertEquals(0, report.size());
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static List<String> lines(ByteArrayOutputStream report) {
+        String text = report.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.financials.fincheck.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ValidationSettingsStore}.
+ * <p>
+ * These tests verify that settings files are parsed into snapshots, including the currencies of single issuers
+ * and the currencies of category limits, that a reload publishes a new snapshot, and that a broken file keeps the
+ * previous one.
+ */
+class ValidationSettingsStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void noFileShouldUseDefaults() throws Exception {
+        try (ValidationSettingsStore store = new ValidationSettingsStore("")) {
+            assertSame(ValidationSettings.DEFAULTS, store.current());
+            assertFalse(store.reload());
+        }
+    }
+
+    @Test
+    public void fileShouldOverrideConfiguredKeysOnly() throws Exception {
+        Path file = write("invoice.currencies = SEK, NOK\n");
+        try (ValidationSettingsStore store = new ValidationSettingsStore(file.toString())) {
+            ValidationSettings settings = store.current();
+            assertEquals(Set.of("SEK", "NOK"), settings.invoiceCurrencies().codes());
+            assertEquals(0, settings.netSalaryTolerance());
+            assertTrue(settings.acceptsBankAccountCountry("DE"));
+        }
+    }
+
+    @Test
+    public void reloadShouldPublishNewSnapshot() throws Exception {
+        Path file = write("invoice.currencies=EUR\n");
+        try (ValidationSettingsStore store = new ValidationSettingsStore(file.toString())) {
+            ValidationSettings before = store.current();
+            write("invoice.currencies=EUR\npayslip.net-salary-tolerance=1\npayslip.bank-account-countries=IE\n");
+
+            assertTrue(store.reload());
+            ValidationSettings after = store.current();
+            assertNotSame(before, after);
+            assertEquals(1, after.netSalaryTolerance());
+            assertTrue(after.acceptsBankAccountCountry("IE"));
+            assertFalse(after.acceptsBankAccountCountry("DE"));
+        }
+    }
+
+    @Test
+    public void issuerCurrenciesShouldBeParsed() throws Exception {
+        Path file = write("invoice.currencies=EUR\ninvoice.currencies.ACME = SEK, NOK\n");
+        try (ValidationSettingsStore store = new ValidationSettingsStore(file.toString())) {
+            ValidationSettings settings = store.current();
+            assertEquals(Set.of("SEK", "NOK"), settings.invoiceCurrencies("ACME").codes());
+            assertEquals(Set.of("EUR"), settings.invoiceCurrencies("GLOBEX").codes());
+            assertEquals(Set.of("EUR"), settings.invoiceCurrencies(null).codes());
+            assertSame(settings.invoiceCurrencies(), settings.invoiceCurrencies("GLOBEX"));
+        }
+    }
+
+    @Test
+    public void lowerCaseCurrenciesShouldBeRejected() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("invoice.currencies.ACME", "sek");
+        assertThrows(IllegalArgumentException.class, () -> ValidationSettings.from(properties));
+    }
+
+    @Test
+    public void expensePoliciesShouldBeParsed() throws Exception {
+        Path file = write("expense.categories = Travel, Meals\nexpense.category-limit.Meals=150.50 EUR\n"
+                + "expense.spend-limit.Meals=2000 EUR/30d\n");
+        try (ValidationSettingsStore store = new ValidationSettingsStore(file.toString())) {
+            ValidationSettings settings = store.current();
+            assertEquals(Set.of("Travel", "Meals"), settings.expenseCategories());
+            assertTrue(settings.acceptsExpenseCategory("Meals"));
+            assertFalse(settings.acceptsExpenseCategory("Golf"));
+            assertEquals(new BigDecimal("150.50"), settings.expenseCategoryLimits().get("Meals").amount());
+            assertEquals("150.50 EUR on Meals", settings.expenseCategoryLimits().get("Meals").toString());
+            assertEquals("2000 EUR per 30 days on Meals", settings.expenseSpendLimits().get("Meals").toString());
+            assertTrue(ValidationSettings.DEFAULTS.acceptsExpenseCategory("Golf"));
+        }
+    }
+
+    @Test
+    public void categoryLimitsWithoutCurrencyShouldBeRejected() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("expense.category-limit.Meals", "150");
+        assertThrows(IllegalArgumentException.class, () -> ValidationSettings.from(properties));
+        properties.setProperty("expense.category-limit.Meals", "150.505 EUR");
+        assertThrows(IllegalArgumentException.class, () -> ValidationSettings.from(properties));
+    }
+
+    @Test
+    public void brokenFileShouldKeepPreviousSnapshot() throws Exception {
+        Path file = write("invoice.currencies=EUR\n");
+        try (ValidationSettingsStore store = new ValidationSettingsStore(file.toString())) {
+            ValidationSettings before = store.current();
+            write("invoice.currencies=EURO\n");
+
+            assertFalse(store.reload());
+            assertSame(before, store.current());
+        }
+    }
+
+    @Test
+    public void brokenFileAtStartupShouldFail() throws Exception {
+        Path file = write("payslip.net-salary-tolerance=-1\n");
+        assertThrows(IllegalArgumentException.class, () -> new ValidationSettingsStore(file.toString()));
+    }
+
+    @Test
+    public void changedFileShouldBeReloadedByWatcher() throws Exception {
+        Path file = write("invoice.currencies=EUR\n");
+        try (ValidationSettingsStore store = new ValidationSettingsStore(file.toString())) {
+            write("invoice.currencies=SEK\n");
+
+            // Watch services may poll, so allow for some delay
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (!store.current().invoiceCurrencies().codes().contains("SEK") && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(Set.of("SEK"), store.current().invoiceCurrencies().codes());
+        }
+    }
+
+    /**
+     * Replaces the settings file in one step, so the watcher never reads it half-written.
+     */
+    private Path write(String content) throws IOException {
+        Path file = directory.resolve("validation.properties");
+        Path temporary = Files.writeString(directory.resolve("validation.properties.tmp"), content);
+        return Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
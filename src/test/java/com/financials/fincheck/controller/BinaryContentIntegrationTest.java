@@ -0,0 +1,161 @@
+package com.financials.fincheck.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financials.fincheck.dto.BatchItemResponse;
+import com.financials.fincheck.dto.ValidationResponse;
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.stream.DocumentFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryContentIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        cborMapper = DocumentFormat.CBOR.mapper(objectMapper);
+        smileMapper = DocumentFormat.SMILE.mapper(objectMapper);
+    }
+
+    @Test
+    @DisplayName("CBOR payslip should be validated and answered in CBOR")
+    public void cborPayslipShouldReturnCborResponse() throws Exception {
+        byte[] body = mockMvc.perform(post("/payslips/validate")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(payslip(1000.0))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(new ValidationResponse(false, List.of("Net salary does not match gross salary minus deductions")),
+                cborMapper.readValue(body, ValidationResponse.class));
+    }
+
+    @Test
+    @DisplayName("Smile expense report should be validated and answered in Smile")
+    public void smileExpenseReportShouldReturnSmileResponse() throws Exception {
+        ExpenseReport report = new ExpenseReport("ER2025-0001", "EMP12345", "Client meeting",
+                Currency.getInstance("EUR"), LocalDate.now().minusDays(1),
+                List.of(new ExpenseItem("Travel", 75.50, LocalDate.now().minusDays(2), "Train to meeting")));
+
+        byte[] body = mockMvc.perform(post("/reports/validate")
+                        .contentType(DocumentFormat.SMILE.mediaType())
+                        .accept(DocumentFormat.SMILE.mediaType())
+                        .content(smileMapper.writeValueAsBytes(report)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(new ValidationResponse(true, List.of("Expense report is valid")),
+                smileMapper.readValue(body, ValidationResponse.class));
+    }
+
+    @Test
+    @DisplayName("Binary request without a binary Accept header should be answered in JSON")
+    public void binaryRequestShouldDefaultToJsonResponse() throws Exception {
+        mockMvc.perform(post("/invoices/validate/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(List.of(
+                                new Invoice("INV001", 2500.0, "EUR"), new Invoice("INV002", 10.0, "ABC")))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Concatenated CBOR invoices should be answered with one CBOR response per record")
+    public void cborStreamShouldReturnOneResponsePerRecord() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = cborMapper.createGenerator(body)) {
+            cborMapper.writeValue(generator, new Invoice("INV001", 2500.0, "EUR"));
+            cborMapper.writeValue(generator, new Invoice("INV002", 10.0, "ABC"));
+        }
+
+        MvcResult result = mockMvc.perform(post("/invoices/validate/stream")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body.toByteArray()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] responseBody = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (MappingIterator<ValidationResponse> responses = cborMapper.readerFor(ValidationResponse.class)
+                .readValues(responseBody)) {
+            assertEquals(List.of(
+                    new ValidationResponse(true, List.of("Invoice is valid")),
+                    new ValidationResponse(false, List.of("Invalid currency: ABC"))), responses.readAll());
+        }
+    }
+
+    @Test
+    @DisplayName("Smile batch should return results in input order")
+    public void smileBatchShouldReturnResultsInInputOrder() throws Exception {
+        byte[] body = mockMvc.perform(post("/payslips/validate/batch")
+                        .contentType(DocumentFormat.SMILE.mediaType())
+                        .accept(DocumentFormat.SMILE.mediaType())
+                        .content(smileMapper.writeValueAsBytes(List.of(payslip(2300.0), payslip(1000.0)))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BatchItemResponse[] results = smileMapper.readValue(body, BatchItemResponse[].class);
+        assertEquals(2, results.length);
+        assertTrue(results[0].success());
+        assertFalse(results[1].success());
+    }
+
+    private static Payslip payslip(double netSalary) {
+        return new Payslip(
+                "EMP001",
+                "John Doe",
+                "2025-05",
+                LocalDate.of(2025, 5, 25),
+                3000.0,
+                Map.of("Tax", 500.0, "Pension", 200.0),
+                netSalary,
+                PaymentMethod.BANK_TRANSFER,
+                "IE29AIBK93115212345678",
+                new Employer("ValidCorp Ltd", "1234567A"),
+                160
+        );
+    }
+}
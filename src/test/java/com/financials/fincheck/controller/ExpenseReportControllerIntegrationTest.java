@@ -73,15 +73,34 @@ public class ExpenseReportControllerIntegrationTest {
                         "Report ID must not be empty",
                         "Employee ID must not be empty",
                         "Business purpose must not be empty",
-                        "Submission date must not be in the future"
+                        "Submission date must not be in the future",
+                        "Expense item 0 category must not be empty",
+                        "Expense item 0 amount must be positive",
+                        "Expense item 0 description must not be empty"
                 )));
     }
-    // TODO: Add below conditionals to ExpenseReportValidator:
-    // "Invalid currency: ZZZ",
-    // "Expense item category must not be empty",
-    // "Expense item amount must be positive",
-    // "Expense date cannot be in the future",
-    // "Expense item description must not be empty"
+
+    @Test
+    @DisplayName("Unknown currency should be reported as a validation error")
+    public void unknownCurrencyShouldReturnValidationError() throws Exception {
+        String json = """
+                {
+                  "reportId": "ER2025-0002",
+                  "employeeId": "EMP12345",
+                  "businessPurpose": "Client meeting in Stockholm",
+                  "currency": "ZZZ",
+                  "submissionDate": "2025-05-01",
+                  "items": []
+                }
+                """;
+
+        mockMvc.perform(post("/reports/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.messages", containsInAnyOrder("Invalid currency: ZZZ")));
+    }
 
     @Test
     @DisplayName("Missing expense report fields should trigger validation errors")
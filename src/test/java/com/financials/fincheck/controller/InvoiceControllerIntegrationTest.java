@@ -1,6 +1,7 @@
 package com.financials.fincheck.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financials.fincheck.dto.ValidationResponse;
 import com.financials.fincheck.model.Invoice;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,9 +10,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -71,4 +77,77 @@ public class InvoiceControllerIntegrationTest {
                         "Invoice number must not be empty"
                 )));
     }
+
+    @Test
+    @DisplayName("Streamed invoices should return one validation line per record in input order")
+    public void streamedInvoicesShouldReturnOneResponsePerRecord() throws Exception {
+        String body = objectMapper.writeValueAsString(new Invoice("INV001", 2500.0, "EUR")) + "\n"
+                + objectMapper.writeValueAsString(new Invoice("", -100.0, "ABC")) + "\n"
+                + objectMapper.writeValueAsString(new Invoice("INV002", 10.0, "GBP")) + "\n";
+
+        MvcResult result = mockMvc.perform(post("/invoices/validate/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(3, lines.length);
+        ValidationResponse first = objectMapper.readValue(lines[0], ValidationResponse.class);
+        ValidationResponse second = objectMapper.readValue(lines[1], ValidationResponse.class);
+        ValidationResponse third = objectMapper.readValue(lines[2], ValidationResponse.class);
+        assertTrue(first.success());
+        assertFalse(second.success());
+        assertTrue(second.messages().contains("Invalid currency: ABC"));
+        assertTrue(third.success());
+    }
+
+    @Test
+    @DisplayName("Invoice batch should return one result per invoice in input order")
+    public void invoiceBatchShouldReturnResultsInInputOrder() throws Exception {
+        List<Invoice> invoices = List.of(
+                new Invoice("INV001", 2500.0, "EUR"),
+                new Invoice("INV002", -1.0, "ABC"),
+                new Invoice("INV003", 10.0, "USD"));
+
+        mockMvc.perform(post("/invoices/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invoices)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].id", is("INV001")))
+                .andExpect(jsonPath("$[0].success", is(true)))
+                .andExpect(jsonPath("$[0].messages[0]", is("Invoice is valid")))
+                .andExpect(jsonPath("$[1].id", is("INV002")))
+                .andExpect(jsonPath("$[1].success", is(false)))
+                .andExpect(jsonPath("$[1].messages", containsInAnyOrder(
+                        "Amount must not be negative",
+                        "Invalid currency: ABC")))
+                .andExpect(jsonPath("$[2].success", is(true)));
+    }
+
+    @Test
+    @DisplayName("Malformed streamed record should end the stream with a failure line")
+    public void malformedStreamedInvoiceShouldEndStream() throws Exception {
+        String body = objectMapper.writeValueAsString(new Invoice("INV001", 2500.0, "EUR")) + "\n"
+                + "{\"invoiceNumber\": \"INV002\", \"amount\": \"lots\"}\n";
+
+        MvcResult result = mockMvc.perform(post("/invoices/validate/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(2, lines.length);
+        ValidationResponse failure = objectMapper.readValue(lines[1], ValidationResponse.class);
+        assertFalse(failure.success());
+        assertEquals(List.of("Invalid request format at record 2"), failure.messages());
+    }
 }
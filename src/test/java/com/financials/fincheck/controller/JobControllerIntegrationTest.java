@@ -0,0 +1,119 @@
+package com.financials.fincheck.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JobControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Submitted payslip job should complete and return its results in pages")
+    public void payslipJobShouldCompleteWithPagedResults() throws Exception {
+        Payslip valid = payslip("EMP001", 2300.0);
+        Payslip invalid = payslip("EMP002", 1000.0);
+
+        MvcResult submitted = mockMvc.perform(post("/jobs/payslip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid, valid))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.type", is("payslip")))
+                .andReturn();
+        String location = submitted.getResponse().getHeader("Location");
+
+        awaitStatus(location, "COMPLETED");
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents", is(3)))
+                .andExpect(jsonPath("$.invalidDocuments", is(1)));
+
+        mockMvc.perform(get(location + "/results").param("page", "0").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete", is(true)))
+                .andExpect(jsonPath("$.items.length()", is(2)))
+                .andExpect(jsonPath("$.items[0].id", is("EMP001")))
+                .andExpect(jsonPath("$.items[0].success", is(true)))
+                .andExpect(jsonPath("$.items[1].id", is("EMP002")))
+                .andExpect(jsonPath("$.items[1].messages[0]", is("Net salary does not match gross salary minus deductions")));
+        mockMvc.perform(get(location + "/results").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", is(1)))
+                .andExpect(jsonPath("$.items[0].index", is(2)));
+
+        mockMvc.perform(delete(location)).andExpect(status().isNoContent());
+        mockMvc.perform(get(location)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Unknown document type or job should return 404")
+    public void unknownTypeOrJobShouldReturnNotFound() throws Exception {
+        mockMvc.perform(post("/jobs/receipt")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/jobs/no-such-job/results"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Oversized result page should return 400")
+    public void oversizedPageShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/jobs/no-such-job/results").param("size", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void awaitStatus(String location, String status) throws Exception {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        String current;
+        do {
+            Thread.sleep(20);
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString());
+            current = job.get("status").asText();
+        } while (!current.equals(status) && System.nanoTime() < deadline);
+        mockMvc.perform(get(location)).andExpect(jsonPath("$.status", is(status)));
+    }
+
+    private static Payslip payslip(String employeeId, double netSalary) {
+        return new Payslip(
+                employeeId,
+                "John Doe",
+                "2025-05",
+                LocalDate.of(2025, 5, 25),
+                3000.0,
+                Map.of("Tax", 500.0, "Pension", 200.0),
+                netSalary,
+                PaymentMethod.BANK_TRANSFER,
+                "IE29AIBK93115212345678",
+                new Employer("ValidCorp Ltd", "1234567A"),
+                160
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package com.financials.fincheck.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "fincheck.payroll-runs.enabled=true")
+@AutoConfigureMockMvc
+class PayrollRunControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Valid payslips of a run should be totalled and reconciled when the run is closed")
+    public void closedRunShouldBeReconciledWithControlTotals() throws Exception {
+        mockMvc.perform(post("/payslips/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + payslip("EMP001", "RUN-1", 2300.0) + "," + payslip("EMP002", "RUN-1", 2300.0)
+                                + "," + payslip("EMP003", "RUN-1", 1000.0) + "]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/payroll-runs/RUN-1/2025-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.headcount", is(2)))
+                .andExpect(jsonPath("$.currency", is("EUR")))
+                .andExpect(jsonPath("$.netTotal", is(4600.0)))
+                .andExpect(jsonPath("$.closed", is(false)));
+
+        mockMvc.perform(post("/payroll-runs/RUN-1/2025-05/close")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currency\": \"EUR\", \"headcount\": 2, \"grossTotal\": 6000.00,"
+                                + " \"netTotal\": 4600.00, \"deductions\": {\"Tax\": 1000, \"Pension\": 400}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.closed", is(true)))
+                .andExpect(jsonPath("$.reconciled", is(true)))
+                .andExpect(jsonPath("$.discrepancies", empty()));
+
+        mockMvc.perform(get("/payroll-runs/RUN-1/2025-05"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("A run not matching its control totals should be closed with the differences")
+    public void mismatchedRunShouldReportDiscrepancies() throws Exception {
+        mockMvc.perform(post("/payslips/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payslip("EMP001", "RUN-2", 2300.0)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/payroll-runs/RUN-2/2025-05/close")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"headcount\": 3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reconciled", is(false)))
+                .andExpect(jsonPath("$.discrepancies[0]", is("Headcount 1 does not match control total 3")));
+
+        mockMvc.perform(post("/payroll-runs/RUN-2/2025-05/close")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String payslip(String employeeId, String employerId, double netSalary) {
+        return """
+                {
+                  "employeeId": "%s",
+                  "employeeName": "Jane Doe",
+                  "payPeriod": "2025-05",
+                  "paymentDate": "2025-05-25",
+                  "grossSalary": 3000.0,
+                  "deductions": {"Tax": 500.0, "Pension": 200.0},
+                  "netSalary": %s,
+                  "paymentMethod": "BANK_TRANSFER",
+                  "bankAccount": "IE29AIBK93115212345678",
+                  "employer": {"companyName": "ACME Ltd", "employerId": "%s"},
+                  "hoursWorked": 160
+                }""".formatted(employeeId, netSalary, employerId);
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -116,4 +117,77 @@ class PayslipControllerIntegrationTest {
                         "Employer must not be empty"
                 )));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Payslip amounts should be checked against the scale of the payslip currency")
+    public void payslipAmountsShouldFollowCurrencyScale() throws Exception {
+        String json = """
+                {
+                  "employeeId": "EMP001",
+                  "employeeName": "John Doe",
+                  "payPeriod": "2025-05",
+                  "paymentDate": "2025-05-25",
+                  "currency": "JPY",
+                  "grossSalary": 300000.5,
+                  "deductions": {"Tax": 50000, "Pension": null},
+                  "netSalary": 250000,
+                  "paymentMethod": "CASH",
+                  "employer": {"companyName": "ValidCorp Ltd", "employerId": "1234567A"},
+                  "hoursWorked": 160
+                }
+                """;
+
+        mockMvc.perform(post("/payslips/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.messages", containsInAnyOrder(
+                        "Gross salary is not a valid amount in JPY",
+                        "Deduction amount for 'Pension' must be non-negative and not null"
+                )));
+    }
+
+    @Test
+    @DisplayName("Payslip batch should return one result per payslip in input order")
+    public void payslipBatchShouldReturnResultsInInputOrder() throws Exception {
+        Payslip valid = new Payslip(
+                "EMP001",
+                "John Doe",
+                "2025-05",
+                LocalDate.of(2025, 5, 25),
+                3000.0,
+                Map.of("Tax", 500.0, "Pension", 200.0),
+                2300.0,
+                PaymentMethod.BANK_TRANSFER,
+                "IE29AIBK93115212345678",
+                new Employer("ValidCorp Ltd", "1234567A"),
+                160
+        );
+        Payslip invalid = new Payslip(
+                "EMP002",
+                "Jane Doe",
+                "2025-05",
+                LocalDate.of(2025, 5, 25),
+                3000.0,
+                Map.of("Tax", 500.0),
+                1000.0,
+                PaymentMethod.CASH,
+                null,
+                new Employer("ValidCorp Ltd", "1234567A"),
+                160
+        );
+
+        mockMvc.perform(post("/payslips/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].id", is("EMP001")))
+                .andExpect(jsonPath("$[0].success", is(true)))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].id", is("EMP002")))
+                .andExpect(jsonPath("$[1].success", is(false)))
+                .andExpect(jsonPath("$[1].messages[0]", is("Net salary does not match gross salary minus deductions")));
+    }
+}
@@ -0,0 +1,82 @@
+package com.financials.fincheck.currency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Currency;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code CurrencyRegistry} and {@code CurrencySet}.
+ * <p>
+ * These tests verify code packing, allocation-free lookup of registered codes, case-insensitive resolution,
+ * unregistered codes and bitset membership.
+ */
+class CurrencyRegistryTest {
+
+    @Test
+    public void packShouldBeDistinctForEveryCode() throws Exception {
+        assertEquals(0, CurrencyRegistry.pack('A', 'A', 'A'));
+        assertEquals(26 * 26 * 26 - 1, CurrencyRegistry.pack('Z', 'Z', 'Z'));
+        assertEquals(CurrencyRegistry.pack('E', 'U', 'R'), CurrencyRegistry.pack('e', 'u', 'r'));
+        assertNotEquals(CurrencyRegistry.pack('E', 'U', 'R'), CurrencyRegistry.pack('R', 'U', 'E'));
+        assertEquals(CurrencyRegistry.NOT_A_CODE, CurrencyRegistry.pack('E', '1', 'R'));
+        assertEquals(CurrencyRegistry.NOT_A_CODE, CurrencyRegistry.pack('E', 'U', '['));
+    }
+
+    @Test
+    public void registeredCodesShouldResolveToSharedInstance() throws Exception {
+        char[] buffer = "{\"currency\":\"eur\"}".toCharArray();
+        CurrencyCode code = CurrencyRegistry.lookup(buffer, 13, 3);
+
+        assertSame(CurrencyRegistry.resolve("EUR"), code);
+        assertSame(code, CurrencyRegistry.resolve(buffer, 13, 3));
+        assertSame(code, CurrencyRegistry.of(Currency.getInstance("EUR")));
+        assertTrue(code.isRegistered());
+        assertEquals("EUR", code.code());
+        assertEquals(Currency.getInstance("EUR"), code.currency());
+    }
+
+    @Test
+    public void lowerCaseCodesShouldResolveToUpperCaseCode() throws Exception {
+        CurrencyCode code = CurrencyRegistry.resolve("usd");
+
+        assertSame(CurrencyRegistry.resolve("USD"), code);
+        assertSame(code, CurrencyRegistry.resolve("uSd"));
+        assertEquals("USD", code.code());
+        // Unregistered codes keep their case
+        assertEquals("zzz", CurrencyRegistry.resolve("zzz").code());
+    }
+
+    @Test
+    public void unknownCodesShouldBeKeptAsSubmitted() throws Exception {
+        char[] buffer = "EURO".toCharArray();
+        assertNull(CurrencyRegistry.lookup(buffer, 0, 4));
+
+        CurrencyCode code = CurrencyRegistry.resolve(buffer, 0, 4);
+        assertFalse(code.isRegistered());
+        assertNull(code.currency());
+        assertEquals("EURO", code.toString());
+        assertFalse(CurrencyRegistry.resolve("ZZZ").isRegistered());
+        assertNull(CurrencyRegistry.resolve((String) null));
+    }
+
+    @Test
+    public void currencySetShouldContainOnlyItsCodes() throws Exception {
+        CurrencySet set = CurrencySet.of("USD", "EUR", "GBP");
+
+        assertTrue(set.contains(CurrencyRegistry.resolve("EUR")));
+        assertTrue(set.contains(CurrencyRegistry.resolve("gbp")));
+        assertFalse(set.contains(CurrencyRegistry.resolve("SEK")));
+        assertFalse(set.contains(CurrencyRegistry.resolve("ZZZ")));
+        assertFalse(set.contains(null));
+        assertEquals(Set.of("EUR", "GBP", "USD"), set.codes());
+        assertEquals(set, CurrencySet.of("GBP", "USD", "EUR"));
+    }
+
+    @Test
+    public void currencySetShouldRejectUnknownCodes() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> CurrencySet.of("EUR", "ZZZ"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.financials.fincheck.currency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ExchangeRateTable} and {@code ExchangeRates}.
+ * <p>
+ * These tests verify that CSV rate files compile into a date-indexed table, that days without rates take
+ * those of the day before, and that a rate file that cannot be compiled keeps the previous table.
+ */
+class ExchangeRateTableTest {
+    private static final CurrencyCode EUR = CurrencyRegistry.resolve("EUR");
+    private static final CurrencyCode USD = CurrencyRegistry.resolve("USD");
+    private static final CurrencyCode JPY = CurrencyRegistry.resolve("JPY");
+    private static final CurrencyCode GBP = CurrencyRegistry.resolve("GBP");
+
+    // Friday, then Monday, in the ECB layout: newest first, a trailing comma and N/A for unpublished rates
+    private static final String RATES = """
+            Date,USD,JPY,GBP,
+            2025-06-16,1.1000,160,N/A,
+            2025-06-13,1.2000,150,0.8500,
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void ratesShouldBeLookedUpByCurrencyAndDate() throws Exception {
+        ExchangeRateTable table = compile(RATES, 7);
+
+        assertEquals(LocalDate.of(2025, 6, 13), table.firstDate());
+        assertEquals(LocalDate.of(2025, 6, 16), table.lastDate());
+        assertEquals(4, table.currencyCount());
+        assertEquals(1.0, table.rate(EUR, LocalDate.of(2025, 6, 13)));
+        assertEquals(1.2, table.rate(USD, LocalDate.of(2025, 6, 13)));
+        assertEquals(160.0, table.rate(JPY, LocalDate.of(2025, 6, 16)));
+        assertTrue(Double.isNaN(table.rate(GBP, LocalDate.of(2025, 6, 16))));
+        assertTrue(Double.isNaN(table.rate(CurrencyRegistry.resolve("SEK"), LocalDate.of(2025, 6, 13))));
+        assertTrue(Double.isNaN(table.rate(CurrencyRegistry.resolve("XYZ"), LocalDate.of(2025, 6, 13))));
+    }
+
+    @Test
+    public void daysWithoutRatesShouldTakeThoseOfTheDayBefore() throws Exception {
+        ExchangeRateTable table = compile(RATES, 7);
+
+        assertEquals(1.2, table.rate(USD, LocalDate.of(2025, 6, 14)));
+        assertEquals(0.85, table.rate(GBP, LocalDate.of(2025, 6, 15)));
+        assertEquals(1.1, table.rate(USD, LocalDate.of(2025, 6, 23)));
+        assertTrue(Double.isNaN(table.rate(USD, LocalDate.of(2025, 6, 24))));
+        assertTrue(Double.isNaN(table.rate(USD, LocalDate.of(2025, 6, 12))));
+    }
+
+    @Test
+    public void factorShouldConvertBetweenMinorUnits() throws Exception {
+        ExchangeRateTable table = compile(RATES, 0);
+        LocalDate date = LocalDate.of(2025, 6, 13);
+
+        // 120.00 USD is 100.00 EUR and 15,000 JPY
+        assertEquals(10_000.0, Math.rint(12_000 * table.factor(USD, 2, EUR, 2, date)));
+        assertEquals(15_000.0, Math.rint(12_000 * table.factor(USD, 2, JPY, 0, date)));
+        assertEquals(12_000.0, Math.rint(15_000 * table.factor(JPY, 0, USD, 2, date)));
+        assertTrue(Double.isNaN(table.factor(GBP, 2, EUR, 2, LocalDate.of(2025, 6, 16))));
+    }
+
+    @Test
+    public void malformedFilesShouldBeRejected() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> compile("Date,USD\n2025-06-13,-1\n", 0));
+        assertThrows(IllegalArgumentException.class, () -> compile("Date,EURO\n2025-06-13,1\n", 0));
+        assertThrows(IllegalArgumentException.class, () -> compile("Date,USD\n13/06/2025,1.2\n", 0));
+        assertThrows(IllegalArgumentException.class, () -> compile("Date,USD\n", 0));
+        Path notCompiled = Files.writeString(directory.resolve("rates.bin"), RATES);
+        assertThrows(IllegalArgumentException.class, () -> ExchangeRateTable.open(notCompiled, 0));
+    }
+
+    @Test
+    public void brokenRateFileShouldKeepPreviousTable() throws Exception {
+        Path file = Files.writeString(directory.resolve("rates.csv"), RATES);
+        try (ExchangeRates rates = new ExchangeRates(file.toString(), "EUR", 7, directory.toString())) {
+            ExchangeRateTable before = rates.current();
+            Files.writeString(file, "Date,USD\n2025-06-17,not a rate\n");
+
+            assertFalse(rates.reload());
+            assertSame(before, rates.current());
+
+            Files.writeString(file, "Date,USD\n2025-06-17,1.3\n");
+            assertTrue(rates.reload());
+            assertEquals(1.3, rates.current().rate(USD, LocalDate.of(2025, 6, 17)));
+        }
+        assertNull(ExchangeRates.none().current());
+    }
+
+    private ExchangeRateTable compile(String csv, int carryForwardDays) throws IOException {
+        Path source = Files.writeString(Files.createTempFile(directory, "rates", ".csv"), csv);
+        Path target = Files.createTempFile(directory, "rates", ".bin");
+        ExchangeRateTable.compile(source, EUR, target);
+        return ExchangeRateTable.open(target, carryForwardDays);
+    }
+}
@@ -0,0 +1,109 @@
+package com.financials.fincheck.dto;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ExpenseReportDeserializer}.
+ * <p>
+ * These tests verify that reports and their items bind as they did through the bean deserializer, that item
+ * amounts end up at the scale of the report currency wherever it appears, and that binding failures keep
+ * Jackson's path down to the item.
+ */
+class ExpenseReportDeserializerTest {
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    public void serializedReportShouldBindToEqualProperties() throws Exception {
+        ExpenseReport report = new ExpenseReport("ER2025-0001", "EMP12345", "Client meeting in Stockholm",
+                Currency.getInstance("EUR"), LocalDate.of(2025, 6, 16), List.of(
+                new ExpenseItem("Travel", 75.50, LocalDate.of(2025, 6, 14), "Train to meeting"),
+                new ExpenseItem("Meals", 40.00, LocalDate.of(2025, 6, 14), "Lunch with client")));
+
+        ExpenseReport bound = OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsString(report), ExpenseReport.class);
+
+        assertEquals("ER2025-0001", bound.getReportId());
+        assertEquals("EMP12345", bound.getEmployeeId());
+        assertEquals("Client meeting in Stockholm", bound.getBusinessPurpose());
+        assertEquals(Currency.getInstance("EUR"), bound.getCurrency());
+        assertEquals(LocalDate.of(2025, 6, 16), bound.getSubmissionDate());
+        assertEquals(2, bound.getItems().size());
+        ExpenseItem travel = bound.getItems().getFirst();
+        assertEquals("Travel", travel.getCategory());
+        assertEquals(7550, travel.getAmountMinor());
+        assertEquals(2, travel.getScale());
+        assertEquals(LocalDate.of(2025, 6, 14), travel.getExpenseDate());
+        assertEquals("Train to meeting", travel.getDescription());
+        assertEquals(4000, bound.getItems().get(1).getAmountMinor());
+    }
+
+    @Test
+    public void itemAmountsShouldBeRescaledWhenCurrencyFollowsItems() throws Exception {
+        ExpenseReport report = OBJECT_MAPPER.readValue("""
+                {"items": [{"amount": 1200}, null, {"amount": null}], "currency": "JPY"}""", ExpenseReport.class);
+
+        assertEquals(1200, report.getItems().getFirst().getAmountMinor());
+        assertEquals(0, report.getItems().getFirst().getScale());
+        assertNull(report.getItems().get(1));
+        assertEquals(Money.ABSENT, report.getItems().get(2).getAmountMinor());
+    }
+
+    @Test
+    public void itemCurrenciesAndTotalShouldBindAtTheirOwnScale() throws Exception {
+        ExpenseReport report = OBJECT_MAPPER.readValue("""
+                {"currency": "EUR", "total": 112.5,
+                 "items": [{"amount": 1200, "currency": "JPY"}, {"amount": 100.5, "currency": "EURO"}, {"amount": 5}]}""",
+                ExpenseReport.class);
+
+        assertEquals(11250, report.getTotalMinor());
+        ExpenseItem yen = report.getItems().getFirst();
+        assertEquals(Currency.getInstance("JPY"), yen.getCurrency());
+        assertEquals(1200, yen.getAmountMinor());
+        assertEquals(0, yen.getScale());
+        assertEquals("EURO", report.getItems().get(1).getCurrencyCode().code());
+        assertEquals(Money.PARSE_SCALE, report.getItems().get(1).getScale());
+        assertNull(report.getItems().get(2).getCurrencyCode());
+        assertEquals(500, report.getItems().get(2).getAmountMinor());
+    }
+
+    @Test
+    public void nullsShouldBindToNull() throws Exception {
+        ExpenseReport report = OBJECT_MAPPER.readValue("""
+                {"reportId": null, "currency": null, "submissionDate": null, "items": null}""", ExpenseReport.class);
+
+        assertNull(report.getReportId());
+        assertNull(report.getCurrencyCode());
+        assertNull(report.getSubmissionDate());
+        assertNull(report.getItems());
+    }
+
+    @Test
+    public void bindingFailuresShouldNameTheItem() throws Exception {
+        JsonMappingException badDate = assertThrows(JsonMappingException.class, () -> OBJECT_MAPPER.readValue("""
+                {"items": [{"amount": 1.0}, {"expenseDate": "yesterday"}]}""", ExpenseReport.class));
+        assertEquals("items", badDate.getPath().get(0).getFieldName());
+        assertEquals(1, badDate.getPath().get(1).getIndex());
+        assertEquals("expenseDate", badDate.getPath().get(2).getFieldName());
+
+        assertThrows(JsonMappingException.class,
+                () -> OBJECT_MAPPER.readValue("{\"items\": {\"amount\": 1.0}}", ExpenseReport.class));
+
+        UnrecognizedPropertyException unknown = assertThrows(UnrecognizedPropertyException.class,
+                () -> OBJECT_MAPPER.readValue("{\"items\": [{\"receipt\": true}]}", ExpenseReport.class));
+        assertEquals("receipt", unknown.getPropertyName());
+        assertEquals(ExpenseItem.class, unknown.getReferringClass());
+        assertEquals(3, unknown.getPath().size());
+    }
+}
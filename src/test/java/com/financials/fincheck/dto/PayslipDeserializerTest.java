@@ -0,0 +1,128 @@
+package com.financials.fincheck.dto;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financials.fincheck.model.Deductions;
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code PayslipDeserializer}.
+ * <p>
+ * These tests verify that every property binds as it did through the bean deserializer, that the deductions
+ * carry their sum and validity once bound, and that binding failures keep Jackson's path and messages.
+ */
+class PayslipDeserializerTest {
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    public void serializedPayslipShouldBindToEqualProperties() throws Exception {
+        Map<String, Double> deductions = new LinkedHashMap<>();
+        deductions.put("Tax", 500.0);
+        deductions.put("Pension", 200.25);
+        Payslip payslip = new Payslip("EMP001", "John Doe", "2025-05", LocalDate.of(2025, 5, 25), 3000.0,
+                deductions, 2299.75, PaymentMethod.BANK_TRANSFER, "IE29AIBK93115212345678",
+                new Employer("ValidCorp Ltd", "1234567A"), 160);
+
+        Payslip bound = OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsString(payslip), Payslip.class);
+
+        assertEquals("EMP001", bound.getEmployeeId());
+        assertEquals("John Doe", bound.getEmployeeName());
+        assertEquals("2025-05", bound.getPayPeriod());
+        assertEquals(LocalDate.of(2025, 5, 25), bound.getPaymentDate());
+        assertEquals("EUR", bound.getCurrencyCode().code());
+        assertEquals(300000, bound.getGrossSalaryMinor());
+        assertEquals(229975, bound.getNetSalaryMinor());
+        assertEquals(deductions, bound.getDeductions());
+        assertEquals(PaymentMethod.BANK_TRANSFER, bound.getPaymentMethod());
+        assertEquals("IE29AIBK93115212345678", bound.getBankAccount());
+        assertEquals("ValidCorp Ltd", bound.getEmployer().companyName());
+        assertEquals(160, bound.getHoursWorked());
+    }
+
+    @Test
+    public void deductionsShouldCarrySumAtCurrencyScale() throws Exception {
+        Payslip payslip = OBJECT_MAPPER.readValue("""
+                {"currency": "JPY", "deductions": {"Tax": 500, "Pension": 200}, "grossSalary": "3000"}""", Payslip.class);
+
+        Deductions deductions = payslip.getDeductionAmounts();
+        assertEquals(700, deductions.total());
+        assertFalse(deductions.hasInvalid());
+        assertEquals(3000, payslip.getGrossSalaryMinor());
+        assertEquals(Money.ABSENT, payslip.getNetSalaryMinor());
+    }
+
+    @Test
+    public void invalidDeductionsShouldBeLeftOutOfSum() throws Exception {
+        Payslip payslip = OBJECT_MAPPER.readValue("""
+                {"deductions": {"Tax": 500.0, "Fine": -10.0, " ": 1.0, "Pension": null}}""", Payslip.class);
+
+        Deductions deductions = payslip.getDeductionAmounts();
+        assertEquals(4, deductions.size());
+        assertEquals(50000, deductions.total());
+        assertTrue(deductions.hasInvalid());
+    }
+
+    @Test
+    public void nullsAndMissingPropertiesShouldBindToDefaults() throws Exception {
+        Payslip payslip = OBJECT_MAPPER.readValue("""
+                {"employeeId": null, "currency": null, "deductions": null, "employer": null, "hoursWorked": null}""",
+                Payslip.class);
+
+        assertNull(payslip.getEmployeeId());
+        assertEquals(Payslip.DEFAULT_CURRENCY, payslip.getCurrency());
+        assertNull(payslip.getDeductionAmounts());
+        assertNull(payslip.getEmployer());
+        assertNull(payslip.getPaymentDate());
+        assertEquals(Money.ABSENT, payslip.getGrossSalaryMinor());
+        assertEquals(0, payslip.getHoursWorked());
+    }
+
+    @Test
+    public void scalarsShouldBeCoercedAsBeforeForStringsAndNumbers() throws Exception {
+        Payslip payslip = OBJECT_MAPPER.readValue("""
+                {"employeeId": 42, "hoursWorked": "160"}""", Payslip.class);
+
+        assertEquals("42", payslip.getEmployeeId());
+        assertEquals(160, payslip.getHoursWorked());
+    }
+
+    @Test
+    public void bindingFailuresShouldNameTheProperty() throws Exception {
+        JsonMappingException badDate = assertThrows(JsonMappingException.class,
+                () -> OBJECT_MAPPER.readValue("{\"paymentDate\": \"25/05/2025\"}", Payslip.class));
+        assertEquals("paymentDate", badDate.getPath().getFirst().getFieldName());
+
+        JsonMappingException badEmployer = assertThrows(JsonMappingException.class,
+                () -> OBJECT_MAPPER.readValue("{\"employer\": {\"companyName\": []}}", Payslip.class));
+        assertEquals("employer", badEmployer.getPath().getFirst().getFieldName());
+        assertEquals("companyName", badEmployer.getPath().get(1).getFieldName());
+
+        UnrecognizedPropertyException unknown = assertThrows(UnrecognizedPropertyException.class,
+                () -> OBJECT_MAPPER.readValue("{\"bonus\": 1}", Payslip.class));
+        assertEquals("bonus", unknown.getPropertyName());
+        assertEquals(1, unknown.getPath().size());
+        assertTrue(unknown.getKnownPropertyIds().contains("grossSalary"));
+    }
+
+    @Test
+    public void unknownPropertiesShouldBeSkippedWhenAllowed() throws Exception {
+        Payslip payslip = OBJECT_MAPPER.readerFor(Payslip.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue("{\"bonus\": {\"amount\": [1, 2]}, \"employeeId\": \"EMP001\"}");
+
+        assertEquals("EMP001", payslip.getEmployeeId());
+    }
+}
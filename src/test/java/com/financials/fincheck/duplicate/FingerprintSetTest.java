@@ -0,0 +1,77 @@
+package com.financials.fincheck.duplicate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code FingerprintSet}.
+ * <p>
+ * These tests verify set semantics across table growth and under concurrent insertion.
+ */
+class FingerprintSetTest {
+
+    @Test
+    public void addShouldReportWhetherFingerprintWasNew() throws Exception {
+        try (FingerprintSet set = new FingerprintSet(4, 16)) {
+            assertTrue(set.add(1, 2));
+            assertFalse(set.add(1, 2));
+            assertTrue(set.add(2, 1));
+            assertTrue(set.contains(1, 2));
+            assertFalse(set.contains(3, 3));
+            assertEquals(2, set.size());
+        }
+    }
+
+    @Test
+    public void zeroFingerprintShouldBeStorable() throws Exception {
+        try (FingerprintSet set = new FingerprintSet(1, 16)) {
+            assertFalse(set.contains(0, 0));
+            assertTrue(set.add(0, 0));
+            assertTrue(set.contains(0, 0));
+            assertFalse(set.add(0, 0));
+        }
+    }
+
+    @Test
+    public void setShouldKeepAllEntriesWhenGrowing() throws Exception {
+        try (FingerprintSet set = new FingerprintSet(2, 16)) {
+            long memoryBefore = set.memoryBytes();
+            for (long i = 0; i < 100_000; i++) {
+                assertTrue(set.add(i * 0x9E3779B97F4A7C15L, i));
+            }
+            for (long i = 0; i < 100_000; i++) {
+                assertTrue(set.contains(i * 0x9E3779B97F4A7C15L, i));
+                assertFalse(set.add(i * 0x9E3779B97F4A7C15L, i));
+            }
+            assertEquals(100_000, set.size());
+            assertTrue(set.memoryBytes() > memoryBefore);
+        }
+    }
+
+    @Test
+    public void concurrentAddsShouldAcceptEachFingerprintOnce() throws Exception {
+        try (FingerprintSet set = new FingerprintSet(8, 1024)) {
+            AtomicInteger accepted = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (long i = 0; i < 20_000; i++) {
+                        if (set.add(i * 0x9E3779B97F4A7C15L, ~i)) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(20_000, accepted.get());
+            assertEquals(20_000, set.size());
+        }
+    }
+}
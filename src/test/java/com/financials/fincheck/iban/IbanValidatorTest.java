@@ -0,0 +1,69 @@
+package com.financials.fincheck.iban;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@code IbanValidator}.
+ * <p>
+ * These tests verify registry-based length and structure checks as well as the MOD 97-10 checksum.
+ */
+class IbanValidatorTest {
+
+    @Test
+    public void validIbansShouldPass() throws Exception {
+        List<String> ibans = List.of(
+                "IE29AIBK93115212345678",
+                "GB82WEST12345698765432",
+                "DE89370400440532013000",
+                "FR1420041010050500013M02606",
+                "NL91ABNA0417164300",
+                "BE68539007547034",
+                "CH9300762011623852957",
+                "IT60X0542811101000000123456",
+                "ES9121000418450200051332",
+                "NO9386011117947",
+                "MT84MALT011000012345MTLCAST001S",
+                "MU17BOMM0101101030300200000MUR"
+        );
+        for (String iban : ibans) {
+            assertTrue(IbanValidator.isValid(iban), iban);
+        }
+    }
+
+    @Test
+    public void wrongChecksumShouldBeRejected() throws Exception {
+        assertEquals(IbanValidator.Result.INVALID_CHECKSUM, IbanValidator.check("GB82WEST12345698765431"));
+        assertEquals(IbanValidator.Result.INVALID_CHECKSUM, IbanValidator.check("IE30AIBK93115212345678"));
+    }
+
+    @Test
+    public void wrongLengthForCountryShouldBeRejected() throws Exception {
+        assertEquals(IbanValidator.Result.INVALID_LENGTH, IbanValidator.check("DE8937040044053201300"));
+        assertEquals(IbanValidator.Result.INVALID_LENGTH, IbanValidator.check("NL91ABNA04171643000"));
+    }
+
+    @Test
+    public void wrongBbanStructureShouldBeRejected() throws Exception {
+        // Dutch BBANs start with a four-letter bank code
+        assertEquals(IbanValidator.Result.INVALID_STRUCTURE, IbanValidator.check("NL9112340417164300"));
+        assertEquals(IbanValidator.Result.INVALID_STRUCTURE, IbanValidator.check("IE29aibk93115212345678"));
+        assertEquals(IbanValidator.Result.INVALID_STRUCTURE, IbanValidator.check("IE29AIBK 3115212345678"));
+    }
+
+    @Test
+    public void unknownCountryShouldBeRejected() throws Exception {
+        assertEquals(IbanValidator.Result.UNKNOWN_COUNTRY, IbanValidator.check("XX29AIBK93115212345678"));
+    }
+
+    @Test
+    public void malformedPrefixShouldBeRejected() throws Exception {
+        assertEquals(IbanValidator.Result.INVALID_FORMAT, IbanValidator.check("54IEAIBK93115215678"));
+        assertEquals(IbanValidator.Result.INVALID_FORMAT, IbanValidator.check("IE2"));
+        assertEquals(IbanValidator.Result.INVALID_FORMAT, IbanValidator.check("ie29AIBK93115212345678"));
+    }
+}
@@ -0,0 +1,208 @@
+package com.financials.fincheck.job;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.financials.fincheck.dto.BatchItemResponse;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.validator.ExpenseReportValidator;
+import com.financials.fincheck.validator.InvoiceValidator;
+import com.financials.fincheck.validator.PayslipValidator;
+import com.financials.fincheck.validator.ValidationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ValidationJobService}.
+ * <p>
+ * These tests verify that jobs validate every document and serve their results in pages, that a malformed
+ * document ends a job while a {@code null} one is reported and skipped, that submissions beyond the queue
+ * capacity are rejected, that deleted jobs leave no files behind and that expired jobs are purged on schedule.
+ */
+class ValidationJobServiceTest {
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void jobShouldValidateEveryDocumentAndPageResults() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 2_500; i++) {
+            String currency = i % 10 == 0 ? "ABC" : "EUR";
+            body.append(i == 0 ? "" : ",").append("{\"invoiceNumber\": \"INV-").append(i)
+                    .append("\", \"amount\": 1.0, \"currency\": \"").append(currency).append("\"}");
+        }
+        body.append("]");
+
+        try (ValidationJobService service = service(new InvoiceValidator(), 1, 1)) {
+            ValidationJob job = awaitFinished(service.submit(DocumentType.INVOICE, stream(body.toString())));
+
+            assertEquals(JobStatus.COMPLETED, job.getStatus());
+            assertEquals(2_500, job.getDocuments());
+            assertEquals(250, job.getInvalidDocuments());
+
+            List<BatchItemResponse> page = service.results(job, 2_040, 20);
+            assertEquals(20, page.size());
+            assertEquals(new BatchItemResponse(2_040, "INV-2040", false, List.of("Invalid currency: ABC")), page.get(0));
+            assertEquals(new BatchItemResponse(2_041, "INV-2041", true, List.of("Invoice is valid")), page.get(1));
+            assertEquals(2, service.results(job, 2_498, 20).size());
+            assertEquals(List.of(), service.results(job, 2_500, 20));
+        }
+    }
+
+    @Test
+    public void newlineDelimitedBodyShouldBeAccepted() throws Exception {
+        String body = """
+                {"invoiceNumber": "INV-1", "amount": 1.0, "currency": "EUR"}
+                {"invoiceNumber": "INV-2", "amount": -1.0, "currency": "EUR"}
+                """;
+
+        try (ValidationJobService service = service(new InvoiceValidator(), 1, 1)) {
+            ValidationJob job = awaitFinished(service.submit(DocumentType.INVOICE, stream(body)));
+
+            assertEquals(JobStatus.COMPLETED, job.getStatus());
+            assertEquals(List.of(
+                    new BatchItemResponse(0, "INV-1", true, List.of("Invoice is valid")),
+                    new BatchItemResponse(1, "INV-2", false, List.of("Amount must not be negative"))),
+                    service.results(job, 0, 10));
+        }
+    }
+
+    @Test
+    public void malformedDocumentShouldEndJob() throws Exception {
+        String body = "[{\"invoiceNumber\": \"INV-1\", \"amount\": 1.0, \"currency\": \"EUR\"},"
+                + " {\"invoiceNumber\": \"INV-2\", \"amount\": \"lots\"}]";
+
+        try (ValidationJobService service = service(new InvoiceValidator(), 1, 1)) {
+            ValidationJob job = awaitFinished(service.submit(DocumentType.INVOICE, stream(body)));
+
+            assertEquals(JobStatus.FAILED, job.getStatus());
+            assertEquals("Invalid request format at record 2", job.getFailure());
+            assertEquals(1, job.getDocuments());
+        }
+    }
+
+    @Test
+    public void nullDocumentShouldBeReportedAndJobGoOn() throws Exception {
+        String body = "[{\"invoiceNumber\": \"INV-1\", \"amount\": 1.0, \"currency\": \"EUR\"}, null,"
+                + " {\"invoiceNumber\": \"INV-3\", \"amount\": 1.0, \"currency\": \"EUR\"}]";
+
+        try (ValidationJobService service = service(new InvoiceValidator(), 1, 1)) {
+            ValidationJob job = awaitFinished(service.submit(DocumentType.INVOICE, stream(body)));
+
+            assertEquals(JobStatus.COMPLETED, job.getStatus(), job.getFailure());
+            assertEquals(3, job.getDocuments());
+            assertEquals(1, job.getInvalidDocuments());
+            assertEquals(new BatchItemResponse(1, null, false, List.of("Document is null")),
+                    service.results(job, 1, 1).get(0));
+            assertEquals("INV-3", service.results(job, 2, 1).get(0).id());
+        }
+    }
+
+    @Test
+    public void fullQueueShouldRejectSubmissions() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InvoiceValidator blockingValidator = new InvoiceValidator() {
+            @Override
+            public ValidationResult validate(Invoice invoice) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.validate(invoice);
+            }
+        };
+        String body = "[{\"invoiceNumber\": \"INV-1\", \"amount\": 1.0, \"currency\": \"EUR\"}]";
+
+        try (ValidationJobService service = service(blockingValidator, 1, 1)) {
+            ValidationJob running = service.submit(DocumentType.INVOICE, stream(body));
+            started.await();
+            ValidationJob queued = service.submit(DocumentType.INVOICE, stream(body));
+            assertEquals(JobStatus.QUEUED, queued.getStatus());
+
+            JobQueueFullException rejected = assertThrows(JobQueueFullException.class,
+                    () -> service.submit(DocumentType.INVOICE, stream(body)));
+            assertEquals(Duration.ofSeconds(30), rejected.getRetryAfter());
+
+            release.countDown();
+            assertEquals(JobStatus.COMPLETED, awaitFinished(running).getStatus());
+            assertEquals(JobStatus.COMPLETED, awaitFinished(queued).getStatus());
+            assertEquals(JobStatus.COMPLETED, awaitFinished(service.submit(DocumentType.INVOICE, stream(body))).getStatus());
+        }
+    }
+
+    @Test
+    public void deletedJobShouldLeaveNoFiles() throws Exception {
+        try (ValidationJobService service = service(new InvoiceValidator(), 1, 1)) {
+            ValidationJob job = awaitFinished(service.submit(DocumentType.INVOICE,
+                    stream("[{\"invoiceNumber\": \"INV-1\", \"amount\": 1.0, \"currency\": \"EUR\"}]")));
+
+            assertTrue(service.delete(job.getId()));
+            assertTrue(service.find(job.getId()).isEmpty());
+            assertFalse(service.delete(job.getId()));
+            try (var files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        }
+    }
+
+    @Test
+    public void expiredJobShouldBePurgedWithoutSubmissions() throws Exception {
+        try (ValidationJobService service = new ValidationJobService(new InvoiceValidator(), new PayslipValidator(),
+                new ExpenseReportValidator(), OBJECT_MAPPER, 1, 1, directory.toString(), Duration.ZERO,
+                Duration.ofMillis(10), Duration.ofSeconds(30), Clock.systemUTC())) {
+            ValidationJob job = awaitFinished(service.submit(DocumentType.INVOICE,
+                    stream("[{\"invoiceNumber\": \"INV-1\", \"amount\": 1.0, \"currency\": \"EUR\"}]")));
+
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (service.find(job.getId()).isPresent() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(service.find(job.getId()).isEmpty(), "Job was not purged in time");
+            assertThrows(NoSuchFileException.class, () -> service.results(job, 0, 1));
+            try (var files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        }
+    }
+
+    private ValidationJobService service(InvoiceValidator invoiceValidator, int workers, int queueCapacity)
+            throws Exception {
+        return new ValidationJobService(invoiceValidator, new PayslipValidator(), new ExpenseReportValidator(),
+                OBJECT_MAPPER, workers, queueCapacity, directory.toString(), Duration.ofHours(1),
+                Duration.ofMinutes(1), Duration.ofSeconds(30), Clock.systemUTC());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ValidationJob awaitFinished(ValidationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "Job did not finish in time");
+        return job;
+    }
+}
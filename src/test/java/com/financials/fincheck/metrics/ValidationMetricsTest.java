@@ -0,0 +1,87 @@
+package com.financials.fincheck.metrics;
+
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.validator.InvoiceValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ValidationMetrics}.
+ * <p>
+ * These tests validate the published counters and timers by running an {@code InvoiceValidator}
+ * against an in-memory meter registry, and check the deserialization timers of every document type.
+ */
+class ValidationMetricsTest {
+
+    @Test
+    public void validationShouldCountDocumentsAndRuleFailures() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        InvoiceValidator validator = new InvoiceValidator(Optional.empty(), new ValidationMetrics(registry, 0));
+
+        validator.validate(new Invoice("INV-1", 100.0, "EUR"));
+        validator.validate(new Invoice("INV-2", -5.0, "ZZZ"));
+
+        assertEquals(1.0, registry.get("fincheck.validation.documents")
+                .tag("document", "invoice").tag("outcome", "valid").counter().count());
+        assertEquals(1.0, registry.get("fincheck.validation.documents")
+                .tag("document", "invoice").tag("outcome", "invalid").counter().count());
+        assertEquals(1.0, registry.get("fincheck.validation.rule.failures")
+                .tag("rule", "amount").tag("code", "AMOUNT_NEGATIVE").counter().count());
+        assertEquals(1.0, registry.get("fincheck.validation.rule.failures")
+                .tag("rule", "currency").tag("code", "CURRENCY_INVALID").counter().count());
+    }
+
+    @Test
+    public void sampledValidationShouldTimeEachRuleByOutcome() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        InvoiceValidator validator = new InvoiceValidator(Optional.empty(), new ValidationMetrics(registry, 1));
+
+        validator.validate(new Invoice("INV-1", -5.0, "EUR"));
+
+        assertEquals(1, registry.get("fincheck.validation.duration")
+                .tag("document", "invoice").tag("outcome", "invalid").timer().count());
+        assertEquals(1, registry.get("fincheck.validation.rule.duration")
+                .tag("rule", "amount").tag("outcome", "failure").timer().count());
+        assertEquals(1, registry.get("fincheck.validation.rule.duration")
+                .tag("rule", "currency").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    public void deserializationShouldBeTimedByDocumentType() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics metrics = new ValidationMetrics(registry, 1);
+
+        metrics.recordDeserialization(DocumentType.PAYSLIP, 1_000);
+        metrics.recordDeserialization(DocumentType.PAYSLIP, 2_000);
+        metrics.recordDeserialization(null, 3_000);
+
+        assertEquals(2, registry.get("fincheck.deserialization.duration")
+                .tag("document", "payslip").timer().count());
+        assertEquals(1, registry.get("fincheck.deserialization.duration")
+                .tag("document", "unknown").timer().count());
+        assertEquals(0, registry.get("fincheck.deserialization.duration")
+                .tag("document", "invoice").timer().count());
+    }
+
+    @Test
+    public void unsampledValidationShouldNotTimeRules() throws Exception {
+        ValidationMetrics metrics = new ValidationMetrics(new SimpleMeterRegistry(), 0);
+
+        assertFalse(metrics.isSampled());
+        assertSame(RuleProbe.NOOP, metrics.start(DocumentType.INVOICE));
+    }
+
+    @Test
+    public void disabledMetricsShouldIgnoreValidations() throws Exception {
+        InvoiceValidator validator = new InvoiceValidator();
+
+        assertFalse(validator.validate(new Invoice("INV-1", -5.0, "EUR")).isValid());
+        assertSame(RuleProbe.NOOP, ValidationMetrics.disabled().start(DocumentType.INVOICE));
+    }
+}
@@ -0,0 +1,72 @@
+package com.financials.fincheck.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code Money}.
+ * <p>
+ * These tests verify parsing at the parse scale, exact rescaling to currency scales,
+ * and the handling of amounts that cannot be represented.
+ */
+class MoneyTest {
+
+    @Test
+    public void parseShouldReadDecimalsAtParseScale() throws Exception {
+        assertEquals(23_005_000L, parse("2300.5"));
+        assertEquals(23_000_000L, parse("2300"));
+        assertEquals(-5_000L, parse("-0.5"));
+        assertEquals(1_234_500L, parse("123.450000"));
+        assertEquals(10_000_000L, parse("1e3"));
+    }
+
+    @Test
+    public void parseShouldRejectUnrepresentableNumbers() throws Exception {
+        assertEquals(Money.INVALID, parse("12.34567"));
+        assertEquals(Money.INVALID, parse("1.2.3"));
+        assertEquals(Money.INVALID, parse("abc"));
+        assertEquals(Money.INVALID, parse("-"));
+        assertEquals(Money.INVALID, parse("99999999999999999999"));
+    }
+
+    @Test
+    public void parseShouldRejectAmountsBeyondLimitWithoutOverflowing() throws Exception {
+        assertEquals(1_000_000_000_000_000_000L, parse("100000000000000"));
+        assertEquals(999_999_999_999_999_999L, parse("99999999999999.9999"));
+        assertEquals(-1_000_000_000_000_000_000L, parse("-100000000000000.0"));
+        assertEquals(Money.INVALID, parse("100000000000001"));
+        assertEquals(Money.INVALID, parse("100000000000000.0001"));
+        assertEquals(Money.INVALID, parse("100000000000000.5"));
+        // These used to wrap around when scaled up to the parse scale
+        assertEquals(Money.INVALID, parse("46116860184273880"));
+        assertEquals(Money.INVALID, parse("5000000000000000"));
+        assertEquals(Money.INVALID, parse("-5000000000000000"));
+    }
+
+    @Test
+    public void rescaleShouldKeepValueOrMarkInvalid() throws Exception {
+        int eur = Money.scale(Currency.getInstance("EUR"));
+        int jpy = Money.scale(Currency.getInstance("JPY"));
+
+        assertEquals(230_050L, Money.rescale(parse("2300.5"), Money.PARSE_SCALE, eur));
+        assertEquals(2300L, Money.rescale(parse("2300"), Money.PARSE_SCALE, jpy));
+        assertEquals(Money.INVALID, Money.rescale(parse("2300.5"), Money.PARSE_SCALE, jpy));
+        assertEquals(Money.ABSENT, Money.rescale(Money.ABSENT, Money.PARSE_SCALE, eur));
+    }
+
+    @Test
+    public void doubleConversionShouldRoundTrip() throws Exception {
+        assertEquals(7_550L, Money.fromDouble(75.5, 2));
+        assertEquals(Money.ABSENT, Money.fromDouble(null, 2));
+        assertEquals(Money.INVALID, Money.fromDouble(0.125, 2));
+        assertEquals(75.5, Money.toDouble(7_550L, 2));
+        assertNull(Money.toDouble(Money.ABSENT, 2));
+    }
+
+    private static long parse(String text) {
+        return Money.parse(text.toCharArray(), 0, text.length());
+    }
+}
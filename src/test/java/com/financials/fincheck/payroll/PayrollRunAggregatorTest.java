@@ -0,0 +1,177 @@
+package com.financials.fincheck.payroll;
+
+import com.financials.fincheck.dto.PayrollControlTotals;
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code PayrollRunAggregator} and {@code PayrollRun}.
+ * <p>
+ * These tests verify that payslips are totalled per employer and pay period, also when recorded concurrently,
+ * that a payslip sent again is counted once and a corrected one replaces the earlier one, that runs left open
+ * beyond the retention are evicted, and that closing a run reports every difference from the control totals.
+ */
+class PayrollRunAggregatorTest {
+    private final MutableClock clock = new MutableClock();
+    private final PayrollRunAggregator aggregator = new PayrollRunAggregator(Duration.ofDays(30), clock);
+
+    @Test
+    public void payslipsShouldBeTotalledPerEmployerAndPeriod() throws Exception {
+        assertTrue(aggregator.record(payslip("EMP001", "ACME-1", "2025-05", 3000.0, 2300.0)));
+        assertTrue(aggregator.record(payslip("EMP002", "ACME-1", "2025-05", 4000.0, 3300.0)));
+        assertTrue(aggregator.record(payslip("EMP001", "ACME-1", "2025-06", 3000.0, 2300.0)));
+        assertFalse(aggregator.record(payslip("EMP003", null, "2025-05", 3000.0, 2300.0)));
+
+        PayrollRun run = aggregator.run("ACME-1", "2025-05");
+        assertEquals(2, run.getHeadcount());
+        assertEquals(new BigDecimal("7000.00"), run.getGrossTotal());
+        assertEquals(new BigDecimal("5600.00"), run.getNetTotal());
+        assertEquals(Map.of("Pension", new BigDecimal("400.00"), "Tax", new BigDecimal("1000.00")),
+                run.getDeductionTotals());
+        assertEquals(2, aggregator.openRuns());
+    }
+
+    @Test
+    public void concurrentRecordsShouldAllBeTotalled() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    aggregator.record(payslip("EMP" + thread + "-" + i, "ACME-1", "2025-05", 3000.0, 2300.0));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        PayrollRun run = aggregator.run("ACME-1", "2025-05");
+        assertEquals(8000, run.getHeadcount());
+        assertEquals(new BigDecimal("18400000.00"), run.getNetTotal());
+    }
+
+    @Test
+    public void resentPayslipShouldBeCountedOnce() throws Exception {
+        Payslip payslip = payslip("EMP001", "ACME-1", "2025-05", 3000.0, 2300.0);
+        assertTrue(aggregator.record(payslip));
+        assertTrue(aggregator.record(payslip));
+        assertTrue(aggregator.record(payslip("EMP002", "ACME-1", "2025-05", 4000.0, 3300.0)));
+
+        PayrollRun run = aggregator.run("ACME-1", "2025-05");
+        assertEquals(2, run.getHeadcount());
+        assertEquals(new BigDecimal("5600.00"), run.getNetTotal());
+        assertFalse(run.add(payslip));
+    }
+
+    @Test
+    public void correctedPayslipShouldReplaceEarlierOne() throws Exception {
+        assertTrue(aggregator.record(payslip("EMP001", "ACME-1", "2025-05", 3000.0, 2300.0)));
+        assertTrue(aggregator.record(payslip("EMP002", "ACME-1", "2025-05", 4000.0, 3300.0)));
+        assertTrue(aggregator.record(payslip("EMP001", "ACME-1", "2025-05", 3200.0, 2400.0)));
+
+        PayrollRun run = aggregator.run("ACME-1", "2025-05");
+        assertEquals(2, run.getHeadcount());
+        assertEquals(new BigDecimal("7200.00"), run.getGrossTotal());
+        assertEquals(new BigDecimal("5700.00"), run.getNetTotal());
+        assertEquals(Map.of("Pension", new BigDecimal("400.00"), "Tax", new BigDecimal("1100.00")),
+                run.getDeductionTotals());
+        assertEquals(List.of(), run.reconcile(new PayrollControlTotals("EUR", 2L, new BigDecimal("7200.00"),
+                new BigDecimal("5700.00"), Map.of("Tax", new BigDecimal("1100"), "Pension", new BigDecimal("400")))));
+    }
+
+    @Test
+    public void abandonedRunsShouldBeEvicted() throws Exception {
+        assertTrue(aggregator.record(payslip("EMP001", "ACME-1", "2025-05", 3000.0, 2300.0)));
+        assertTrue(aggregator.record(payslip("EMP001", "ACME-2", "2025-05", 3000.0, 2300.0)));
+
+        clock.advanceDays(20);
+        assertTrue(aggregator.record(payslip("EMP002", "ACME-2", "2025-05", 4000.0, 3300.0)));
+        clock.advanceDays(11);
+        assertTrue(aggregator.record(payslip("EMP001", "ACME-3", "2025-05", 3000.0, 2300.0)));
+
+        // ACME-1 received nothing for 31 days, ACME-2 for 11
+        assertEquals(2, aggregator.openRuns());
+        assertNull(aggregator.run("ACME-1", "2025-05"));
+        assertEquals(2, aggregator.run("ACME-2", "2025-05").getHeadcount());
+
+        // A late payslip of an evicted run opens a new one
+        assertTrue(aggregator.record(payslip("EMP002", "ACME-1", "2025-05", 4000.0, 3300.0)));
+        assertEquals(1, aggregator.run("ACME-1", "2025-05").getHeadcount());
+        assertThrows(IllegalArgumentException.class, () -> new PayrollRunAggregator(Duration.ZERO));
+    }
+
+    @Test
+    public void matchingRunShouldCloseWithoutDiscrepancies() throws Exception {
+        aggregator.record(payslip("EMP001", "ACME-1", "2025-05", 3000.0, 2300.0));
+        aggregator.record(payslip("EMP002", "ACME-1", "2025-05", 4000.0, 3300.0));
+
+        PayrollRun run = aggregator.close("ACME-1", "2025-05");
+        assertEquals(List.of(), run.reconcile(new PayrollControlTotals("EUR", 2L, new BigDecimal("7000"),
+                new BigDecimal("5600.0"), Map.of("Tax", new BigDecimal("1000"), "Pension", new BigDecimal("400")))));
+        assertNull(aggregator.run("ACME-1", "2025-05"));
+        assertNull(aggregator.close("ACME-1", "2025-05"));
+    }
+
+    @Test
+    public void closedRunShouldReportEveryDiscrepancy() throws Exception {
+        aggregator.record(payslip("EMP001", "ACME-1", "2025-05", 3000.0, 2300.0));
+        Payslip dollars = payslip("EMP002", "ACME-1", "2025-05", 4000.0, 3300.0);
+        dollars.setCurrency(Currency.getInstance("USD"));
+        aggregator.record(dollars);
+
+        List<String> discrepancies = aggregator.close("ACME-1", "2025-05").reconcile(new PayrollControlTotals(
+                null, 2L, new BigDecimal("3000.00"), new BigDecimal("2300.01"), Map.of("Tax", new BigDecimal("500"))));
+        assertEquals(List.of(
+                "1 payslips in another currency than EUR were not totalled",
+                "Headcount 1 does not match control total 2",
+                "Net total 2300.00 does not match control total 2300.01",
+                "Deduction 'Pension' has no control total"), discrepancies);
+    }
+
+    private static Payslip payslip(String employeeId, String employerId, String payPeriod, double grossSalary,
+                                   double netSalary) {
+        return new Payslip(employeeId, "Jane Doe", payPeriod, LocalDate.of(2025, 5, 25), grossSalary,
+                Map.of("Tax", grossSalary - netSalary - 200.0, "Pension", 200.0), netSalary,
+                PaymentMethod.BANK_TRANSFER, "IE29AIBK93115212345678", new Employer("ACME Ltd", employerId), 160);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2025-06-01T00:00:00Z");
+
+        void advanceDays(int days) {
+            now = now.plusSeconds(days * 86_400L);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.financials.fincheck.reconciliation;
+
+import com.financials.fincheck.model.Employer;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.PaymentMethod;
+import com.financials.fincheck.model.Payslip;
+import com.financials.fincheck.reconciliation.ReconciliationIndex.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ReconciliationIndex} and its {@code PeriodLedger}s.
+ * <p>
+ * These tests verify how expense reports are reconciled with recorded payslips, that resubmitted reports count
+ * once per employee and are checked again when their expenses change, that resent payslips replace the pay of
+ * their employer, how periods fall out of the window, and that ledgers keep every employee across growth and concurrent
+ * updates.
+ */
+class ReconciliationIndexTest {
+    private static final YearMonth THIS_MONTH = YearMonth.now();
+    private static final AtomicInteger REPORT_IDS = new AtomicInteger();
+
+    private final ReconciliationIndex index = new ReconciliationIndex(3, new BigDecimal("0.5"), 4, 16);
+
+    @Test
+    public void expensesWithoutPayslipShouldBeRejected() throws Exception {
+        assertEquals(Outcome.NO_PAYSLIP, index.recordExpenses(expenseReport("EMP001", "EUR", 100.0)));
+
+        index.recordPayslip(payslip("EMP002", THIS_MONTH, "EUR", 2000.0, "ACME"));
+        assertEquals(Outcome.NO_PAYSLIP, index.recordExpenses(expenseReport("EMP001", "EUR", 100.0)));
+    }
+
+    @Test
+    public void expensesShouldBeLimitedToShareOfNetPay() throws Exception {
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 2000.0, "ACME"));
+
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("EMP001", "EUR", 600.0)));
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("EMP001", "EUR", 400.0)));
+        assertEquals(Outcome.EXCEEDS_SHARE, index.recordExpenses(expenseReport("EMP001", "EUR", 0.01)));
+        assertEquals(100_000, index.ledger(THIS_MONTH).expenses(ReconciliationIndex.employeeKey("EMP001")));
+    }
+
+    @Test
+    public void resubmittedReportShouldBeCountedOnce() throws Exception {
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 2000.0, "ACME"));
+
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("ER001", "EMP001", "EUR", 600.0)));
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("ER001", "EMP001", "EUR", 600.0)));
+        assertEquals(60_000, index.ledger(THIS_MONTH).expenses(ReconciliationIndex.employeeKey("EMP001")));
+        assertEquals(Outcome.EXCEEDS_SHARE, index.recordExpenses(expenseReport("ER002", "EMP001", "EUR", 600.0)));
+    }
+
+    @Test
+    public void changedResubmissionShouldBeCheckedAgain() throws Exception {
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 2000.0, "ACME"));
+
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("ER001", "EMP001", "EUR", 600.0)));
+        assertEquals(Outcome.EXCEEDS_SHARE, index.recordExpenses(expenseReport("ER001", "EMP001", "EUR", 1200.0)));
+        assertEquals(60_000, index.ledger(THIS_MONTH).expenses(ReconciliationIndex.employeeKey("EMP001")));
+
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("ER001", "EMP001", "EUR", 900.0)));
+        assertEquals(90_000, index.ledger(THIS_MONTH).expenses(ReconciliationIndex.employeeKey("EMP001")));
+        assertEquals(Outcome.EXCEEDS_SHARE, index.recordExpenses(expenseReport("ER002", "EMP001", "EUR", 200.0)));
+    }
+
+    @Test
+    public void sameReportIdOfAnotherEmployeeShouldCountOnItsOwn() throws Exception {
+        PeriodLedger ledger = new PeriodLedger(0, 1, 16);
+        int euro = 0x454552;
+
+        assertTrue(ledger.addExpenses(1, 42, 600, euro, 1000));
+        assertTrue(ledger.addExpenses(2, 42, 600, euro, 1000));
+        assertFalse(ledger.addExpenses(2, 42, 1200, euro, 1000));
+        assertEquals(600, ledger.expenses(1));
+        assertEquals(600, ledger.expenses(2));
+
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 2000.0, "ACME"));
+        index.recordPayslip(payslip("EMP002", THIS_MONTH, "EUR", 2000.0, "ACME"));
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("ER001", "EMP001", "EUR", 600.0)));
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("ER001", "EMP002", "EUR", 600.0)));
+        assertEquals(60_000, index.ledger(THIS_MONTH).expenses(ReconciliationIndex.employeeKey("EMP002")));
+    }
+
+    @Test
+    public void payslipOfPreviousMonthShouldCoverExpenses() throws Exception {
+        index.recordPayslip(payslip("EMP001", THIS_MONTH.minusMonths(1), "EUR", 2000.0, "ACME"));
+
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("EMP001", "EUR", 1000.0)));
+        assertEquals(Outcome.EXCEEDS_SHARE, index.recordExpenses(expenseReport("EMP001", "EUR", 1.0)));
+    }
+
+    @Test
+    public void correctedPayslipShouldReplaceNetPayAndSecondEmployerShouldAdd() throws Exception {
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 2000.0, "ACME"));
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 1000.0, "ACME"));
+        assertEquals(Outcome.EXCEEDS_SHARE, index.recordExpenses(expenseReport("EMP001", "EUR", 600.0)));
+
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 1000.0, "Globex"));
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("EMP001", "EUR", 600.0)));
+    }
+
+    @Test
+    public void resentSecondEmployerPayslipShouldReplaceItsNetPay() throws Exception {
+        long employee = ReconciliationIndex.employeeKey("EMP001");
+        int euro = payslip("EMP001", THIS_MONTH, "EUR", 1000.0, "ACME").getCurrencyCode().packed();
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 1000.0, "ACME"));
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 1000.0, "Globex"));
+        for (int i = 0; i < 3; i++) {
+            index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 1000.0, "Globex"));
+            index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 1000.0, "ACME"));
+        }
+        assertEquals(200_000, index.ledger(THIS_MONTH).netPay(employee, euro));
+
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 500.0, "Globex"));
+        assertEquals(150_000, index.ledger(THIS_MONTH).netPay(employee, euro));
+        assertEquals(Outcome.ACCEPTED, index.recordExpenses(expenseReport("EMP001", "EUR", 750.0)));
+        assertEquals(Outcome.EXCEEDS_SHARE, index.recordExpenses(expenseReport("EMP001", "EUR", 0.01)));
+    }
+
+    @Test
+    public void expensesInAnotherCurrencyShouldBeUnchecked() throws Exception {
+        index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 2000.0, "ACME"));
+
+        assertEquals(Outcome.UNCHECKED, index.recordExpenses(expenseReport("EMP001", "USD", 5000.0)));
+        assertEquals(0, index.ledger(THIS_MONTH).expenses(ReconciliationIndex.employeeKey("EMP001")));
+    }
+
+    @Test
+    public void periodsShouldBeEvictedOutsideWindow() throws Exception {
+        YearMonth oldest = THIS_MONTH.minusMonths(3);
+        assertTrue(index.recordPayslip(payslip("EMP001", oldest, "EUR", 2000.0, "ACME")));
+        assertNotNull(index.ledger(oldest));
+
+        assertTrue(index.recordPayslip(payslip("EMP001", THIS_MONTH, "EUR", 2000.0, "ACME")));
+        assertNull(index.ledger(oldest));
+        assertFalse(index.recordPayslip(payslip("EMP001", oldest, "EUR", 2000.0, "ACME")));
+        assertFalse(index.recordPayslip(payslip("EMP001", THIS_MONTH.plusMonths(6), "EUR", 2000.0, "ACME")));
+        assertNotNull(index.ledger(THIS_MONTH));
+    }
+
+    @Test
+    public void ledgerShouldKeepAllEmployeesWhenGrowing() throws Exception {
+        PeriodLedger ledger = new PeriodLedger(0, 2, 16);
+        int euro = 0x454552;
+        for (long i = 1; i <= 50_000; i++) {
+            ledger.recordNetPay(i * 0x9E3779B97F4A7C15L, 7, i, euro);
+        }
+        for (long i = 1; i <= 50_000; i++) {
+            assertEquals(i, ledger.netPay(i * 0x9E3779B97F4A7C15L, euro));
+        }
+        assertEquals(50_000, ledger.size());
+        assertFalse(ledger.hasPayslip(42));
+
+        for (long document = 1; document <= 10_000; document++) {
+            assertTrue(ledger.addExpenses(7, document * 0x9E3779B97F4A7C15L, 1, euro, Long.MAX_VALUE));
+        }
+        for (long document = 1; document <= 10_000; document++) {
+            assertTrue(ledger.addExpenses(7, document * 0x9E3779B97F4A7C15L, 1, euro, Long.MAX_VALUE));
+        }
+        assertEquals(10_000, ledger.expenses(7));
+    }
+
+    @Test
+    public void concurrentExpensesShouldNeverExceedLimit() throws Exception {
+        PeriodLedger ledger = new PeriodLedger(0, 4, 16);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (ledger.addExpenses(1, 10, 0, 5000)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(500, accepted.get());
+        assertEquals(5000, ledger.expenses(1));
+    }
+
+    private static Payslip payslip(String employeeId, YearMonth period, String currency, double netSalary,
+                                   String employer) {
+        Payslip payslip = new Payslip(employeeId, "Jane Doe", period.toString(), LocalDate.now(),
+                netSalary + 500.0, Map.of("Tax", 500.0), netSalary, PaymentMethod.BANK_TRANSFER,
+                "IE29AIBK93115212345678", new Employer(employer, null), 160);
+        payslip.setCurrency(Currency.getInstance(currency));
+        return payslip;
+    }
+
+    private static ExpenseReport expenseReport(String employeeId, String currency, double amount) {
+        return expenseReport("ER" + REPORT_IDS.incrementAndGet(), employeeId, currency, amount);
+    }
+
+    private static ExpenseReport expenseReport(String reportId, String employeeId, String currency, double amount) {
+        return new ExpenseReport(reportId, employeeId, "Client meeting", Currency.getInstance(currency),
+                LocalDate.now(), List.of(new ExpenseItem("Travel", amount, LocalDate.now(), "Train")));
+    }
+}
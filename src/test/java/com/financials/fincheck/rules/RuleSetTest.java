@@ -0,0 +1,68 @@
+package com.financials.fincheck.rules;
+
+import com.financials.fincheck.metrics.ValidationMetrics;
+import com.financials.fincheck.model.DocumentType;
+import com.financials.fincheck.model.Invoice;
+import com.financials.fincheck.validator.ErrorCode;
+import com.financials.fincheck.validator.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code RuleSet}.
+ * <p>
+ * These tests verify that compiled rules keep declaration order, stop at the first failing check
+ * of a field, and pass the expected parameters to error messages.
+ */
+class RuleSetTest {
+
+    @Test
+    public void firstFailingCheckOfFieldShouldWin() throws Exception {
+        RuleSet<Invoice> rules = RuleSet.<Invoice>builder(DocumentType.INVOICE)
+                .field("amount", Invoice::getAmount, amount -> amount
+                        .failIf(Objects::isNull, ErrorCode.AMOUNT_MISSING)
+                        .failIf(value -> value < 0, ErrorCode.AMOUNT_NEGATIVE))
+                .build();
+
+        assertEquals(List.of("Amount must be provided"), validate(rules, new Invoice("INV-1", null, "EUR")));
+        assertEquals(List.of("Amount must not be negative"), validate(rules, new Invoice("INV-1", -1.0, "EUR")));
+        assertSame(ValidationResult.valid(), validate(rules, new Invoice("INV-1", 1.0, "EUR")));
+    }
+
+    @Test
+    public void parameterizedCodesShouldReceiveFieldValueByDefault() throws Exception {
+        RuleSet<Invoice> rules = RuleSet.<Invoice>builder(DocumentType.INVOICE)
+                .field("currency", Invoice::getCurrency, currency -> currency
+                        .failIf(value -> !value.equals("EUR"), ErrorCode.CURRENCY_INVALID))
+                .field("invoiceNumber", Invoice::getInvoiceNumber, invoiceNumber -> invoiceNumber
+                        .failIf(Checks::isBlank, ErrorCode.INVOICE_NUMBER_DUPLICATE, Invoice::getIssuerId))
+                .build();
+
+        ValidationResult errors = validate(rules, new Invoice(" ", 1.0, "ZZZ", "ACME"));
+
+        assertEquals(List.of("Invalid currency: ZZZ", "Invoice number ACME has already been submitted"), errors);
+    }
+
+    @Test
+    public void conditionalFieldAndFreeFormRulesShouldRunInOrder() throws Exception {
+        RuleSet<Invoice> rules = RuleSet.<Invoice>builder(DocumentType.INVOICE)
+                .rule("first", (invoice, errors) -> errors.with(ErrorCode.AMOUNT_MISSING))
+                .longField("amount", invoice -> invoice.getAmount().longValue(), amount -> amount
+                        .onlyIf(invoice -> invoice.getIssuerId() != null)
+                        .failIf(value -> value < 0, ErrorCode.AMOUNT_NEGATIVE))
+                .build();
+
+        assertEquals(List.of("first", "amount"), rules.ruleNames());
+        assertEquals(List.of("Amount must be provided"), validate(rules, new Invoice("INV-1", -1.0, "EUR")));
+        assertEquals(List.of("Amount must be provided", "Amount must not be negative"),
+                validate(rules, new Invoice("INV-1", -1.0, "EUR", "ACME")));
+    }
+
+    private static ValidationResult validate(RuleSet<Invoice> rules, Invoice invoice) {
+        return rules.validate(invoice, ValidationMetrics.disabled());
+    }
+}
@@ -0,0 +1,247 @@
+package com.financials.fincheck.spending;
+
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code SpendTracker} and {@code SpendLimit}.
+ * <p>
+ * These tests verify that spending counts against a limit only within its rolling window, that a report is
+ * recorded only if it keeps every limit, that a report with an item that cannot be converted is rejected, that
+ * resubmitted reports count once, that a resubmission with other spending is checked and replaces the earlier
+ * spending, that released spending no longer counts, that concurrent reports of one employee never exceed a limit
+ * together, and that employees without recent spending are evicted.
+ */
+class SpendTrackerTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+    private static final SpendLimit MEALS = SpendLimit.parse("Meals", "100 EUR/30d");
+    private static final SpendLimit TRAVEL = SpendLimit.parse("Travel", "500 EUR/7d");
+    private static final AtomicInteger REPORT_IDS = new AtomicInteger();
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    public void spendingShouldCountWithinRollingWindow() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS);
+
+        assertNull(tracker.record(report("EMP1", TODAY, meals(60.0)), limits, null).exceeded());
+        assertSame(MEALS, tracker.record(report("EMP1", TODAY, meals(50.0)), limits, null).exceeded());
+        assertNull(tracker.record(report("EMP1", TODAY.minusDays(29), meals(40.0)), limits, null).exceeded());
+        assertEquals(100_00, tracker.spent("EMP1", MEALS));
+        // Reports submitted before the window do not count at all
+        assertNull(tracker.record(report("EMP1", TODAY.minusDays(30), meals(500.0)), limits, null).exceeded());
+
+        clock.advanceDays(1);
+        assertEquals(60_00, tracker.spent("EMP1", MEALS));
+        assertNull(tracker.record(report("EMP1", TODAY.plusDays(1), meals(40.0)), limits, null).exceeded());
+        clock.advanceDays(29);
+        assertEquals(40_00, tracker.spent("EMP1", MEALS));
+    }
+
+    @Test
+    public void reportShouldBeRecordedOnlyIfEveryLimitHolds() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS, "Travel", TRAVEL);
+        ExpenseItem train = new ExpenseItem("Travel", 450.0, TODAY, "Train");
+
+        assertNull(tracker.record(report("EMP1", TODAY, train), limits, null).exceeded());
+        assertSame(TRAVEL, tracker.record(report("EMP1", TODAY, meals(30.0), train), limits, null).exceeded());
+        assertEquals(0, tracker.spent("EMP1", MEALS));
+        assertEquals(450_00, tracker.spent("EMP1", TRAVEL));
+        assertEquals(0, tracker.spent("EMP2", TRAVEL));
+    }
+
+    @Test
+    public void itemWithoutRateShouldRejectReport() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS);
+        ExpenseItem dinner = new ExpenseItem("Meals", 10.0, Currency.getInstance("USD"), TODAY.minusDays(1), "Dinner");
+
+        SpendTracker.Recording recording = tracker.record(report("EMP1", TODAY, meals(10.0), dinner), limits, null);
+        assertEquals("USD on " + TODAY.minusDays(1), recording.missingRate());
+        assertNull(recording.exceeded());
+        assertEquals(0, tracker.spent("EMP1", MEALS));
+        // Items of categories without a limit need no rate
+        ExpenseItem taxi = new ExpenseItem("Taxi", 10.0, Currency.getInstance("USD"), TODAY, "Taxi");
+        assertNull(tracker.record(report("EMP1", TODAY, meals(10.0), taxi), limits, null).missingRate());
+        assertEquals(10_00, tracker.spent("EMP1", MEALS));
+    }
+
+    @Test
+    public void resubmittedReportShouldCountOnce() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS);
+        ExpenseReport report = report("ER2025-0001", "EMP1", TODAY, meals(60.0));
+
+        assertNull(tracker.record(report, limits, null).exceeded());
+        assertNull(tracker.record(report, limits, null).exceeded());
+        assertEquals(60_00, tracker.spent("EMP1", MEALS));
+        // The same report ID of another employee is another report
+        assertNull(tracker.record(report("ER2025-0001", "EMP2", TODAY, meals(60.0)), limits, null).exceeded());
+        assertEquals(60_00, tracker.spent("EMP2", MEALS));
+    }
+
+    @Test
+    public void changedResubmissionShouldBeCheckedAndReplaceEarlierSpending() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS);
+        assertNull(tracker.record(report("ER2025-0001", "EMP1", TODAY, meals(10.0)), limits, null).exceeded());
+
+        assertSame(MEALS, tracker.record(report("ER2025-0001", "EMP1", TODAY, meals(100_000.0)), limits, null).exceeded());
+        assertEquals(10_00, tracker.spent("EMP1", MEALS));
+
+        // The earlier 10 EUR are replaced, not added to
+        assertNull(tracker.record(report("ER2025-0001", "EMP1", TODAY, meals(95.0)), limits, null).exceeded());
+        assertEquals(95_00, tracker.spent("EMP1", MEALS));
+        assertNull(tracker.record(report("ER2025-0001", "EMP1", TODAY, meals(95.0)), limits, null).exceeded());
+        assertEquals(95_00, tracker.spent("EMP1", MEALS));
+
+        // Releasing a changed resubmission restores the earlier submission
+        tracker.release(tracker.record(report("ER2025-0001", "EMP1", TODAY, meals(40.0)), limits, null));
+        assertEquals(95_00, tracker.spent("EMP1", MEALS));
+    }
+
+    @Test
+    public void releasedSpendingShouldNoLongerCount() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS, "Travel", TRAVEL);
+        ExpenseReport first = report("ER2025-0001", "EMP1", TODAY, meals(60.0));
+        assertNull(tracker.record(first, limits, null).exceeded());
+
+        SpendTracker.Recording second = tracker.record(report("ER2025-0002", "EMP1", TODAY, meals(30.0),
+                new ExpenseItem("Travel", 100.0, TODAY, "Train")), limits, null);
+        assertNull(second.exceeded());
+        tracker.release(second);
+        assertEquals(60_00, tracker.spent("EMP1", MEALS));
+        assertEquals(0, tracker.spent("EMP1", TRAVEL));
+
+        // Releasing a resubmission leaves the spending of the first submission
+        tracker.release(tracker.record(first, limits, null));
+        assertEquals(60_00, tracker.spent("EMP1", MEALS));
+    }
+
+    @Test
+    public void changedLimitShouldKeepSpendingOfCommonDays() throws Exception {
+        SpendTracker tracker = new SpendTracker(1, clock);
+        assertNull(tracker.record(report("EMP1", TODAY.minusDays(20), meals(30.0)), Map.of("Meals", MEALS), null).exceeded());
+        assertNull(tracker.record(report("EMP1", TODAY, meals(40.0)), Map.of("Meals", MEALS), null).exceeded());
+
+        assertEquals(70_00, tracker.spent("EMP1", SpendLimit.parse("Meals", "100 EUR/60d")));
+        assertEquals(40_00, tracker.spent("EMP1", SpendLimit.parse("Meals", "100 EUR/7d")));
+        // Days cut off by a shorter window are gone
+        assertEquals(40_00, tracker.spent("EMP1", MEALS));
+        // Amounts in another currency cannot be compared, so the window starts afresh
+        assertEquals(0, tracker.spent("EMP1", SpendLimit.parse("Meals", "100 SEK/60d")));
+    }
+
+    @Test
+    public void concurrentReportsShouldNotExceedLimit() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS, "Travel", TRAVEL);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                accepted.add(executor.submit(() -> {
+                    int count = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        ExpenseItem taxi = new ExpenseItem("Travel", 1.0, TODAY, "Taxi " + i);
+                        if (tracker.record(report("EMP1", TODAY, meals(0.25), taxi), limits, null).exceeded() == null) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+        }
+        int total = 0;
+        for (Future<Integer> count : accepted) {
+            total += count.get();
+        }
+        assertEquals(400, total);
+        assertEquals(100_00, tracker.spent("EMP1", MEALS));
+        assertEquals(400_00, tracker.spent("EMP1", TRAVEL));
+    }
+
+    @Test
+    public void idleEmployeesShouldBeEvicted() throws Exception {
+        SpendTracker tracker = new SpendTracker(4, clock);
+        Map<String, SpendLimit> limits = Map.of("Meals", MEALS, "Travel", TRAVEL);
+        assertNull(tracker.record(report("EMP1", TODAY, meals(10.0), new ExpenseItem("Travel", 10.0, TODAY, "Bus")),
+                limits, null).exceeded());
+        assertNull(tracker.record(report("EMP2", TODAY, meals(10.0)), limits, null).exceeded());
+        assertEquals(3, tracker.size());
+
+        // The Travel window of EMP1 is idle after 7 days, the Meals windows after 30
+        clock.advanceDays(7);
+        assertNull(tracker.record(report("EMP2", TODAY.plusDays(7), meals(10.0)), limits, null).exceeded());
+        assertEquals(2, tracker.size());
+        clock.advanceDays(23);
+        assertNull(tracker.record(report("EMP3", TODAY.plusDays(30), meals(10.0)), limits, null).exceeded());
+        assertEquals(2, tracker.size());
+        assertEquals(10_00, tracker.spent("EMP2", MEALS));
+    }
+
+    @Test
+    public void malformedLimitsShouldBeRejected() throws Exception {
+        assertEquals("2000 EUR per 30 days on Meals", SpendLimit.parse("Meals", " 2000 EUR / 30d ").toString());
+        assertThrows(IllegalArgumentException.class, () -> SpendLimit.parse("Meals", "2000 EUR"));
+        assertThrows(IllegalArgumentException.class, () -> SpendLimit.parse("Meals", "2000 EURO/30d"));
+        assertThrows(IllegalArgumentException.class, () -> SpendLimit.parse("Meals", "20.001 EUR/30d"));
+        assertThrows(IllegalArgumentException.class, () -> SpendLimit.parse("Meals", "2000 EUR/0d"));
+        assertThrows(IllegalArgumentException.class, () -> SpendLimit.parse("Meals", "-1 EUR/30d"));
+    }
+
+    private static ExpenseItem meals(double amount) {
+        return new ExpenseItem("Meals", amount, TODAY.minusDays(1), "Lunch");
+    }
+
+    private static ExpenseReport report(String employeeId, LocalDate submissionDate, ExpenseItem... items) {
+        return report("ER2025-" + REPORT_IDS.incrementAndGet(), employeeId, submissionDate, items);
+    }
+
+    private static ExpenseReport report(String reportId, String employeeId, LocalDate submissionDate, ExpenseItem... items) {
+        return new ExpenseReport(reportId, employeeId, "Client meeting", Currency.getInstance("EUR"), submissionDate,
+                List.of(items));
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now = TODAY.atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        void advanceDays(int days) {
+            now = now.plusSeconds(days * 86_400L);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.financials.fincheck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@code XxHash64}, checked against vectors of the reference implementation.
+ */
+class XxHash64Test {
+
+    @Test
+    public void hashShouldMatchReferenceVectors() throws Exception {
+        assertEquals(0xEF46DB3751D8E999L, XxHash64.hash(bytes(""), 0));
+        assertEquals(0xD24EC4F1A98C6E5BL, XxHash64.hash(bytes("a"), 0));
+        assertEquals(0x44BC2CF5AD770999L, XxHash64.hash(bytes("abc"), 0));
+        assertEquals(0xFBCEA83C8A378BF1L, XxHash64.hash(bytes("Nobody inspects the spammish repetition"), 0));
+    }
+
+    @Test
+    public void hashOfRangeShouldMatchHashOfCopy() throws Exception {
+        byte[] padded = bytes("##Nobody inspects the spammish repetition##");
+        assertEquals(XxHash64.hash(bytes("Nobody inspects the spammish repetition"), 42),
+                XxHash64.hash(padded, 2, padded.length - 4, 42));
+    }
+
+    @Test
+    public void hashOfCharsShouldMatchHashOfUtf16Bytes() throws Exception {
+        String text = "Nobody inspects the spammish repetition \u00e9\u20ac";
+        for (int length = 0; length <= text.length(); length++) {
+            String prefix = text.substring(0, length);
+            assertEquals(XxHash64.hash(prefix.getBytes(StandardCharsets.UTF_16LE), 7), XxHash64.hashChars(prefix, 7), prefix);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
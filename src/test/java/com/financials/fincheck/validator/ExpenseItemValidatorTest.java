@@ -0,0 +1,76 @@
+package com.financials.fincheck.validator;
+
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.model.ExpenseItem;
+import com.financials.fincheck.model.ExpenseReport;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ExpenseItemValidator}.
+ * <p>
+ * These tests verify that large reports find the same errors, in the same order, whether their items are
+ * compared pairwise, hashed on the calling thread or checked in parallel chunks.
+ */
+class ExpenseItemValidatorTest {
+    private static final ExpenseItemValidator.Policy POLICY = ExpenseItemValidator.Policy.of(ValidationSettings.DEFAULTS);
+    private static final LocalDate SUBMITTED = LocalDate.of(2025, 6, 30);
+
+    @Test
+    public void validItemsShouldReturnNoErrors() throws Exception {
+        ExpenseReport report = report(items(10_000));
+        assertTrue(new ExpenseItemValidator(64, 4).validate(report, ValidationResult.valid(), POLICY, null).isEmpty());
+        assertTrue(new ExpenseItemValidator(Integer.MAX_VALUE, 1).validate(report, ValidationResult.valid(), POLICY, null).isEmpty());
+    }
+
+    @Test
+    public void parallelValidationShouldReportErrorsInItemOrder() throws Exception {
+        List<ExpenseItem> items = items(10_000);
+        items.set(17, new ExpenseItem("Meals", -1.0, SUBMITTED, "Refund"));
+        items.set(5_000, null);
+        items.set(7_777, new ExpenseItem("Travel", 5.0, SUBMITTED.plusDays(1), "Taxi"));
+        items.set(9_998, items.get(42));
+        items.set(9_999, new ExpenseItem(items.get(3).getCategory(), items.get(3).getAmount(),
+                items.get(3).getExpenseDate(), items.get(3).getDescription()));
+        ExpenseReport report = report(items);
+
+        List<String> expected = List.of(
+                "Expense item 17 amount must be positive",
+                "Expense item 5000 must not be null",
+                "Expense item 7777 date must not be after the submission date",
+                "Expense item 9998 duplicates an earlier item",
+                "Expense item 9999 duplicates an earlier item");
+        assertEquals(expected, new ExpenseItemValidator(64, 4).validate(report, ValidationResult.valid(), POLICY, null));
+        assertEquals(expected, new ExpenseItemValidator(Integer.MAX_VALUE, 1).validate(report, ValidationResult.valid(), POLICY, null));
+        report.setItems(new LinkedList<>(items));
+        assertEquals(expected, new ExpenseItemValidator(64, 4).validate(report, ValidationResult.valid(), POLICY, null));
+    }
+
+    @Test
+    public void smallReportsShouldCompareItemsPairwise() throws Exception {
+        List<ExpenseItem> items = items(ExpenseItemValidator.PAIRWISE_LIMIT);
+        items.set(31, items.get(0));
+        assertEquals(List.of("Expense item 31 duplicates an earlier item"),
+                new ExpenseItemValidator().validate(report(items), ValidationResult.valid(), POLICY, null));
+    }
+
+    private static List<ExpenseItem> items(int count) {
+        List<ExpenseItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new ExpenseItem(i % 2 == 0 ? "Travel" : "Meals", (1_000 + i) / 100.0, SUBMITTED.minusDays(i % 28),
+                    "Receipt " + i));
+        }
+        return items;
+    }
+
+    private static ExpenseReport report(List<ExpenseItem> items) {
+        return new ExpenseReport("ER2025-0001", "EMP12345", "Conference", Currency.getInstance("EUR"), SUBMITTED, items);
+    }
+}
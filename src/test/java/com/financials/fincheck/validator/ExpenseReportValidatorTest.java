@@ -1,13 +1,35 @@
 package com.financials.fincheck.validator;
 
+import com.financials.fincheck.config.CategoryLimit;
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.currency.CurrencyRegistry;
+import com.financials.fincheck.currency.CurrencySet;
+import com.financials.fincheck.currency.ExchangeRateTable;
+import com.financials.fincheck.currency.ExchangeRates;
+import com.financials.fincheck.metrics.ValidationMetrics;
 import com.financials.fincheck.model.ExpenseItem;
 import com.financials.fincheck.model.ExpenseReport;
+import com.financials.fincheck.model.Money;
+import com.financials.fincheck.reconciliation.ReconciliationIndex;
+import com.financials.fincheck.spending.SpendLimit;
+import com.financials.fincheck.spending.SpendTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Currency;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 /*
@@ -27,10 +49,19 @@ import static org.junit.jupiter.api.Assertions.*;
 *       - can not be in the future (✓)
 *  - items:
 *       - should not be null (✓)
-*       - TODO: more checks for ExpenseItem?
+*       - items in another currency should have an exchange rate (✓)
+*       - should add up to the declared total in the report currency (✓)
+*       - every item should have a category, a positive amount, a date and a description (✓)
+*       - categories should be accepted and items within the limit of their category (✓)
+*       - item dates can not be after the submission date (✓)
+*       - items should not be duplicated (✓)
+*       - an employee's reports should stay within the spend limit of each category (✓)
+*       - items should have an exchange rate to the currency of their spend limit (✓)
 * */
 class ExpenseReportValidatorTest {
     private final ExpenseReportValidator validator = new ExpenseReportValidator();
+    @TempDir
+    Path directory;
     private ExpenseReport baseExpenseReport;
 
     @BeforeEach
@@ -102,4 +133,191 @@ class ExpenseReportValidatorTest {
         List<String> errors = validator.validate(baseExpenseReport);
         assertTrue(errors.contains("Items must not be null"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void itemsInAnotherCurrencyShouldNeedExchangeRate() throws Exception {
+        baseExpenseReport.getItems().getFirst().setCurrency(Currency.getInstance("SEK"));
+        List<String> errors = validator.validate(baseExpenseReport);
+        assertEquals(List.of("No exchange rate for SEK on 2025-06-14"), errors);
+    }
+
+    @Test
+    public void convertedItemsShouldMatchDeclaredTotal() throws Exception {
+        ExpenseReportValidator convertingValidator = new ExpenseReportValidator(Optional.empty(), Optional.empty(),
+                ExchangeRates.fixed(exchangeRates("Date,SEK\n2025-06-13,11.0\n")), new ExpenseItemValidator(),
+                ValidationMetrics.disabled(), ValidationSettingsStore.fixed(ValidationSettings.DEFAULTS));
+        baseExpenseReport.setItems(List.of(
+                new ExpenseItem("Travel", 755.50, Currency.getInstance("SEK"), LocalDate.of(2025, 6, 14), "Train"),
+                new ExpenseItem("Meals", 40.00, LocalDate.of(2025, 6, 14), "Lunch with client")));
+
+        // 755.50 SEK is 68.68 EUR
+        baseExpenseReport.setTotal(108.68);
+        assertTrue(convertingValidator.validate(baseExpenseReport).isEmpty());
+        baseExpenseReport.setTotal(108.69);
+        assertTrue(convertingValidator.validate(baseExpenseReport).isEmpty());
+        baseExpenseReport.setTotal(115.50);
+        assertEquals(List.of("Total does not match the sum of the items in EUR"), convertingValidator.validate(baseExpenseReport));
+        baseExpenseReport.getItems().getFirst().setExpenseDate(LocalDate.of(2025, 6, 12));
+        assertEquals(List.of("No exchange rate for SEK on 2025-06-12"), convertingValidator.validate(baseExpenseReport));
+    }
+
+    @Test
+    public void itemsAddingUpBeyondLargestAmountShouldBeRejected() throws Exception {
+        List<ExpenseItem> items = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            items.add(new ExpenseItem("Travel", 99_999_999_999_999.0, LocalDate.of(2025, 6, 14), "Charter " + i));
+        }
+        baseExpenseReport.setItems(items);
+        assertEquals(Money.INVALID, baseExpenseReport.itemTotal(null));
+        assertEquals(List.of("Total is not a valid amount in EUR"), validator.validate(baseExpenseReport));
+
+        // Just below the largest amount the items still add up
+        baseExpenseReport.setItems(items.subList(0, 900));
+        assertEquals(900 * 9_999_999_999_999_900L, baseExpenseReport.itemTotal(null));
+        assertTrue(validator.validate(baseExpenseReport).isEmpty());
+    }
+
+    @Test
+    public void itemCurrencyShouldBeValid() throws Exception {
+        ExpenseReport report = ExpenseReport.fromJson("ER2025-0001", "EMP12345", "Client meeting", CurrencyRegistry.resolve("EUR"),
+                LocalDate.of(2025, 6, 16), List.of(ExpenseItem.fromJson("Travel", 10_0000, CurrencyRegistry.resolve("EURO"),
+                        LocalDate.of(2025, 6, 14), "Train")), 10_0000);
+        List<String> errors = validator.validate(report);
+        assertEquals(List.of("Invalid item currency: EURO"), errors);
+    }
+
+    @Test
+    public void itemsShouldHaveEveryField() throws Exception {
+        baseExpenseReport.setItems(List.of(
+                new ExpenseItem(" ", 0.0, null, ""),
+                new ExpenseItem("Meals", -5.0, LocalDate.of(2025, 6, 17), "Dinner")));
+        List<String> errors = validator.validate(baseExpenseReport);
+        assertEquals(List.of(
+                "Expense item 0 category must not be empty",
+                "Expense item 0 amount must be positive",
+                "Expense item 0 date must not be null",
+                "Expense item 0 description must not be empty",
+                "Expense item 1 amount must be positive",
+                "Expense item 1 date must not be after the submission date"), errors);
+    }
+
+    @Test
+    public void nullItemsShouldBeReported() throws Exception {
+        baseExpenseReport.setItems(Arrays.asList(baseExpenseReport.getItems().getFirst(), null));
+        List<String> errors = validator.validate(baseExpenseReport);
+        assertEquals(List.of("Expense item 1 must not be null"), errors);
+    }
+
+    @Test
+    public void categoriesShouldBeAcceptedAndWithinLimit() throws Exception {
+        ExpenseReportValidator policyValidator = new ExpenseReportValidator(ValidationMetrics.disabled(),
+                ValidationSettingsStore.fixed(new ValidationSettings(CurrencySet.of("EUR"), Map.of(), 0, Set.of(),
+                        Set.of("Travel", "Meals"), Map.of("Meals", CategoryLimit.parse("Meals", "39.99 EUR")))));
+        List<String> errors = policyValidator.validate(baseExpenseReport);
+        assertEquals(List.of("Expense item 1 amount exceeds the limit of its category"), errors);
+
+        baseExpenseReport.getItems().getFirst().setCategory("Golf");
+        baseExpenseReport.getItems().get(1).setAmount(39.99);
+        errors = policyValidator.validate(baseExpenseReport);
+        assertEquals(List.of("Expense item 0 category is not accepted"), errors);
+    }
+
+    @Test
+    public void categoryLimitsInAnotherCurrencyShouldBeConverted() throws Exception {
+        ExchangeRates rates = ExchangeRates.fixed(exchangeRates("Date,SEK\n2025-06-13,11.0\n"));
+        // 40 EUR is 440 SEK
+        assertEquals(List.of("Expense item 1 amount exceeds the limit of its category"),
+                categoryLimitValidator("439.99 SEK", rates).validate(baseExpenseReport));
+        assertTrue(categoryLimitValidator("440 SEK", rates).validate(baseExpenseReport).isEmpty());
+        assertEquals(List.of("No exchange rate for EUR on 2025-06-14"),
+                categoryLimitValidator("440 SEK", ExchangeRates.none()).validate(baseExpenseReport));
+    }
+
+    @Test
+    public void duplicateItemsShouldBeReported() throws Exception {
+        ExpenseItem lunch = new ExpenseItem("Meals", 40.00, LocalDate.of(2025, 6, 14), "Lunch with client");
+        baseExpenseReport.setItems(List.of(lunch,
+                new ExpenseItem("Meals", 40.00, LocalDate.of(2025, 6, 15), "Lunch with client"),
+                new ExpenseItem("Meals", 40.00, Currency.getInstance("EUR"), LocalDate.of(2025, 6, 14), "Lunch with client"),
+                new ExpenseItem("Meals", 40.00, LocalDate.of(2025, 6, 14), "Lunch with client")));
+        List<String> errors = validator.validate(baseExpenseReport);
+        assertEquals(List.of("Expense item 2 duplicates an earlier item", "Expense item 3 duplicates an earlier item"),
+                errors);
+    }
+
+    @Test
+    public void expensesWithoutPayslipShouldBeRejectedWhenReconciling() throws Exception {
+        ExpenseReportValidator reconcilingValidator = new ExpenseReportValidator(
+                Optional.of(new ReconciliationIndex(3, new BigDecimal("0.5"), 1, 16)), ValidationMetrics.disabled());
+        baseExpenseReport.setSubmissionDate(LocalDate.now());
+        List<String> errors = reconcilingValidator.validate(baseExpenseReport);
+        assertEquals(List.of("No payslip is recorded for the employee in " + YearMonth.now() + " or the month before"),
+                errors);
+    }
+
+    @Test
+    public void reportsOverSpendLimitShouldBeRejected() throws Exception {
+        ExpenseReportValidator limitingValidator = limitingValidator(Optional.empty(), new SpendTracker(1));
+        baseExpenseReport.setSubmissionDate(LocalDate.now());
+
+        assertTrue(limitingValidator.validate(baseExpenseReport).isEmpty());
+        baseExpenseReport.setReportId("ER2025-0002");
+        assertTrue(limitingValidator.validate(baseExpenseReport).isEmpty());
+        // A resubmitted report was counted the first time
+        assertTrue(limitingValidator.validate(baseExpenseReport).isEmpty());
+        baseExpenseReport.setReportId("ER2025-0003");
+        assertEquals(List.of("Expenses exceed the spend limit of 100 EUR per 30 days on Meals"),
+                limitingValidator.validate(baseExpenseReport));
+        // Reports of other employees and categories are not affected
+        baseExpenseReport.setEmployeeId("EMP67890");
+        assertTrue(limitingValidator.validate(baseExpenseReport).isEmpty());
+        baseExpenseReport.setItems(List.of(baseExpenseReport.getItems().getFirst()));
+        baseExpenseReport.setReportId("ER2025-0004");
+        baseExpenseReport.setEmployeeId("EMP12345");
+        assertTrue(limitingValidator.validate(baseExpenseReport).isEmpty());
+    }
+
+    @Test
+    public void itemsWithoutRateToSpendLimitShouldBeRejected() throws Exception {
+        SpendTracker tracker = new SpendTracker(1);
+        ExpenseReportValidator limitingValidator = limitingValidator(Optional.empty(), tracker);
+        baseExpenseReport.setSubmissionDate(LocalDate.now());
+        baseExpenseReport.setCurrency(Currency.getInstance("USD"));
+
+        assertEquals(List.of("No exchange rate for USD on 2025-06-14"), limitingValidator.validate(baseExpenseReport));
+        assertEquals(0, tracker.spent("EMP12345", SpendLimit.parse("Meals", "100 EUR/30d")));
+    }
+
+    @Test
+    public void reportsRejectedByReconciliationShouldNotCountTowardsSpendLimit() throws Exception {
+        SpendTracker tracker = new SpendTracker(1);
+        ExpenseReportValidator limitingValidator = limitingValidator(
+                Optional.of(new ReconciliationIndex(3, new BigDecimal("0.5"), 1, 16)), tracker);
+        baseExpenseReport.setSubmissionDate(LocalDate.now());
+
+        assertEquals(List.of("No payslip is recorded for the employee in " + YearMonth.now() + " or the month before"),
+                limitingValidator.validate(baseExpenseReport));
+        assertEquals(0, tracker.spent("EMP12345", SpendLimit.parse("Meals", "100 EUR/30d")));
+    }
+
+    private static ExpenseReportValidator categoryLimitValidator(String mealsLimit, ExchangeRates rates) {
+        ValidationSettings settings = new ValidationSettings(CurrencySet.of("EUR"), Map.of(), 0, Set.of(), Set.of(),
+                Map.of("Meals", CategoryLimit.parse("Meals", mealsLimit)));
+        return new ExpenseReportValidator(Optional.empty(), Optional.empty(), rates, new ExpenseItemValidator(),
+                ValidationMetrics.disabled(), ValidationSettingsStore.fixed(settings));
+    }
+
+    private static ExpenseReportValidator limitingValidator(Optional<ReconciliationIndex> reconciliationIndex,
+                                                            SpendTracker tracker) {
+        ValidationSettings settings = new ValidationSettings(CurrencySet.of("EUR"), Map.of(), 0, Set.of(), Set.of(),
+                Map.of(), Map.of("Meals", SpendLimit.parse("Meals", "100 EUR/30d")));
+        return new ExpenseReportValidator(reconciliationIndex, Optional.of(tracker), ExchangeRates.none(),
+                new ExpenseItemValidator(), ValidationMetrics.disabled(), ValidationSettingsStore.fixed(settings));
+    }
+
+    private ExchangeRateTable exchangeRates(String csv) throws Exception {
+        Path source = Files.writeString(directory.resolve("rates.csv"), csv);
+        ExchangeRateTable.compile(source, CurrencyRegistry.resolve("EUR"), directory.resolve("rates.bin"));
+        return ExchangeRateTable.open(directory.resolve("rates.bin"), 7);
+    }
+}
@@ -1,12 +1,21 @@
 package com.financials.fincheck.validator;
 
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.currency.CurrencySet;
+import com.financials.fincheck.duplicate.DuplicateInvoiceDetector;
+import com.financials.fincheck.metrics.ValidationMetrics;
 import com.financials.fincheck.model.Invoice;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 // TODO: Can these tests be refactored in any way?
@@ -56,6 +65,49 @@ public class InvoiceValidatorTest {
         assertEquals("Invalid currency: UFC", errors.getFirst());
     }
 
+    /**
+     * Tests that a lower-case currency code is accepted as the upper-case code and reported in upper case.
+     */
+    @Test
+    public void lowerCaseCurrencyShouldBeAcceptedAsUpperCaseCode() throws Exception {
+        baseInvoice.setCurrency("usd");
+        assertTrue(validator.validate(baseInvoice).isEmpty());
+        assertEquals("USD", baseInvoice.getCurrency());
+
+        baseInvoice.setCurrency("sek");
+        assertEquals(List.of("Invalid currency: SEK"), validator.validate(baseInvoice));
+    }
+
+    /**
+     * Tests that the accepted currencies come from the validation settings.
+     */
+    @Test
+    public void configuredCurrenciesShouldReplaceDefaults() throws Exception {
+        InvoiceValidator sekValidator = new InvoiceValidator(Optional.empty(), ValidationMetrics.disabled(),
+                ValidationSettingsStore.fixed(new ValidationSettings(CurrencySet.of("SEK"), Map.of(), 0, Set.of())));
+        assertEquals(List.of("Invalid currency: EUR"), sekValidator.validate(baseInvoice));
+
+        baseInvoice.setCurrency("SEK");
+        assertTrue(sekValidator.validate(baseInvoice).isEmpty());
+    }
+
+    /**
+     * Tests that the currencies configured for an issuer replace the default ones for its invoices only.
+     */
+    @Test
+    public void issuerCurrenciesShouldReplaceDefaultsForThatIssuer() throws Exception {
+        ValidationSettings settings = new ValidationSettings(CurrencySet.of("EUR"),
+                Map.of("ACME", CurrencySet.of("SEK", "NOK")), 0, Set.of());
+        InvoiceValidator tenantValidator = new InvoiceValidator(Optional.empty(), ValidationMetrics.disabled(),
+                ValidationSettingsStore.fixed(settings));
+
+        assertEquals(List.of("Invalid currency: EUR"), tenantValidator.validate(new Invoice("INV001", 10.0, "EUR", "ACME")));
+        assertTrue(tenantValidator.validate(new Invoice("INV001", 10.0, "SEK", "ACME")).isEmpty());
+        assertTrue(tenantValidator.validate(new Invoice("INV001", 10.0, "EUR", "GLOBEX")).isEmpty());
+        assertEquals(List.of("Invalid currency: SEK"), tenantValidator.validate(new Invoice("INV001", 10.0, "SEK", "GLOBEX")));
+        assertTrue(tenantValidator.validate(new Invoice("INV001", 10.0, "EUR", null)).isEmpty());
+    }
+
     /**
      * Tests that an empty invoice number is caught by the validator.
      */
@@ -79,4 +131,36 @@ public class InvoiceValidatorTest {
         assertTrue(errors.contains("Invalid currency: ABC"));
         assertTrue(errors.contains("Invoice number must not be empty"));
     }
+
+    /**
+     * Tests that an invoice number submitted twice by the same issuer is rejected the second time,
+     * while the same number from another issuer is accepted.
+     */
+    @Test
+    public void duplicateInvoiceNumberShouldReturnDuplicateValidationError() throws Exception {
+        try (DuplicateInvoiceDetector detector = new DuplicateInvoiceDetector(4, 16)) {
+            InvoiceValidator duplicateAwareValidator = new InvoiceValidator(Optional.of(detector));
+
+            assertTrue(duplicateAwareValidator.validate(new Invoice("INV001", 10.0, "EUR", "ACME")).isEmpty());
+            assertTrue(duplicateAwareValidator.validate(new Invoice("INV001", 10.0, "EUR", "GLOBEX")).isEmpty());
+
+            List<String> errors = duplicateAwareValidator.validate(new Invoice("INV001", 99.0, "USD", "ACME"));
+            assertEquals(List.of("Invoice number INV001 has already been submitted"), errors);
+            assertTrue(duplicateAwareValidator.isStateful());
+            assertFalse(new InvoiceValidator().isStateful());
+        }
+    }
+
+    /**
+     * Tests that an invalid invoice is not remembered, so its corrected resubmission is accepted.
+     */
+    @Test
+    public void invalidInvoiceShouldNotBeRecordedAsSubmitted() throws Exception {
+        try (DuplicateInvoiceDetector detector = new DuplicateInvoiceDetector(4, 16)) {
+            InvoiceValidator duplicateAwareValidator = new InvoiceValidator(Optional.of(detector));
+
+            assertFalse(duplicateAwareValidator.validate(new Invoice("INV002", -10.0, "EUR", "ACME")).isEmpty());
+            assertTrue(duplicateAwareValidator.validate(new Invoice("INV002", 10.0, "EUR", "ACME")).isEmpty());
+        }
+    }
 }
@@ -1,5 +1,9 @@
 package com.financials.fincheck.validator;
 
+import com.financials.fincheck.config.ValidationSettings;
+import com.financials.fincheck.config.ValidationSettingsStore;
+import com.financials.fincheck.currency.CurrencySet;
+import com.financials.fincheck.metrics.ValidationMetrics;
 import com.financials.fincheck.model.Employer;
 import com.financials.fincheck.model.PaymentMethod;
 import com.financials.fincheck.model.Payslip;
@@ -7,9 +11,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.Currency;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -101,6 +108,18 @@ class PayslipValidatorTest {
         assertTrue(errors.contains("Pay period must follow the format YYYY-MM"));
     }
 
+    @Test
+    public void payPeriodShouldBeCheckedAsYearMonth() throws Exception {
+        for (String payPeriod : List.of("2025-00", "2025-13", "2025-1a", "2025/05", "25-05", "2025-5")) {
+            basePayslip.setPayPeriod(payPeriod);
+            assertTrue(validator.validate(basePayslip).contains("Pay period must follow the format YYYY-MM"), payPeriod);
+        }
+        for (String payPeriod : List.of("2025-01", "2025-12", "0001-06", "+10000-01")) {
+            basePayslip.setPayPeriod(payPeriod);
+            assertFalse(validator.validate(basePayslip).contains("Pay period must follow the format YYYY-MM"), payPeriod);
+        }
+    }
+
     @Test
     public void emptyPaymentDateShouldReturnError() throws Exception {
         basePayslip.setPaymentDate(null);
@@ -129,6 +148,41 @@ class PayslipValidatorTest {
         assertTrue(errors.contains("Net salary does not match gross salary minus deductions"));
     }
 
+    @Test
+    public void netSalaryShouldMatchDeductionsExactly() throws Exception {
+        // 0.1 + 0.2 is not 0.3 in binary floating point, but it is in minor units
+        basePayslip.setGrossSalary(1000.3);
+        basePayslip.setDeductions(Map.of("Tax", 0.1, "Pension", 0.2));
+        basePayslip.setNetSalary(1000.0);
+        assertTrue(validator.validate(basePayslip).isEmpty());
+
+        basePayslip.setNetSalary(1000.01);
+        List<String> errors = validator.validate(basePayslip);
+        assertTrue(errors.contains("Net salary does not match gross salary minus deductions"));
+    }
+
+    @Test
+    public void netSalaryShouldMatchWithinConfiguredTolerance() throws Exception {
+        PayslipValidator tolerantValidator = new PayslipValidator(ValidationMetrics.disabled(),
+                ValidationSettingsStore.fixed(new ValidationSettings(CurrencySet.of(), Map.of(), 1, Set.of())));
+        basePayslip.setNetSalary(2300.01);
+        assertTrue(tolerantValidator.validate(basePayslip).isEmpty());
+
+        basePayslip.setNetSalary(2300.02);
+        List<String> errors = tolerantValidator.validate(basePayslip);
+        assertTrue(errors.contains("Net salary does not match gross salary minus deductions"));
+    }
+
+    @Test
+    public void amountsBeyondCurrencyScaleShouldReturnError() throws Exception {
+        basePayslip.setCurrency(Currency.getInstance("JPY"));
+        basePayslip.setGrossSalary(3000.5);
+        basePayslip.setDeductions(Map.of("Tax", 0.25));
+        List<String> errors = validator.validate(basePayslip);
+        assertTrue(errors.contains("Gross salary is not a valid amount in JPY"));
+        assertTrue(errors.contains("Deduction amount for 'Tax' is not a valid amount in the payslip currency"));
+    }
+
     @Test
     public void emptyDeductionKeyShouldReturnError() throws Exception {
         basePayslip.setDeductions(Map.of("", 200.0));
@@ -164,6 +218,24 @@ class PayslipValidatorTest {
         assertTrue(errors.contains("Bank account (IBAN) format is invalid"));
     }
 
+    @Test
+    public void invalidBankAccountIbanChecksumShouldReturnError() throws Exception {
+        basePayslip.setBankAccount("IE30AIBK93115212345678");
+        List<String> errors = validator.validate(basePayslip);
+        assertTrue(errors.contains("Bank account (IBAN) checksum is invalid"));
+    }
+
+    @Test
+    public void bankAccountOutsideAcceptedCountriesShouldReturnError() throws Exception {
+        PayslipValidator restrictedValidator = new PayslipValidator(ValidationMetrics.disabled(),
+                ValidationSettingsStore.fixed(new ValidationSettings(CurrencySet.of(), Map.of(), 0, Set.of("GB"))));
+        List<String> errors = restrictedValidator.validate(basePayslip);
+        assertTrue(errors.contains("Bank account (IBAN) country IE is not accepted"));
+
+        basePayslip.setBankAccount("GB82WEST12345698765432");
+        assertTrue(restrictedValidator.validate(basePayslip).isEmpty());
+    }
+
     @Test
     public void emptyEmployerShouldReturnError() throws Exception {
         basePayslip.setEmployer(null);
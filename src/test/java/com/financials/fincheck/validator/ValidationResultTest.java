@@ -0,0 +1,58 @@
+package com.financials.fincheck.validator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@code ValidationResult}.
+ * <p>
+ * These tests verify that the shared valid result is never modified, that errors keep their order,
+ * and that messages are built from the {@code ErrorCode} templates.
+ */
+class ValidationResultTest {
+
+    @Test
+    public void validResultShouldBeSharedAndEmpty() throws Exception {
+        assertSame(ValidationResult.valid(), ValidationResult.valid());
+        assertTrue(ValidationResult.valid().isValid());
+        assertTrue(ValidationResult.valid().isEmpty());
+    }
+
+    @Test
+    public void addingErrorShouldNotModifySharedValidResult() throws Exception {
+        ValidationResult errors = ValidationResult.valid().with(ErrorCode.AMOUNT_NEGATIVE);
+
+        assertNotSame(ValidationResult.valid(), errors);
+        assertTrue(ValidationResult.valid().isValid());
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void errorsShouldKeepOrderCodesAndParameters() throws Exception {
+        ValidationResult errors = ValidationResult.valid();
+        for (int i = 0; i < 10; i++) {
+            errors = errors.with(ErrorCode.DEDUCTION_AMOUNT_INVALID, "D" + i);
+        }
+        errors = errors.with(ErrorCode.EMPLOYER_MISSING);
+
+        assertEquals(11, errors.size());
+        assertEquals(ErrorCode.DEDUCTION_AMOUNT_INVALID, errors.code(3));
+        assertEquals("D3", errors.parameter(3));
+        assertEquals("Deduction amount for 'D3' must be non-negative and not null", errors.get(3));
+        assertEquals("Employer must not be empty", errors.get(10));
+        assertTrue(errors.hasCode(ErrorCode.EMPLOYER_MISSING));
+        assertFalse(errors.hasCode(ErrorCode.AMOUNT_MISSING));
+    }
+
+    @Test
+    public void messagesShouldMatchPlainStringList() throws Exception {
+        ValidationResult errors = ValidationResult.valid()
+                .with(ErrorCode.CURRENCY_INVALID, null)
+                .with(ErrorCode.INVOICE_NUMBER_EMPTY);
+
+        assertEquals(List.of("Invalid currency: null", "Invoice number must not be empty"), errors);
+    }
+}